@@ -54,5 +54,6 @@ public interface AIServiceMapper {
     @Mapping(target = "macros", ignore = true)
     @Mapping(target = "difficulty", ignore = true)
     @Mapping(target = "servingSuggestions", ignore = true)
+    @Mapping(target = "imageVariants", ignore = true)
     SimplifiedRecipeResponse toSimplifiedRecipeResponse(String recipeName, String recipeDescription, String recipeInstructions, String recipeImageUrl, String recipeId);
 } 
\ No newline at end of file
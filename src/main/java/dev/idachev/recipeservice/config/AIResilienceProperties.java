@@ -0,0 +1,87 @@
+package dev.idachev.recipeservice.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Type-safe configuration properties for calls to the AI provider (timeouts, retries, hedging).
+ * Bound to properties starting with 'ai.service.resilience'.
+ */
+@ConfigurationProperties(prefix = "ai.service.resilience")
+@Validated
+public record AIResilienceProperties(
+
+        @NotNull
+        @DefaultValue("30s")
+        Duration chatTimeout,
+
+        @NotNull
+        @DefaultValue("60s")
+        Duration imageTimeout,
+
+        // Total attempts including the first one
+        @Min(value = 1, message = "At least one attempt is required")
+        @DefaultValue("3")
+        int maxAttempts,
+
+        @NotNull
+        @DefaultValue("500ms")
+        Duration initialBackoff,
+
+        @DecimalMin(value = "1.0", message = "Backoff multiplier must be at least 1.0")
+        @DefaultValue("2.0")
+        double backoffMultiplier,
+
+        @NotNull
+        @DefaultValue("8s")
+        Duration maxBackoff,
+
+        // Upper bound of provider calls in flight at once (hedges included)
+        @Min(value = 1, message = "At least one concurrent call is required")
+        @DefaultValue("64")
+        int maxConcurrentCalls,
+
+        @Valid
+        @DefaultValue
+        Hedging hedging
+) {
+
+    /**
+     * Hedged requests: a second identical chat call is fired when the first one is slower
+     * than the observed latency percentile. Image calls are never hedged because they are billed per image.
+     */
+    public record Hedging(
+
+            @DefaultValue("false")
+            boolean enabled,
+
+            @DecimalMin("0.5")
+            @DecimalMax("0.999")
+            @DefaultValue("0.95")
+            double percentile,
+
+            // Floor for the hedge delay so a burst of fast responses cannot trigger hedging storms
+            @NotNull
+            @DefaultValue("2s")
+            Duration minDelay,
+
+            // Number of observed latencies required before hedging kicks in
+            @Min(1)
+            @DefaultValue("20")
+            int minSamples,
+
+            // Size of the sliding window used to compute the percentile
+            @Min(10)
+            @DefaultValue("200")
+            int windowSize
+    ) {
+    }
+}
@@ -17,7 +17,14 @@ import java.util.UUID;
 @EnableConfigurationProperties({
         CloudinaryProperties.class,
         JwtProperties.class,
-        CorsProperties.class
+        CorsProperties.class,
+        AIResilienceProperties.class,
+        RecipePoolProperties.class,
+        StorageProperties.class,
+        TrendingProperties.class,
+        ReplicaDataSourceProperties.class,
+        RecipeJsonCacheProperties.class,
+        RecipeIndexProperties.class
 })
 public class AppBeanConfig {
 
@@ -0,0 +1,62 @@
+package dev.idachev.recipeservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import dev.idachev.recipeservice.infrastructure.datasource.ReadWriteRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.Assert;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/write split over two connection pools, enabled with 'recipe.datasource.replica.enabled'.
+ * <p>
+ * The primary pool is configured as usual under 'spring.datasource', the replica pool under
+ * 'recipe.datasource.replica'. Both pools report Hikari metrics tagged with their pool name
+ * ("primary", "replica"); routing decisions are counted as 'recipe.datasource.routed'.
+ * Schema management and anything outside a read-only transaction use the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "recipe.datasource.replica", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(ReplicaDataSourceProperties properties) {
+        Assert.hasText(properties.url(), "recipe.datasource.replica.url is required when the replica is enabled");
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(properties.url());
+        dataSource.setUsername(properties.username());
+        dataSource.setPassword(properties.password());
+        if (properties.driverClassName() != null) {
+            dataSource.setDriverClassName(properties.driverClassName());
+        }
+        dataSource.setMaximumPoolSize(properties.maximumPoolSize());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaDataSourceProperties properties,
+                                 MeterRegistry meterRegistry) {
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, properties.lagWindow(),
+                meterRegistry).wrap();
+    }
+}
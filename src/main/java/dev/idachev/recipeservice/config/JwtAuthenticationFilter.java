@@ -43,7 +43,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // API docs and monitoring
             "/api-docs/**", "/swagger-ui/**", "/actuator/**", "/error/**",
             // API test endpoints
-            "/api/v1/recipes/auth-test", "/v1/recipes/auth-test"
+            "/api/v1/recipes/auth-test", "/v1/recipes/auth-test",
+            // Locally stored images
+            "/api/v1/images/**"
             // DO NOT skip authentication for api paths - these need proper JWT auth!
     );
 
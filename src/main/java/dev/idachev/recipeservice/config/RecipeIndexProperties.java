@@ -0,0 +1,35 @@
+package dev.idachev.recipeservice.config;
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Type-safe configuration properties for the in-memory recipe indexes.
+ * Bound to properties starting with 'recipe.index'.
+ */
+@ConfigurationProperties(prefix = "recipe.index")
+@Validated
+public record RecipeIndexProperties(
+
+        // How often the indexes catch up with recipes written or deleted by other instances
+        @NotNull
+        @DefaultValue("1m")
+        Duration syncInterval,
+
+        // Re-read recipes updated this long before the previous catch-up, to cover clock skew
+        // between instances, transactions committing after their update timestamp and replica lag
+        @NotNull
+        @DefaultValue("2m")
+        Duration syncOverlap,
+
+        // How long deleted recipe ids are kept for the catch-up; an instance whose catch-up has
+        // failed for longer misses deletions until it restarts and reloads
+        @NotNull
+        @DefaultValue("1d")
+        Duration deletionRetention
+) {
+}
@@ -0,0 +1,21 @@
+package dev.idachev.recipeservice.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Type-safe configuration properties for the cache of serialized recipe bodies.
+ * Bound to properties starting with 'recipe.json-cache'.
+ */
+@ConfigurationProperties(prefix = "recipe.json-cache")
+@Validated
+public record RecipeJsonCacheProperties(
+
+        // Recipes whose serialized body is kept; 0 disables the cache
+        @Min(0)
+        @DefaultValue("10000")
+        int maxEntries
+) {
+}
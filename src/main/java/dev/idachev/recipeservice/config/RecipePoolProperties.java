@@ -0,0 +1,49 @@
+package dev.idachev.recipeservice.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Type-safe configuration properties for the pre-generated AI recipe pool.
+ * Bound to properties starting with 'ai.service.pool'.
+ * Pool size, tracked sets and the enabled flag can be changed at runtime through the admin API.
+ */
+@ConfigurationProperties(prefix = "ai.service.pool")
+@Validated
+public record RecipePoolProperties(
+
+        // Disabled by default since warming spends AI credits in the background
+        @DefaultValue("false")
+        boolean enabled,
+
+        // Ready-made recipes kept per popular ingredient set
+        @Min(1)
+        @DefaultValue("3")
+        int poolSize,
+
+        // How many of the most requested ingredient sets get a pool
+        @Min(1)
+        @DefaultValue("30")
+        int maxTrackedSets,
+
+        // Requests needed before an ingredient set counts as popular
+        @Min(1)
+        @DefaultValue("3")
+        int minRequests,
+
+        // Pooled recipes older than this are discarded instead of served
+        @NotNull
+        @DefaultValue("6h")
+        Duration entryTtl,
+
+        // Parallel generations while refilling
+        @Min(1)
+        @DefaultValue("2")
+        int refillConcurrency
+) {
+}
@@ -0,0 +1,40 @@
+package dev.idachev.recipeservice.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Type-safe configuration properties for the read replica.
+ * Bound to properties starting with 'recipe.datasource.replica'.
+ */
+@ConfigurationProperties(prefix = "recipe.datasource.replica")
+@Validated
+public record ReplicaDataSourceProperties(
+
+        // Without a replica every transaction uses spring.datasource
+        @DefaultValue("false")
+        boolean enabled,
+
+        String url,
+
+        String username,
+
+        String password,
+
+        String driverClassName,
+
+        @Min(1)
+        @DefaultValue("10")
+        int maximumPoolSize,
+
+        // How long a user's reads stay on the primary after they wrote, to cover replication lag
+        @NotNull
+        @DefaultValue("2s")
+        Duration lagWindow
+) {
+}
@@ -0,0 +1,12 @@
+package dev.idachev.recipeservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (recipe pool warming, periodic snapshots).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -25,6 +25,7 @@ import org.springframework.security.web.util.matcher.RequestMatcher;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import dev.idachev.recipeservice.web.dto.ErrorResponse;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
@@ -68,12 +69,18 @@ public class SecurityConfig {
                         // Always permit OPTIONS requests for CORS preflight
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
 
+                        // Streamed responses (NDJSON exports) finish on an async dispatch, which
+                        // the JWT filter skips; the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Allow public endpoints
                         .requestMatchers("/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                         .requestMatchers("/actuator/**").permitAll()
                         .requestMatchers("/error/**", "/static/**", "/css/**", "/js/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/recipes/auth-test", "/v1/recipes/auth-test")
                         .permitAll()
+                        // Locally stored images are loaded by <img> tags, which send no token
+                        .requestMatchers(HttpMethod.GET, "/api/v1/images/**").permitAll()
 
                         // Secured endpoints
                         .requestMatchers(HttpMethod.POST,
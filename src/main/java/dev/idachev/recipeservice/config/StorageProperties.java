@@ -0,0 +1,50 @@
+package dev.idachev.recipeservice.config;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Type-safe configuration properties for image storage.
+ * Bound to properties starting with 'storage'.
+ */
+@ConfigurationProperties(prefix = "storage")
+@Validated
+public record StorageProperties(
+
+        // "cloudinary" or "local"
+        @NotBlank
+        @DefaultValue("cloudinary")
+        String provider,
+
+        // Root directory of the local content-addressed store
+        @NotBlank
+        @DefaultValue("uploads")
+        String location,
+
+        @NotEmpty
+        @DefaultValue({"image/jpeg", "image/png"})
+        List<String> allowedContentTypes,
+
+        @NotNull
+        @DefaultValue("5MB")
+        DataSize maxFileSize,
+
+        // Prefix of the URLs handed out for locally stored images
+        @NotBlank
+        @DefaultValue("/api/v1/images")
+        String publicUrl,
+
+        // Locally stored images never change under their name, so clients may cache them for long
+        @NotNull
+        @DefaultValue("365d")
+        Duration cacheMaxAge
+) {
+}
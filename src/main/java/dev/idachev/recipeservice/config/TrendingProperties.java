@@ -0,0 +1,47 @@
+package dev.idachev.recipeservice.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Type-safe configuration properties for the trending feed.
+ * Bound to properties starting with 'recipe.trending'.
+ */
+@ConfigurationProperties(prefix = "recipe.trending")
+@Validated
+public record TrendingProperties(
+
+        // An interaction counts half as much after this long
+        @NotNull
+        @DefaultValue("24h")
+        Duration halfLife,
+
+        // Recipes kept in the ranking; the feed cannot page past this
+        @Min(1)
+        @DefaultValue("1000")
+        int capacity,
+
+        // How often the ranking is merged into the stored snapshot
+        @NotNull
+        @DefaultValue("5m")
+        Duration snapshotInterval,
+
+        // Score added per interaction; a downvote lowers the score
+        @DefaultValue("3.0")
+        double upvoteWeight,
+
+        @DefaultValue("-2.0")
+        double downvoteWeight,
+
+        @DefaultValue("4.0")
+        double favoriteWeight,
+
+        @DefaultValue("2.0")
+        double commentWeight
+) {
+}
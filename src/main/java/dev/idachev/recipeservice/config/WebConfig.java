@@ -1,14 +1,22 @@
 package dev.idachev.recipeservice.config;
 
 import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.MethodParameter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.lang.NonNull;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
@@ -20,18 +28,20 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.UUID;
 
 /**
- * Web MVC configuration including CORS settings.
- * Uses type-safe CorsProperties.
+ * Web MVC configuration including CORS settings, ETags for recipe responses and the Smile
+ * message converter. Uses type-safe CorsProperties.
  */
 @Configuration
 @Slf4j
 public class WebConfig implements WebMvcConfigurer {
 
     private final CorsProperties corsProperties;
+    private final ObjectMapper objectMapper;
 
     @Autowired // Inject properties bean
-    public WebConfig(CorsProperties corsProperties) {
+    public WebConfig(CorsProperties corsProperties, ObjectMapper objectMapper) {
         this.corsProperties = corsProperties;
+        this.objectMapper = objectMapper;
     }
 
     @Override
@@ -45,6 +55,45 @@ public class WebConfig implements WebMvcConfigurer {
                 .maxAge(3600); // maxAge could also be configurable
     }
     
+    /**
+     * Strong ETags for the search, filter and feed lists, hashed from the body that was written.
+     * The body is still built in full, so this only saves the bandwidth of re-sending an
+     * unchanged page. The recipe details and the main recipe list set their own ETag before
+     * loading anything, which the filter leaves as is.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> recipeEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/api/v1/recipes", "/api/v1/recipes/*");
+        return registration;
+    }
+
+    /**
+     * Serve and accept Smile (binary JSON) for clients that ask for application/x-jackson-smile.
+     * Spring adds a Smile converter on its own once the format is on the classpath, but with a
+     * plain mapper; this one copies the application mapper so both formats carry the same fields.
+     * It keeps its place after the JSON converter, so requests without an Accept header still get JSON.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        MappingJackson2SmileHttpMessageConverter smile =
+                new MappingJackson2SmileHttpMessageConverter(objectMapper.copyWith(new SmileFactory()));
+        int index = -1;
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2SmileHttpMessageConverter) {
+                index = i;
+                break;
+            }
+        }
+        if (index >= 0) {
+            converters.set(index, smile);
+        } else {
+            converters.add(smile);
+        }
+        log.info("Registered Smile message converter");
+    }
+
     /**
      * Configure special handling for frontend-style routes
      * This configures routes that should be handled by controllers
@@ -2,7 +2,9 @@ package dev.idachev.recipeservice.infrastructure.ai;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.idachev.recipeservice.exception.AIServiceException;
-import dev.idachev.recipeservice.infrastructure.storage.CloudinaryService;
+import dev.idachev.recipeservice.infrastructure.storage.ImageDownloader;
+import dev.idachev.recipeservice.infrastructure.storage.ImageStorage;
+import dev.idachev.recipeservice.infrastructure.storage.ImageVariantProcessor;
 import dev.idachev.recipeservice.model.DifficultyLevel;
 import dev.idachev.recipeservice.web.dto.AIErrorResponse;
 import dev.idachev.recipeservice.web.dto.MacrosDto;
@@ -25,7 +27,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
@@ -43,7 +49,10 @@ public class AIService {
     private final ChatClient chatClient;
     private final ImageClient imageClient;
     private final ObjectMapper objectMapper;
-    private final CloudinaryService cloudinaryService;
+    private final ImageStorage imageStorage;
+    private final ImageDownloader imageDownloader;
+    private final ImageVariantProcessor imageVariantProcessor;
+    private final ResilientAICaller resilientAICaller;
 
     @Value("${ai.service.max-ingredients:20}")
     private int maxIngredients;
@@ -53,11 +62,17 @@ public class AIService {
 
     @Autowired
     public AIService(ChatClient chatClient, ImageClient imageClient,
-                     ObjectMapper objectMapper, CloudinaryService cloudinaryService) {
+                     ObjectMapper objectMapper, ImageStorage imageStorage,
+                     ImageDownloader imageDownloader,
+                     ImageVariantProcessor imageVariantProcessor,
+                     ResilientAICaller resilientAICaller) {
         this.chatClient = chatClient;
         this.imageClient = imageClient;
         this.objectMapper = objectMapper;
-        this.cloudinaryService = cloudinaryService;
+        this.imageStorage = imageStorage;
+        this.imageDownloader = imageDownloader;
+        this.imageVariantProcessor = imageVariantProcessor;
+        this.resilientAICaller = resilientAICaller;
     }
 
     /**
@@ -84,7 +99,8 @@ public class AIService {
             if (imageGenerationEnabled && StringUtils.hasText(recipeRequest.title())) {
                 // Try to generate image, but handle failure gracefully
                 try {
-                    imageUrl = generateRecipeImage(recipeRequest.title(), recipeRequest.servingSuggestions());
+                    String generatedUrl = requestRecipeImage(recipeRequest.title(), recipeRequest.servingSuggestions());
+                    imageUrl = storeGeneratedImage(generatedUrl, recipeRequest.title());
                 } catch (Exception e) {
                     log.warn("Failed to generate image for recipe {}: {}", recipeRequest.title(), e.getMessage());
                     // Continue without image
@@ -134,8 +150,10 @@ public class AIService {
         String uniquePrompt = createUniquePrompt(ingredients);
         Message userMessage = new UserMessage(uniquePrompt);
 
-        String content = chatClient.call(new Prompt(List.of(systemMessage, userMessage)))
-                .getResult().getOutput().getContent();
+        Prompt prompt = new Prompt(List.of(systemMessage, userMessage));
+        // Timeout, retry and hedging are handled by the caller
+        String content = resilientAICaller.callChat(() -> chatClient.call(prompt)
+                .getResult().getOutput().getContent());
 
         if (!StringUtils.hasText(content)) {
             throw new AIServiceException("AI returned empty response", null);
@@ -237,10 +255,19 @@ public class AIService {
     }
 
     /**
-     * Generate recipe image and store in Cloudinary
+     * Generate recipe image and copy it into the configured image storage
      * Designed to fail gracefully and return null rather than throw exceptions
      */
     public String generateRecipeImage(String recipeTitle, String recipeServingSuggestions) {
+        return storeGeneratedImage(requestRecipeImage(recipeTitle, recipeServingSuggestions), recipeTitle);
+    }
+
+    /**
+     * Ask the AI for a recipe image.
+     *
+     * @return the provider's short-lived image URL, or null if generation failed
+     */
+    private String requestRecipeImage(String recipeTitle, String recipeServingSuggestions) {
         if (!StringUtils.hasText(recipeTitle)) {
             log.warn("Recipe title empty, cannot generate image");
             return null;
@@ -250,38 +277,69 @@ public class AIService {
             String promptText = RecipePrompts.getRecipeImagePrompt(recipeTitle, recipeServingSuggestions);
             log.debug("Generating image for recipe: {}", recipeTitle);
             
-            String imageUrl = imageClient.call(new ImagePrompt(promptText))
-                    .getResult().getOutput().getUrl();
+            String imageUrl = resilientAICaller.callImage(() -> imageClient.call(new ImagePrompt(promptText))
+                    .getResult().getOutput().getUrl());
 
             if (!StringUtils.hasText(imageUrl)) {
                 log.warn("AI returned empty image URL for recipe: {}", recipeTitle);
                 return null;
             }
 
-            log.debug("Image generated successfully, uploading to Cloudinary");
-            return uploadToCloudinary(imageUrl, recipeTitle);
+            log.debug("Image generated successfully");
+            return imageUrl;
         } catch (Exception e) {
             log.error("Error generating recipe image: {}", recipeTitle, e);
             return null;
         }
     }
 
-    private String uploadToCloudinary(String imageUrl, String recipeTitle) {
+    /**
+     * Download the provider's image once, store it and hand the same copy to the
+     * {@link ImageVariantProcessor}, which makes the resized variants in the background. A
+     * recipe saved with the stored URL gets them patched in once they are ready.
+     *
+     * @return the stored image URL, or the provider's URL if the image could not be stored
+     */
+    private String storeGeneratedImage(String imageUrl, String recipeTitle) {
         if (!StringUtils.hasText(imageUrl)) {
             return null;
         }
 
+        Path downloaded = null;
         try {
-            String cloudinaryUrl = cloudinaryService.uploadImageFromUrl(imageUrl);
-            if (cloudinaryUrl == null) {
-                log.warn("Cloudinary returned null URL, falling back to original URL");
+            downloaded = imageDownloader.download(imageUrl);
+            String storedUrl = imageStorage.storeDownloaded(downloaded, imageUrl);
+            if (storedUrl == null) {
+                log.warn("Image storage returned null URL, falling back to original URL");
                 return imageUrl;
             }
-            return cloudinaryUrl;
+
+            String name = recipeTitle.trim().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+            imageVariantProcessor.processGenerated(downloaded, name, storedUrl);
+            // The processor owns the file now
+            downloaded = null;
+            return storedUrl;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while storing generated image for recipe {}", recipeTitle);
+            return imageUrl;
         } catch (Exception e) {
-            log.error("Error uploading to Cloudinary for recipe {}: {}", recipeTitle, e.getMessage());
+            log.error("Error storing generated image for recipe {}: {}", recipeTitle, e.getMessage());
             // Fallback to original URL instead of returning null
             return imageUrl;
+        } finally {
+            deleteQuietly(downloaded);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete downloaded image {}: {}", file, e.getMessage());
         }
     }
 
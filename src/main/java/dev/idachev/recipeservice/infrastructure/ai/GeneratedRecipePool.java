@@ -0,0 +1,333 @@
+package dev.idachev.recipeservice.infrastructure.ai;
+
+import dev.idachev.recipeservice.config.RecipePoolProperties;
+import dev.idachev.recipeservice.web.dto.RecipePoolStatusResponse;
+import dev.idachev.recipeservice.web.dto.SimplifiedRecipeResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps a small pool of ready-made AI recipes (images already uploaded) for the most
+ * requested ingredient sets, so popular generate requests are answered without waiting
+ * on the AI provider. Ingredient lists are canonicalized before lookup, every pooled
+ * recipe is handed out at most once to keep generated recipes unique per request, and
+ * the pool is topped up in the background on a bounded executor.
+ */
+@Component
+@Slf4j
+public class GeneratedRecipePool {
+
+    // Upper bound on tracked (not necessarily pooled) sets between two warming runs; each run trims
+    // back to half of it so new sets can be tracked again
+    private static final int TRACKED_SETS_FACTOR = 4;
+
+    private final AIService aiService;
+    private final RecipePoolProperties properties;
+    private volatile ThreadPoolExecutor refillExecutor;
+    private final Map<String, IngredientSet> ingredientSets = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    private volatile boolean enabled;
+    private volatile int poolSize;
+    private volatile int maxTrackedSets;
+    private volatile Set<String> popularKeys = Set.of();
+
+    @Autowired
+    public GeneratedRecipePool(AIService aiService, RecipePoolProperties properties, MeterRegistry meterRegistry) {
+        this.aiService = aiService;
+        this.properties = properties;
+        this.enabled = properties.enabled();
+        this.poolSize = properties.poolSize();
+        this.maxTrackedSets = properties.maxTrackedSets();
+        this.refillExecutor = newRefillExecutor();
+        this.hits = meterRegistry.counter("ai.recipe_pool.requests", "outcome", "hit");
+        this.misses = meterRegistry.counter("ai.recipe_pool.requests", "outcome", "miss");
+        meterRegistry.gauge("ai.recipe_pool.available", ingredientSets,
+                sets -> sets.values().stream().mapToInt(set -> set.ready.size()).sum());
+    }
+
+    /**
+     * Record a generate request for the ingredient set and hand out a pooled recipe if one is ready.
+     * Nothing is recorded while the pool is disabled, and a new set is only tracked while fewer than
+     * {@code maxTrackedSets * 4} are; requests for sets already tracked are always counted.
+     *
+     * @param ingredients Ingredients as sent by the client
+     * @return A pooled recipe that has not been served before, or empty if the caller must generate one
+     */
+    public Optional<SimplifiedRecipeResponse> take(List<String> ingredients) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String key = canonicalKey(ingredients);
+        if (key.isEmpty()) {
+            return Optional.empty();
+        }
+
+        IngredientSet set = ingredientSets.get(key);
+        if (set == null) {
+            // Concurrent first requests may overshoot the cap by a few sets; the next warming run trims them
+            if (ingredientSets.size() >= maxTrackedSets * TRACKED_SETS_FACTOR) {
+                misses.increment();
+                return Optional.empty();
+            }
+            set = ingredientSets.computeIfAbsent(key, k -> new IngredientSet(canonicalize(ingredients)));
+        }
+        set.requests.incrementAndGet();
+
+        PooledRecipe pooled;
+        while ((pooled = set.ready.pollFirst()) != null) {
+            if (!isExpired(pooled)) {
+                hits.increment();
+                if (popularKeys.contains(key)) {
+                    refill(set);
+                }
+                log.debug("Served pooled recipe '{}' for ingredients [{}]", pooled.recipe().title(), key);
+                return Optional.of(pooled.recipe());
+            }
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Periodically rank ingredient sets by request count, refill the pools of the most popular ones,
+     * drop pools of sets that fell out of the ranking and decay counts so the ranking follows recent demand.
+     */
+    @Scheduled(fixedDelayString = "${ai.service.pool.refill-interval:PT1M}",
+            initialDelayString = "${ai.service.pool.refill-interval:PT1M}")
+    public void warm() {
+        List<IngredientSet> ranked = ingredientSets.values().stream()
+                .filter(set -> set.requests.get() >= properties.minRequests())
+                .sorted(Comparator.comparingLong((IngredientSet set) -> set.requests.get()).reversed())
+                .limit(maxTrackedSets)
+                .toList();
+
+        popularKeys = ranked.stream().map(IngredientSet::key).collect(Collectors.toUnmodifiableSet());
+
+        ingredientSets.values().forEach(set -> {
+            set.ready.removeIf(this::isExpired);
+            if (!popularKeys.contains(set.key())) {
+                set.ready.clear();
+            }
+        });
+
+        if (enabled) {
+            ranked.forEach(this::refill);
+        }
+
+        decayAndTrim();
+    }
+
+    /**
+     * Trigger a warming run immediately instead of waiting for the next scheduled one. Ranking is
+     * done on the calling thread; the recipe generations it queues run on the refill executor.
+     */
+    public void refillNow() {
+        warm();
+    }
+
+    /**
+     * Drop all pooled recipes and request statistics.
+     */
+    public void clear() {
+        popularKeys = Set.of();
+        ingredientSets.clear();
+        log.info("Recipe pool cleared");
+    }
+
+    /**
+     * Change pool settings at runtime. Null arguments keep the current value. A new pool size or
+     * number of tracked sets replaces the refill executor, whose queue is sized from both; refills
+     * already queued on the old one still run.
+     */
+    public void updateSettings(Boolean enabled, Integer poolSize, Integer maxTrackedSets) {
+        if (enabled != null) {
+            this.enabled = enabled;
+        }
+        if (poolSize != null) {
+            this.poolSize = poolSize;
+            ingredientSets.values().forEach(set -> {
+                while (set.ready.size() > poolSize) {
+                    set.ready.pollLast();
+                }
+            });
+        }
+        if (maxTrackedSets != null) {
+            this.maxTrackedSets = maxTrackedSets;
+        }
+        if (poolSize != null || maxTrackedSets != null) {
+            ThreadPoolExecutor previous = refillExecutor;
+            refillExecutor = newRefillExecutor();
+            previous.shutdown();
+        }
+        log.info("Recipe pool settings updated: enabled={}, poolSize={}, maxTrackedSets={}",
+                this.enabled, this.poolSize, this.maxTrackedSets);
+    }
+
+    /**
+     * Current pool settings and tracked ingredient sets, most requested first.
+     */
+    public RecipePoolStatusResponse status() {
+        Set<String> popular = popularKeys;
+        List<RecipePoolStatusResponse.PooledIngredientSet> sets = ingredientSets.values().stream()
+                .sorted(Comparator.comparingLong((IngredientSet set) -> set.requests.get()).reversed())
+                .map(set -> new RecipePoolStatusResponse.PooledIngredientSet(
+                        set.ingredients(), set.requests.get(), set.ready.size(), set.pending.get(),
+                        popular.contains(set.key())))
+                .toList();
+
+        return new RecipePoolStatusResponse(enabled, poolSize, maxTrackedSets,
+                (long) hits.count(), (long) misses.count(), sets);
+    }
+
+    /**
+     * Canonical form of an ingredient list: trimmed, lowercase, single-spaced, distinct and sorted.
+     */
+    static List<String> canonicalize(List<String> ingredients) {
+        if (ingredients == null) {
+            return List.of();
+        }
+        return ingredients.stream()
+                .filter(Objects::nonNull)
+                .map(ingredient -> ingredient.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT))
+                .filter(ingredient -> !ingredient.isEmpty())
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    static String canonicalKey(List<String> ingredients) {
+        return String.join(",", canonicalize(ingredients));
+    }
+
+    private void refill(IngredientSet set) {
+        int missing = poolSize - set.ready.size() - set.pending.get();
+        for (int i = 0; i < missing; i++) {
+            set.pending.incrementAndGet();
+            try {
+                refillExecutor.execute(() -> generateInto(set));
+            } catch (RejectedExecutionException e) {
+                set.pending.decrementAndGet();
+                log.debug("Recipe pool refill queue is full, skipping [{}]", set.key());
+                return;
+            }
+        }
+    }
+
+    private void generateInto(IngredientSet set) {
+        try {
+            if (!enabled || !popularKeys.contains(set.key())) {
+                return;
+            }
+            SimplifiedRecipeResponse recipe = aiService.generateRecipeFromIngredients(set.ingredients());
+            boolean duplicate = set.ready.stream()
+                    .anyMatch(pooled -> pooled.recipe().title().equalsIgnoreCase(recipe.title()));
+            if (duplicate || set.ready.size() >= poolSize) {
+                return;
+            }
+            set.ready.addLast(new PooledRecipe(recipe, Instant.now()));
+            log.debug("Pooled recipe '{}' for ingredients [{}]", recipe.title(), set.key());
+        } catch (Exception e) {
+            log.warn("Failed to pre-generate recipe for ingredients [{}]: {}", set.key(), e.getMessage());
+        } finally {
+            set.pending.decrementAndGet();
+        }
+    }
+
+    private void decayAndTrim() {
+        ingredientSets.values().forEach(set -> set.requests.updateAndGet(count -> count / 2));
+        ingredientSets.values().removeIf(set ->
+                set.requests.get() == 0 && set.ready.isEmpty() && set.pending.get() == 0);
+
+        int limit = maxTrackedSets * TRACKED_SETS_FACTOR / 2;
+        if (ingredientSets.size() > limit) {
+            ingredientSets.values().stream()
+                    .filter(set -> !popularKeys.contains(set.key()))
+                    .sorted(Comparator.comparingLong(set -> set.requests.get()))
+                    .limit(ingredientSets.size() - limit)
+                    .map(IngredientSet::key)
+                    .toList()
+                    .forEach(ingredientSets::remove);
+        }
+    }
+
+    private boolean isExpired(PooledRecipe pooled) {
+        return pooled.createdAt().plus(properties.entryTtl()).isBefore(Instant.now());
+    }
+
+    /**
+     * At most {@code poolSize} refills are queued for each of the {@code maxTrackedSets} popular sets.
+     */
+    private ThreadPoolExecutor newRefillExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(properties.refillConcurrency(),
+                properties.refillConcurrency(), 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(maxTrackedSets * poolSize), namedDaemonThreads("recipe-pool-"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static ThreadFactory namedDaemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refillExecutor.shutdownNow();
+    }
+
+    private record PooledRecipe(SimplifiedRecipeResponse recipe, Instant createdAt) {
+    }
+
+    private static final class IngredientSet {
+
+        private final List<String> ingredients;
+        private final String key;
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final ConcurrentLinkedDeque<PooledRecipe> ready = new ConcurrentLinkedDeque<>();
+
+        private IngredientSet(List<String> ingredients) {
+            this.ingredients = ingredients;
+            this.key = String.join(",", ingredients);
+        }
+
+        List<String> ingredients() {
+            return ingredients;
+        }
+
+        String key() {
+            return key;
+        }
+    }
+}
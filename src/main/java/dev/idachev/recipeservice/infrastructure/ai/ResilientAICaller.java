@@ -0,0 +1,339 @@
+package dev.idachev.recipeservice.infrastructure.ai;
+
+import dev.idachev.recipeservice.config.AIResilienceProperties;
+import dev.idachev.recipeservice.exception.AIServiceException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.backoff.ExponentialRandomBackOffPolicy;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Executes blocking calls to the AI provider with a per-call timeout, retries with
+ * jittered exponential backoff on transient failures and, for chat calls, an optional
+ * hedged second request fired once the first one is slower than the observed percentile.
+ * The first successful response wins and the other in-flight call is cancelled.
+ */
+@Component
+@Slf4j
+public class ResilientAICaller {
+
+    static final String CHAT = "chat";
+    static final String IMAGE = "image";
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int UNKNOWN_STATUS = -1;
+    private static final Pattern LEADING_STATUS = Pattern.compile("(\\d{3})\\b");
+
+    private final AIResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final RetryTemplate retryTemplate;
+    private final ThreadPoolExecutor callExecutor;
+    private final ScheduledExecutorService hedgeScheduler;
+    private final Map<String, LatencyWindow> latencyWindows = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ResilientAICaller(AIResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.retryTemplate = buildRetryTemplate(properties);
+        this.callExecutor = new ThreadPoolExecutor(0, properties.maxConcurrentCalls(),
+                60L, TimeUnit.SECONDS, new SynchronousQueue<>(), namedDaemonThreads("ai-call-"));
+        this.hedgeScheduler = Executors.newSingleThreadScheduledExecutor(namedDaemonThreads("ai-hedge-"));
+        meterRegistry.gauge("ai.client.in_flight", callExecutor, ThreadPoolExecutor::getActiveCount);
+    }
+
+    /**
+     * Call the chat model. Eligible for hedging when enabled.
+     */
+    public <T> T callChat(Supplier<T> call) {
+        return execute(CHAT, properties.chatTimeout(), properties.hedging().enabled(), call);
+    }
+
+    /**
+     * Call the image model. Never hedged since every image is billed.
+     */
+    public <T> T callImage(Supplier<T> call) {
+        return execute(IMAGE, properties.imageTimeout(), false, call);
+    }
+
+    private <T> T execute(String operation, Duration timeout, boolean hedge, Supplier<T> call) {
+        return retryTemplate.execute((RetryCallback<T, RuntimeException>) context -> {
+            context.setAttribute("operation", operation);
+            return executeAttempt(operation, timeout, hedge, call);
+        });
+    }
+
+    /**
+     * Single attempt: runs the primary call, optionally schedules a hedge, and waits
+     * at most {@code timeout} for the first successful result.
+     */
+    private <T> T executeAttempt(String operation, Duration timeout, boolean hedge, Supplier<T> call) {
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        List<Future<?>> inFlight = new CopyOnWriteArrayList<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+
+        inFlight.add(launch(operation, "primary", call, winner, outstanding));
+
+        ScheduledFuture<?> hedgeTask = null;
+        Duration hedgeDelay = hedge ? hedgeDelay(operation) : null;
+        if (hedgeDelay != null) {
+            hedgeTask = hedgeScheduler.schedule(() -> {
+                if (winner.isDone()) {
+                    return;
+                }
+                outstanding.incrementAndGet();
+                log.debug("AI {} call slower than {} ms, firing hedged request", operation, hedgeDelay.toMillis());
+                counter("ai.client.hedges", operation, "fired").increment();
+                try {
+                    inFlight.add(launch(operation, "hedge", call, winner, outstanding));
+                } catch (AIServiceException e) {
+                    // Saturated pool: keep waiting on the primary
+                    outstanding.decrementAndGet();
+                }
+            }, hedgeDelay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        try {
+            return winner.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            counter("ai.client.timeouts", operation, "timeout").increment();
+            log.warn("AI {} call timed out after {} ms", operation, timeout.toMillis());
+            throw new AIServiceException("AI provider did not respond within " + timeout.toMillis() + " ms", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new AIServiceException("AI provider call failed", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AIServiceException("Interrupted while waiting for AI provider", e);
+        } finally {
+            if (hedgeTask != null) {
+                hedgeTask.cancel(false);
+            }
+            // Cancel whichever call lost (or all of them on timeout)
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private <T> Future<?> launch(String operation, String role, Supplier<T> call,
+                                 CompletableFuture<T> winner, AtomicInteger outstanding) {
+        try {
+            return callExecutor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    T result = call.get();
+                    long elapsed = System.nanoTime() - start;
+                    timer(operation, "success").record(elapsed, TimeUnit.NANOSECONDS);
+                    latencyWindow(operation).record(elapsed);
+                    if (winner.complete(result) && "hedge".equals(role)) {
+                        counter("ai.client.hedges", operation, "won").increment();
+                    }
+                } catch (Throwable t) {
+                    if (!winner.isDone()) {
+                        timer(operation, "failure").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                    // Only fail the attempt once no other call can still succeed
+                    if (outstanding.decrementAndGet() == 0) {
+                        winner.completeExceptionally(t);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            counter("ai.client.rejections", operation, "rejected").increment();
+            throw new AIServiceException("Too many concurrent AI requests, try again later", e);
+        }
+    }
+
+    /**
+     * Hedge delay derived from the configured latency percentile, or null while there is not enough data.
+     */
+    private Duration hedgeDelay(String operation) {
+        AIResilienceProperties.Hedging hedging = properties.hedging();
+        LatencyWindow window = latencyWindow(operation);
+        if (window.size() < hedging.minSamples()) {
+            return null;
+        }
+        Duration observed = Duration.ofNanos(window.percentile(hedging.percentile()));
+        return observed.compareTo(hedging.minDelay()) > 0 ? observed : hedging.minDelay();
+    }
+
+    private LatencyWindow latencyWindow(String operation) {
+        return latencyWindows.computeIfAbsent(operation, op -> new LatencyWindow(properties.hedging().windowSize()));
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return Timer.builder("ai.client.calls")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private Counter counter(String name, String operation, String outcome) {
+        return meterRegistry.counter(name, "operation", operation, "outcome", outcome);
+    }
+
+    private RetryTemplate buildRetryTemplate(AIResilienceProperties properties) {
+        ExponentialRandomBackOffPolicy backOffPolicy = new ExponentialRandomBackOffPolicy();
+        backOffPolicy.setInitialInterval(properties.initialBackoff().toMillis());
+        backOffPolicy.setMultiplier(properties.backoffMultiplier());
+        backOffPolicy.setMaxInterval(properties.maxBackoff().toMillis());
+
+        RetryTemplate template = new RetryTemplate();
+        template.setRetryPolicy(new TransientFailureRetryPolicy(properties.maxAttempts()));
+        template.setBackOffPolicy(backOffPolicy);
+        template.registerListener(new RetryListener() {
+            @Override
+            public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback,
+                                                         Throwable throwable) {
+                String operation = String.valueOf(context.getAttribute("operation"));
+                boolean willRetry = isRetryable(throwable) && context.getRetryCount() < properties.maxAttempts();
+                counter("ai.client.retries", operation, willRetry ? "retrying" : "giving_up").increment();
+                log.warn("AI {} call attempt {} failed ({}){}", operation, context.getRetryCount(),
+                        throwable.getMessage(), willRetry ? ", retrying" : "");
+            }
+        });
+        return template;
+    }
+
+    /**
+     * Timeouts, I/O errors, 5xx and 429 responses are worth retrying; anything else
+     * (bad request, auth, unparseable content) will fail the same way again.
+     * <p>
+     * The OpenAI client reports error responses as its own exceptions, with the status only at
+     * the start of the message ("503 - {...}"): 4xx as {@link OpenAiApi.OpenAiApiClientErrorException},
+     * everything else as {@link OpenAiApi.OpenAiApiException}.
+     */
+    static boolean isRetryable(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof OpenAiApi.OpenAiApiClientErrorException) {
+                return statusOf(t) == TOO_MANY_REQUESTS;
+            }
+            if (t instanceof OpenAiApi.OpenAiApiException) {
+                int status = statusOf(t);
+                return status == UNKNOWN_STATUS || status >= 500 || status == TOO_MANY_REQUESTS;
+            }
+            if (t instanceof TimeoutException
+                    || t instanceof IOException
+                    || t instanceof ResourceAccessException
+                    || t instanceof HttpServerErrorException
+                    || t instanceof HttpClientErrorException.TooManyRequests) {
+                return true;
+            }
+            if (t instanceof RejectedExecutionException || t instanceof HttpClientErrorException) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * HTTP status at the start of an OpenAI client exception message, or {@link #UNKNOWN_STATUS}.
+     */
+    private static int statusOf(Throwable exception) {
+        String message = exception.getMessage();
+        if (message == null) {
+            return UNKNOWN_STATUS;
+        }
+        Matcher matcher = LEADING_STATUS.matcher(message);
+        return matcher.lookingAt() ? Integer.parseInt(matcher.group(1)) : UNKNOWN_STATUS;
+    }
+
+    private static ThreadFactory namedDaemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hedgeScheduler.shutdownNow();
+        callExecutor.shutdownNow();
+    }
+
+    private static class TransientFailureRetryPolicy extends SimpleRetryPolicy {
+
+        TransientFailureRetryPolicy(int maxAttempts) {
+            super(maxAttempts);
+        }
+
+        @Override
+        public boolean canRetry(RetryContext context) {
+            Throwable last = context.getLastThrowable();
+            return (last == null || isRetryable(last)) && context.getRetryCount() < getMaxAttempts();
+        }
+    }
+
+    /**
+     * Fixed-size ring buffer of recent successful call latencies in nanoseconds.
+     */
+    private static class LatencyWindow {
+
+        private final long[] samples;
+        private int next;
+        private int size;
+
+        LatencyWindow(int capacity) {
+            this.samples = new long[capacity];
+        }
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long percentile(double percentile) {
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * size) - 1;
+            return sorted[Math.max(0, Math.min(index, size - 1))];
+        }
+    }
+}
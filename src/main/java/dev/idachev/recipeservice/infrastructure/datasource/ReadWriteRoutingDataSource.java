@@ -0,0 +1,136 @@
+package dev.idachev.recipeservice.infrastructure.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * <p>
+ * After a user's read-write transaction commits, that user's reads stay on the primary for the
+ * lag window, so they see their own writes even if the replica has not caught up yet. Other
+ * users may briefly read stale data from the replica.
+ * <p>
+ * The routing decision is taken when a connection is first used. It must be wrapped in a
+ * {@link LazyConnectionDataSourceProxy} (see {@link #wrap}); otherwise the transaction manager
+ * fetches the connection before the transaction is marked read-only.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Pool {
+        PRIMARY, REPLICA
+    }
+
+    // Expired read-your-writes entries are dropped after this many recorded writes
+    private static final int PRUNE_INTERVAL = 1024;
+
+    private final long lagWindowNanos;
+    private final LongSupplier nanoTime;
+    private final Map<UUID, Long> recentWrites = new ConcurrentHashMap<>();
+    private final AtomicLong recordedWrites = new AtomicLong();
+
+    private final Counter writes;
+    private final Counter reads;
+    private final Counter readsAfterOwnWrite;
+    private final Counter outsideTransaction;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration lagWindow,
+                                      MeterRegistry meterRegistry) {
+        this(primary, replica, lagWindow, meterRegistry, System::nanoTime);
+    }
+
+    ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration lagWindow,
+                               MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        setTargetDataSources(Map.of(Pool.PRIMARY, primary, Pool.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.lagWindowNanos = lagWindow.toNanos();
+        this.nanoTime = nanoTime;
+        this.writes = routed(meterRegistry, Pool.PRIMARY, "write");
+        this.readsAfterOwnWrite = routed(meterRegistry, Pool.PRIMARY, "read-your-writes");
+        this.outsideTransaction = routed(meterRegistry, Pool.PRIMARY, "no-transaction");
+        this.reads = routed(meterRegistry, Pool.REPLICA, "read");
+        afterPropertiesSet();
+    }
+
+    /**
+     * This data source behind a lazy connection proxy, as it has to be used.
+     */
+    public DataSource wrap() {
+        return new LazyConnectionDataSourceProxy(this);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            outsideTransaction.increment();
+            return Pool.PRIMARY;
+        }
+
+        UUID userId = currentUserId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && lagWindowNanos > 0 && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recordWrite(userId);
+                    }
+                });
+            }
+            writes.increment();
+            return Pool.PRIMARY;
+        }
+
+        if (userId != null && wroteRecently(userId)) {
+            readsAfterOwnWrite.increment();
+            return Pool.PRIMARY;
+        }
+        reads.increment();
+        return Pool.REPLICA;
+    }
+
+    private void recordWrite(UUID userId) {
+        long now = nanoTime.getAsLong();
+        recentWrites.put(userId, now);
+        if (recordedWrites.incrementAndGet() % PRUNE_INTERVAL == 0) {
+            recentWrites.values().removeIf(writtenAt -> now - writtenAt >= lagWindowNanos);
+        }
+    }
+
+    private boolean wroteRecently(UUID userId) {
+        Long writtenAt = recentWrites.get(userId);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (nanoTime.getAsLong() - writtenAt < lagWindowNanos) {
+            return true;
+        }
+        recentWrites.remove(userId, writtenAt);
+        return false;
+    }
+
+    private static UUID currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UUID userId ? userId : null;
+    }
+
+    private static Counter routed(MeterRegistry meterRegistry, Pool pool, String reason) {
+        return Counter.builder("recipe.datasource.routed")
+                .description("Connections handed out per pool and routing reason")
+                .tag("pool", pool.name().toLowerCase())
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
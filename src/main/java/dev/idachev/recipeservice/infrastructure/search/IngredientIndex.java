@@ -0,0 +1,306 @@
+package dev.idachev.recipeservice.infrastructure.search;
+
+import dev.idachev.recipeservice.model.RecipeIngredient;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index from ingredient tokens to recipes, answering "which recipes can I
+ * cook with these ingredients" ranked by how much of each recipe the pantry covers.
+ * <p>
+ * Recipes get dense int document ids; each token maps to a sorted {@code int[]} posting list.
+ * A query walks the posting lists of the pantry tokens, counts matches per document in a
+ * reusable per-thread array and keeps the best {@code k} in a bounded heap, so its cost depends
+ * on the postings touched rather than on the number of recipes. A deleted recipe leaves its
+ * document id unused; an updated recipe keeps its id.
+ * <p>
+ * Thread-safe: queries share a read lock, updates take the write lock.
+ */
+@Component
+public class IngredientIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    // Words that describe an ingredient rather than name it
+    private static final Set<String> DESCRIPTORS = Set.of(
+            "fresh", "large", "small", "medium", "chopped", "diced", "minced", "sliced", "grated",
+            "shredded", "boneless", "skinless", "ripe", "dried", "frozen", "whole", "finely", "roughly");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> docIds = new HashMap<>();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final ThreadLocal<int[]> scratch = ThreadLocal.withInitial(() -> new int[0]);
+
+    private UUID[] recipeIds = new UUID[INITIAL_CAPACITY];
+    private String[][] docTokens = new String[INITIAL_CAPACITY][];
+    private int nextDoc;
+
+    /**
+     * A recipe ranked for a pantry.
+     *
+     * @param recipeId      Recipe
+     * @param matchedTokens Distinct recipe ingredients covered by the pantry
+     * @param totalTokens   Distinct ingredients of the recipe
+     */
+    public record Match(UUID recipeId, int matchedTokens, int totalTokens) {
+
+        public double coverage() {
+            return totalTokens == 0 ? 0 : (double) matchedTokens / totalTokens;
+        }
+    }
+
+    /**
+     * Token of an ingredient line or pantry item: its normalized name without descriptive words,
+     * each word reduced to a crude singular. "2 Large Eggs" and "egg" both become "egg".
+     */
+    public static String token(String ingredient) {
+        String name = RecipeIngredient.normalizeName(ingredient);
+        StringBuilder token = new StringBuilder(name.length());
+        for (String word : name.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty() || DESCRIPTORS.contains(word)) {
+                continue;
+            }
+            if (!token.isEmpty()) {
+                token.append(' ');
+            }
+            token.append(singular(word));
+        }
+        return token.isEmpty() ? name.toLowerCase(Locale.ROOT) : token.toString();
+    }
+
+    private static String singular(String word) {
+        if (word.length() > 4 && word.endsWith("ies")) {
+            return word.substring(0, word.length() - 3) + "y";
+        }
+        if (word.length() > 4 && word.endsWith("oes")) {
+            return word.substring(0, word.length() - 2);
+        }
+        if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+
+    /**
+     * Index a recipe, replacing whatever was indexed for it before.
+     *
+     * @param recipeId    Recipe
+     * @param ingredients Ingredient lines or names
+     */
+    public void put(UUID recipeId, Collection<String> ingredients) {
+        String[] tokens = distinctTokens(ingredients);
+        lock.writeLock().lock();
+        try {
+            Integer existing = docIds.get(recipeId);
+            int doc;
+            if (existing != null) {
+                doc = existing;
+                unlink(doc);
+            } else {
+                doc = nextDoc++;
+                ensureCapacity(nextDoc);
+                docIds.put(recipeId, doc);
+                recipeIds[doc] = recipeId;
+            }
+            docTokens[doc] = tokens;
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, t -> new PostingList()).add(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a recipe from the index. Unknown ids are ignored.
+     */
+    public void remove(UUID recipeId) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docIds.remove(recipeId);
+            if (doc != null) {
+                unlink(doc);
+                docTokens[doc] = null;
+                recipeIds[doc] = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Best {@code k} recipes for a pantry, by share of the recipe's ingredients the pantry
+     * covers, then by number of covered ingredients. Recipes covering none are never returned.
+     *
+     * @param pantry Pantry items as typed by the user
+     * @param k      Maximum number of results
+     * @return Matches, best first
+     */
+    public List<Match> topMatches(Collection<String> pantry, int k) {
+        String[] pantryTokens = distinctTokens(pantry);
+        if (k <= 0 || pantryTokens.length == 0) {
+            return List.of();
+        }
+
+        Comparator<Match> ranking = Comparator.comparingDouble(Match::coverage)
+                .thenComparingInt(Match::matchedTokens);
+        // Min-heap on the ranking: the root is the weakest of the current top k
+        PriorityQueue<Match> heap = new PriorityQueue<>(k + 1, ranking);
+
+        lock.readLock().lock();
+        try {
+            int[] counts = scratch(nextDoc);
+            int[] touched = new int[Math.min(nextDoc, totalPostings(pantryTokens))];
+            int touchedCount = 0;
+
+            for (String token : pantryTokens) {
+                PostingList list = postings.get(token);
+                if (list == null) {
+                    continue;
+                }
+                for (int i = 0; i < list.size; i++) {
+                    int doc = list.docs[i];
+                    if (counts[doc]++ == 0) {
+                        touched[touchedCount++] = doc;
+                    }
+                }
+            }
+
+            for (int i = 0; i < touchedCount; i++) {
+                int doc = touched[i];
+                Match match = new Match(recipeIds[doc], counts[doc], docTokens[doc].length);
+                counts[doc] = 0;
+                if (heap.size() < k) {
+                    heap.add(match);
+                } else if (ranking.compare(match, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(match);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Match[] best = heap.toArray(new Match[0]);
+        Arrays.sort(best, ranking.reversed());
+        return List.of(best);
+    }
+
+    /**
+     * Number of recipes currently indexed.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String[] distinctTokens(Collection<String> ingredients) {
+        if (ingredients == null) {
+            return new String[0];
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String ingredient : ingredients) {
+            if (ingredient != null && !ingredient.isBlank()) {
+                tokens.add(token(ingredient));
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    private void unlink(int doc) {
+        String[] tokens = docTokens[doc];
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            PostingList list = postings.get(token);
+            if (list != null && list.remove(doc) && list.size == 0) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    private int totalPostings(String[] tokens) {
+        int total = 0;
+        for (String token : tokens) {
+            PostingList list = postings.get(token);
+            if (list != null) {
+                total += list.size;
+            }
+        }
+        return total;
+    }
+
+    private int[] scratch(int size) {
+        int[] counts = scratch.get();
+        if (counts.length < size) {
+            counts = new int[Math.max(size, counts.length * 2)];
+            scratch.set(counts);
+        }
+        return counts;
+    }
+
+    private void ensureCapacity(int size) {
+        if (size > recipeIds.length) {
+            int capacity = Math.max(size, recipeIds.length * 2);
+            recipeIds = Arrays.copyOf(recipeIds, capacity);
+            docTokens = Arrays.copyOf(docTokens, capacity);
+        }
+    }
+
+    /**
+     * Sorted, growable list of document ids.
+     */
+    private static final class PostingList {
+
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int doc) {
+            if (size > 0 && docs[size - 1] >= doc) {
+                int position = Arrays.binarySearch(docs, 0, size, doc);
+                if (position >= 0) {
+                    return;
+                }
+                insertAt(-position - 1, doc);
+                return;
+            }
+            insertAt(size, doc);
+        }
+
+        boolean remove(int doc) {
+            int position = Arrays.binarySearch(docs, 0, size, doc);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(docs, position + 1, docs, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        private void insertAt(int position, int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            System.arraycopy(docs, position, docs, position + 1, size - position);
+            docs[position] = doc;
+            size++;
+        }
+    }
+}
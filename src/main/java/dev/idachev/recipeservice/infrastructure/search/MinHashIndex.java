@@ -0,0 +1,498 @@
+package dev.idachev.recipeservice.infrastructure.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Near-neighbour index of recipes by the Jaccard similarity of their ingredient and tag sets.
+ * <p>
+ * Each recipe gets a MinHash signature of {@value #NUM_HASHES} values; the share of equal
+ * values between two signatures estimates the Jaccard similarity of the underlying sets.
+ * Signatures are cut into {@value #BANDS} bands of {@value #ROWS} rows and each band is hashed
+ * into a bucket (locality-sensitive hashing), so a lookup only compares against recipes sharing
+ * at least one bucket instead of against every recipe. With these settings a pair at
+ * similarity 0.4 becomes a candidate about 65% of the time, a pair at 0.1 under 2%.
+ * <p>
+ * Signatures and bucket chains live in flat primitive arrays, a few hundred bytes per recipe.
+ * Slots of removed recipes are reused, so the arrays grow with the most recipes ever indexed
+ * at once rather than with every recipe ever indexed.
+ * Thread-safe: lookups share a read lock, updates take the write lock.
+ */
+@Component
+public class MinHashIndex {
+
+    static final int NUM_HASHES = 48;
+    static final int BANDS = 16;
+    static final int ROWS = NUM_HASHES / BANDS;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    // Bounds the work of a lookup when a bucket is shared by very many recipes
+    private static final int MAX_CANDIDATES = 5_000;
+    // Below this many recipes signatures are computed on the calling thread
+    private static final int PARALLEL_THRESHOLD = 2_048;
+    private static final long[] SEEDS = new SplittableRandom(0x5EED_CAFEL).longs(NUM_HASHES).toArray();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> docIds = new HashMap<>();
+    private final BandTable[] bandTables = new BandTable[BANDS];
+
+    private UUID[] recipeIds = new UUID[INITIAL_CAPACITY];
+    private int[] signatures = new int[INITIAL_CAPACITY * NUM_HASHES];
+    // Next document in the same bucket, per document and band; -1 ends the chain
+    private int[] nextInBucket = new int[INITIAL_CAPACITY * BANDS];
+    private int nextDoc;
+    // Slots of removed recipes, reused before nextDoc grows
+    private int[] freeDocs = new int[16];
+    private int freeCount;
+
+    /**
+     * A recipe similar to the one looked up.
+     *
+     * @param recipeId   Recipe
+     * @param similarity Estimated Jaccard similarity of ingredients and tags, 0 to 1
+     */
+    public record Similar(UUID recipeId, double similarity) {
+    }
+
+    public MinHashIndex() {
+        for (int band = 0; band < BANDS; band++) {
+            bandTables[band] = new BandTable();
+        }
+    }
+
+    /**
+     * Feature set of a recipe: its ingredient tokens and lowercase tags, kept apart by prefix.
+     */
+    public static Set<String> features(Collection<String> ingredients, Collection<String> tags) {
+        Set<String> features = new LinkedHashSet<>();
+        if (ingredients != null) {
+            for (String ingredient : ingredients) {
+                if (ingredient != null && !ingredient.isBlank()) {
+                    features.add("i:" + IngredientIndex.token(ingredient));
+                }
+            }
+        }
+        if (tags != null) {
+            for (String tag : tags) {
+                if (tag != null && !tag.isBlank()) {
+                    features.add("t:" + tag.trim().toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return features;
+    }
+
+    /**
+     * MinHash signature of a non-empty feature set.
+     */
+    static int[] signature(Collection<String> features) {
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String feature : features) {
+            long hash = fnv1a64(feature);
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int value = (int) (mix64(hash ^ SEEDS[i]) >>> 33);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Index a recipe, replacing its previous signature. A recipe without features is removed.
+     */
+    public void put(UUID recipeId, Set<String> features) {
+        if (features.isEmpty()) {
+            remove(recipeId);
+            return;
+        }
+        int[] signature = signature(features);
+        lock.writeLock().lock();
+        try {
+            insert(recipeId, signature);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Index many recipes at once, e.g. at startup. Signatures are computed in parallel on the
+     * common fork-join pool; only linking them into the buckets happens under the write lock.
+     */
+    public void putAll(Map<UUID, ? extends Set<String>> recipes) {
+        List<UUID> ids = new ArrayList<>(recipes.size());
+        List<Set<String>> features = new ArrayList<>(recipes.size());
+        recipes.forEach((id, recipeFeatures) -> {
+            if (!recipeFeatures.isEmpty()) {
+                ids.add(id);
+                features.add(recipeFeatures);
+            }
+        });
+
+        int[][] computed = new int[ids.size()][];
+        ForkJoinPool.commonPool().invoke(new SignatureTask(features, computed, 0, computed.length));
+
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(nextDoc + Math.max(0, computed.length - freeCount));
+            for (BandTable table : bandTables) {
+                table.reserve(computed.length);
+            }
+            for (int i = 0; i < computed.length; i++) {
+                insert(ids.get(i), computed[i]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a recipe from the index. Unknown ids are ignored.
+     */
+    public void remove(UUID recipeId) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docIds.remove(recipeId);
+            if (doc != null) {
+                unlink(doc);
+                recipeIds[doc] = null;
+                if (freeCount == freeDocs.length) {
+                    freeDocs = Arrays.copyOf(freeDocs, freeCount * 2);
+                }
+                freeDocs[freeCount++] = doc;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code k} recipes most similar to the given one, best first. Empty when the recipe
+     * is not indexed or shares no bucket with any other recipe.
+     */
+    public List<Similar> similar(UUID recipeId, int k) {
+        if (k <= 0) {
+            return List.of();
+        }
+        Comparator<Similar> ranking = Comparator.comparingDouble(Similar::similarity);
+        // Min-heap on similarity: the root is the weakest of the current top k
+        PriorityQueue<Similar> heap = new PriorityQueue<>(k + 1, ranking);
+
+        lock.readLock().lock();
+        try {
+            Integer doc = docIds.get(recipeId);
+            if (doc == null) {
+                return List.of();
+            }
+
+            int[] candidates = collectCandidates(doc);
+            int previous = -1;
+            for (int candidate : candidates) {
+                if (candidate == previous) {
+                    continue;
+                }
+                previous = candidate;
+                Similar similar = new Similar(recipeIds[candidate], estimateSimilarity(doc, candidate));
+                if (heap.size() < k) {
+                    heap.add(similar);
+                } else if (similar.similarity() > heap.peek().similarity()) {
+                    heap.poll();
+                    heap.add(similar);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Similar[] best = heap.toArray(new Similar[0]);
+        Arrays.sort(best, ranking.reversed());
+        return List.of(best);
+    }
+
+    /**
+     * Number of recipes currently indexed.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of recipe slots the arrays hold, live or free.
+     */
+    int capacity() {
+        lock.readLock().lock();
+        try {
+            return recipeIds.length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(UUID recipeId, int[] signature) {
+        Integer existing = docIds.get(recipeId);
+        int doc;
+        if (existing != null) {
+            doc = existing;
+            unlink(doc);
+        } else if (freeCount > 0) {
+            doc = freeDocs[--freeCount];
+            docIds.put(recipeId, doc);
+            recipeIds[doc] = recipeId;
+        } else {
+            doc = nextDoc++;
+            ensureCapacity(nextDoc);
+            docIds.put(recipeId, doc);
+            recipeIds[doc] = recipeId;
+        }
+        System.arraycopy(signature, 0, signatures, doc * NUM_HASHES, NUM_HASHES);
+        for (int band = 0; band < BANDS; band++) {
+            BandTable table = bandTables[band];
+            int key = bandKey(doc, band);
+            nextInBucket[doc * BANDS + band] = table.head(key);
+            table.setHead(key, doc);
+        }
+    }
+
+    private void unlink(int doc) {
+        for (int band = 0; band < BANDS; band++) {
+            BandTable table = bandTables[band];
+            int key = bandKey(doc, band);
+            int previous = -1;
+            int current = table.head(key);
+            while (current != -1 && current != doc) {
+                previous = current;
+                current = nextInBucket[current * BANDS + band];
+            }
+            if (current == -1) {
+                continue;
+            }
+            int next = nextInBucket[doc * BANDS + band];
+            if (previous == -1) {
+                table.setHead(key, next);
+            } else {
+                nextInBucket[previous * BANDS + band] = next;
+            }
+        }
+    }
+
+    /**
+     * Documents sharing a bucket with {@code doc}, sorted, possibly with duplicates.
+     */
+    private int[] collectCandidates(int doc) {
+        int[] candidates = new int[64];
+        int count = 0;
+        for (int band = 0; band < BANDS && count < MAX_CANDIDATES; band++) {
+            int current = bandTables[band].head(bandKey(doc, band));
+            while (current != -1 && count < MAX_CANDIDATES) {
+                if (current != doc) {
+                    if (count == candidates.length) {
+                        candidates = Arrays.copyOf(candidates, count * 2);
+                    }
+                    candidates[count++] = current;
+                }
+                current = nextInBucket[current * BANDS + band];
+            }
+        }
+        Arrays.sort(candidates, 0, count);
+        return Arrays.copyOf(candidates, count);
+    }
+
+    private double estimateSimilarity(int doc, int other) {
+        int a = doc * NUM_HASHES;
+        int b = other * NUM_HASHES;
+        int equal = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (signatures[a + i] == signatures[b + i]) {
+                equal++;
+            }
+        }
+        return (double) equal / NUM_HASHES;
+    }
+
+    private int bandKey(int doc, int band) {
+        int offset = doc * NUM_HASHES + band * ROWS;
+        long hash = 0;
+        for (int row = 0; row < ROWS; row++) {
+            hash = hash * 0x100000001B3L + signatures[offset + row];
+        }
+        return (int) mix64(hash);
+    }
+
+    private void ensureCapacity(int size) {
+        if (size > recipeIds.length) {
+            int capacity = Math.max(size, recipeIds.length * 2);
+            recipeIds = Arrays.copyOf(recipeIds, capacity);
+            signatures = Arrays.copyOf(signatures, capacity * NUM_HASHES);
+            nextInBucket = Arrays.copyOf(nextInBucket, capacity * BANDS);
+        }
+    }
+
+    private static long fnv1a64(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    // MurmurHash3 finalizer
+    private static long mix64(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    /**
+     * Computes signatures of a range of feature sets, splitting until ranges are small.
+     */
+    private static final class SignatureTask extends RecursiveAction {
+
+        private final List<Set<String>> features;
+        private final int[][] signatures;
+        private final int from;
+        private final int to;
+
+        SignatureTask(List<Set<String>> features, int[][] signatures, int from, int to) {
+            this.features = features;
+            this.signatures = signatures;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    signatures[i] = signature(features.get(i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SignatureTask(features, signatures, from, middle),
+                    new SignatureTask(features, signatures, middle, to));
+        }
+    }
+
+    /**
+     * Open-addressing map from bucket key to the first document of the bucket. Emptied buckets
+     * keep their slot (head -1) until the next resize.
+     */
+    private static final class BandTable {
+
+        private static final int FREE = -2;
+
+        private int[] keys = new int[16];
+        private int[] heads = newHeads(16);
+        private int used;
+
+        int head(int key) {
+            int slot = find(key);
+            return slot < 0 ? -1 : heads[slot];
+        }
+
+        void setHead(int key, int doc) {
+            int slot = find(key);
+            if (slot < 0) {
+                if (doc == -1) {
+                    return;
+                }
+                if ((used + 1) * 2 > keys.length) {
+                    resize(1);
+                }
+                slot = freeSlot(key);
+                keys[slot] = key;
+                used++;
+            }
+            heads[slot] = doc;
+        }
+
+        /**
+         * Make room for this many more keys without intermediate resizes.
+         */
+        void reserve(int additional) {
+            if ((long) (used + additional) * 2 > keys.length) {
+                resize(additional);
+            }
+        }
+
+        private int find(int key) {
+            int mask = keys.length - 1;
+            for (int slot = key & mask; heads[slot] != FREE; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        private int freeSlot(int key) {
+            int mask = keys.length - 1;
+            int slot = key & mask;
+            while (heads[slot] != FREE) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void resize(int additional) {
+            int live = 0;
+            for (int head : heads) {
+                if (head >= 0) {
+                    live++;
+                }
+            }
+            int capacity = 16;
+            // At least double the live keys so single inserts do not resize again right away
+            while (capacity <= (live + Math.max(additional, live)) * 2) {
+                capacity <<= 1;
+            }
+            int[] oldKeys = keys;
+            int[] oldHeads = heads;
+            keys = new int[capacity];
+            heads = newHeads(capacity);
+            used = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldHeads[i] >= 0) {
+                    int slot = freeSlot(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    heads[slot] = oldHeads[i];
+                    used++;
+                }
+            }
+        }
+
+        private static int[] newHeads(int capacity) {
+            int[] heads = new int[capacity];
+            Arrays.fill(heads, FREE);
+            return heads;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package dev.idachev.recipeservice.infrastructure.search;
+
+import dev.idachev.recipeservice.model.DifficultyLevel;
+import dev.idachev.recipeservice.repository.RecipeFilterRepository.Index;
+import dev.idachev.recipeservice.repository.dto.RecipeFilterStatsDto;
+import dev.idachev.recipeservice.web.dto.RecipeFilterRequest;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Picks the index a recipe filter query should be driven by.
+ * <p>
+ * Statistics are a uniform sample of the filterable columns (reservoir sampling over one scan
+ * of the table). The selectivity of a range is the fraction of the sample inside it, found by
+ * binary search in the sorted sample column; the composite difficulty/time index is estimated
+ * assuming the two are independent. The index with the fewest estimated matches wins, unless
+ * even that one matches a large part of the table, in which case reading the table in order is
+ * cheaper and the choice is left to the database.
+ */
+@Component
+public class RecipeFilterPlanner {
+
+    static final int SAMPLE_SIZE = 10_000;
+
+    // Above this fraction of rows an index range scan loses to scanning the table
+    static final double MAX_INDEX_SELECTIVITY = 0.25;
+
+    /**
+     * Chosen index, or null to leave the choice to the database, and the estimated fraction of
+     * recipes it reads.
+     */
+    public record Plan(Index index, double selectivity) {
+    }
+
+    private static final Plan UNPLANNED = new Plan(null, 1.0);
+
+    private volatile Statistics statistics;
+
+    /**
+     * Replace the statistics with a sample of the given rows.
+     *
+     * @return number of rows seen
+     */
+    public long analyze(Iterator<RecipeFilterStatsDto> rows) {
+        SplittableRandom random = new SplittableRandom(SAMPLE_SIZE);
+        RecipeFilterStatsDto[] sample = new RecipeFilterStatsDto[SAMPLE_SIZE];
+        long seen = 0;
+        while (rows.hasNext()) {
+            RecipeFilterStatsDto row = rows.next();
+            if (seen < SAMPLE_SIZE) {
+                sample[(int) seen] = row;
+            } else {
+                long slot = random.nextLong(seen + 1);
+                if (slot < SAMPLE_SIZE) {
+                    sample[(int) slot] = row;
+                }
+            }
+            seen++;
+        }
+        statistics = Statistics.of(Arrays.copyOf(sample, (int) Math.min(seen, SAMPLE_SIZE)), seen);
+        return seen;
+    }
+
+    public Plan plan(RecipeFilterRequest filter) {
+        Statistics stats = statistics;
+        if (stats == null || stats.sampled() == 0) {
+            return UNPLANNED;
+        }
+
+        Plan best = UNPLANNED;
+        if (filter.maxTotalTimeMinutes() != null) {
+            best = better(best, new Plan(Index.TOTAL_TIME,
+                    stats.fraction(stats.totalTimes(), null, filter.maxTotalTimeMinutes().doubleValue())));
+        }
+        if (filter.difficulty() != null) {
+            double time = filter.maxTotalTimeMinutes() != null
+                    ? stats.fraction(stats.totalTimes(), null, filter.maxTotalTimeMinutes().doubleValue())
+                    : 1.0;
+            best = better(best, new Plan(Index.DIFFICULTY_TIME, stats.fraction(filter.difficulty()) * time));
+        }
+        if (filter.hasCalorieRange()) {
+            best = better(best, new Plan(Index.CALORIES,
+                    stats.fraction(stats.calories(), filter.minCalories(), filter.maxCalories())));
+        }
+        if (filter.hasProteinRange()) {
+            best = better(best, new Plan(Index.PROTEIN,
+                    stats.fraction(stats.protein(), filter.minProteinGrams(), filter.maxProteinGrams())));
+        }
+
+        return best.selectivity() <= MAX_INDEX_SELECTIVITY ? best : new Plan(null, best.selectivity());
+    }
+
+    /**
+     * Number of recipes at the last analysis, or -1 before the first.
+     */
+    public long rowCount() {
+        Statistics stats = statistics;
+        return stats != null ? stats.rows() : -1;
+    }
+
+    private static Plan better(Plan current, Plan candidate) {
+        return candidate.selectivity() < current.selectivity() ? candidate : current;
+    }
+
+    /**
+     * Sorted non-null sample values per column; {@code sampled} counts nulls too, which never match a range.
+     */
+    private record Statistics(long rows, int sampled, double[] totalTimes, double[] calories, double[] protein,
+                              Map<DifficultyLevel, Integer> difficulties) {
+
+        static Statistics of(RecipeFilterStatsDto[] sample, long rows) {
+            double[] totalTimes = new double[sample.length];
+            double[] calories = new double[sample.length];
+            double[] protein = new double[sample.length];
+            int times = 0;
+            int cals = 0;
+            int prots = 0;
+            Map<DifficultyLevel, Integer> difficulties = new EnumMap<>(DifficultyLevel.class);
+            for (RecipeFilterStatsDto row : sample) {
+                if (row.getTotalTimeMinutes() != null) {
+                    totalTimes[times++] = row.getTotalTimeMinutes();
+                }
+                if (row.getCalories() != null) {
+                    calories[cals++] = row.getCalories().doubleValue();
+                }
+                if (row.getProteinGrams() != null) {
+                    protein[prots++] = row.getProteinGrams().doubleValue();
+                }
+                if (row.getDifficulty() != null) {
+                    difficulties.merge(row.getDifficulty(), 1, Integer::sum);
+                }
+            }
+            return new Statistics(rows, sample.length, sorted(totalTimes, times), sorted(calories, cals),
+                    sorted(protein, prots), difficulties);
+        }
+
+        private static double[] sorted(double[] values, int length) {
+            double[] sorted = Arrays.copyOf(values, length);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        double fraction(DifficultyLevel difficulty) {
+            return (double) difficulties.getOrDefault(difficulty, 0) / sampled;
+        }
+
+        double fraction(double[] column, BigDecimal min, BigDecimal max) {
+            return fraction(column, min != null ? min.doubleValue() : null, max != null ? max.doubleValue() : null);
+        }
+
+        double fraction(double[] column, Double min, Double max) {
+            int from = min != null ? firstAtLeast(column, min) : 0;
+            int to = max != null ? firstAbove(column, max) : column.length;
+            return (double) Math.max(0, to - from) / sampled;
+        }
+
+        private static int firstAtLeast(double[] column, double value) {
+            int low = 0;
+            int high = column.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (column[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static int firstAbove(double[] column, double value) {
+            int low = 0;
+            int high = column.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (column[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
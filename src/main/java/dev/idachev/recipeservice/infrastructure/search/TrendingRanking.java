@@ -0,0 +1,216 @@
+package dev.idachev.recipeservice.infrastructure.search;
+
+import dev.idachev.recipeservice.config.TrendingProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Top-K recipes by a time-decayed interaction score, maintained one interaction at a time.
+ * <p>
+ * Scores use forward decay: an interaction at time {@code t} adds
+ * {@code weight * 2^((t - epoch) / halfLife)}, so newer interactions weigh exponentially more
+ * and the order of two recipes never changes just because time passes. Nothing has to be
+ * recomputed as scores age; {@link #rebase} periodically moves the epoch forward so the numbers
+ * stay small, which also turns them back into plain decayed scores.
+ * <p>
+ * The best {@code capacity} recipes are kept in a concurrent skip list ordered by score, so
+ * reading a page walks just that page without locking. Writers are serialized. A recipe that
+ * drops out of the top is only tracked while its score is worth keeping and re-enters on its
+ * next interaction, making the ranking approximate at its tail.
+ * <p>
+ * Interactions and removals since the last {@link #drainChanges} are also kept apart, so a
+ * snapshot shared by several instances can be merged with what this instance saw rather than
+ * overwritten by it.
+ */
+@Component
+public class TrendingRanking {
+
+    // Scores that decayed below this are forgotten at the next rebase
+    private static final double MIN_SCORE = 0.01;
+
+    /**
+     * A ranked recipe and its score relative to the current epoch.
+     */
+    public record Entry(UUID recipeId, double score) {
+    }
+
+    /**
+     * Score added per recipe since the last drain, relative to the current epoch, and recipes removed since.
+     */
+    public record Changes(Map<UUID, Double> contributions, Set<UUID> removed) {
+    }
+
+    private static final Comparator<Entry> BEST_FIRST = Comparator.comparingDouble(Entry::score).reversed()
+            .thenComparing(Entry::recipeId);
+
+    private final double halfLifeMillis;
+    private final int capacity;
+    private final ConcurrentSkipListSet<Entry> top = new ConcurrentSkipListSet<>(BEST_FIRST);
+    // Guarded by this
+    private final Map<UUID, Double> scores = new HashMap<>();
+    // Guarded by this
+    private Map<UUID, Double> unsaved = new HashMap<>();
+    private Set<UUID> removed = new HashSet<>();
+    private int topSize;
+    private volatile long epochMillis = System.currentTimeMillis();
+
+    @Autowired
+    public TrendingRanking(TrendingProperties properties) {
+        this(properties.halfLife(), properties.capacity());
+    }
+
+    public TrendingRanking(Duration halfLife, int capacity) {
+        this.halfLifeMillis = halfLife.toMillis();
+        this.capacity = capacity;
+    }
+
+    /**
+     * Add an interaction to a recipe's score.
+     *
+     * @param recipeId Recipe
+     * @param weight   Score of the interaction when fresh; negative lowers the score
+     * @param at       When it happened
+     */
+    public synchronized void record(UUID recipeId, double weight, Instant at) {
+        double contribution = weight * Math.pow(2, (at.toEpochMilli() - epochMillis) / halfLifeMillis);
+        Double previous = scores.get(recipeId);
+        double score = (previous != null ? previous : 0) + contribution;
+        scores.put(recipeId, score);
+        unsaved.merge(recipeId, contribution, Double::sum);
+
+        if (previous != null && top.remove(new Entry(recipeId, previous))) {
+            topSize--;
+        }
+        offer(new Entry(recipeId, score));
+    }
+
+    /**
+     * Forget a recipe, e.g. when it is deleted.
+     */
+    public synchronized void remove(UUID recipeId) {
+        Double previous = scores.remove(recipeId);
+        unsaved.remove(recipeId);
+        removed.add(recipeId);
+        if (previous != null && top.remove(new Entry(recipeId, previous))) {
+            topSize--;
+        }
+    }
+
+    /**
+     * Recipe ids of one page of the ranking, best first. Costs {@code offset + limit} steps.
+     */
+    public List<UUID> page(long offset, int limit) {
+        List<UUID> page = new ArrayList<>(limit);
+        Iterator<Entry> iterator = top.iterator();
+        for (long skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next().recipeId());
+        }
+        return page;
+    }
+
+    /**
+     * Number of ranked recipes, at most the capacity.
+     */
+    public synchronized int size() {
+        return topSize;
+    }
+
+    /**
+     * Move the epoch to {@code now}, scaling every score down accordingly, and forget recipes
+     * whose score has decayed to nothing. Afterwards scores equal their decayed value at {@code now}.
+     */
+    public synchronized void rebase(Instant now) {
+        double factor = Math.pow(2, (epochMillis - now.toEpochMilli()) / halfLifeMillis);
+        scores.replaceAll((recipeId, score) -> score * factor);
+        scores.values().removeIf(score -> Math.abs(score) < MIN_SCORE);
+        unsaved.replaceAll((recipeId, score) -> score * factor);
+        epochMillis = now.toEpochMilli();
+
+        top.clear();
+        topSize = 0;
+        scores.forEach((recipeId, score) -> offer(new Entry(recipeId, score)));
+    }
+
+    /**
+     * Copy of the ranking, best first, with scores relative to {@link #epoch()}.
+     */
+    public synchronized List<Entry> snapshot() {
+        return List.copyOf(top);
+    }
+
+    public Instant epoch() {
+        return Instant.ofEpochMilli(epochMillis);
+    }
+
+    /**
+     * Interactions and removals since the previous call, which are forgotten here.
+     */
+    public synchronized Changes drainChanges() {
+        Changes changes = new Changes(unsaved, removed);
+        unsaved = new HashMap<>();
+        removed = new HashSet<>();
+        return changes;
+    }
+
+    /**
+     * Hand back changes that could not be saved, so the next drain includes them again.
+     * The epoch must not have moved since they were drained.
+     */
+    public synchronized void requeue(Changes changes) {
+        changes.contributions().forEach((recipeId, score) -> unsaved.merge(recipeId, score, Double::sum));
+        removed.addAll(changes.removed());
+    }
+
+    /**
+     * Replace the ranking with a snapshot taken at {@code epoch}. Changes not drained yet are
+     * applied on top of it, so interactions recorded while the snapshot was loaded are kept.
+     */
+    public synchronized void restore(List<Entry> entries, Instant epoch) {
+        double factor = Math.pow(2, (epochMillis - epoch.toEpochMilli()) / halfLifeMillis);
+        unsaved.replaceAll((recipeId, score) -> score * factor);
+        scores.clear();
+        top.clear();
+        topSize = 0;
+        epochMillis = epoch.toEpochMilli();
+        for (Entry entry : entries) {
+            if (!removed.contains(entry.recipeId())) {
+                scores.put(entry.recipeId(), entry.score());
+            }
+        }
+        unsaved.forEach((recipeId, score) -> scores.merge(recipeId, score, Double::sum));
+        scores.forEach((recipeId, score) -> offer(new Entry(recipeId, score)));
+    }
+
+    // Caller holds the lock
+    private void offer(Entry entry) {
+        if (entry.score() <= 0) {
+            return;
+        }
+        if (topSize >= capacity) {
+            Entry weakest = top.last();
+            if (BEST_FIRST.compare(entry, weakest) >= 0) {
+                return;
+            }
+            top.remove(weakest);
+            topSize--;
+        }
+        top.add(entry);
+        topSize++;
+    }
+}
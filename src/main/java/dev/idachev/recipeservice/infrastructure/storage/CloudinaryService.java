@@ -3,32 +3,46 @@ package dev.idachev.recipeservice.infrastructure.storage;
 import com.cloudinary.Cloudinary;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Optional;
 
 /**
- * Service for handling image uploads to Cloudinary
+ * Service for handling image uploads to Cloudinary.
+ * Default {@link ImageStorage} backend, active unless {@code storage.provider} selects another one.
+ * <p>
+ * Images are hashed before upload and the SHA-256 is used as the public id; an image whose hash
+ * is already in the {@link ImageContentIndex} is not uploaded again.
  */
 @Service
 @Slf4j
-public class CloudinaryService {
+@ConditionalOnProperty(prefix = "storage", name = "provider", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryService implements ImageStorage {
 
     private static final String RECIPE_IMAGES_FOLDER = "recipe-images";
     private static final String GENERATED_RECIPE_IMAGES_FOLDER = "generated-recipe-images";
     private static final String RESOURCE_TYPE = "auto";
+    private static final String UPLOAD_TEMP_PREFIX = "recipe-upload-";
     // Fallback images that will always work
     private static final String FALLBACK_IMAGE_URL = "https://images.unsplash.com/photo-1546069901-ba9599a7e63c?w=600&auto=format&fit=crop";
 
     private final Cloudinary cloudinary;
+    private final ImageContentIndex imageContentIndex;
+    private final ImageDownloader imageDownloader;
     private final boolean isCloudinaryConfigured;
 
     @Autowired
-    public CloudinaryService(Cloudinary cloudinary) {
+    public CloudinaryService(Cloudinary cloudinary, ImageContentIndex imageContentIndex,
+                             ImageDownloader imageDownloader) {
         this.cloudinary = cloudinary;
+        this.imageContentIndex = imageContentIndex;
+        this.imageDownloader = imageDownloader;
         // Check if Cloudinary is properly configured
         Map<String, Object> config = cloudinary.config.asMap();
         String cloudName = (String) config.get("cloud_name");
@@ -41,57 +55,144 @@ public class CloudinaryService {
         }
     }
 
+    @Override
+    public String store(MultipartFile file) {
+        return uploadFile(file);
+    }
+
+    @Override
+    public String store(Path file, String originalFilename) {
+        return uploadFile(file, originalFilename);
+    }
+
+    @Override
+    public String storeFromUrl(String imageUrl) {
+        return uploadImageFromUrl(imageUrl);
+    }
+
+    @Override
+    public String storeDownloaded(Path file, String imageUrl) {
+        if (file == null || !isCloudinaryConfigured) {
+            return FALLBACK_IMAGE_URL;
+        }
+
+        try {
+            return uploadDeduplicated(file, GENERATED_RECIPE_IMAGES_FOLDER, imageUrl);
+        } catch (Exception e) {
+            // No fallback image: the caller keeps the original URL instead
+            log.error("Failed to upload image downloaded from URL: {}", imageUrl, e);
+            return null;
+        }
+    }
+
     /**
-     * Uploads an image from a URL to Cloudinary
+     * Uploads an image from a URL to Cloudinary.
+     * The image is downloaded to a temp file first so it can be hashed; URLs that already
+     * point at a stored image are returned unchanged.
      */
     public String uploadImageFromUrl(String imageUrl) {
         if (imageUrl == null || imageUrl.trim().isEmpty() || !isCloudinaryConfigured) {
             return FALLBACK_IMAGE_URL;
         }
 
-        log.debug("Uploading image from URL: {}", imageUrl);
-        String uniqueFilename = generateUniqueFilename();
-
-        Map<String, Object> options = Map.of(
-                "folder", GENERATED_RECIPE_IMAGES_FOLDER,
-                "resource_type", RESOURCE_TYPE,
-                "public_id", uniqueFilename
-        );
+        if (imageContentIndex.isStoredUrl(imageUrl)) {
+            log.debug("Image URL already stored, skipping upload: {}", imageUrl);
+            return imageUrl;
+        }
 
+        log.debug("Uploading image from URL: {}", imageUrl);
+        Path downloaded = null;
         try {
-            return processUpload(imageUrl, options);
+            downloaded = imageDownloader.download(imageUrl);
+            return uploadDeduplicated(downloaded, GENERATED_RECIPE_IMAGES_FOLDER, imageUrl);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while downloading image from URL: {}", imageUrl);
+            return FALLBACK_IMAGE_URL;
         } catch (Exception e) {
             log.error("Failed to upload image from URL: {}", imageUrl, e);
             // Return a fallback URL that will always work
             return FALLBACK_IMAGE_URL;
+        } finally {
+            deleteQuietly(downloaded);
         }
     }
 
     /**
-     * Uploads a file to Cloudinary
+     * Uploads a file to Cloudinary.
+     * The multipart content is moved to a temp file (Tomcat already spooled it to disk) and
+     * streamed from there, so the image is never materialized as a byte[] on the heap.
      */
     public String uploadFile(MultipartFile file) {
         if (file == null || file.isEmpty() || !isCloudinaryConfigured) {
             return FALLBACK_IMAGE_URL;
         }
 
-        log.debug("Uploading file: {}", file.getOriginalFilename());
-
-        Map<String, Object> options = Map.of(
-                "folder", RECIPE_IMAGES_FOLDER,
-                "resource_type", RESOURCE_TYPE,
-                "public_id", generateUniqueFilename()
-        );
-
+        Path spooled = null;
         try {
-            return processUpload(file.getBytes(), options);
+            spooled = Files.createTempFile(UPLOAD_TEMP_PREFIX, null);
+            // Tomcat renames its spooled part file into place instead of copying it
+            file.transferTo(spooled.toFile());
+            String url = uploadFile(spooled, file.getOriginalFilename());
+            // Return a fallback URL that will always work
+            return url != null ? url : FALLBACK_IMAGE_URL;
         } catch (Exception e) {
             log.error("Failed to upload file: {}", file.getOriginalFilename(), e);
             // Return a fallback URL that will always work
             return FALLBACK_IMAGE_URL;
+        } finally {
+            deleteQuietly(spooled);
         }
     }
 
+    /**
+     * Uploads a file from local disk to Cloudinary, streaming its content.
+     * The caller owns the file and is responsible for deleting it.
+     * Returns null rather than the fallback image when the upload fails, so an asynchronous
+     * upload can mark the recipe's image as failed instead of showing a stock photo.
+     */
+    public String uploadFile(Path file, String originalFilename) {
+        if (file == null || !isCloudinaryConfigured) {
+            log.warn("Cannot upload {}: no file or Cloudinary is not configured", originalFilename);
+            return null;
+        }
+
+        try {
+            String url = uploadDeduplicated(file, RECIPE_IMAGES_FOLDER, originalFilename);
+            return FALLBACK_IMAGE_URL.equals(url) ? null : url;
+        } catch (Exception e) {
+            log.error("Failed to upload file: {}", originalFilename, e);
+            return null;
+        }
+    }
+
+    /**
+     * Uploads the file unless an image with the same content hash is already stored.
+     */
+    private String uploadDeduplicated(Path file, String folder, String source) throws IOException {
+        String contentHash = ImageContentIndex.sha256(file);
+        Optional<String> storedUrl = imageContentIndex.findUrl(contentHash);
+        if (storedUrl.isPresent()) {
+            log.debug("Identical image already stored, skipping upload of {}", source);
+            return storedUrl.get();
+        }
+
+        log.debug("Uploading file: {}", source);
+        Map<String, Object> options = Map.of(
+                "folder", folder,
+                "resource_type", RESOURCE_TYPE,
+                // Same content, same public id: a racing duplicate upload ends up on one asset
+                "public_id", contentHash,
+                "overwrite", false
+        );
+
+        String url = processUpload(file.toFile(), options);
+        if (!FALLBACK_IMAGE_URL.equals(url)) {
+            imageContentIndex.record(contentHash, url, Files.size(file));
+        }
+        return url;
+    }
+
     /**
      * Processes the upload to Cloudinary
      */
@@ -119,7 +220,14 @@ public class CloudinaryService {
         }
     }
 
-    private String generateUniqueFilename() {
-        return String.valueOf(UUID.randomUUID());
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary upload file {}: {}", path, e.getMessage());
+        }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,101 @@
+package dev.idachev.recipeservice.infrastructure.storage;
+
+import dev.idachev.recipeservice.model.ImageAsset;
+import dev.idachev.recipeservice.repository.ImageAssetRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Content hash to URL index of stored images, used to skip uploading an image that is
+ * already in storage. Lookups fail open: if the index is unavailable the image is simply
+ * uploaded again.
+ */
+@Component
+@Slf4j
+public class ImageContentIndex {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final int BUFFER_SIZE = 8192;
+
+    private final ImageAssetRepository imageAssetRepository;
+
+    @Autowired
+    public ImageContentIndex(ImageAssetRepository imageAssetRepository) {
+        this.imageAssetRepository = imageAssetRepository;
+    }
+
+    /**
+     * Hex SHA-256 of a file, read through a fixed buffer.
+     */
+    public static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " not available", e);
+        }
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * URL of an already stored image with this content hash.
+     */
+    public Optional<String> findUrl(String contentHash) {
+        try {
+            return imageAssetRepository.findById(contentHash).map(ImageAsset::getUrl);
+        } catch (DataAccessException e) {
+            log.warn("Image index lookup failed, uploading anyway: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Whether the URL was handed out by the storage backend, i.e. needs no further copy.
+     */
+    public boolean isStoredUrl(String url) {
+        try {
+            return imageAssetRepository.existsByUrl(url);
+        } catch (DataAccessException e) {
+            log.warn("Image index lookup failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Remember where an image with this content hash was stored.
+     */
+    public void record(String contentHash, String url, long sizeBytes) {
+        try {
+            imageAssetRepository.save(ImageAsset.builder()
+                    .contentHash(contentHash)
+                    .url(url)
+                    .sizeBytes(sizeBytes)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent upload of the same image recorded it first
+            log.debug("Image {} already indexed", contentHash);
+        } catch (DataAccessException e) {
+            log.warn("Could not index image {}: {}", contentHash, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package dev.idachev.recipeservice.infrastructure.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Downloads remote images, e.g. the short-lived URLs an AI provider returns, to temp files so
+ * they can be hashed, stored and resized from local disk.
+ */
+@Component
+@Slf4j
+public class ImageDownloader {
+
+    private static final String DOWNLOAD_TEMP_PREFIX = "recipe-download-";
+    private static final Duration DOWNLOAD_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+
+    public ImageDownloader() {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(DOWNLOAD_TIMEOUT)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * Download a remote image to a temp file.
+     *
+     * @param imageUrl Remote image URL
+     * @return The temp file; the caller owns it
+     * @throws IOException if the image cannot be downloaded
+     */
+    public Path download(String imageUrl) throws IOException, InterruptedException {
+        Path target = Files.createTempFile(DOWNLOAD_TEMP_PREFIX, null);
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(imageUrl))
+                    .timeout(DOWNLOAD_TIMEOUT)
+                    .GET()
+                    .build();
+            HttpResponse<Path> response = httpClient.send(request, HttpResponse.BodyHandlers.ofFile(target));
+            if (response.statusCode() != 200) {
+                throw new IOException("Image download failed with status " + response.statusCode());
+            }
+            return target;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            deleteQuietly(target);
+            throw e;
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete temp image {}: {}", file, e.getMessage());
+        }
+    }
+}
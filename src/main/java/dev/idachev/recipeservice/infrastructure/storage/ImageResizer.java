@@ -0,0 +1,171 @@
+package dev.idachev.recipeservice.infrastructure.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Pure-Java (ImageIO / Java2D) resizing of recipe images into width-bounded JPEG variants.
+ * <p>
+ * The source is decoded once, subsampled while reading when it is much larger than the biggest
+ * variant, and each smaller variant is scaled from the previous one. CPU-heavy: callers should
+ * run it on a bounded pool.
+ */
+@Component
+@Slf4j
+public class ImageResizer {
+
+    // Refuse to decode images whose raster would not fit comfortably in memory
+    private static final long MAX_SOURCE_PIXELS = 40_000_000L;
+    private static final float JPEG_QUALITY = 0.85f;
+    private static final String VARIANT_TEMP_PREFIX = "recipe-variant-";
+
+    /**
+     * Variants produced for every uploaded image, largest first.
+     */
+    public enum Variant {
+        FULL(1600),
+        CARD(600),
+        THUMBNAIL(200);
+
+        private final int maxWidth;
+
+        Variant(int maxWidth) {
+            this.maxWidth = maxWidth;
+        }
+
+        public int maxWidth() {
+            return maxWidth;
+        }
+    }
+
+    /**
+     * Write one JPEG per variant to temp files. Images narrower than a variant are not upscaled.
+     *
+     * @param source Image file (any format ImageIO can read)
+     * @return Temp file per variant; the caller deletes them
+     * @throws IOException if the image cannot be decoded or is too large
+     */
+    public Map<Variant, Path> resize(Path source) throws IOException {
+        BufferedImage image = toRgb(read(source));
+
+        Map<Variant, Path> files = new EnumMap<>(Variant.class);
+        try {
+            for (Variant variant : Variant.values()) {
+                image = scaleToWidth(image, variant.maxWidth);
+                files.put(variant, writeJpeg(image));
+            }
+            return files;
+        } catch (IOException | RuntimeException e) {
+            for (Path file : files.values()) {
+                Files.deleteIfExists(file);
+            }
+            throw e;
+        }
+    }
+
+    private BufferedImage read(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    throw new IOException("Image too large to resize: " + width + "x" + height);
+                }
+
+                // Decode every n-th pixel when the source is at least twice the largest variant
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, width / Variant.FULL.maxWidth);
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * JPEG has no alpha channel; flatten transparency onto white.
+     */
+    private BufferedImage toRgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB) {
+            return image;
+        }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+            graphics.drawImage(image, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rgb;
+    }
+
+    /**
+     * Downscale in halving steps; a single bilinear pass over a large ratio aliases badly.
+     */
+    private BufferedImage scaleToWidth(BufferedImage image, int maxWidth) {
+        BufferedImage current = image;
+        while (current.getWidth() > maxWidth) {
+            int width = Math.max(maxWidth, current.getWidth() / 2);
+            int height = Math.max(1, (int) Math.round((double) current.getHeight() * width / current.getWidth()));
+
+            BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = scaled.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = scaled;
+        }
+        return current;
+    }
+
+    private Path writeJpeg(BufferedImage image) throws IOException {
+        Path file = Files.createTempFile(VARIANT_TEMP_PREFIX, ".jpg");
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(file.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+            return file;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        } finally {
+            writer.dispose();
+        }
+    }
+}
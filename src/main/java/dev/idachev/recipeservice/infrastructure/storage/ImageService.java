@@ -6,18 +6,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
+
 /**
  * Infrastructure service for image storage operations.
+ * Delegates to the configured {@link ImageStorage} backend.
  */
 @Service
 @Slf4j
 public class ImageService {
 
-    private final CloudinaryService cloudinaryService;
+    private final ImageStorage imageStorage;
 
     @Autowired
-    public ImageService(CloudinaryService cloudinaryService) {
-        this.cloudinaryService = cloudinaryService;
+    public ImageService(ImageStorage imageStorage) {
+        this.imageStorage = imageStorage;
     }
 
     /**
@@ -30,10 +33,28 @@ public class ImageService {
         }
 
         try {
-            return cloudinaryService.uploadFile(file);
+            return imageStorage.store(file);
+        } catch (Exception e) {
+            log.error("Error uploading image: {}", e.getMessage());
+            throw new ImageProcessingException("Failed to upload image", e);
+        }
+    }
+
+    /**
+     * Upload an image already stored on local disk and return its URL, or null if the storage
+     * backend could not store it.
+     */
+    public String uploadImage(Path file, String originalFilename) {
+        if (file == null) {
+            log.warn("Attempted to upload null file");
+            return null;
+        }
+
+        try {
+            return imageStorage.store(file, originalFilename);
         } catch (Exception e) {
             log.error("Error uploading image: {}", e.getMessage());
             throw new ImageProcessingException("Failed to upload image", e);
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package dev.idachev.recipeservice.infrastructure.storage;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+
+/**
+ * Backend that stores recipe images and hands out the URL they are served from.
+ * The active implementation is selected with {@code storage.provider}.
+ */
+public interface ImageStorage {
+
+    /**
+     * Store an uploaded multipart image.
+     *
+     * @param file Image from the request
+     * @return Public URL of the stored image
+     */
+    String store(MultipartFile file);
+
+    /**
+     * Store an image already on local disk. The caller keeps ownership of the file.
+     *
+     * @param file             Image file
+     * @param originalFilename Client-side file name, for logging
+     * @return Public URL of the stored image, or null if it could not be stored
+     */
+    String store(Path file, String originalFilename);
+
+    /**
+     * Copy a remote image, e.g. a short-lived AI provider URL, into the store.
+     *
+     * @param imageUrl Remote image URL
+     * @return Public URL of the stored image
+     */
+    String storeFromUrl(String imageUrl);
+
+    /**
+     * Same as {@link #storeFromUrl(String)} for a remote image the caller already downloaded,
+     * e.g. to resize the same copy afterwards. The caller keeps ownership of the file.
+     *
+     * @param file     Downloaded image file
+     * @param imageUrl Remote image URL it was downloaded from
+     * @return Public URL of the stored image, or null if it could not be stored
+     */
+    String storeDownloaded(Path file, String imageUrl);
+}
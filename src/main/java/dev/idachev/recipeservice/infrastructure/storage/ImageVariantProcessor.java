@@ -0,0 +1,191 @@
+package dev.idachev.recipeservice.infrastructure.storage;
+
+import dev.idachev.recipeservice.exception.ImageProcessingException;
+import dev.idachev.recipeservice.infrastructure.storage.ImageResizer.Variant;
+import dev.idachev.recipeservice.model.ImageVariants;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Produces and stores the resized variants of a recipe image, for uploaded and AI generated
+ * images alike.
+ * <p>
+ * Resizing is CPU-bound and runs on a bounded processing pool; when the pool is saturated the
+ * variants are skipped rather than queued. Every failure only costs the variants, never the
+ * original image, so callers get an empty result instead of an exception.
+ * <p>
+ * Variants of AI generated images are made in the background, before any recipe uses the image,
+ * and remembered under the URL the original was stored at until a recipe saved with that URL
+ * picks them up. Only the most recent ones are remembered, and only on this instance.
+ */
+@Component
+@Slf4j
+public class ImageVariantProcessor {
+
+    private final ImageResizer imageResizer;
+    private final ImageService imageService;
+    private final ThreadPoolExecutor processingExecutor;
+    // Variants of generated images by the URL of the stored original, oldest evicted first
+    private final Map<String, CompletableFuture<ImageVariants>> generatedVariants;
+
+    @Autowired
+    public ImageVariantProcessor(ImageResizer imageResizer, ImageService imageService,
+                                 @Value("${recipe.image-processing.threads:2}") int processingThreads,
+                                 @Value("${recipe.image-processing.queue-capacity:16}") int processingQueueCapacity,
+                                 @Value("${recipe.image-processing.generated-capacity:256}") int generatedCapacity) {
+        this.imageResizer = imageResizer;
+        this.imageService = imageService;
+        // CPU-bound resizing; rejects when full so it never runs on a caller's thread
+        AtomicInteger processingCount = new AtomicInteger();
+        this.processingExecutor = new ThreadPoolExecutor(processingThreads, processingThreads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(processingQueueCapacity),
+                runnable -> new Thread(runnable, "image-processing-" + processingCount.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.processingExecutor.allowCoreThreadTimeOut(true);
+        this.generatedVariants = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<ImageVariants>> eldest) {
+                return size() > generatedCapacity;
+            }
+        });
+    }
+
+    /**
+     * Resize an image on disk on the processing pool and store the variants. Blocks until done.
+     *
+     * @param source Image file; the caller keeps ownership
+     * @param name   Base name the variants are stored under, e.g. {@code dish} for {@code dish-card.jpg}
+     * @return The stored variants, or empty if the pool is saturated or resizing or storing failed
+     */
+    public Optional<ImageVariants> process(Path source, String name) {
+        Future<Map<Variant, Path>> resizing;
+        try {
+            resizing = processingExecutor.submit(() -> imageResizer.resize(source));
+        } catch (RejectedExecutionException e) {
+            log.warn("Image processing saturated, skipping variants of {}", name);
+            return Optional.empty();
+        }
+
+        Map<Variant, Path> files = Map.of();
+        try {
+            files = resizing.get();
+            return Optional.of(storeVariants(files, name));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            resizing.cancel(true);
+        } catch (ExecutionException e) {
+            log.warn("Could not resize image {}: {}", name, e.getCause().getMessage());
+        } catch (Exception e) {
+            log.warn("Could not store image variants of {}: {}", name, e.getMessage());
+        } finally {
+            files.values().forEach(this::deleteQuietly);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Resize a generated image on the processing pool and store the variants, without waiting
+     * for either. The variants are then available from {@link #generatedVariants(String)}; when
+     * the pool is saturated they are skipped.
+     *
+     * @param source   Image file; the processor takes ownership and deletes it when done
+     * @param name     Base name the variants are stored under
+     * @param imageUrl URL the original image was stored at
+     */
+    public void processGenerated(Path source, String name, String imageUrl) {
+        CompletableFuture<ImageVariants> variants;
+        try {
+            variants = CompletableFuture.supplyAsync(() -> resizeAndStore(source, name), processingExecutor);
+        } catch (RejectedExecutionException e) {
+            log.warn("Image processing saturated, skipping variants of {}", name);
+            deleteQuietly(source);
+            return;
+        }
+        generatedVariants.put(imageUrl, variants);
+    }
+
+    /**
+     * Variants of a generated image handed to {@link #processGenerated(Path, String, String)}.
+     * The future fails if they could not be made.
+     *
+     * @param imageUrl URL the original image was stored at
+     * @return The pending or stored variants, or empty if this instance has none for the image
+     */
+    public Optional<CompletableFuture<ImageVariants>> generatedVariants(String imageUrl) {
+        if (!StringUtils.hasText(imageUrl)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(generatedVariants.get(imageUrl));
+    }
+
+    private ImageVariants resizeAndStore(Path source, String name) {
+        Map<Variant, Path> files = Map.of();
+        try {
+            files = imageResizer.resize(source);
+            return storeVariants(files, name);
+        } catch (IOException e) {
+            log.warn("Could not resize image {}: {}", name, e.getMessage());
+            throw new UncheckedIOException(e);
+        } finally {
+            files.values().forEach(this::deleteQuietly);
+            deleteQuietly(source);
+        }
+    }
+
+    private ImageVariants storeVariants(Map<Variant, Path> files, String name) {
+        return ImageVariants.builder()
+                .thumbnailUrl(storeVariant(files, Variant.THUMBNAIL, name))
+                .cardUrl(storeVariant(files, Variant.CARD, name))
+                .fullUrl(storeVariant(files, Variant.FULL, name))
+                .build();
+    }
+
+    private String storeVariant(Map<Variant, Path> files, Variant variant, String name) {
+        String fileName = name + "-" + variant.name().toLowerCase() + ".jpg";
+        String url = imageService.uploadImage(files.get(variant), fileName);
+        if (!StringUtils.hasText(url)) {
+            throw new ImageProcessingException("Image storage did not store " + fileName);
+        }
+        return url;
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete temp image {}: {}", file, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        processingExecutor.shutdown();
+        if (!processingExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+            processingExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package dev.idachev.recipeservice.infrastructure.storage;
+
+import dev.idachev.recipeservice.config.StorageProperties;
+import dev.idachev.recipeservice.exception.ImageProcessingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * {@link ImageStorage} backed by the local file system, for deployments without Cloudinary.
+ * <p>
+ * Images are content-addressed: the file name is the SHA-256 of the bytes, computed while the
+ * upload is streamed to disk, so identical images are stored once and a stored file never
+ * changes. Files live under {@code storage.location}/&lt;first two hash chars&gt;/ and are served
+ * by {@link dev.idachev.recipeservice.web.ImageController}.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(prefix = "storage", name = "provider", havingValue = "local")
+public class LocalImageStorage implements ImageStorage {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final int BUFFER_SIZE = 8192;
+    // Enough leading bytes to recognise every supported format
+    private static final int SIGNATURE_LENGTH = 12;
+    private static final Duration DOWNLOAD_TIMEOUT = Duration.ofSeconds(30);
+    private static final Pattern STORED_NAME = Pattern.compile("([0-9a-f]{64})\\.([a-z]{3,4})");
+
+    private final Path root;
+    private final String publicUrl;
+    private final long maxFileSize;
+    private final Set<String> allowedContentTypes;
+    private final HttpClient httpClient;
+
+    /**
+     * Supported image formats, recognised by their magic bytes rather than the client's claim.
+     */
+    enum ImageFormat {
+        JPEG("image/jpeg", "jpg"),
+        PNG("image/png", "png"),
+        GIF("image/gif", "gif"),
+        WEBP("image/webp", "webp");
+
+        private final String contentType;
+        private final String extension;
+
+        ImageFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        static Optional<ImageFormat> fromExtension(String extension) {
+            return Arrays.stream(values()).filter(format -> format.extension.equals(extension)).findFirst();
+        }
+
+        static Optional<ImageFormat> detect(byte[] header, int length) {
+            if (length >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+                return Optional.of(JPEG);
+            }
+            if (length >= 8 && (header[0] & 0xFF) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G'
+                    && header[4] == 0x0D && header[5] == 0x0A && header[6] == 0x1A && header[7] == 0x0A) {
+                return Optional.of(PNG);
+            }
+            if (length >= 4 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F' && header[3] == '8') {
+                return Optional.of(GIF);
+            }
+            if (length >= 12 && header[0] == 'R' && header[1] == 'I' && header[2] == 'F' && header[3] == 'F'
+                    && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+                return Optional.of(WEBP);
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stored image resolved from its public name.
+     *
+     * @param path        File on disk
+     * @param hash        SHA-256 of the content, usable as a strong ETag
+     * @param contentType MIME type of the image
+     * @param size        Size in bytes
+     */
+    public record StoredImage(Path path, String hash, String contentType, long size) {
+    }
+
+    @Autowired
+    public LocalImageStorage(StorageProperties storageProperties) {
+        this.root = Path.of(storageProperties.location()).toAbsolutePath().normalize();
+        this.publicUrl = StringUtils.trimTrailingCharacter(storageProperties.publicUrl(), '/');
+        this.maxFileSize = storageProperties.maxFileSize().toBytes();
+        this.allowedContentTypes = storageProperties.allowedContentTypes().stream()
+                .map(String::toLowerCase)
+                .collect(Collectors.toUnmodifiableSet());
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(DOWNLOAD_TIMEOUT)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+
+        try {
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create image storage directory " + root, e);
+        }
+        log.info("Local image storage at {} serving under {}", root, publicUrl);
+    }
+
+    @Override
+    public String store(MultipartFile file) {
+        try (InputStream in = file.getInputStream()) {
+            return store(in, file.getOriginalFilename());
+        } catch (IOException e) {
+            throw new ImageProcessingException("Failed to store image: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String store(Path file, String originalFilename) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return store(in, originalFilename);
+        } catch (IOException e) {
+            throw new ImageProcessingException("Failed to store image: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String storeFromUrl(String imageUrl) {
+        if (!StringUtils.hasText(imageUrl)) {
+            return null;
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(imageUrl))
+                .timeout(DOWNLOAD_TIMEOUT)
+                .GET()
+                .build();
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream in = response.body()) {
+                if (response.statusCode() != 200) {
+                    throw new ImageProcessingException("Image download failed with status " + response.statusCode());
+                }
+                return store(in, imageUrl);
+            }
+        } catch (IOException e) {
+            throw new ImageProcessingException("Failed to download image: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ImageProcessingException("Interrupted while downloading image", e);
+        }
+    }
+
+    @Override
+    public String storeDownloaded(Path file, String imageUrl) {
+        return store(file, imageUrl);
+    }
+
+    /**
+     * Resolve a name handed out by this storage to its file.
+     *
+     * @param name File name from the public URL, e.g. {@code <sha-256>.jpg}
+     * @return The stored image, or empty if the name is malformed or unknown
+     */
+    public Optional<StoredImage> find(String name) {
+        Matcher matcher = STORED_NAME.matcher(name);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        String hash = matcher.group(1);
+        Optional<ImageFormat> format = ImageFormat.fromExtension(matcher.group(2));
+        if (format.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Path path = pathFor(hash, format.get());
+        try {
+            return Optional.of(new StoredImage(path, hash, format.get().contentType, Files.size(path)));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stream the image to a temp file next to the store while hashing it, then move it to its
+     * content address. Size and format are checked on the fly so nothing oversized is kept.
+     */
+    private String store(InputStream in, String originalFilename) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        byte[] header = new byte[SIGNATURE_LENGTH];
+        int headerLength = 0;
+        long total = 0;
+
+        Path temp = Files.createTempFile(root, ".upload-", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    total += read;
+                    if (total > maxFileSize) {
+                        throw new ImageProcessingException("Image exceeds the maximum size of " + maxFileSize + " bytes");
+                    }
+                    if (headerLength < SIGNATURE_LENGTH) {
+                        int copied = Math.min(read, SIGNATURE_LENGTH - headerLength);
+                        System.arraycopy(buffer, 0, header, headerLength, copied);
+                        headerLength += copied;
+                    }
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+
+            ImageFormat format = ImageFormat.detect(header, headerLength)
+                    .filter(detected -> allowedContentTypes.contains(detected.contentType))
+                    .orElseThrow(() -> new ImageProcessingException("Unsupported image type: " + originalFilename));
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = pathFor(hash, format);
+            if (Files.exists(target)) {
+                log.debug("Image {} already stored as {}", originalFilename, target.getFileName());
+            } else {
+                Files.createDirectories(target.getParent());
+                moveIntoPlace(temp, target);
+                log.debug("Stored image {} as {} ({} bytes)", originalFilename, target.getFileName(), total);
+            }
+            return publicUrl + "/" + target.getFileName();
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            // Same content under the same name, so a concurrent writer winning the race is harmless
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Path pathFor(String hash, ImageFormat format) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash + "." + format.extension);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " not available", e);
+        }
+    }
+}
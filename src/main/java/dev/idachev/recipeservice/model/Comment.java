@@ -7,7 +7,10 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table
+@Table(indexes = {
+    @Index(name = "idx_comment_recipe_created", columnList = "recipe_id, created_at"),
+    @Index(name = "idx_comment_user_created", columnList = "user_id, created_at")
+})
 @Getter
 @ToString
 @EqualsAndHashCode(of = "id")
@@ -17,7 +20,7 @@ import java.util.UUID;
 public class Comment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(nullable = false, columnDefinition = "TEXT")
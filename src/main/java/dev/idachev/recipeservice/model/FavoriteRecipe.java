@@ -8,7 +8,9 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "favorite_recipes", uniqueConstraints = {
-    @UniqueConstraint(columnNames = {"user_id", "recipe_id"})
+    @UniqueConstraint(name = "uk_favorite_recipes_user_recipe", columnNames = {"user_id", "recipe_id"})
+}, indexes = {
+    @Index(name = "idx_favorite_recipes_recipe", columnList = "recipe_id")
 })
 @Getter
 @ToString
@@ -18,7 +20,7 @@ import java.util.UUID;
 @AllArgsConstructor
 public class FavoriteRecipe {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(nullable = false)
@@ -0,0 +1,40 @@
+package dev.idachev.recipeservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Image already held by the storage backend, keyed by the SHA-256 of its content.
+ * Lets identical uploads reuse the stored URL instead of being uploaded again.
+ */
+@Entity
+@Table(name = "image_assets", indexes = {
+    @Index(name = "idx_image_asset_url", columnList = "url")
+})
+@Getter
+@ToString
+@EqualsAndHashCode(of = "contentHash")
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageAsset {
+    @Id
+    @Column(length = 64)
+    private String contentHash;
+
+    @Column(nullable = false, length = 512)
+    private String url;
+
+    @Column
+    private Long sizeBytes;
+
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,11 @@
+package dev.idachev.recipeservice.model;
+
+/**
+ * Lifecycle of a recipe image uploaded through the asynchronous pipeline.
+ */
+public enum ImageStatus {
+    NONE,
+    PENDING,
+    READY,
+    FAILED
+}
@@ -0,0 +1,28 @@
+package dev.idachev.recipeservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+/**
+ * Width-bounded copies of a recipe image, produced from uploads so list views
+ * do not have to download the original.
+ */
+@Embeddable
+@Getter
+@ToString
+@EqualsAndHashCode
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageVariants {
+
+    @Column(name = "image_thumbnail_url")
+    private String thumbnailUrl;
+
+    @Column(name = "image_card_url")
+    private String cardUrl;
+
+    @Column(name = "image_full_url")
+    private String fullUrl;
+}
@@ -17,7 +17,7 @@ import java.util.UUID;
 public class Macros {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(precision = 10, scale = 2)
@@ -0,0 +1,41 @@
+package dev.idachev.recipeservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Copy of a recipe's {@link Macros} kept on the recipe row itself, so nutrition filters are
+ * range scans over indexed columns of one table instead of a join per recipe.
+ */
+@Embeddable
+@Getter
+@ToString
+@EqualsAndHashCode
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class NutritionSummary {
+
+    @Column(name = "calories", precision = 10, scale = 2)
+    private BigDecimal calories;
+
+    @Column(name = "protein_grams", precision = 10, scale = 2)
+    private BigDecimal proteinGrams;
+
+    @Column(name = "carbs_grams", precision = 10, scale = 2)
+    private BigDecimal carbsGrams;
+
+    @Column(name = "fat_grams", precision = 10, scale = 2)
+    private BigDecimal fatGrams;
+
+    public static NutritionSummary of(Macros macros) {
+        if (macros == null) {
+            return null;
+        }
+        return new NutritionSummary(macros.getCalories(), macros.getProteinGrams(),
+                macros.getCarbsGrams(), macros.getFatGrams());
+    }
+}
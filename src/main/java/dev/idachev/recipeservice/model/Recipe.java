@@ -2,17 +2,28 @@ package dev.idachev.recipeservice.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.UUID;
 import java.util.List;
 
 @Entity
-@Table
+@Table(indexes = {
+        @Index(name = "idx_recipe_total_time", columnList = "total_time_minutes"),
+        @Index(name = "idx_recipe_difficulty_time", columnList = "difficulty, total_time_minutes"),
+        @Index(name = "idx_recipe_calories", columnList = "calories"),
+        @Index(name = "idx_recipe_protein", columnList = "protein_grams"),
+        @Index(name = "idx_recipe_user", columnList = "user_id"),
+        @Index(name = "idx_recipe_created_at", columnList = "created_at DESC"),
+        @Index(name = "idx_recipe_updated_at", columnList = "updated_at")
+})
 @Getter
-@ToString(exclude = {"macros", "tags"})
+@ToString(exclude = {"macros", "tags", "ingredients"})
 @EqualsAndHashCode(of = "id")
 @Builder(toBuilder = true)
 @NoArgsConstructor
@@ -20,7 +31,7 @@ import java.util.List;
 public class Recipe {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Version
@@ -35,8 +46,31 @@ public class Recipe {
     @Column
     private String imageUrl;
 
-    @Column(columnDefinition = "TEXT")
-    private String ingredients;
+    @Column
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private ImageStatus imageStatus = ImageStatus.NONE;
+
+    @Embedded
+    private ImageVariants imageVariants;
+
+    // Upload allowed to patch the image; a newer upload replaces it in the same transaction
+    @Column
+    private UUID imageUploadToken;
+
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "recipe_ingredient",
+                     joinColumns = @JoinColumn(name = "recipe_id"),
+                     indexes = { @Index(name = "idx_recipe_ingredient_name", columnList = "name") })
+    @OrderColumn(name = "position")
+    // List pages initialize the ingredients of a whole page with one IN query
+    @BatchSize(size = 100)
+    @Builder.Default
+    private List<RecipeIngredient> ingredients = new ArrayList<>();
+
+    // JSON array from before recipe_ingredient existed; RecipeIngredientBackfill moves it over
+    @Column(name = "ingredients", columnDefinition = "TEXT")
+    private String legacyIngredients;
 
     @Column(columnDefinition = "TEXT")
     private String servingSuggestions;
@@ -52,14 +86,18 @@ public class Recipe {
     @Column
     private LocalDateTime updatedAt;
 
-    @Column
+    @Column(name = "total_time_minutes")
     private Integer totalTimeMinutes;
 
     @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JoinColumn(name = "macros_id", referencedColumnName = "id")
     private Macros macros;
 
-    @Column
+    // Denormalized from macros by syncNutrition() for the nutrition filters
+    @Embedded
+    private NutritionSummary nutrition;
+
+    @Column(name = "difficulty")
     @Enumerated(EnumType.STRING)
     private DifficultyLevel difficulty;
 
@@ -81,4 +119,13 @@ public class Recipe {
                      indexes = { @Index(name = "idx_tag", columnList = "tag") })
     @Column(name = "tag")
     private List<String> tags;
+
+    @PrePersist
+    @PreUpdate
+    protected void syncNutrition() {
+        // Macros still behind an uninitialized proxy were not touched, so the copy is current
+        if (Hibernate.isInitialized(macros)) {
+            nutrition = NutritionSummary.of(macros);
+        }
+    }
 } 
\ No newline at end of file
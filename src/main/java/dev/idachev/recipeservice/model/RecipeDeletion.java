@@ -0,0 +1,44 @@
+package dev.idachev.recipeservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A deleted recipe, kept for a while so other instances can drop it from their in-memory indexes.
+ * A recipe is deleted once, so every instance is new and saved without a prior SELECT.
+ */
+@Entity
+@Table(name = "recipe_deletions", indexes = {
+        @Index(name = "idx_recipe_deletions_deleted_at", columnList = "deleted_at")
+})
+@Getter
+@ToString
+@EqualsAndHashCode(of = "recipeId")
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeDeletion implements Persistable<UUID> {
+    @Id
+    private UUID recipeId;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+
+    public static RecipeDeletion of(UUID recipeId) {
+        return new RecipeDeletion(recipeId, LocalDateTime.now());
+    }
+
+    @Override
+    public UUID getId() {
+        return recipeId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
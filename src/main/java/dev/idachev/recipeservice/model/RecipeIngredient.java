@@ -0,0 +1,86 @@
+package dev.idachev.recipeservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * One ingredient line of a recipe, stored as a row of {@code recipe_ingredient}.
+ * <p>
+ * {@code text} is the line as entered ("200g spaghetti"); {@code name} is its lowercase
+ * core with leading quantities and units removed ("spaghetti"), indexed for lookups by ingredient.
+ */
+@Embeddable
+@Getter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeIngredient {
+
+    public static final int MAX_TEXT_LENGTH = 500;
+    public static final int MAX_NAME_LENGTH = 255;
+
+    private static final Pattern QUANTITY = Pattern.compile(
+            "^(\\d+([.,/]\\d+)?|\\d*[½⅓⅔¼¾⅛]|\\d+([.,]\\d+)?-\\d+([.,]\\d+)?)(g|gr|kg|mg|ml|l|oz|lb|lbs)?$");
+    private static final Set<String> UNITS = Set.of(
+            "g", "gr", "gram", "grams", "kg", "mg", "ml", "l", "liter", "liters", "litre", "litres",
+            "cup", "cups", "tbsp", "tablespoon", "tablespoons", "tsp", "teaspoon", "teaspoons",
+            "oz", "ounce", "ounces", "lb", "lbs", "pound", "pounds", "pinch", "pinches", "dash", "dashes",
+            "clove", "cloves", "can", "cans", "slice", "slices", "piece", "pieces", "handful", "handfuls",
+            "bunch", "bunches", "x");
+
+    @Column(name = "original_text", nullable = false, length = MAX_TEXT_LENGTH)
+    private String text;
+
+    @Column(name = "name", nullable = false, length = MAX_NAME_LENGTH)
+    private String name;
+
+    /**
+     * Ingredient row for a line of text, trimmed and cut to {@link #MAX_TEXT_LENGTH}.
+     */
+    public static RecipeIngredient of(String text) {
+        String trimmed = text.trim();
+        if (trimmed.length() > MAX_TEXT_LENGTH) {
+            trimmed = trimmed.substring(0, MAX_TEXT_LENGTH);
+        }
+        return new RecipeIngredient(trimmed, normalizeName(trimmed));
+    }
+
+    public static List<RecipeIngredient> listOf(String... texts) {
+        return Arrays.stream(texts).map(RecipeIngredient::of).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Lowercase core of an ingredient line: parenthesised notes and anything after the first
+     * comma are dropped, as are leading quantities, units and a following "of".
+     * Falls back to the whole lowercased line when nothing would be left.
+     */
+    public static String normalizeName(String text) {
+        String cleaned = text.toLowerCase(Locale.ROOT)
+                .replaceAll("\\([^)]*\\)", " ")
+                .split(",", 2)[0]
+                .trim()
+                .replaceAll("\\s+", " ");
+
+        String[] tokens = cleaned.split(" ");
+        int start = 0;
+        while (start < tokens.length && (QUANTITY.matcher(tokens[start]).matches() || UNITS.contains(tokens[start]))) {
+            start++;
+        }
+        if (start > 0 && start < tokens.length && tokens[start].equals("of")) {
+            start++;
+        }
+
+        String name = start < tokens.length ? String.join(" ", Arrays.copyOfRange(tokens, start, tokens.length)) : cleaned;
+        return name.length() > MAX_NAME_LENGTH ? name.substring(0, MAX_NAME_LENGTH) : name;
+    }
+}
@@ -8,7 +8,9 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "recipe_votes", uniqueConstraints = {
-    @UniqueConstraint(columnNames = {"user_id", "recipe_id"})
+    @UniqueConstraint(name = "uk_recipe_votes_user_recipe", columnNames = {"user_id", "recipe_id"})
+}, indexes = {
+    @Index(name = "idx_recipe_votes_recipe", columnList = "recipe_id")
 })
 @Getter
 @ToString
@@ -19,7 +21,7 @@ import java.util.UUID;
 public class RecipeVote {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
     
     @Column(name = "user_id", nullable = false)
@@ -0,0 +1,19 @@
+package dev.idachev.recipeservice.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the annotated {@code UUID} id as a time-ordered UUIDv7, so new rows are appended to
+ * the right edge of the clustered primary key instead of landing on random index pages.
+ * Use instead of {@code @GeneratedValue(strategy = GenerationType.UUID)}.
+ */
+@IdGeneratorType(TimeOrderedUuidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TimeOrderedUuid {
+}
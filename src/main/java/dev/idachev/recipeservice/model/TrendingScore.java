@@ -0,0 +1,42 @@
+package dev.idachev.recipeservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One row of the last trending snapshot, so the ranking survives a restart.
+ * {@code score} is the decayed score as of {@code snapshotAt}.
+ * Snapshots replace all rows, so every instance is new and saved without a prior SELECT.
+ */
+@Entity
+@Table(name = "trending_scores")
+@Getter
+@ToString
+@EqualsAndHashCode(of = "recipeId")
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingScore implements Persistable<UUID> {
+    @Id
+    private UUID recipeId;
+
+    @Column(nullable = false)
+    private double score;
+
+    @Column(nullable = false)
+    private LocalDateTime snapshotAt;
+
+    @Override
+    public UUID getId() {
+        return recipeId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
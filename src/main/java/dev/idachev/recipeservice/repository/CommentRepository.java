@@ -5,6 +5,7 @@ import dev.idachev.recipeservice.repository.dto.RecipeCommentCountDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -28,4 +29,13 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
            "FROM Comment c WHERE c.recipeId IN :recipeIds GROUP BY c.recipeId")
     List<RecipeCommentCountDto> countByRecipeIdIn(@Param("recipeIds") Set<UUID> recipeIds);
 
+    /**
+     * Removes every comment on a recipe in one statement, without loading the rows.
+     *
+     * @return number of comments deleted
+     */
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.recipeId = :recipeId")
+    int deleteByRecipeId(@Param("recipeId") UUID recipeId);
+
 } 
\ No newline at end of file
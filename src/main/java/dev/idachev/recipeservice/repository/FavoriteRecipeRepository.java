@@ -2,10 +2,15 @@ package dev.idachev.recipeservice.repository;
 
 import dev.idachev.recipeservice.model.FavoriteRecipe;
 import dev.idachev.recipeservice.repository.dto.RecipeFavoriteCountDto;
+import dev.idachev.recipeservice.repository.dto.RecipeFavoriteTimeDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -17,6 +22,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 public interface FavoriteRecipeRepository extends JpaRepository<FavoriteRecipe, UUID> {
@@ -25,6 +31,13 @@ public interface FavoriteRecipeRepository extends JpaRepository<FavoriteRecipe,
 
     List<FavoriteRecipe> findByUserId(UUID userId);
 
+    /**
+     * A user's favorites, for exports. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("SELECT f FROM FavoriteRecipe f WHERE f.userId = :userId")
+    Stream<FavoriteRecipe> streamByUserId(@Param("userId") UUID userId);
+
     List<FavoriteRecipe> findByRecipeId(UUID recipeId);
 
     boolean existsByUserIdAndRecipeId(UUID userId, UUID recipeId);
@@ -35,8 +48,38 @@ public interface FavoriteRecipeRepository extends JpaRepository<FavoriteRecipe,
 
     void deleteByUserIdAndRecipeId(UUID userId, UUID recipeId);
 
-    // Used by RecipeService.deleteRecipe. Ensure cascade strategy aligns if Recipe entity changes.
-    void deleteByRecipeId(UUID recipeId);
+    /**
+     * When a user favorited each of a set of recipes, without loading the favorite entities.
+     * @param userId The user ID.
+     * @param recipeIds Set of recipe IDs to look up.
+     * @return Recipe ID and creation time of each favorite the user has among the given recipes.
+     */
+    @Query("""
+        SELECT NEW dev.idachev.recipeservice.repository.dto.RecipeFavoriteTimeDto(fr.recipeId, fr.createdAt)
+        FROM FavoriteRecipe fr
+        WHERE fr.userId = :userId AND fr.recipeId IN :recipeIds
+        """)
+    List<RecipeFavoriteTimeDto> findFavoriteTimes(@Param("userId") UUID userId, @Param("recipeIds") Set<UUID> recipeIds);
+
+    /**
+     * Removes a set of recipes from a user's favorites in one statement, without loading the rows.
+     * @param userId The user ID.
+     * @param recipeIds Set of recipe IDs to remove.
+     * @return Number of favorites actually deleted.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM FavoriteRecipe fr WHERE fr.userId = :userId AND fr.recipeId IN :recipeIds")
+    int deleteByUserIdAndRecipeIdIn(@Param("userId") UUID userId, @Param("recipeIds") Set<UUID> recipeIds);
+
+    /**
+     * Removes every favorite of a recipe in one statement, without loading the rows.
+     * Used by RecipeService.deleteRecipe.
+     * @param recipeId The recipe ID.
+     * @return Number of favorites deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM FavoriteRecipe fr WHERE fr.recipeId = :recipeId")
+    int deleteByRecipeId(@Param("recipeId") UUID recipeId);
 
     /**
      * Counts favorites for a set of recipe IDs efficiently.
@@ -0,0 +1,11 @@
+package dev.idachev.recipeservice.repository;
+
+import dev.idachev.recipeservice.model.ImageAsset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ImageAssetRepository extends JpaRepository<ImageAsset, String> {
+
+    boolean existsByUrl(String url);
+}
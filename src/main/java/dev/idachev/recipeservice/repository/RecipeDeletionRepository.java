@@ -0,0 +1,31 @@
+package dev.idachev.recipeservice.repository;
+
+import dev.idachev.recipeservice.model.RecipeDeletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RecipeDeletionRepository extends JpaRepository<RecipeDeletion, UUID> {
+
+    /**
+     * Recipes deleted since the given time, for catching up with deletions of other instances.
+     */
+    @Query("SELECT d.recipeId FROM RecipeDeletion d WHERE d.deletedAt >= :since")
+    List<UUID> findRecipeIdsDeletedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Forget deletions older than the given time.
+     *
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM RecipeDeletion d WHERE d.deletedAt < :before")
+    int deleteDeletedBefore(@Param("before") LocalDateTime before);
+}
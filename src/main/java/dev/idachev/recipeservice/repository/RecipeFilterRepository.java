@@ -0,0 +1,41 @@
+package dev.idachev.recipeservice.repository;
+
+import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.web.dto.RecipeFilterRequest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Multi-criteria recipe filter, part of {@link RecipeRepository}.
+ */
+public interface RecipeFilterRepository {
+
+    /**
+     * Indexes of the recipe table that can drive a filter query.
+     */
+    enum Index {
+        TOTAL_TIME("idx_recipe_total_time"),
+        DIFFICULTY_TIME("idx_recipe_difficulty_time"),
+        CALORIES("idx_recipe_calories"),
+        PROTEIN("idx_recipe_protein");
+
+        private final String indexName;
+
+        Index(String indexName) {
+            this.indexName = indexName;
+        }
+
+        public String indexName() {
+            return indexName;
+        }
+    }
+
+    /**
+     * Recipes matching every given criterion, newest first. The sort of {@code pageable} is ignored.
+     *
+     * @param filter   Criteria
+     * @param index    Index the database should read matches from, or null to let it choose
+     * @param pageable Page to return
+     */
+    Page<Recipe> findByFilter(RecipeFilterRequest filter, Index index, Pageable pageable);
+}
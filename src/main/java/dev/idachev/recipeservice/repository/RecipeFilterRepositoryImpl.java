@@ -0,0 +1,81 @@
+package dev.idachev.recipeservice.repository;
+
+import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.web.dto.RecipeFilterRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Native SQL, as JPQL has no way to tell the database which index to use. The index hint
+ * syntax ({@code USE INDEX}) is shared by MySQL and H2.
+ */
+public class RecipeFilterRepositoryImpl implements RecipeFilterRepository {
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public RecipeFilterRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Page<Recipe> findByFilter(RecipeFilterRequest filter, Index index, Pageable pageable) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        String from = " FROM recipe r" + (index != null ? " USE INDEX (" + index.indexName() + ")" : "")
+                + where(filter, parameters);
+
+        Query select = entityManager.createNativeQuery("SELECT r.*" + from + " ORDER BY r.created_at DESC, r.id",
+                Recipe.class);
+        parameters.forEach(select::setParameter);
+        select.setFirstResult((int) pageable.getOffset());
+        select.setMaxResults(pageable.getPageSize());
+        List<Recipe> recipes = select.getResultList();
+
+        long total;
+        if (pageable.getOffset() == 0 && recipes.size() < pageable.getPageSize()) {
+            total = recipes.size();
+        } else {
+            Query count = entityManager.createNativeQuery("SELECT COUNT(*)" + from);
+            parameters.forEach(count::setParameter);
+            total = ((Number) count.getSingleResult()).longValue();
+        }
+        return new PageImpl<>(recipes, pageable, total);
+    }
+
+    private static String where(RecipeFilterRequest filter, Map<String, Object> parameters) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        if (filter.maxTotalTimeMinutes() != null) {
+            where.append(" AND r.total_time_minutes <= :maxTotalTimeMinutes");
+            parameters.put("maxTotalTimeMinutes", filter.maxTotalTimeMinutes());
+        }
+        if (filter.difficulty() != null) {
+            where.append(" AND r.difficulty = :difficulty");
+            parameters.put("difficulty", filter.difficulty().name());
+        }
+        range(where, parameters, "calories", filter.minCalories(), filter.maxCalories());
+        range(where, parameters, "protein_grams", filter.minProteinGrams(), filter.maxProteinGrams());
+        range(where, parameters, "carbs_grams", filter.minCarbsGrams(), filter.maxCarbsGrams());
+        range(where, parameters, "fat_grams", filter.minFatGrams(), filter.maxFatGrams());
+        return where.toString();
+    }
+
+    private static void range(StringBuilder where, Map<String, Object> parameters, String column, Object min, Object max) {
+        if (min != null) {
+            where.append(" AND r.").append(column).append(" >= :min_").append(column);
+            parameters.put("min_" + column, min);
+        }
+        if (max != null) {
+            where.append(" AND r.").append(column).append(" <= :max_").append(column);
+            parameters.put("max_" + column, max);
+        }
+    }
+}
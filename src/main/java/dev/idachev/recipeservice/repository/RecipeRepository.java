@@ -1,18 +1,35 @@
 package dev.idachev.recipeservice.repository;
 
+import dev.idachev.recipeservice.model.ImageStatus;
 import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.repository.dto.RecipeFilterStatsDto;
+import dev.idachev.recipeservice.repository.dto.RecipeIngredientNameDto;
+import dev.idachev.recipeservice.repository.dto.RecipeSummaryDto;
+import dev.idachev.recipeservice.repository.dto.RecipeTagDto;
+import dev.idachev.recipeservice.repository.dto.RecipeVersionDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface RecipeRepository extends JpaRepository<Recipe, UUID> {
+public interface RecipeRepository extends JpaRepository<Recipe, UUID>, RecipeFilterRepository {
 
     List<Recipe> findByUserId(UUID userId);
 
@@ -21,6 +38,190 @@ public interface RecipeRepository extends JpaRepository<Recipe, UUID> {
     Page<Recipe> findByTitleContainingIgnoreCaseOrServingSuggestionsContainingIgnoreCase(
             String title, String servingSuggestions, Pageable pageable);
 
+    /**
+     * Page of recipe cards: only the columns a list shows, leaving out the text columns and
+     * ingredients.
+     */
+    @Query(value = "SELECT NEW dev.idachev.recipeservice.repository.dto.RecipeSummaryDto(" +
+            "r.id, r.userId, r.title, r.imageUrl, r.imageVariants.thumbnailUrl, r.imageVariants.cardUrl, " +
+            "r.imageStatus, r.totalTimeMinutes, r.difficulty, r.upvotes, r.downvotes, r.createdAt) FROM Recipe r",
+            countQuery = "SELECT COUNT(r) FROM Recipe r")
+    Page<RecipeSummaryDto> findSummaries(Pageable pageable);
+
+    /**
+     * Page of recipe cards whose title or serving suggestions contain the keyword, ignoring case.
+     * Matches the same recipes as {@link #findByTitleContainingIgnoreCaseOrServingSuggestionsContainingIgnoreCase}.
+     */
+    @Query(value = "SELECT NEW dev.idachev.recipeservice.repository.dto.RecipeSummaryDto(" +
+            "r.id, r.userId, r.title, r.imageUrl, r.imageVariants.thumbnailUrl, r.imageVariants.cardUrl, " +
+            "r.imageStatus, r.totalTimeMinutes, r.difficulty, r.upvotes, r.downvotes, r.createdAt) FROM Recipe r " +
+            "WHERE UPPER(r.title) LIKE UPPER(CONCAT('%', :#{escape(#keyword)}, '%')) ESCAPE :#{escapeCharacter()} " +
+            "OR UPPER(r.servingSuggestions) LIKE UPPER(CONCAT('%', :#{escape(#keyword)}, '%')) ESCAPE :#{escapeCharacter()}",
+            countQuery = "SELECT COUNT(r) FROM Recipe r " +
+            "WHERE UPPER(r.title) LIKE UPPER(CONCAT('%', :#{escape(#keyword)}, '%')) ESCAPE :#{escapeCharacter()} " +
+            "OR UPPER(r.servingSuggestions) LIKE UPPER(CONCAT('%', :#{escape(#keyword)}, '%')) ESCAPE :#{escapeCharacter()}")
+    Page<RecipeSummaryDto> searchSummaries(@Param("keyword") String keyword, Pageable pageable);
+
     @Query("SELECT r FROM Recipe r JOIN r.tags t WHERE t IN :tags GROUP BY r HAVING COUNT(DISTINCT t) = :tagCount")
     Page<Recipe> findByTagsContainingAll(@Param("tags") List<String> tags, @Param("tagCount") long tagCount, Pageable pageable);
+
+    /**
+     * Version and author of a recipe, without loading its text columns or ingredients.
+     */
+    @Query("SELECT NEW dev.idachev.recipeservice.repository.dto.RecipeVersionDto(r.id, r.version, r.userId) " +
+            "FROM Recipe r WHERE r.id = :id")
+    Optional<RecipeVersionDto> findVersionById(@Param("id") UUID id);
+
+    /**
+     * Id, version and author of a page of recipes, to fingerprint the page before loading it.
+     */
+    @Query(value = "SELECT NEW dev.idachev.recipeservice.repository.dto.RecipeVersionDto(r.id, r.version, r.userId) " +
+            "FROM Recipe r",
+            countQuery = "SELECT COUNT(r) FROM Recipe r")
+    Page<RecipeVersionDto> findVersions(Pageable pageable);
+
+    /**
+     * Same as {@link #findVersions}, leaving out the recipes of one user.
+     */
+    @Query(value = "SELECT NEW dev.idachev.recipeservice.repository.dto.RecipeVersionDto(r.id, r.version, r.userId) " +
+            "FROM Recipe r WHERE r.userId <> :userId",
+            countQuery = "SELECT COUNT(r) FROM Recipe r WHERE r.userId <> :userId")
+    Page<RecipeVersionDto> findVersionsByUserIdNot(@Param("userId") UUID userId, Pageable pageable);
+
+    /**
+     * Recipes by ID with their macros fetched in the same query. Ingredients are loaded on first
+     * access, in batches of the {@code @BatchSize} on {@code Recipe.ingredients}.
+     */
+    @EntityGraph(attributePaths = "macros")
+    @Query("SELECT r FROM Recipe r WHERE r.id IN :ids")
+    List<Recipe> findAllWithMacrosByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Which of the given IDs belong to existing recipes, in one query.
+     */
+    @Query("SELECT r.id FROM Recipe r WHERE r.id IN :ids")
+    Set<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Recipes created or changed since the given time, for catching up with writes of other instances.
+     */
+    @Query("SELECT r.id FROM Recipe r WHERE r.updatedAt >= :since")
+    List<UUID> findIdsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * The (recipe, ingredient name) pairs of the given recipes.
+     */
+    @Query("SELECT NEW dev.idachev.recipeservice.repository.dto.RecipeIngredientNameDto(r.id, i.name) " +
+            "FROM Recipe r JOIN r.ingredients i WHERE r.id IN :ids")
+    List<RecipeIngredientNameDto> findIngredientNames(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * The (recipe, tag) pairs of the given recipes.
+     */
+    @Query("SELECT NEW dev.idachev.recipeservice.repository.dto.RecipeTagDto(r.id, t) " +
+            "FROM Recipe r JOIN r.tags t WHERE r.id IN :ids")
+    List<RecipeTagDto> findTags(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Recipes whose ingredients are still only in the legacy JSON column.
+     */
+    @Query("SELECT r.id FROM Recipe r WHERE r.legacyIngredients IS NOT NULL")
+    List<UUID> findIdsWithLegacyIngredients(Pageable pageable);
+
+    /**
+     * Drop the legacy ingredient JSON once it has been copied to recipe_ingredient.
+     */
+    @Modifying
+    @Query("UPDATE Recipe r SET r.legacyIngredients = null WHERE r.id IN :ids")
+    int clearLegacyIngredients(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Every (recipe, ingredient name) pair, grouped by recipe, for building in-memory indexes.
+     * Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT NEW dev.idachev.recipeservice.repository.dto.RecipeIngredientNameDto(r.id, i.name) " +
+            "FROM Recipe r JOIN r.ingredients i ORDER BY r.id")
+    Stream<RecipeIngredientNameDto> streamIngredientNames();
+
+    /**
+     * Every (recipe, tag) pair, for building in-memory indexes. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT NEW dev.idachev.recipeservice.repository.dto.RecipeTagDto(r.id, t) FROM Recipe r JOIN r.tags t")
+    Stream<RecipeTagDto> streamTags();
+
+    /**
+     * The filterable columns of every recipe, for the filter planner's statistics.
+     * Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT NEW dev.idachev.recipeservice.repository.dto.RecipeFilterStatsDto(" +
+            "r.totalTimeMinutes, r.difficulty, r.nutrition.calories, r.nutrition.proteinGrams) FROM Recipe r")
+    Stream<RecipeFilterStatsDto> streamFilterStats();
+
+    /**
+     * A user's recipes with their macros, newest first, for exports. Read-only entities;
+     * must be consumed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Recipe r LEFT JOIN FETCH r.macros WHERE r.userId = :userId ORDER BY r.createdAt DESC")
+    Stream<Recipe> streamByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Every recipe with its macros in ID order, for the full export. Read-only entities;
+     * must be consumed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Recipe r LEFT JOIN FETCH r.macros ORDER BY r.id")
+    Stream<Recipe> streamAll();
+
+    /**
+     * Patch the image of a recipe once an asynchronous upload finishes, bumping the version.
+     * Variants of the previous image are cleared. Applies only while the recipe still carries
+     * the upload's token.
+     *
+     * @return number of updated rows (0 if the recipe was deleted or a newer upload replaced it)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Recipe r SET r.imageUrl = :imageUrl, r.imageStatus = :status, " +
+            "r.imageVariants.thumbnailUrl = null, r.imageVariants.cardUrl = null, r.imageVariants.fullUrl = null, " +
+            "r.version = r.version + 1 WHERE r.id = :id AND r.imageUploadToken = :uploadToken")
+    int updateImage(@Param("id") UUID id, @Param("uploadToken") UUID uploadToken,
+                    @Param("imageUrl") String imageUrl, @Param("status") ImageStatus status);
+
+    /**
+     * Attach resized variants to a recipe image, bumping the version. Applies only while the
+     * recipe still carries the token of the upload they were made from.
+     *
+     * @return number of updated rows (0 if the recipe was deleted or a newer upload replaced it)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Recipe r SET r.imageVariants.thumbnailUrl = :thumbnailUrl, r.imageVariants.cardUrl = :cardUrl, " +
+            "r.imageVariants.fullUrl = :fullUrl, r.version = r.version + 1 " +
+            "WHERE r.id = :id AND r.imageUploadToken = :uploadToken")
+    int updateImageVariants(@Param("id") UUID id, @Param("uploadToken") UUID uploadToken,
+                            @Param("thumbnailUrl") String thumbnailUrl,
+                            @Param("cardUrl") String cardUrl, @Param("fullUrl") String fullUrl);
+
+    /**
+     * Change only the image status of a recipe, bumping the version. Applies only while the
+     * recipe still carries the upload's token.
+     *
+     * @return number of updated rows (0 if the recipe was deleted or a newer upload replaced it)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Recipe r SET r.imageStatus = :status, r.version = r.version + 1 " +
+            "WHERE r.id = :id AND r.imageUploadToken = :uploadToken")
+    int updateImageStatus(@Param("id") UUID id, @Param("uploadToken") UUID uploadToken,
+                          @Param("status") ImageStatus status);
 } 
\ No newline at end of file
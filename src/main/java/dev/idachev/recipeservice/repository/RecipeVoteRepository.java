@@ -2,6 +2,9 @@ package dev.idachev.recipeservice.repository;
 
 import dev.idachev.recipeservice.model.RecipeVote;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -20,6 +23,12 @@ public interface RecipeVoteRepository extends JpaRepository<RecipeVote, UUID> {
     
     List<RecipeVote> findByUserIdAndRecipeIdIn(UUID userId, Set<UUID> recipeIds);
     
-    // Unused method - consider removing if Recipe entity handles cascade deletion for votes.
-    // void deleteByRecipeId(UUID recipeId);
+    /**
+     * Removes every vote on a recipe in one statement, without loading the rows.
+     *
+     * @return number of votes deleted
+     */
+    @Modifying
+    @Query("DELETE FROM RecipeVote v WHERE v.recipeId = :recipeId")
+    int deleteByRecipeId(@Param("recipeId") UUID recipeId);
 } 
\ No newline at end of file
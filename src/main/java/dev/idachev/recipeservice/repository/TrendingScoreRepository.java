@@ -0,0 +1,30 @@
+package dev.idachev.recipeservice.repository;
+
+import dev.idachev.recipeservice.model.TrendingScore;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TrendingScoreRepository extends JpaRepository<TrendingScore, UUID> {
+
+    /**
+     * The stored snapshot, locked until the transaction ends so instances merge into it one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM TrendingScore t")
+    List<TrendingScore> findAllForUpdate();
+
+    /**
+     * Delete the stored snapshot and detach its rows, so a merged one can be saved in the same transaction.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM TrendingScore t")
+    void deleteSnapshot();
+}
@@ -0,0 +1,18 @@
+package dev.idachev.recipeservice.repository.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeFavoriteTimeDto {
+    private UUID recipeId;
+    private LocalDateTime createdAt;
+}
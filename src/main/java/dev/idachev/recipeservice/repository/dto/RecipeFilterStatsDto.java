@@ -0,0 +1,20 @@
+package dev.idachev.recipeservice.repository.dto;
+
+import dev.idachev.recipeservice.model.DifficultyLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeFilterStatsDto {
+    private Integer totalTimeMinutes;
+    private DifficultyLevel difficulty;
+    private BigDecimal calories;
+    private BigDecimal proteinGrams;
+}
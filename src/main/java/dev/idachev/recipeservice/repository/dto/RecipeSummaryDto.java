@@ -0,0 +1,30 @@
+package dev.idachev.recipeservice.repository.dto;
+
+import dev.idachev.recipeservice.model.DifficultyLevel;
+import dev.idachev.recipeservice.model.ImageStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeSummaryDto {
+    private UUID recipeId;
+    private UUID userId;
+    private String title;
+    private String imageUrl;
+    private String thumbnailUrl;
+    private String cardUrl;
+    private ImageStatus imageStatus;
+    private Integer totalTimeMinutes;
+    private DifficultyLevel difficulty;
+    private Integer upvotes;
+    private Integer downvotes;
+    private LocalDateTime createdAt;
+}
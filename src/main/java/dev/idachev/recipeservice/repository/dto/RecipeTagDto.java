@@ -0,0 +1,17 @@
+package dev.idachev.recipeservice.repository.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeTagDto {
+    private UUID recipeId;
+    private String tag;
+}
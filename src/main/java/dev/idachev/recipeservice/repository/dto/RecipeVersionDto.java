@@ -0,0 +1,18 @@
+package dev.idachev.recipeservice.repository.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeVersionDto {
+    private UUID recipeId;
+    private Long version;
+    private UUID userId;
+}
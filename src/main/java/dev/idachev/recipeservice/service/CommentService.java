@@ -7,6 +7,7 @@ import dev.idachev.recipeservice.model.Recipe;
 import dev.idachev.recipeservice.repository.CommentRepository;
 import dev.idachev.recipeservice.repository.RecipeRepository;
 import dev.idachev.recipeservice.repository.dto.RecipeCommentCountDto;
+import dev.idachev.recipeservice.service.event.RecipeEngagementEvent;
 import dev.idachev.recipeservice.user.service.UserService;
 import dev.idachev.recipeservice.web.dto.CommentRequest;
 import dev.idachev.recipeservice.web.dto.CommentResponse;
@@ -14,6 +15,7 @@ import dev.idachev.recipeservice.user.dto.UserResponse;
 import dev.idachev.recipeservice.web.mapper.CommentMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -40,16 +42,19 @@ public class CommentService {
     private final RecipeRepository recipeRepository;
     private final CommentMapper commentMapper;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public CommentService(CommentRepository commentRepository,
                           RecipeRepository recipeRepository,
                           CommentMapper commentMapper,
-                          UserService userService) {
+                          UserService userService,
+                          ApplicationEventPublisher eventPublisher) {
         this.commentRepository = commentRepository;
         this.recipeRepository = recipeRepository;
         this.commentMapper = commentMapper;
         this.userService = userService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -125,6 +130,8 @@ public class CommentService {
         Comment comment = commentMapper.toEntity(request, userId, username, recipeId);
         Comment savedComment = commentRepository.save(comment);
         log.info("Created comment with ID: {} for recipe ID: {}", savedComment.getId(), recipeId);
+        eventPublisher.publishEvent(RecipeEngagementEvent.engaged(recipeId, RecipeEngagementEvent.Type.COMMENT,
+                savedComment.getCreatedAt()));
 
         // Determine ownership flags here
         boolean isOwner = true; // The creator is always the owner initially
@@ -220,6 +227,7 @@ public class CommentService {
         }
         
         commentRepository.delete(comment);
+        publishRetraction(comment);
     }
 
     /**
@@ -230,6 +238,16 @@ public class CommentService {
         return commentRepository.countByRecipeId(recipeId);
     }
 
+    /**
+     * Delete all comments on a recipe with a single statement. Used when the recipe is deleted.
+     *
+     * @return number of comments deleted
+     */
+    @Transactional
+    public int deleteAllForRecipe(UUID recipeId) {
+        return commentRepository.deleteByRecipeId(recipeId);
+    }
+
     /**
      * Fetches comment counts for multiple recipes efficiently.
      * @param recipeIds Set of recipe IDs.
@@ -299,9 +317,15 @@ public class CommentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Comment not found with ID: " + commentId));
         
         commentRepository.delete(comment);
+        publishRetraction(comment);
         log.info("Comment with ID: {} deleted by admin", commentId);
     }
 
+    private void publishRetraction(Comment comment) {
+        eventPublisher.publishEvent(RecipeEngagementEvent.retracted(comment.getRecipeId(),
+                RecipeEngagementEvent.Type.COMMENT, comment.getCreatedAt()));
+    }
+
     // Original TODOs (kept as comments above new placeholders)
     // TODO: Add method to get comments by userId if needed
     // TODO: Add method for admin to delete/update any comment if needed
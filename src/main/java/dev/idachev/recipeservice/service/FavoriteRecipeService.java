@@ -5,17 +5,26 @@ import dev.idachev.recipeservice.model.FavoriteRecipe;
 import dev.idachev.recipeservice.model.Recipe;
 import dev.idachev.recipeservice.repository.FavoriteRecipeRepository;
 import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.repository.dto.RecipeFavoriteTimeDto;
+import dev.idachev.recipeservice.service.event.RecipeEngagementEvent;
 import dev.idachev.recipeservice.web.dto.FavoriteRecipeDto;
 import dev.idachev.recipeservice.web.mapper.FavoriteRecipeMapper;
 import dev.idachev.recipeservice.web.mapper.RecipeMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -30,17 +39,28 @@ import java.util.stream.Collectors;
 @Slf4j
 public class FavoriteRecipeService {
 
+    // Upper bound on IN-list size per round trip in batch operations
+    private static final int BATCH_CHUNK_SIZE = 500;
+    // Attempts of a batch add that collides with favorites added concurrently by the same user
+    private static final int BATCH_ADD_ATTEMPTS = 3;
+
     private final FavoriteRecipeRepository favoriteRecipeRepository;
     private final RecipeRepository recipeRepository;
     private final RecipeMapper recipeMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate batchAddTransaction;
 
     @Autowired
     public FavoriteRecipeService(FavoriteRecipeRepository favoriteRecipeRepository,
                                  RecipeRepository recipeRepository,
-                                 RecipeMapper recipeMapper) {
+                                 RecipeMapper recipeMapper,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager) {
         this.favoriteRecipeRepository = favoriteRecipeRepository;
         this.recipeRepository = recipeRepository;
         this.recipeMapper = recipeMapper;
+        this.eventPublisher = eventPublisher;
+        this.batchAddTransaction = new TransactionTemplate(transactionManager);
     }
 
     /**
@@ -63,6 +83,8 @@ public class FavoriteRecipeService {
 
         FavoriteRecipe savedFavorite = favoriteRecipeRepository.save(favoriteRecipe);
         log.info("Added recipe {} to favorites for user {}", recipeId, userId);
+        eventPublisher.publishEvent(RecipeEngagementEvent.engaged(recipeId, RecipeEngagementEvent.Type.FAVORITE,
+                savedFavorite.getCreatedAt()));
 
         return FavoriteRecipeMapper.toDtoWithRecipe(savedFavorite, recipe, recipeMapper);
     }
@@ -91,6 +113,7 @@ public class FavoriteRecipeService {
     public void removeFromFavorites(UUID userId, UUID recipeId) {
         FavoriteRecipe favorite = findFavoriteByUserAndRecipeOrThrow(userId, recipeId);
         favoriteRecipeRepository.delete(favorite);
+        publishRetraction(favorite.getRecipeId(), favorite.getCreatedAt());
         log.info("Removed recipe {} from favorites for user {}", recipeId, userId);
     }
 
@@ -166,47 +189,67 @@ public class FavoriteRecipeService {
 
     /**
      * Adds multiple recipes to user's favorites.
+     * Unknown recipes and recipes already in favorites are skipped; existence is checked with
+     * two set queries per chunk and the new rows are inserted as a single batch.
+     * <p>
+     * A favorite added concurrently between the check and the insert violates the unique
+     * (user, recipe) constraint; the batch then rolls back and is retried in a new transaction,
+     * which re-reads the favorites that exist by then.
      *
      * @param userId    the user ID
      * @param recipeIds list of recipe IDs to add to favorites
      * @return number of recipes successfully added to favorites
      */
-    @Transactional
     public int addBatchToFavorites(UUID userId, List<UUID> recipeIds) {
         log.debug("Adding batch of recipes to favorites for user with ID: {}", userId);
-        
-        int addedCount = 0;
-        
-        for (UUID recipeId : recipeIds) {
+
+        if (recipeIds == null || recipeIds.isEmpty()) {
+            return 0;
+        }
+
+        for (int attempt = 1; ; attempt++) {
             try {
-                // Check if recipe exists
-                if (!recipeRepository.existsById(recipeId)) {
-                    log.warn("Recipe with ID {} not found when adding to favorites", recipeId);
-                    continue;
+                Integer addedCount = batchAddTransaction.execute(status -> insertNewFavorites(userId, recipeIds));
+                log.info("Added {} recipes to favorites for user {}", addedCount, userId);
+                return addedCount == null ? 0 : addedCount;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == BATCH_ADD_ATTEMPTS) {
+                    throw e;
                 }
-                
-                // Check if already in favorites
-                if (favoriteRecipeRepository.existsByUserIdAndRecipeId(userId, recipeId)) {
-                    log.debug("Recipe with ID {} is already in favorites for user {}", recipeId, userId);
-                    continue;
-                }
-                
-                // Add to favorites using builder
-                FavoriteRecipe favoriteRecipe = FavoriteRecipe.builder()
-                    .userId(userId)
-                    .recipeId(recipeId)
-                    .build();
-                
-                favoriteRecipeRepository.save(favoriteRecipe);
-                addedCount++;
-                
-                log.debug("Recipe with ID {} added to favorites for user {}", recipeId, userId);
-            } catch (Exception e) {
-                log.error("Error adding recipe {} to favorites for user {}: {}", recipeId, userId, e.getMessage());
+                log.info("Batch favorites of user {} collided with a concurrent add, retrying ({}/{})",
+                        userId, attempt, BATCH_ADD_ATTEMPTS);
+            }
+        }
+    }
+
+    private int insertNewFavorites(UUID userId, List<UUID> recipeIds) {
+        int addedCount = 0;
+
+        for (Set<UUID> chunk : distinctChunks(recipeIds)) {
+            Set<UUID> existingRecipeIds = recipeRepository.findExistingIds(chunk);
+            Set<UUID> alreadyFavorited = favoriteRecipeRepository.findUserFavoriteRecipeIds(userId, chunk);
+
+            List<FavoriteRecipe> newFavorites = chunk.stream()
+                    .filter(existingRecipeIds::contains)
+                    .filter(recipeId -> !alreadyFavorited.contains(recipeId))
+                    .map(recipeId -> FavoriteRecipe.builder()
+                            .userId(userId)
+                            .recipeId(recipeId)
+                            .build())
+                    .toList();
+
+            if (existingRecipeIds.size() < chunk.size()) {
+                log.warn("{} recipe(s) not found when adding to favorites for user {}",
+                        chunk.size() - existingRecipeIds.size(), userId);
             }
+
+            // IDs are generated client-side, so Hibernate sends these as one JDBC batch; flushed
+            // here so a unique constraint violation surfaces inside the attempt
+            favoriteRecipeRepository.saveAllAndFlush(newFavorites);
+            addedCount += newFavorites.size();
+            newFavorites.forEach(favorite -> eventPublisher.publishEvent(RecipeEngagementEvent.engaged(
+                    favorite.getRecipeId(), RecipeEngagementEvent.Type.FAVORITE, favorite.getCreatedAt())));
         }
-        
-        log.info("Added {} recipes to favorites for user {}", addedCount, userId);
         return addedCount;
     }
 
@@ -215,28 +258,29 @@ public class FavoriteRecipeService {
      *
      * @param userId    the user ID
      * @param recipeIds list of recipe IDs to remove from favorites
-     * @return number of recipes successfully removed from favorites
+     * @return number of favorites actually removed; IDs that were not favorited are not counted
      */
     @Transactional
     public int removeBatchFromFavorites(UUID userId, List<UUID> recipeIds) {
         log.debug("Removing batch of recipes from favorites for user with ID: {}", userId);
-        
+
+        if (recipeIds == null || recipeIds.isEmpty()) {
+            return 0;
+        }
+
         int removedCount = 0;
-        
-        for (UUID recipeId : recipeIds) {
-            try {
-                favoriteRecipeRepository.deleteByUserIdAndRecipeId(userId, recipeId);
-                removedCount++;
-                log.debug("Recipe with ID {} removed from favorites for user {}", recipeId, userId);
-            } catch (Exception e) {
-                log.error("Error removing recipe {} from favorites for user {}: {}", recipeId, userId, e.getMessage());
-            }
+
+        for (Set<UUID> chunk : distinctChunks(recipeIds)) {
+            // Read first so each removal can be retracted from trending at the time it was added
+            List<RecipeFavoriteTimeDto> favorites = favoriteRecipeRepository.findFavoriteTimes(userId, chunk);
+            removedCount += favoriteRecipeRepository.deleteByUserIdAndRecipeIdIn(userId, chunk);
+            favorites.forEach(favorite -> publishRetraction(favorite.getRecipeId(), favorite.getCreatedAt()));
         }
-        
+
         log.info("Removed {} recipes from favorites for user {}", removedCount, userId);
         return removedCount;
     }
-    
+
     /**
      * Check favorite status for multiple recipes.
      *
@@ -261,4 +305,22 @@ public class FavoriteRecipeService {
         log.debug("Getting batch favorite counts for {} recipes", recipeIds.size());
         return favoriteRecipeRepository.getFavoriteCountsMap(recipeIds);
     }
-}
\ No newline at end of file
+
+    private void publishRetraction(UUID recipeId, LocalDateTime favoritedAt) {
+        eventPublisher.publishEvent(RecipeEngagementEvent.retracted(recipeId,
+                RecipeEngagementEvent.Type.FAVORITE, favoritedAt));
+    }
+
+    /**
+     * Split IDs into request-ordered, duplicate-free chunks of at most {@link #BATCH_CHUNK_SIZE}.
+     */
+    private static List<Set<UUID>> distinctChunks(List<UUID> ids) {
+        List<UUID> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        List<Set<UUID>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinctIds.size(); from += BATCH_CHUNK_SIZE) {
+            chunks.add(new LinkedHashSet<>(
+                    distinctIds.subList(from, Math.min(from + BATCH_CHUNK_SIZE, distinctIds.size()))));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,117 @@
+package dev.idachev.recipeservice.service;
+
+import dev.idachev.recipeservice.infrastructure.search.IngredientIndex;
+import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.web.dto.PantryMatchResponse;
+import dev.idachev.recipeservice.web.dto.PantryMatchResponse.PantryMatch;
+import dev.idachev.recipeservice.web.dto.RecipeResponse;
+import dev.idachev.recipeservice.web.mapper.RecipeMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * "What can I cook?" search: ranks existing recipes by how much of their ingredients a pantry
+ * covers, using the in-memory {@link IngredientIndex}. Only when no recipe shares an ingredient
+ * with the pantry is a recipe generated, which is far slower and costs an AI call.
+ */
+@Service
+@Slf4j
+public class PantryMatchService {
+
+    public static final int DEFAULT_LIMIT = 10;
+
+    private final IngredientIndex ingredientIndex;
+    private final RecipeRepository recipeRepository;
+    private final RecipeMapper recipeMapper;
+    private final RecipeResponseEnhancer recipeResponseEnhancer;
+    private final RecipeService recipeService;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    public PantryMatchService(IngredientIndex ingredientIndex,
+                              RecipeRepository recipeRepository,
+                              RecipeMapper recipeMapper,
+                              RecipeResponseEnhancer recipeResponseEnhancer,
+                              RecipeService recipeService,
+                              PlatformTransactionManager transactionManager) {
+        this.ingredientIndex = ingredientIndex;
+        this.recipeRepository = recipeRepository;
+        this.recipeMapper = recipeMapper;
+        this.recipeResponseEnhancer = recipeResponseEnhancer;
+        this.recipeService = recipeService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Find recipes for a pantry, falling back to generating one.
+     *
+     * @param pantry Ingredients at hand
+     * @param limit  Maximum number of recipes, {@link #DEFAULT_LIMIT} when null
+     * @param userId Current user, for favorite and vote information
+     * @return Matches best first, or a generated recipe when there are none
+     */
+    public PantryMatchResponse findMatches(List<String> pantry, Integer limit, UUID userId) {
+        int k = limit != null ? limit : DEFAULT_LIMIT;
+        List<IngredientIndex.Match> matches = ingredientIndex.topMatches(pantry, k);
+        log.debug("Pantry of {} ingredients matched {} recipes", pantry.size(), matches.size());
+
+        // Loaded in a transaction of its own so no connection is held during generation
+        List<PantryMatch> result = matches.isEmpty() ? List.of()
+                : readOnlyTransaction.execute(status -> toPantryMatches(pantry, matches, userId));
+        if (result.isEmpty()) {
+            log.info("No recipe matches the pantry, generating one");
+            return new PantryMatchResponse(List.of(), recipeService.generateMeal(pantry));
+        }
+        return new PantryMatchResponse(result, null);
+    }
+
+    private List<PantryMatch> toPantryMatches(List<String> pantry, List<IngredientIndex.Match> matches, UUID userId) {
+        // The index is updated after commit, so a match may already be gone; it is skipped
+        List<UUID> ids = matches.stream().map(IngredientIndex.Match::recipeId).toList();
+        Map<UUID, Recipe> recipes = recipeRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+
+        List<IngredientIndex.Match> found = new ArrayList<>(matches.size());
+        List<RecipeResponse> responses = new ArrayList<>(matches.size());
+        for (IngredientIndex.Match match : matches) {
+            Recipe recipe = recipes.get(match.recipeId());
+            if (recipe != null) {
+                found.add(match);
+                responses.add(recipeMapper.toResponse(recipe));
+            }
+        }
+        if (found.isEmpty()) {
+            return List.of();
+        }
+
+        List<RecipeResponse> enhanced = recipeResponseEnhancer.enhanceRecipeListWithUserInteractions(responses, userId);
+        Set<String> pantryTokens = pantry.stream()
+                .filter(item -> item != null && !item.isBlank())
+                .map(IngredientIndex::token).collect(Collectors.toSet());
+
+        List<PantryMatch> result = new ArrayList<>(found.size());
+        for (int i = 0; i < found.size(); i++) {
+            IngredientIndex.Match match = found.get(i);
+            RecipeResponse response = enhanced.get(i);
+            List<String> missing = response.ingredients() == null ? List.of()
+                    : response.ingredients().stream()
+                            .filter(ingredient -> !pantryTokens.contains(IngredientIndex.token(ingredient)))
+                            .toList();
+            result.add(new PantryMatch(response, match.matchedTokens(), match.totalTokens(), match.coverage(), missing));
+        }
+        return result;
+    }
+}
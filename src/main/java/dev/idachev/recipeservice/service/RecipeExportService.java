@@ -0,0 +1,142 @@
+package dev.idachev.recipeservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.idachev.recipeservice.model.FavoriteRecipe;
+import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.repository.FavoriteRecipeRepository;
+import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.web.dto.RecipeResponse;
+import dev.idachev.recipeservice.web.mapper.FavoriteRecipeMapper;
+import dev.idachev.recipeservice.web.mapper.RecipeMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes recipes as NDJSON (one JSON object per line) straight from a forward-only query.
+ * <p>
+ * Rows are taken from the stream in chunks: each chunk gets its ingredients in one batch and its
+ * interaction data in bulk, is written and flushed, and is then cleared from the persistence
+ * context. Memory stays bounded by the chunk size however many recipes are exported.
+ */
+@Service
+@Slf4j
+public class RecipeExportService {
+
+    // Same as the ingredient @BatchSize on Recipe, so a chunk loads its ingredients in one query
+    static final int CHUNK_SIZE = 100;
+
+    private static final byte NEWLINE = '\n';
+
+    private final RecipeRepository recipeRepository;
+    private final FavoriteRecipeRepository favoriteRecipeRepository;
+    private final RecipeMapper recipeMapper;
+    private final RecipeResponseEnhancer recipeResponseEnhancer;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Autowired
+    public RecipeExportService(RecipeRepository recipeRepository,
+                               FavoriteRecipeRepository favoriteRecipeRepository,
+                               RecipeMapper recipeMapper,
+                               RecipeResponseEnhancer recipeResponseEnhancer,
+                               ObjectMapper objectMapper,
+                               EntityManager entityManager) {
+        this.recipeRepository = recipeRepository;
+        this.favoriteRecipeRepository = favoriteRecipeRepository;
+        this.recipeMapper = recipeMapper;
+        this.recipeResponseEnhancer = recipeResponseEnhancer;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Export a user's recipes, newest first, with the user's interactions.
+     *
+     * @return number of recipes written
+     */
+    @Transactional(readOnly = true)
+    public long exportUserRecipes(UUID userId, OutputStream out) throws IOException {
+        try (Stream<Recipe> recipes = recipeRepository.streamByUserId(userId)) {
+            return writeRecipes(recipes, userId, out);
+        }
+    }
+
+    /**
+     * Export every recipe in ID order with aggregate counts and no user-specific fields,
+     * for the analytics pipeline.
+     *
+     * @return number of recipes written
+     */
+    @Transactional(readOnly = true)
+    public long exportAllRecipes(OutputStream out) throws IOException {
+        try (Stream<Recipe> recipes = recipeRepository.streamAll()) {
+            return writeRecipes(recipes, null, out);
+        }
+    }
+
+    /**
+     * Export a user's favorites as {@code FavoriteRecipeDto} lines, like {@code GET /favorites/all}.
+     *
+     * @return number of favorites written
+     */
+    @Transactional(readOnly = true)
+    public long exportFavorites(UUID userId, OutputStream out) throws IOException {
+        try (Stream<FavoriteRecipe> favorites = favoriteRecipeRepository.streamByUserId(userId)) {
+            return writeInChunks(favorites, chunk -> {
+                Map<UUID, Recipe> recipes = recipeRepository.findAllWithMacrosByIdIn(
+                                chunk.stream().map(FavoriteRecipe::getRecipeId).toList()).stream()
+                        .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+                return chunk.stream()
+                        .map(favorite -> FavoriteRecipeMapper.toDtoWithRecipe(favorite,
+                                recipes.getOrDefault(favorite.getRecipeId(),
+                                        Recipe.builder().id(favorite.getRecipeId()).title("Unknown Recipe").build()),
+                                recipeMapper))
+                        .toList();
+            }, out);
+        }
+    }
+
+    private long writeRecipes(Stream<Recipe> recipes, UUID userId, OutputStream out) throws IOException {
+        return writeInChunks(recipes, chunk -> {
+            List<RecipeResponse> responses = chunk.stream().map(recipeMapper::toResponse).toList();
+            return recipeResponseEnhancer.enhanceRecipeListWithUserInteractions(responses, userId);
+        }, out);
+    }
+
+    private <T> long writeInChunks(Stream<T> rows, Function<List<T>, List<?>> toLines, OutputStream out)
+            throws IOException {
+        long written = 0;
+        List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                for (Object line : toLines.apply(chunk)) {
+                    out.write(objectMapper.writeValueAsBytes(line));
+                    out.write(NEWLINE);
+                }
+                out.flush();
+                written += chunk.size();
+                chunk.clear();
+                // Let the written entities go; the open result set is unaffected
+                entityManager.clear();
+            }
+        }
+        log.debug("Exported {} rows", written);
+        return written;
+    }
+}
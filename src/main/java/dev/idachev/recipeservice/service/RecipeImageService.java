@@ -4,27 +4,362 @@ import dev.idachev.recipeservice.exception.AIServiceException;
 import dev.idachev.recipeservice.exception.ImageProcessingException;
 import dev.idachev.recipeservice.infrastructure.ai.AIService;
 import dev.idachev.recipeservice.infrastructure.storage.ImageService;
+import dev.idachev.recipeservice.infrastructure.storage.ImageVariantProcessor;
+import dev.idachev.recipeservice.model.ImageStatus;
+import dev.idachev.recipeservice.model.ImageVariants;
+import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.service.event.RecipeDeletedEvent;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
 /**
  * Service for recipe image operations.
  * Handles uploading and generating images for recipes.
+ * <p>
+ * Uploaded images go through an asynchronous pipeline: the multipart is staged to a temp file
+ * during the request, the recipe is saved with {@link ImageStatus#PENDING}, and the upload runs
+ * on a dedicated executor after the transaction commits, patching imageUrl when it finishes.
+ * Resized variants are then produced by the {@link ImageVariantProcessor} on its bounded pool and
+ * attached in a second patch; when that pool is saturated the variants are skipped. When the
+ * upload queue itself is full the image is marked {@link ImageStatus#FAILED} straight away.
+ * <p>
+ * A recipe saved with an AI generated image gets the variants the processor made from it when
+ * the image was generated, patched in the same way once they are stored.
+ * <p>
+ * Each patch commits in a transaction of its own: an upload handed off in {@code afterCommit}
+ * still sees the finished request transaction bound to the thread, and must not join it.
+ * <p>
+ * The request saves the recipe with a fresh upload token, and every patch matches that token in
+ * its {@code WHERE} clause, so an upload superseded by a newer one, on any instance, changes
+ * nothing. Uploads this instance already knows to be superseded skip the patch altogether.
  */
 @Service
 @Slf4j
 public class RecipeImageService {
 
+    private static final String STAGED_IMAGE_PREFIX = "recipe-image-";
+
     private final AIService aiService;
     private final ImageService imageService;
+    private final ImageVariantProcessor imageVariantProcessor;
+    private final RecipeRepository recipeRepository;
+    private final TransactionTemplate patchTransaction;
+    private final ThreadPoolExecutor uploadExecutor;
+    // Newest upload token per recipe; kept until its last patch has run, a newer upload replaces it or it is known stale
+    private final Map<UUID, UUID> latestUploads = new ConcurrentHashMap<>();
+
+    /**
+     * Image copied out of the multipart request so it outlives the request.
+     *
+     * @param file             Temp file holding the image; deleted once the upload finishes
+     * @param originalFilename Client-side file name, for logging
+     */
+    public record StagedImage(Path file, String originalFilename) {
+    }
 
     @Autowired
-    public RecipeImageService(AIService aiService, ImageService imageService) {
+    public RecipeImageService(AIService aiService, ImageService imageService,
+                              ImageVariantProcessor imageVariantProcessor,
+                              RecipeRepository recipeRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${recipe.image-upload.threads:4}") int uploadThreads,
+                              @Value("${recipe.image-upload.queue-capacity:100}") int queueCapacity) {
         this.aiService = aiService;
         this.imageService = imageService;
+        this.imageVariantProcessor = imageVariantProcessor;
+        this.recipeRepository = recipeRepository;
+        this.patchTransaction = new TransactionTemplate(transactionManager);
+        this.patchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        AtomicInteger threadCount = new AtomicInteger();
+        // Rejects when full: running the upload on the committing request thread would block it on storage
+        this.uploadExecutor = new ThreadPoolExecutor(uploadThreads, uploadThreads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "image-upload-" + threadCount.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.uploadExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Copy an uploaded image out of the multipart request into a temp file.
+     *
+     * @param image Image file from the request
+     * @return Staged image to pass to {@link #uploadAfterCommit(UUID, UUID, StagedImage)}
+     * @throws ImageProcessingException if the image cannot be written to disk
+     */
+    public StagedImage stageImage(MultipartFile image) throws ImageProcessingException {
+        Path file = null;
+        try {
+            file = Files.createTempFile(STAGED_IMAGE_PREFIX, null);
+            image.transferTo(file.toFile());
+            return new StagedImage(file, image.getOriginalFilename());
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new ImageProcessingException("Failed to stage image upload: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Upload a staged image once the current transaction commits, then patch the recipe's imageUrl
+     * and set its image status to READY (or FAILED). The staged file is discarded on rollback.
+     * Without an active transaction the upload is scheduled immediately. If the upload queue is
+     * full the recipe is marked FAILED and the staged file is discarded.
+     *
+     * @param recipeId    ID of the saved recipe
+     * @param uploadToken Token the recipe was saved with, from {@link #newUploadToken()}
+     * @param image       Staged image from {@link #stageImage(MultipartFile)}
+     */
+    public void uploadAfterCommit(UUID recipeId, UUID uploadToken, StagedImage image) {
+        latestUploads.put(recipeId, uploadToken);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            scheduleUpload(recipeId, uploadToken, image);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                scheduleUpload(recipeId, uploadToken, image);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    latestUploads.remove(recipeId, uploadToken);
+                    deleteQuietly(image.file());
+                }
+            }
+        });
+    }
+
+    /**
+     * New token to save a recipe with when an image upload for it is scheduled.
+     */
+    public UUID newUploadToken() {
+        return UUID.randomUUID();
+    }
+
+    /**
+     * Whether this instance is making, or has made, the variants of a generated image.
+     *
+     * @param imageUrl Stored URL of the generated image
+     */
+    public boolean hasGeneratedVariants(String imageUrl) {
+        return imageVariantProcessor.generatedVariants(imageUrl).isPresent();
+    }
+
+    /**
+     * Patch the variants of a generated image onto a recipe saved with it, once the current
+     * transaction commits and the variants are stored. Nothing is patched if they could not be
+     * made. Without an active transaction the patch is scheduled immediately.
+     *
+     * @param recipeId    ID of the saved recipe
+     * @param uploadToken Token the recipe was saved with, from {@link #newUploadToken()}
+     * @param imageUrl    Stored URL of the generated image
+     */
+    public void attachGeneratedVariantsAfterCommit(UUID recipeId, UUID uploadToken, String imageUrl) {
+        Optional<CompletableFuture<ImageVariants>> variants = imageVariantProcessor.generatedVariants(imageUrl);
+        if (variants.isEmpty()) {
+            return;
+        }
+        latestUploads.put(recipeId, uploadToken);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            scheduleVariants(recipeId, uploadToken, variants.get());
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                scheduleVariants(recipeId, uploadToken, variants.get());
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    latestUploads.remove(recipeId, uploadToken);
+                }
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeDeleted(RecipeDeletedEvent event) {
+        latestUploads.remove(event.recipeId());
+    }
+
+    private void scheduleUpload(UUID recipeId, UUID uploadToken, StagedImage image) {
+        try {
+            uploadExecutor.execute(() -> uploadAndPatch(recipeId, uploadToken, image));
+        } catch (RejectedExecutionException e) {
+            log.warn("Image upload queue full, marking image of recipe {} as failed", recipeId);
+            try {
+                patchLatest(recipeId, uploadToken,
+                        () -> recipeRepository.updateImageStatus(recipeId, uploadToken, ImageStatus.FAILED));
+            } catch (Exception patchFailure) {
+                log.error("Failed to mark image of recipe {} as failed: {}", recipeId, patchFailure.getMessage());
+            } finally {
+                latestUploads.remove(recipeId, uploadToken);
+                deleteQuietly(image.file());
+            }
+        }
+    }
+
+    private void uploadAndPatch(UUID recipeId, UUID uploadToken, StagedImage image) {
+        try {
+            log.debug("Uploading image {} for recipe {}", image.originalFilename(), recipeId);
+            String imageUrl = imageService.uploadImage(image.file(), image.originalFilename());
+
+            boolean patched = StringUtils.hasText(imageUrl)
+                    ? patchLatest(recipeId, uploadToken,
+                            () -> recipeRepository.updateImage(recipeId, uploadToken, imageUrl, ImageStatus.READY))
+                    : patchLatest(recipeId, uploadToken,
+                            () -> recipeRepository.updateImageStatus(recipeId, uploadToken, ImageStatus.FAILED));
+            if (!patched) {
+                log.info("Discarding image upload for recipe {}: it was deleted or a newer image was submitted",
+                        recipeId);
+            } else if (StringUtils.hasText(imageUrl)) {
+                log.info("Image uploaded for recipe {}: {}", recipeId, imageUrl);
+                attachVariants(recipeId, uploadToken, image);
+            }
+        } catch (Exception e) {
+            log.error("Failed to upload image for recipe {}: {}", recipeId, e.getMessage(), e);
+            patchLatest(recipeId, uploadToken,
+                    () -> recipeRepository.updateImageStatus(recipeId, uploadToken, ImageStatus.FAILED));
+        } finally {
+            latestUploads.remove(recipeId, uploadToken);
+            deleteQuietly(image.file());
+        }
+    }
+
+    /**
+     * Resize on the processing pool, store the variants and patch them onto the recipe.
+     * Failures only cost the variants; the original image is already in place.
+     */
+    private void attachVariants(UUID recipeId, UUID uploadToken, StagedImage image) {
+        String name = StringUtils.stripFilenameExtension(String.valueOf(image.originalFilename()));
+        imageVariantProcessor.process(image.file(), name)
+                .ifPresent(variants -> patchVariants(recipeId, uploadToken, variants));
+    }
+
+    /**
+     * Once the variants of a generated image are stored, patch them onto the recipe on the
+     * upload executor. A full upload queue only costs the variants.
+     */
+    private void scheduleVariants(UUID recipeId, UUID uploadToken, CompletableFuture<ImageVariants> variants) {
+        variants.whenComplete((stored, failure) -> {
+            if (failure != null) {
+                log.warn("No image variants for recipe {}: {}", recipeId, failure.getMessage());
+                latestUploads.remove(recipeId, uploadToken);
+                return;
+            }
+            try {
+                uploadExecutor.execute(() -> {
+                    try {
+                        patchVariants(recipeId, uploadToken, stored);
+                    } finally {
+                        latestUploads.remove(recipeId, uploadToken);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                log.warn("Image upload queue full, skipping image variants of recipe {}", recipeId);
+                latestUploads.remove(recipeId, uploadToken);
+            }
+        });
+    }
+
+    private void patchVariants(UUID recipeId, UUID uploadToken, ImageVariants variants) {
+        try {
+            if (patchLatest(recipeId, uploadToken, () -> recipeRepository.updateImageVariants(recipeId,
+                    uploadToken, variants.getThumbnailUrl(), variants.getCardUrl(), variants.getFullUrl()))) {
+                log.debug("Image variants stored for recipe {}", recipeId);
+            }
+        } catch (Exception e) {
+            log.warn("Could not attach image variants to recipe {}: {}", recipeId, e.getMessage());
+        }
+    }
+
+    /**
+     * Number of uploads whose patches have not all run yet.
+     */
+    int pendingUploads() {
+        return latestUploads.size();
+    }
+
+    /**
+     * Run a patch of the given upload unless a newer upload is known to have replaced it. The
+     * patch itself matches the token, so it changes nothing once another instance replaced it;
+     * the token is then forgotten here too.
+     *
+     * @return whether the recipe was updated
+     */
+    private boolean patchLatest(UUID recipeId, UUID uploadToken, Supplier<Integer> update) {
+        if (!Objects.equals(latestUploads.get(recipeId), uploadToken)) {
+            return false;
+        }
+        if (patch(update) > 0) {
+            return true;
+        }
+        latestUploads.remove(recipeId, uploadToken);
+        return false;
+    }
+
+    /**
+     * Run a recipe patch in a new transaction and commit it, whatever is bound to this thread.
+     *
+     * @return number of rows updated
+     */
+    private int patch(Supplier<Integer> update) {
+        Integer updated = patchTransaction.execute(status -> update.get());
+        return updated == null ? 0 : updated;
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete staged image {}: {}", file, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        uploadExecutor.shutdown();
+        if (!uploadExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Image uploads still running at shutdown: {}", uploadExecutor.getActiveCount());
+            uploadExecutor.shutdownNow();
+        }
     }
 
     /**
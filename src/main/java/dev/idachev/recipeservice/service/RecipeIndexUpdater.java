@@ -0,0 +1,267 @@
+package dev.idachev.recipeservice.service;
+
+import dev.idachev.recipeservice.config.RecipeIndexProperties;
+import dev.idachev.recipeservice.infrastructure.search.IngredientIndex;
+import dev.idachev.recipeservice.infrastructure.search.MinHashIndex;
+import dev.idachev.recipeservice.infrastructure.search.RecipeFilterPlanner;
+import dev.idachev.recipeservice.repository.RecipeDeletionRepository;
+import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.repository.dto.RecipeFilterStatsDto;
+import dev.idachev.recipeservice.repository.dto.RecipeIngredientNameDto;
+import dev.idachev.recipeservice.repository.dto.RecipeTagDto;
+import dev.idachev.recipeservice.service.event.RecipeDeletedEvent;
+import dev.idachev.recipeservice.service.event.RecipeSavedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the in-memory recipe indexes in step with the database: loads them once the
+ * application is up (after the ingredient backfill) and applies each recipe change after its
+ * transaction commits, so a rolled back write never shows up in search. The statistics of the
+ * filter planner are only approximate anyway and are refreshed on a schedule instead.
+ * <p>
+ * Commit events only cover this instance. Every {@code recipe.index.sync-interval} the indexes
+ * re-read the recipes updated since the previous catch-up (minus {@code sync-overlap}) and drop
+ * the recipes {@code recipe_deletions} lists as deleted in the same window, so a recipe written
+ * or deleted on another instance shows up here at most one interval plus one catch-up later.
+ * Both indexes share the catch-up; the similarity signatures of a catch-up are computed in one
+ * parallel {@link MinHashIndex#putAll}. Deletions older than {@code deletion-retention} are pruned.
+ */
+@Component
+@Slf4j
+public class RecipeIndexUpdater implements SchedulingConfigurer {
+
+    // Recipe ids per catch-up query
+    private static final int SYNC_CHUNK_SIZE = 1000;
+
+    private final IngredientIndex ingredientIndex;
+    private final MinHashIndex minHashIndex;
+    private final RecipeFilterPlanner recipeFilterPlanner;
+    private final RecipeRepository recipeRepository;
+    private final RecipeDeletionRepository recipeDeletionRepository;
+    private final RecipeIndexProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate primaryTransaction;
+    // Start of the last load or catch-up that completed; null until the indexes are loaded
+    private volatile LocalDateTime syncedFrom;
+    private volatile boolean loadFailed;
+
+    @Autowired
+    public RecipeIndexUpdater(IngredientIndex ingredientIndex,
+                              MinHashIndex minHashIndex,
+                              RecipeFilterPlanner recipeFilterPlanner,
+                              RecipeRepository recipeRepository,
+                              RecipeDeletionRepository recipeDeletionRepository,
+                              RecipeIndexProperties properties,
+                              PlatformTransactionManager transactionManager) {
+        this.ingredientIndex = ingredientIndex;
+        this.minHashIndex = minHashIndex;
+        this.recipeFilterPlanner = recipeFilterPlanner;
+        this.recipeRepository = recipeRepository;
+        this.recipeDeletionRepository = recipeDeletionRepository;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Not read-only, so the catch-up reads the primary and replica lag cannot undo a change
+        // this instance already indexed
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        Duration interval = properties.syncInterval();
+        registrar.addFixedDelayTask(new FixedDelayTask(this::syncIndexes, interval, interval));
+    }
+
+    /**
+     * Load both indexes from the recipe tables. Ingredients go into the ingredient index while
+     * they stream in; the similarity features are collected and their MinHash signatures are
+     * computed in parallel once reading is done.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(RecipeIngredientBackfill.ORDER + 1)
+    public void loadIndexes() {
+        load();
+        refreshFilterStatistics();
+    }
+
+    private void load() {
+        long start = System.currentTimeMillis();
+        LocalDateTime loadStart = LocalDateTime.now();
+        try {
+            Map<UUID, Set<String>> features = new HashMap<>();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<RecipeIngredientNameDto> rows = recipeRepository.streamIngredientNames()) {
+                    indexIngredients(rows.iterator(), features);
+                }
+                try (Stream<RecipeTagDto> rows = recipeRepository.streamTags()) {
+                    rows.forEach(row -> features.computeIfAbsent(row.getRecipeId(), id -> new LinkedHashSet<>())
+                            .addAll(MinHashIndex.features(null, List.of(row.getTag()))));
+                }
+            });
+            minHashIndex.putAll(features);
+            log.info("Indexed {} recipes for pantry search and {} for similarity in {} ms",
+                    ingredientIndex.size(), minHashIndex.size(), System.currentTimeMillis() - start);
+            syncedFrom = loadStart;
+            loadFailed = false;
+        } catch (RuntimeException e) {
+            log.error("Loading the recipe indexes failed, search will only see new recipes until the next "
+                    + "catch-up: {}", e.getMessage(), e);
+            loadFailed = true;
+        }
+    }
+
+    /**
+     * Catch up with recipes written or deleted on other instances: re-index the recipes updated
+     * since the previous catch-up in both indexes and remove the recipes deleted since then.
+     */
+    public void syncIndexes() {
+        LocalDateTime from = syncedFrom;
+        if (from == null) {
+            // Not loaded yet; retry a load that failed at startup
+            if (loadFailed) {
+                load();
+            }
+            return;
+        }
+        long start = System.currentTimeMillis();
+        LocalDateTime syncStart = LocalDateTime.now();
+        try {
+            LocalDateTime since = from.minus(properties.syncOverlap());
+            int updated = primaryTransaction.execute(status -> reindexUpdatedSince(since));
+            int removed = primaryTransaction.execute(status -> removeDeletedSince(since));
+            primaryTransaction.executeWithoutResult(status -> recipeDeletionRepository
+                    .deleteDeletedBefore(syncStart.minus(properties.deletionRetention())));
+            syncedFrom = syncStart;
+            log.debug("Index catch-up re-indexed {} and removed {} recipes in {} ms",
+                    updated, removed, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.warn("Index catch-up failed, retrying from the same point next time: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Re-sample the filterable recipe columns for the filter planner.
+     */
+    @Scheduled(fixedDelayString = "${recipe.filter.statistics-refresh:PT1H}",
+            initialDelayString = "${recipe.filter.statistics-refresh:PT1H}")
+    public void refreshFilterStatistics() {
+        long start = System.currentTimeMillis();
+        try {
+            Long rows = readOnlyTransaction.execute(status -> {
+                try (Stream<RecipeFilterStatsDto> stats = recipeRepository.streamFilterStats()) {
+                    return recipeFilterPlanner.analyze(stats.iterator());
+                }
+            });
+            log.debug("Analyzed {} recipes for the filter planner in {} ms", rows, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.warn("Refreshing the filter statistics failed, keeping the previous ones: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeSaved(RecipeSavedEvent event) {
+        ingredientIndex.put(event.recipeId(), event.ingredientNames());
+        minHashIndex.put(event.recipeId(), MinHashIndex.features(event.ingredientNames(), event.tags()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeDeleted(RecipeDeletedEvent event) {
+        ingredientIndex.remove(event.recipeId());
+        minHashIndex.remove(event.recipeId());
+    }
+
+    private int reindexUpdatedSince(LocalDateTime since) {
+        List<UUID> ids = recipeRepository.findIdsUpdatedSince(since);
+        Map<UUID, Set<String>> features = new HashMap<>();
+        for (List<UUID> chunk : chunks(ids)) {
+            // A recipe whose ingredients were all removed is indexed with none
+            Map<UUID, List<String>> names = new HashMap<>();
+            chunk.forEach(id -> names.put(id, new ArrayList<>()));
+            recipeRepository.findIngredientNames(chunk)
+                    .forEach(row -> names.get(row.getRecipeId()).add(row.getName()));
+            names.forEach((recipeId, recipeNames) -> {
+                ingredientIndex.put(recipeId, recipeNames);
+                features.put(recipeId, MinHashIndex.features(recipeNames, null));
+            });
+            recipeRepository.findTags(chunk)
+                    .forEach(row -> features.get(row.getRecipeId())
+                            .addAll(MinHashIndex.features(null, List.of(row.getTag()))));
+        }
+        // putAll skips recipes without features, which must leave the similarity index instead
+        features.forEach((recipeId, recipeFeatures) -> {
+            if (recipeFeatures.isEmpty()) {
+                minHashIndex.remove(recipeId);
+            }
+        });
+        minHashIndex.putAll(features);
+        return ids.size();
+    }
+
+    private int removeDeletedSince(LocalDateTime since) {
+        List<UUID> ids = recipeDeletionRepository.findRecipeIdsDeletedSince(since);
+        ids.forEach(recipeId -> {
+            ingredientIndex.remove(recipeId);
+            minHashIndex.remove(recipeId);
+        });
+        return ids.size();
+    }
+
+    private static List<List<UUID>> chunks(List<UUID> ids) {
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += SYNC_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + SYNC_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Index rows ordered by recipe id, one recipe at a time, collecting similarity features.
+     */
+    private void indexIngredients(Iterator<RecipeIngredientNameDto> rows, Map<UUID, Set<String>> features) {
+        UUID current = null;
+        List<String> names = new ArrayList<>();
+        while (rows.hasNext()) {
+            RecipeIngredientNameDto row = rows.next();
+            if (!row.getRecipeId().equals(current)) {
+                if (current != null) {
+                    addRecipe(current, names, features);
+                }
+                current = row.getRecipeId();
+                names = new ArrayList<>();
+            }
+            names.add(row.getName());
+        }
+        if (current != null) {
+            addRecipe(current, names, features);
+        }
+    }
+
+    private void addRecipe(UUID recipeId, List<String> names, Map<UUID, Set<String>> features) {
+        ingredientIndex.put(recipeId, names);
+        features.put(recipeId, MinHashIndex.features(names, null));
+    }
+}
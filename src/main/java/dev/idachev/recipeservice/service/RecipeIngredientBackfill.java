@@ -0,0 +1,107 @@
+package dev.idachev.recipeservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.model.RecipeIngredient;
+import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.web.mapper.RecipeMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves ingredients of recipes created before the recipe_ingredient table from the legacy
+ * JSON column into rows, one batch per transaction, once the application is up.
+ * Until a recipe is migrated {@link RecipeMapper} still reads the JSON column.
+ */
+@Component
+@Slf4j
+public class RecipeIngredientBackfill {
+
+    /** Runs before listeners that read ingredients on startup. */
+    static final int ORDER = 0;
+
+    private static final int BATCH_SIZE = 100;
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeMapper recipeMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public RecipeIngredientBackfill(RecipeRepository recipeRepository,
+                                    RecipeMapper recipeMapper,
+                                    TransactionTemplate transactionTemplate) {
+        this.recipeRepository = recipeRepository;
+        this.recipeMapper = recipeMapper;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(ORDER)
+    public void backfill() {
+        int migrated = 0;
+        try {
+            Integer batch;
+            while ((batch = transactionTemplate.execute(status -> migrateBatch())) != null && batch > 0) {
+                migrated += batch;
+            }
+        } catch (RuntimeException e) {
+            log.error("Ingredient backfill stopped after {} recipes: {}", migrated, e.getMessage(), e);
+            return;
+        }
+        if (migrated > 0) {
+            log.info("Moved ingredients of {} recipes to recipe_ingredient", migrated);
+        }
+    }
+
+    /**
+     * Migrate up to one batch; migrated recipes drop out of the next query.
+     *
+     * @return number of recipes migrated
+     */
+    int migrateBatch() {
+        List<UUID> ids = recipeRepository.findIdsWithLegacyIngredients(PageRequest.of(0, BATCH_SIZE));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        for (Recipe recipe : recipeRepository.findAllById(ids)) {
+            if (recipe.getIngredients().isEmpty()) {
+                recipe.getIngredients().addAll(toIngredients(recipe.getId(), recipe.getLegacyIngredients()));
+            }
+        }
+        recipeRepository.flush();
+        recipeRepository.clearLegacyIngredients(ids);
+        return ids.size();
+    }
+
+    private List<RecipeIngredient> toIngredients(UUID recipeId, String legacyJson) {
+        String trimmed = legacyJson.trim();
+        // Not a JSON array: keep the text as a single line rather than lose it
+        List<String> lines = trimmed.startsWith("[")
+                ? readJsonArray(recipeId, trimmed)
+                : List.of(trimmed);
+        return lines.stream()
+                .filter(line -> line != null && !line.isBlank())
+                .map(RecipeIngredient::of)
+                .toList();
+    }
+
+    private List<String> readJsonArray(UUID recipeId, String legacyJson) {
+        try {
+            return recipeMapper.readLegacyIngredients(legacyJson);
+        } catch (JsonProcessingException e) {
+            log.warn("Legacy ingredients of recipe {} are not a JSON array, keeping them as one line: {}",
+                    recipeId, e.getOriginalMessage());
+            return List.of(legacyJson);
+        }
+    }
+}
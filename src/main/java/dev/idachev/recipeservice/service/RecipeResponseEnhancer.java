@@ -14,8 +14,11 @@ import org.springframework.transaction.annotation.Transactional;
 // Removed: import dev.idachev.recipeservice.model.FavoriteRecipe;
 import dev.idachev.recipeservice.model.RecipeVote;
 import dev.idachev.recipeservice.repository.FavoriteRecipeRepository;
+import dev.idachev.recipeservice.repository.dto.RecipeSummaryDto;
 import dev.idachev.recipeservice.user.service.UserService;
+import dev.idachev.recipeservice.web.dto.ImageVariantsDto;
 import dev.idachev.recipeservice.web.dto.RecipeResponse;
+import dev.idachev.recipeservice.web.dto.RecipeSummaryResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -57,16 +60,12 @@ public class RecipeResponseEnhancer {
                 .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
 
-        // Bulk fetch data
-        Map<UUID, Long> favoriteCounts = favoriteRecipeRepository.getFavoriteCountsMap(recipeIds);
-        Map<UUID, Boolean> userFavorites = (userId != null)
-                ? favoriteRecipeRepository.getUserFavoritesMap(userId, recipeIds)
-                : Collections.emptyMap();
-        Map<UUID, RecipeVote.VoteType> userVotes = (userId != null)
-                ? voteService.getUserVotesForRecipes(userId, recipeIds)
-                : Collections.emptyMap(); // Use voteService
-        Map<UUID, Long> commentCounts = commentService.getCommentCountsForRecipes(recipeIds); // Use commentService
-        Map<UUID, String> authorUsernames = userService.getUsernamesByIds(authorIds); // Use userService
+        Interactions interactions = fetchInteractions(recipeIds, authorIds, userId);
+        Map<UUID, Long> favoriteCounts = interactions.favoriteCounts();
+        Map<UUID, Boolean> userFavorites = interactions.userFavorites();
+        Map<UUID, RecipeVote.VoteType> userVotes = interactions.userVotes();
+        Map<UUID, Long> commentCounts = interactions.commentCounts();
+        Map<UUID, String> authorUsernames = interactions.authorUsernames();
 
         // Enhance each response using the bulk-fetched data
         return responses.stream()
@@ -94,8 +93,75 @@ public class RecipeResponseEnhancer {
                             isFav, favCount, commCount,
                             response.upvotes(), response.downvotes(),
                             userVoteStr,
-                            response.createdAt(), response.updatedAt(), response.macros(), response.additionalFields());
+                            response.createdAt(), response.updatedAt(), response.macros(), response.additionalFields(), response.imageStatus(), response.imageVariants());
                 })
                 .toList();
     }
-}
\ No newline at end of file
+
+    /**
+     * Turn a page of recipe card rows into summary responses, with the same bulk-fetched
+     * interaction data as {@link #enhanceRecipeListWithUserInteractions}.
+     *
+     * @param summaries Card rows from {@code RecipeRepository.findSummaries} or {@code searchSummaries}.
+     * @param userId    The ID of the current user (can be null).
+     * @return The summary responses, in the same order.
+     */
+    @Transactional(readOnly = true)
+    public List<RecipeSummaryResponse> toSummaryResponses(List<RecipeSummaryDto> summaries, UUID userId) {
+        if (summaries == null || summaries.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Set<UUID> recipeIds = summaries.stream().map(RecipeSummaryDto::getRecipeId).collect(Collectors.toSet());
+        Set<UUID> authorIds = summaries.stream()
+                .map(RecipeSummaryDto::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Interactions interactions = fetchInteractions(recipeIds, authorIds, userId);
+
+        return summaries.stream()
+                .map(summary -> {
+                    UUID recipeId = summary.getRecipeId();
+                    RecipeVote.VoteType voteType = interactions.userVotes().get(recipeId);
+                    boolean hasVariants = summary.getThumbnailUrl() != null || summary.getCardUrl() != null;
+
+                    return new RecipeSummaryResponse(
+                            recipeId, summary.getUserId(), summary.getTitle(), summary.getImageUrl(),
+                            hasVariants ? new ImageVariantsDto(summary.getThumbnailUrl(), summary.getCardUrl(), null) : null,
+                            summary.getImageStatus(), summary.getTotalTimeMinutes(), summary.getDifficulty(),
+                            (summary.getUserId() != null)
+                                    ? interactions.authorUsernames().getOrDefault(summary.getUserId(), "Unknown User")
+                                    : "Unknown User",
+                            interactions.userFavorites().getOrDefault(recipeId, false),
+                            interactions.favoriteCounts().getOrDefault(recipeId, 0L),
+                            interactions.commentCounts().getOrDefault(recipeId, 0L),
+                            summary.getUpvotes(), summary.getDownvotes(),
+                            (voteType != null) ? voteType.name() : null,
+                            summary.getCreatedAt());
+                })
+                .toList();
+    }
+
+    private Interactions fetchInteractions(Set<UUID> recipeIds, Set<UUID> authorIds, UUID userId) {
+        return new Interactions(
+                favoriteRecipeRepository.getFavoriteCountsMap(recipeIds),
+                (userId != null)
+                        ? favoriteRecipeRepository.getUserFavoritesMap(userId, recipeIds)
+                        : Collections.emptyMap(),
+                (userId != null)
+                        ? voteService.getUserVotesForRecipes(userId, recipeIds)
+                        : Collections.emptyMap(),
+                commentService.getCommentCountsForRecipes(recipeIds),
+                userService.getUsernamesByIds(authorIds));
+    }
+
+    /**
+     * Bulk-fetched interaction data for a set of recipes, keyed by recipe ID (authors by user ID).
+     */
+    private record Interactions(Map<UUID, Long> favoriteCounts,
+                                Map<UUID, Boolean> userFavorites,
+                                Map<UUID, RecipeVote.VoteType> userVotes,
+                                Map<UUID, Long> commentCounts,
+                                Map<UUID, String> authorUsernames) {
+    }
+}
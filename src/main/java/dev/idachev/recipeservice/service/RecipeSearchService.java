@@ -1,20 +1,37 @@
 package dev.idachev.recipeservice.service;
 
+import dev.idachev.recipeservice.infrastructure.search.RecipeFilterPlanner;
 import dev.idachev.recipeservice.model.Recipe;
 import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.repository.dto.RecipeSummaryDto;
+import dev.idachev.recipeservice.repository.dto.RecipeVersionDto;
+import dev.idachev.recipeservice.web.dto.BatchRecipeResponse;
+import dev.idachev.recipeservice.web.dto.RecipeFilterRequest;
 import dev.idachev.recipeservice.web.dto.RecipeResponse;
+import dev.idachev.recipeservice.web.dto.RecipeSummaryResponse;
 import dev.idachev.recipeservice.web.mapper.RecipeMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Service for recipe search operations.
@@ -26,12 +43,18 @@ public class RecipeSearchService {
 
     private final RecipeRepository recipeRepository;
     private final RecipeMapper recipeMapper;
+    private final RecipeFilterPlanner recipeFilterPlanner;
+    private final RecipeResponseEnhancer recipeResponseEnhancer;
 
     @Autowired
     public RecipeSearchService(RecipeRepository recipeRepository,
-                               RecipeMapper recipeMapper) {
+                               RecipeMapper recipeMapper,
+                               RecipeFilterPlanner recipeFilterPlanner,
+                               RecipeResponseEnhancer recipeResponseEnhancer) {
         this.recipeRepository = recipeRepository;
         this.recipeMapper = recipeMapper;
+        this.recipeFilterPlanner = recipeFilterPlanner;
+        this.recipeResponseEnhancer = recipeResponseEnhancer;
     }
 
     /**
@@ -64,6 +87,104 @@ public class RecipeSearchService {
         return new PageImpl<>(baseResponses, pageable, recipePage.getTotalElements());
     }
 
+    /**
+     * Search recipes by keyword, returning list cards. Only the card columns are read from the
+     * database; instructions, ingredients and macros are not.
+     *
+     * @param keyword  Search term
+     * @param pageable Pagination information
+     * @param userId   Optional user ID for favorite and vote information
+     * @return Page of matching recipe cards
+     */
+    @Transactional(readOnly = true)
+    public Page<RecipeSummaryResponse> searchRecipeSummaries(String keyword, Pageable pageable, UUID userId) {
+        Page<RecipeSummaryDto> summaryPage = StringUtils.hasText(keyword)
+                ? recipeRepository.searchSummaries(keyword.trim(), pageable)
+                : recipeRepository.findSummaries(pageable);
+        log.debug("Found {} recipe cards matching keyword: {}", summaryPage.getTotalElements(), keyword);
+
+        return new PageImpl<>(recipeResponseEnhancer.toSummaryResponses(summaryPage.getContent(), userId),
+                pageable, summaryPage.getTotalElements());
+    }
+
+    /**
+     * Recipe feed as list cards, newest first. Only the card columns are read from the database.
+     *
+     * @param pageable Pagination information; its sort is replaced by newest first
+     * @param userId   Optional user ID for favorite and vote information
+     * @return Page of recipe cards
+     */
+    @Transactional(readOnly = true)
+    public Page<RecipeSummaryResponse> getRecipeFeedSummaries(Pageable pageable, UUID userId) {
+        Pageable newestFirst = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                Sort.Direction.DESC, "createdAt");
+        Page<RecipeSummaryDto> summaryPage = recipeRepository.findSummaries(newestFirst);
+
+        return new PageImpl<>(recipeResponseEnhancer.toSummaryResponses(summaryPage.getContent(), userId),
+                newestFirst, summaryPage.getTotalElements());
+    }
+
+    /**
+     * Look up several recipes at once: one query for the recipes and their macros, one for their
+     * ingredients, and bulk interaction lookups. Duplicate IDs are looked up once.
+     *
+     * @param recipeIds Recipe IDs in the order the caller wants them back
+     * @param userId    Optional user ID for favorite and vote information
+     * @return One entry per requested ID, in request order; missing recipes as not-found entries
+     */
+    @Transactional(readOnly = true)
+    public BatchRecipeResponse getRecipesByIds(List<UUID> recipeIds, UUID userId) {
+        Set<UUID> distinctIds = new LinkedHashSet<>(recipeIds);
+        List<RecipeResponse> baseResponses = recipeRepository.findAllWithMacrosByIdIn(distinctIds).stream()
+                .map(recipeMapper::toResponse)
+                .toList();
+        Map<UUID, RecipeResponse> byId = recipeResponseEnhancer
+                .enhanceRecipeListWithUserInteractions(baseResponses, userId).stream()
+                .collect(Collectors.toMap(RecipeResponse::id, Function.identity()));
+        log.debug("Found {} of {} requested recipes", byId.size(), distinctIds.size());
+
+        return new BatchRecipeResponse(recipeIds.stream()
+                .map(id -> byId.containsKey(id)
+                        ? BatchRecipeResponse.Entry.found(byId.get(id))
+                        : BatchRecipeResponse.Entry.notFound(id))
+                .toList());
+    }
+
+    /**
+     * A page of all recipes, or of all but the user's own, unless the caller already has it.
+     * Ids and versions of the page are read with a narrow query first and fingerprinted, so a
+     * matching conditional request is answered before any recipe is loaded or mapped. Otherwise
+     * the listed recipes are loaded by id in one query.
+     *
+     * @param pageable     Pagination information
+     * @param userId       User whose recipes are left out unless {@code showPersonal}
+     * @param showPersonal Include the user's own recipes
+     * @param notModified  Tests the ETag of the page, true if the caller's copy matches
+     * @return Page of recipes, or null if {@code notModified} accepted the ETag
+     */
+    @Transactional(readOnly = true)
+    public Page<RecipeResponse> getRecipePage(Pageable pageable, UUID userId, boolean showPersonal,
+                                              Predicate<String> notModified) {
+        Page<RecipeVersionDto> versions = showPersonal
+                ? recipeRepository.findVersions(pageable)
+                : recipeRepository.findVersionsByUserIdNot(userId, pageable);
+        if (notModified.test(pageETag(versions))) {
+            return null;
+        }
+
+        List<UUID> ids = versions.getContent().stream().map(RecipeVersionDto::getRecipeId).toList();
+        Map<UUID, Recipe> byId = recipeRepository.findAllWithMacrosByIdIn(ids).stream()
+                .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+        // A recipe deleted in between is left out
+        List<RecipeResponse> baseResponses = ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(recipeMapper::toResponse)
+                .toList();
+
+        return new PageImpl<>(baseResponses, pageable, versions.getTotalElements());
+    }
+
     /**
      * Get all recipes with pagination.
      *
@@ -130,6 +251,31 @@ public class RecipeSearchService {
         }
     }
 
+    /**
+     * Filter recipes by total time, difficulty and macro ranges, newest first.
+     * The query is driven by the index the planner estimates to match the fewest recipes.
+     *
+     * @param filter   Filter criteria, all optional
+     * @param pageable Pagination information
+     * @param userId   Optional user ID for favorite information
+     * @return Page of matching recipes
+     */
+    @Transactional(readOnly = true)
+    public Page<RecipeResponse> filterRecipes(RecipeFilterRequest filter, Pageable pageable, UUID userId) {
+        RecipeFilterPlanner.Plan plan = recipeFilterPlanner.plan(filter);
+        log.debug("Filtering recipes by {} using index {} (estimated selectivity {})",
+                filter, plan.index(), plan.selectivity());
+
+        Page<Recipe> recipePage = recipeRepository.findByFilter(filter, plan.index(), pageable);
+        log.debug("Found {} recipes matching filter", recipePage.getTotalElements());
+
+        List<RecipeResponse> baseResponses = recipePage.getContent().stream()
+                                                .map(recipeMapper::toResponse)
+                                                .toList();
+
+        return new PageImpl<>(baseResponses, pageable, recipePage.getTotalElements());
+    }
+
     /**
      * Get all recipes excluding those created by a specific user.
      */
@@ -145,4 +291,16 @@ public class RecipeSearchService {
         
         return new PageImpl<>(baseResponses, pageable, recipePage.getTotalElements());
     }
-} 
\ No newline at end of file
+
+    /**
+     * Weak ETag of a page from the ids and versions on it and the total count. Weak, because
+     * the JSON and Smile representations of the page share it.
+     */
+    private static String pageETag(Page<RecipeVersionDto> versions) {
+        StringBuilder fingerprint = new StringBuilder().append(versions.getTotalElements());
+        for (RecipeVersionDto version : versions.getContent()) {
+            fingerprint.append(';').append(version.getRecipeId()).append(':').append(version.getVersion());
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(fingerprint.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
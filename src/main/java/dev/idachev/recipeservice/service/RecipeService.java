@@ -4,18 +4,26 @@ import dev.idachev.recipeservice.exception.AIServiceException;
 import dev.idachev.recipeservice.exception.ResourceNotFoundException;
 import dev.idachev.recipeservice.exception.UnauthorizedAccessException;
 import dev.idachev.recipeservice.infrastructure.ai.AIService;
-import dev.idachev.recipeservice.model.FavoriteRecipe;
+import dev.idachev.recipeservice.infrastructure.ai.GeneratedRecipePool;
+import dev.idachev.recipeservice.model.ImageStatus;
 import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.model.RecipeDeletion;
 import dev.idachev.recipeservice.model.RecipeVote;
 import dev.idachev.recipeservice.repository.FavoriteRecipeRepository;
+import dev.idachev.recipeservice.repository.RecipeDeletionRepository;
 import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.repository.dto.RecipeVersionDto;
+import dev.idachev.recipeservice.service.event.RecipeDeletedEvent;
+import dev.idachev.recipeservice.service.event.RecipeSavedEvent;
 import dev.idachev.recipeservice.user.service.UserService;
 import dev.idachev.recipeservice.web.dto.RecipeRequest;
 import dev.idachev.recipeservice.web.dto.RecipeResponse;
 import dev.idachev.recipeservice.web.dto.SimplifiedRecipeResponse;
+import dev.idachev.recipeservice.web.mapper.RecipeJsonWriter;
 import dev.idachev.recipeservice.web.mapper.RecipeMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -27,8 +35,10 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 /**
  * Service for recipe management operations.
@@ -38,32 +48,46 @@ import java.util.Optional;
 @Slf4j
 public class RecipeService {
 
+    private static final String UNKNOWN_USER = "Unknown User";
+
     private final RecipeRepository recipeRepository;
     private final FavoriteRecipeRepository favoriteRecipeRepository;
+    private final RecipeDeletionRepository recipeDeletionRepository;
     private final RecipeImageService recipeImageService;
     private final AIService aiService;
+    private final GeneratedRecipePool generatedRecipePool;
     private final RecipeMapper recipeMapper;
     private final CommentService commentService;
     private final VoteService voteService;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RecipeJsonWriter recipeJsonWriter;
 
     @Autowired
     public RecipeService(RecipeRepository recipeRepository,
                          FavoriteRecipeRepository favoriteRecipeRepository,
+                         RecipeDeletionRepository recipeDeletionRepository,
                          RecipeImageService recipeImageService,
                          AIService aiService,
+                         GeneratedRecipePool generatedRecipePool,
                          RecipeMapper recipeMapper,
                          CommentService commentService,
                          VoteService voteService,
-                         UserService userService) {
+                         UserService userService,
+                         ApplicationEventPublisher eventPublisher,
+                         RecipeJsonWriter recipeJsonWriter) {
         this.recipeRepository = recipeRepository;
         this.favoriteRecipeRepository = favoriteRecipeRepository;
+        this.recipeDeletionRepository = recipeDeletionRepository;
         this.recipeImageService = recipeImageService;
         this.aiService = aiService;
+        this.generatedRecipePool = generatedRecipePool;
         this.recipeMapper = recipeMapper;
         this.commentService = commentService;
         this.voteService = voteService;
         this.userService = userService;
+        this.eventPublisher = eventPublisher;
+        this.recipeJsonWriter = recipeJsonWriter;
     }
 
     /**
@@ -79,20 +103,11 @@ public class RecipeService {
         
         log.info("Creating recipe '{}' for user ID: {}", request.title(), userId);
         
-        String finalImageUrl = request.imageUrl(); // Start with request URL
-        if (image != null && !image.isEmpty()) {
-            String processedImageUrl = recipeImageService.processRecipeImage(
-                    request.title(),
-                    request.servingSuggestions(),
-                    image);
-            if (processedImageUrl != null && !processedImageUrl.isEmpty()) {
-                finalImageUrl = processedImageUrl;
-                log.info("Processed image for new recipe, obtained URL: {}", finalImageUrl);
-            } else {
-                log.warn("Image processing returned null or empty URL for new recipe");
-                // Keep URL from request if processing failed
-            }
-        } 
+        // An uploaded image is sent to storage after commit; until then the recipe is PENDING
+        boolean hasNewImage = image != null && !image.isEmpty();
+        // A generated image's variants are still being made; they are patched in after commit
+        boolean awaitsVariants = !hasNewImage && recipeImageService.hasGeneratedVariants(request.imageUrl());
+        UUID imageUploadToken = hasNewImage || awaitsVariants ? recipeImageService.newUploadToken() : null;
 
         // Use mapper to get initial entity from request (uses builder internally)
         Recipe recipeFromRequest = recipeMapper.toEntity(request);
@@ -100,7 +115,8 @@ public class RecipeService {
         // Use toBuilder() to create a mutable builder, set non-request fields, and build final entity
         Recipe recipeToSave = recipeFromRequest.toBuilder()
                 .userId(userId)          // Set the user ID
-                .imageUrl(finalImageUrl) // Set the final image URL
+                .imageStatus(hasNewImage ? ImageStatus.PENDING : recipeFromRequest.getImageStatus())
+                .imageUploadToken(imageUploadToken)
                 // createdAt, updatedAt, upvotes, downvotes rely on @Builder.Default in Recipe entity
                 .build();
                 
@@ -108,6 +124,16 @@ public class RecipeService {
 
         Recipe savedRecipe = recipeRepository.save(recipeToSave);
         log.info("Created recipe with ID: {}, UserID: {}", savedRecipe.getId(), savedRecipe.getUserId());
+        eventPublisher.publishEvent(RecipeSavedEvent.of(savedRecipe));
+
+        if (hasNewImage) {
+            recipeImageService.uploadAfterCommit(savedRecipe.getId(), imageUploadToken,
+                    recipeImageService.stageImage(image));
+            log.info("Image upload for recipe {} scheduled after commit", savedRecipe.getId());
+        } else if (awaitsVariants) {
+            recipeImageService.attachGeneratedVariantsAfterCommit(savedRecipe.getId(), imageUploadToken,
+                    request.imageUrl());
+        }
 
         return enhanceWithUserInteractions(recipeMapper.toResponse(savedRecipe), userId);
     }
@@ -129,6 +155,42 @@ public class RecipeService {
         return enhanceWithUserInteractions(recipeMapper.toResponse(recipe), userId);
     }
 
+    /**
+     * Get a recipe by ID as response JSON, unless the caller already has the current version.
+     * The ETag comes from the recipe version and the interaction fields kept in this service's
+     * tables (favorites, comments, the user's vote), so a matching conditional request is answered
+     * without loading, mapping or serializing the recipe and without asking the user service for
+     * the author's name. The recipe body is serialized once per version and reused; only the
+     * interaction fields are looked up and serialized per call.
+     *
+     * @param notModified Tests the ETag of the current JSON, true if the caller's copy matches
+     * @return the JSON, or null if {@code notModified} accepted the ETag
+     */
+    @Transactional(readOnly = true)
+    public byte[] getRecipeJson(UUID id, UUID userId, Predicate<String> notModified) {
+        RecipeVersionDto current = recipeRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Recipe not found with id: " + id));
+        RecipeResponse interactions = localInteractions(id, current.getUserId(), userId);
+
+        String eTag = recipeJsonWriter.eTag(current.getVersion(), interactions);
+        if (eTag != null && notModified.test(eTag)) {
+            return null;
+        }
+        return recipeJsonWriter.write(findRecipeByIdOrThrow(id), withAuthor(interactions, current.getUserId()));
+    }
+
+    /**
+     * Same as {@link #getRecipeJson}, transcoded to Smile and with the ETag of the Smile representation.
+     *
+     * @param notModified Tests the ETag of the current Smile document, true if the caller's copy matches
+     * @return the Smile document, or null if {@code notModified} accepted the ETag
+     */
+    @Transactional(readOnly = true)
+    public byte[] getRecipeSmile(UUID id, UUID userId, Predicate<String> notModified) {
+        byte[] json = getRecipeJson(id, userId, eTag -> notModified.test(RecipeJsonWriter.smileETag(eTag)));
+        return json == null ? null : recipeJsonWriter.toSmile(json);
+    }
+
     /**
      * Find a recipe by ID or throw an exception if not found
      */
@@ -198,29 +260,14 @@ public class RecipeService {
         
         log.info("Updating recipe {} with image upload. Image present: {}", id, image != null && !image.isEmpty());
 
-        // 2. Process image if provided
+        // 2. A new image is sent to storage after commit; until then the recipe is PENDING
         String finalImageUrl = request.imageUrl(); // Start with URL from request DTO
-        if (image != null && !image.isEmpty()) {
-            String oldImageUrl = existingRecipe.getImageUrl(); // Get old URL from existing entity
-            
-            String processedImageUrl = recipeImageService.processRecipeImage(
-                request.title(), 
-                request.servingSuggestions(), 
-                image);
-            
-            if (processedImageUrl != null && !processedImageUrl.isEmpty()) {
-                finalImageUrl = processedImageUrl;
-                 if (oldImageUrl != null && !oldImageUrl.equals(finalImageUrl)) {
-                    log.info("Image URL changed from '{}' to '{}'", oldImageUrl, finalImageUrl);
-                } else if (oldImageUrl == null) {
-                    log.info("Image URL set to '{}'", finalImageUrl);
-                }
-            } else {
-                 log.warn("Image processing returned null or empty URL for recipe {}", id);
-                 // If processing failed, decide whether to keep the URL from request DTO 
-                 // or revert to existingRecipe.getImageUrl(). Current logic keeps request DTO's URL.
-            }
-        } else {
+        boolean hasNewImage = image != null && !image.isEmpty();
+        // Replacing the image URL also cancels an upload still in flight
+        boolean keepsImage = !hasNewImage && Objects.equals(finalImageUrl, existingRecipe.getImageUrl());
+        UUID imageUploadToken = hasNewImage ? recipeImageService.newUploadToken()
+                : keepsImage ? existingRecipe.getImageUploadToken() : null;
+        if (!hasNewImage) {
             log.info("No new image provided for recipe {}, using URL from request: {}", id, finalImageUrl);
         }
 
@@ -239,7 +286,11 @@ public class RecipeService {
                 
                 // Fields from request are already set by recipeMappedFromRequest base
                 // Override specific fields managed here:
-                .imageUrl(finalImageUrl) // Set the potentially updated image URL
+                .imageUrl(finalImageUrl) // Patched once a staged image finishes uploading
+                .imageStatus(resolveImageStatus(hasNewImage, finalImageUrl, existingRecipe, recipeMappedFromRequest))
+                // Variants belong to the stored image; drop them once it is replaced
+                .imageVariants(keepsImage ? existingRecipe.getImageVariants() : null)
+                .imageUploadToken(imageUploadToken)
                 .updatedAt(LocalDateTime.now()) // Set new update timestamp
                 // If isAiGenerated is optional in request, handle null (keep existing)
                 .isAiGenerated(Optional.ofNullable(request.isAiGenerated()).orElse(existingRecipe.getIsAiGenerated()))
@@ -248,39 +299,66 @@ public class RecipeService {
         // 5. Save the updated entity
         Recipe savedRecipe = recipeRepository.save(updatedRecipe);
         log.info("Updated recipe with ID: {} saved successfully", savedRecipe.getId());
+        eventPublisher.publishEvent(RecipeSavedEvent.of(savedRecipe));
+
+        if (hasNewImage) {
+            recipeImageService.uploadAfterCommit(savedRecipe.getId(), imageUploadToken,
+                    recipeImageService.stageImage(image));
+            log.info("Image upload for recipe {} scheduled after commit", savedRecipe.getId());
+        }
 
         // Enhance using the single-item method (still needed here)
         return enhanceWithUserInteractions(recipeMapper.toResponse(savedRecipe), userId);
     }
 
     /**
-     * Delete a recipe.
+     * Image status after an update: PENDING for a newly uploaded image, unchanged while the
+     * image URL stays the same, otherwise derived from the URL in the request.
+     */
+    private ImageStatus resolveImageStatus(boolean hasNewImage, String imageUrl,
+                                           Recipe existingRecipe, Recipe recipeFromRequest) {
+        if (hasNewImage) {
+            return ImageStatus.PENDING;
+        }
+        if (Objects.equals(imageUrl, existingRecipe.getImageUrl())) {
+            return existingRecipe.getImageStatus();
+        }
+        return recipeFromRequest.getImageStatus();
+    }
+
+    /**
+     * Delete a recipe together with its favorites, votes and comments.
+     * Child rows are removed with one set-based DELETE per table instead of being loaded;
+     * tags, ingredients and macros go with the recipe entity (one delete per collection, one row).
+     * The deletion is recorded so other instances drop the recipe from their indexes.
      */
     @Transactional
     public void deleteRecipe(UUID id, UUID userId) {
         Recipe recipe = checkRecipePermission(id, userId);
-        
-        // First delete all favorites related to this recipe
-        List<UUID> userIds = favoriteRecipeRepository.findByRecipeId(id).stream()
-                .map(FavoriteRecipe::getUserId)
-                .toList();
-        
-        // Log how many favorite entries will be deleted
-        if (!userIds.isEmpty()) {
-            log.info("Deleting {} favorite entries for recipe {}", userIds.size(), id);
-            favoriteRecipeRepository.deleteByRecipeId(id);
-        }
-        
-        // Then delete the recipe
+
+        int favorites = favoriteRecipeRepository.deleteByRecipeId(id);
+        int votes = voteService.deleteAllForRecipe(id);
+        int comments = commentService.deleteAllForRecipe(id);
+
         recipeRepository.delete(recipe);
-        log.info("Recipe with ID {} deleted successfully", id);
+        recipeDeletionRepository.save(RecipeDeletion.of(id));
+        eventPublisher.publishEvent(new RecipeDeletedEvent(id));
+        log.info("Recipe with ID {} deleted successfully ({} favorites, {} votes, {} comments removed)",
+                id, favorites, votes, comments);
     }
 
     /**
-     * Generate a meal from ingredients
+     * Generate a meal from ingredients.
+     * Served from the pre-generated pool when a ready recipe exists for the ingredient set.
      */
     public SimplifiedRecipeResponse generateMeal(List<String> ingredients) {
         log.info("Generating meal from {} ingredients", ingredients != null ? ingredients.size() : 0);
+
+        Optional<SimplifiedRecipeResponse> pooled = generatedRecipePool.take(ingredients);
+        if (pooled.isPresent()) {
+            return pooled.get();
+        }
+
         try {
             return aiService.generateRecipeFromIngredients(ingredients);
         } catch (AIServiceException e) {
@@ -322,12 +400,35 @@ public class RecipeService {
             return null;
         }
 
-        UUID recipeId = response.id();
-        UUID createdById = response.createdById();
-        
+        RecipeResponse interactions = userInteractions(response.id(), response.createdById(), userId);
+
+        // Build the enhanced response with all data
+        return new RecipeResponse(
+            response.id(), response.createdById(), response.title(), response.servingSuggestions(),
+            response.instructions(), response.imageUrl(), response.ingredients(), response.totalTimeMinutes(),
+            interactions.authorName(), interactions.username(), interactions.authorId(),
+            response.difficulty(), response.isAiGenerated(),
+            interactions.isFavorite(), interactions.favoriteCount(), interactions.commentCount(),
+            response.upvotes(), response.downvotes(), 
+            interactions.userVote(),
+            response.createdAt(), response.updatedAt(), response.macros(), response.additionalFields(), response.imageStatus(), response.imageVariants()
+        );
+    }
+
+    /**
+     * The user-specific and aggregated fields of a recipe response (author, favorites, comments,
+     * the user's vote), looked up individually. All other fields are null.
+     */
+    private RecipeResponse userInteractions(UUID recipeId, UUID createdById, UUID userId) {
+        return withAuthor(localInteractions(recipeId, createdById, userId), createdById);
+    }
+
+    /**
+     * The interaction fields kept in this service's tables: favorites, comments and the user's
+     * vote, plus the author id. The author's name is left at its default.
+     */
+    private RecipeResponse localInteractions(UUID recipeId, UUID createdById, UUID userId) {
         // Initialize defaults
-        String authorName = "Unknown User";
-        String authorUsername = "Unknown User";
         String authorIdStr = (createdById != null) ? createdById.toString() : null;
         boolean isFavorite = false;
         long favoriteCount = 0L;
@@ -338,34 +439,51 @@ public class RecipeService {
             // 1. Get counts and votes from database
             favoriteCount = favoriteRecipeRepository.countByRecipeId(recipeId);
             commentCount = commentService.getCommentCount(recipeId);
-            
+
             // 2. Get user-specific data if userId provided
             if (userId != null) {
                 isFavorite = favoriteRecipeRepository.existsByUserIdAndRecipeId(userId, recipeId);
                 RecipeVote.VoteType userVoteType = voteService.getUserVote(recipeId, userId);
                 userVoteStr = (userVoteType != null) ? userVoteType.toString() : null;
             }
-            
-            // 3. Get author data if available
-            if (createdById != null) {
-                authorUsername = userService.getUsernameById(createdById);
-                authorName = authorUsername; // Use username as name
-            }
         } catch (Exception e) {
             log.error("Error enhancing recipe {} for user {}: {}", recipeId, userId, e.getMessage());
             // Continue with default values rather than failing the entire request
         }
 
-        // Build the enhanced response with all data
         return new RecipeResponse(
-            response.id(), response.createdById(), response.title(), response.servingSuggestions(),
-            response.instructions(), response.imageUrl(), response.ingredients(), response.totalTimeMinutes(),
-            authorName, authorUsername, authorIdStr, 
-            response.difficulty(), response.isAiGenerated(),
+            null, null, null, null, null, null, null, null,
+            UNKNOWN_USER, UNKNOWN_USER, authorIdStr,
+            null, null,
             isFavorite, favoriteCount, commentCount,
-            response.upvotes(), response.downvotes(), 
+            null, null,
             userVoteStr,
-            response.createdAt(), response.updatedAt(), response.macros(), response.additionalFields()
+            null, null, null, null, null, null
+        );
+    }
+
+    /**
+     * The interaction fields with the author's name from the user service filled in.
+     */
+    private RecipeResponse withAuthor(RecipeResponse interactions, UUID createdById) {
+        if (createdById == null) {
+            return interactions;
+        }
+        String authorUsername = UNKNOWN_USER;
+        try {
+            authorUsername = userService.getUsernameById(createdById);
+        } catch (Exception e) {
+            log.error("Error resolving author {}: {}", createdById, e.getMessage());
+        }
+
+        return new RecipeResponse(
+            null, null, null, null, null, null, null, null,
+            authorUsername, authorUsername, interactions.authorId(), // Use username as name
+            null, null,
+            interactions.isFavorite(), interactions.favoriteCount(), interactions.commentCount(),
+            null, null,
+            interactions.userVote(),
+            null, null, null, null, null, null
         );
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,90 @@
+package dev.idachev.recipeservice.service;
+
+import dev.idachev.recipeservice.exception.ResourceNotFoundException;
+import dev.idachev.recipeservice.infrastructure.search.MinHashIndex;
+import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.web.dto.RecipeResponse;
+import dev.idachev.recipeservice.web.dto.SimilarRecipeResponse;
+import dev.idachev.recipeservice.web.mapper.RecipeMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Similar-recipe recommendations from the in-memory {@link MinHashIndex}.
+ */
+@Service
+@Slf4j
+public class SimilarRecipeService {
+
+    public static final int DEFAULT_LIMIT = 10;
+
+    private final MinHashIndex minHashIndex;
+    private final RecipeRepository recipeRepository;
+    private final RecipeMapper recipeMapper;
+    private final RecipeResponseEnhancer recipeResponseEnhancer;
+
+    @Autowired
+    public SimilarRecipeService(MinHashIndex minHashIndex,
+                                RecipeRepository recipeRepository,
+                                RecipeMapper recipeMapper,
+                                RecipeResponseEnhancer recipeResponseEnhancer) {
+        this.minHashIndex = minHashIndex;
+        this.recipeRepository = recipeRepository;
+        this.recipeMapper = recipeMapper;
+        this.recipeResponseEnhancer = recipeResponseEnhancer;
+    }
+
+    /**
+     * Recipes most similar to a recipe by ingredients and tags.
+     *
+     * @param recipeId Recipe to find neighbours of
+     * @param limit    Maximum number of recipes, {@link #DEFAULT_LIMIT} when null
+     * @param userId   Current user, for favorite and vote information
+     * @return Similar recipes, most similar first
+     * @throws ResourceNotFoundException if the recipe does not exist
+     */
+    @Transactional(readOnly = true)
+    public List<SimilarRecipeResponse> findSimilar(UUID recipeId, Integer limit, UUID userId) {
+        if (!recipeRepository.existsById(recipeId)) {
+            throw new ResourceNotFoundException("Recipe not found with ID: " + recipeId);
+        }
+
+        List<MinHashIndex.Similar> similar = minHashIndex.similar(recipeId, limit != null ? limit : DEFAULT_LIMIT);
+        log.debug("Recipe {} has {} similar recipes", recipeId, similar.size());
+        if (similar.isEmpty()) {
+            return List.of();
+        }
+
+        // The index is updated after commit, so a neighbour may already be gone; it is skipped
+        List<UUID> ids = similar.stream().map(MinHashIndex.Similar::recipeId).toList();
+        Map<UUID, Recipe> recipes = recipeRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+
+        List<MinHashIndex.Similar> found = new ArrayList<>(similar.size());
+        List<RecipeResponse> responses = new ArrayList<>(similar.size());
+        for (MinHashIndex.Similar neighbour : similar) {
+            Recipe recipe = recipes.get(neighbour.recipeId());
+            if (recipe != null) {
+                found.add(neighbour);
+                responses.add(recipeMapper.toResponse(recipe));
+            }
+        }
+
+        List<RecipeResponse> enhanced = recipeResponseEnhancer.enhanceRecipeListWithUserInteractions(responses, userId);
+        List<SimilarRecipeResponse> result = new ArrayList<>(enhanced.size());
+        for (int i = 0; i < enhanced.size(); i++) {
+            result.add(new SimilarRecipeResponse(enhanced.get(i), found.get(i).similarity()));
+        }
+        return result;
+    }
+}
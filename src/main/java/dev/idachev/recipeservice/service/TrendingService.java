@@ -0,0 +1,205 @@
+package dev.idachev.recipeservice.service;
+
+import dev.idachev.recipeservice.config.TrendingProperties;
+import dev.idachev.recipeservice.infrastructure.search.TrendingRanking;
+import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.model.TrendingScore;
+import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.repository.TrendingScoreRepository;
+import dev.idachev.recipeservice.service.event.RecipeDeletedEvent;
+import dev.idachev.recipeservice.service.event.RecipeEngagementEvent;
+import dev.idachev.recipeservice.web.dto.RecipeResponse;
+import dev.idachev.recipeservice.web.mapper.RecipeMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Trending feed: recipes ranked by recent votes, favorites and comments.
+ * <p>
+ * {@link TrendingRanking} is fed by the engagement events of VoteService,
+ * FavoriteRecipeService and CommentService after their transactions commit, and is written
+ * to the trending_scores table periodically so a restart starts from the last snapshot.
+ * Every instance sees only its own engagement events, so each snapshot run locks the stored
+ * snapshot, adds what this instance recorded since its previous run and reloads the merged
+ * ranking; instances thereby converge instead of overwriting each other's scores.
+ * Serving a page reads only that page from the ranking and loads only its recipes.
+ */
+@Service
+@Slf4j
+public class TrendingService implements SchedulingConfigurer {
+
+    private final TrendingRanking trendingRanking;
+    private final TrendingProperties properties;
+    private final TrendingScoreRepository trendingScoreRepository;
+    private final RecipeRepository recipeRepository;
+    private final RecipeMapper recipeMapper;
+    private final RecipeResponseEnhancer recipeResponseEnhancer;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public TrendingService(TrendingRanking trendingRanking,
+                           TrendingProperties properties,
+                           TrendingScoreRepository trendingScoreRepository,
+                           RecipeRepository recipeRepository,
+                           RecipeMapper recipeMapper,
+                           RecipeResponseEnhancer recipeResponseEnhancer,
+                           TransactionTemplate transactionTemplate) {
+        this.trendingRanking = trendingRanking;
+        this.properties = properties;
+        this.trendingScoreRepository = trendingScoreRepository;
+        this.recipeRepository = recipeRepository;
+        this.recipeMapper = recipeMapper;
+        this.recipeResponseEnhancer = recipeResponseEnhancer;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Get a page of trending recipes, most trending first.
+     * Pages beyond the ranking capacity are empty.
+     */
+    @Transactional(readOnly = true)
+    public Page<RecipeResponse> getTrendingRecipes(Pageable pageable, UUID userId) {
+        List<UUID> ids = trendingRanking.page(pageable.getOffset(), pageable.getPageSize());
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, trendingRanking.size());
+        }
+
+        Map<UUID, Recipe> recipes = recipeRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+        // Keep ranking order; a recipe deleted since it was ranked is skipped
+        List<RecipeResponse> responses = ids.stream()
+                .map(recipes::get)
+                .filter(Objects::nonNull)
+                .map(recipeMapper::toResponse)
+                .toList();
+
+        return new PageImpl<>(recipeResponseEnhancer.enhanceRecipeListWithUserInteractions(responses, userId),
+                pageable, trendingRanking.size());
+    }
+
+    /**
+     * Add an interaction at the time it happened, or subtract a retracted one at the time of the
+     * interaction it undoes so the two cancel exactly.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEngagement(RecipeEngagementEvent event) {
+        double weight = weight(event.type());
+        trendingRanking.record(event.recipeId(), event.retracted() ? -weight : weight, event.occurredAt());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeDeleted(RecipeDeletedEvent event) {
+        trendingRanking.remove(event.recipeId());
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        Duration interval = properties.snapshotInterval();
+        registrar.addFixedDelayTask(new FixedDelayTask(this::snapshot, interval, interval));
+    }
+
+    /**
+     * Decay the ranking to now, merge this instance's changes since the last run into the stored
+     * snapshot and continue from the merged ranking. If storing fails the changes are kept for the next run.
+     */
+    public void snapshot() {
+        Instant now = Instant.now();
+        trendingRanking.rebase(now);
+        TrendingRanking.Changes changes = trendingRanking.drainChanges();
+        LocalDateTime snapshotAt = LocalDateTime.ofInstant(now, ZoneOffset.UTC);
+
+        try {
+            List<TrendingRanking.Entry> merged = transactionTemplate.execute(status -> {
+                List<TrendingRanking.Entry> entries = merge(trendingScoreRepository.findAllForUpdate(), changes, now);
+                trendingScoreRepository.deleteSnapshot();
+                trendingScoreRepository.saveAll(entries.stream()
+                        .map(entry -> TrendingScore.builder()
+                                .recipeId(entry.recipeId())
+                                .score(entry.score())
+                                .snapshotAt(snapshotAt)
+                                .build())
+                        .toList());
+                return entries;
+            });
+            trendingRanking.restore(merged, now);
+            log.debug("Stored trending snapshot of {} recipes", merged.size());
+        } catch (RuntimeException e) {
+            trendingRanking.requeue(changes);
+            log.warn("Storing the trending snapshot failed, keeping the previous one: {}", e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        try {
+            List<TrendingScore> rows = trendingScoreRepository.findAll();
+            if (rows.isEmpty()) {
+                return;
+            }
+            Instant snapshotAt = rows.get(0).getSnapshotAt().toInstant(ZoneOffset.UTC);
+            trendingRanking.restore(rows.stream()
+                    .map(row -> new TrendingRanking.Entry(row.getRecipeId(), row.getScore()))
+                    .toList(), snapshotAt);
+            log.info("Restored trending ranking of {} recipes from {}", trendingRanking.size(), snapshotAt);
+        } catch (RuntimeException e) {
+            log.warn("Restoring the trending ranking failed, starting empty: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stored scores decayed to {@code now} plus this instance's contributions, without removed
+     * recipes, best first and cut to the ranking capacity.
+     */
+    private List<TrendingRanking.Entry> merge(List<TrendingScore> stored, TrendingRanking.Changes changes,
+                                              Instant now) {
+        Map<UUID, Double> scores = new HashMap<>(changes.contributions());
+        for (TrendingScore row : stored) {
+            if (changes.removed().contains(row.getRecipeId())) {
+                continue;
+            }
+            Duration age = Duration.between(row.getSnapshotAt().toInstant(ZoneOffset.UTC), now);
+            double decayed = row.getScore() * Math.pow(2, -(double) age.toMillis() / properties.halfLife().toMillis());
+            scores.merge(row.getRecipeId(), decayed, Double::sum);
+        }
+        return scores.entrySet().stream()
+                .filter(score -> score.getValue() > 0)
+                .map(score -> new TrendingRanking.Entry(score.getKey(), score.getValue()))
+                .sorted(Comparator.comparingDouble(TrendingRanking.Entry::score).reversed())
+                .limit(properties.capacity())
+                .toList();
+    }
+
+    private double weight(RecipeEngagementEvent.Type type) {
+        return switch (type) {
+            case UPVOTE -> properties.upvoteWeight();
+            case DOWNVOTE -> properties.downvoteWeight();
+            case FAVORITE -> properties.favoriteWeight();
+            case COMMENT -> properties.commentWeight();
+        };
+    }
+}
@@ -7,9 +7,11 @@ import dev.idachev.recipeservice.model.Recipe;
 import dev.idachev.recipeservice.model.RecipeVote;
 import dev.idachev.recipeservice.repository.RecipeRepository;
 import dev.idachev.recipeservice.repository.RecipeVoteRepository;
+import dev.idachev.recipeservice.service.event.RecipeEngagementEvent;
 import dev.idachev.recipeservice.web.dto.VoteRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,12 +26,15 @@ public class VoteService {
 
     private final RecipeVoteRepository voteRepository;
     private final RecipeRepository recipeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public VoteService(RecipeVoteRepository voteRepository,
-                       RecipeRepository recipeRepository) {
+                       RecipeRepository recipeRepository,
+                       ApplicationEventPublisher eventPublisher) {
         this.voteRepository = voteRepository;
         this.recipeRepository = recipeRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -71,6 +76,7 @@ public class VoteService {
         // and the old vote type if applicable.
         AtomicReference<VoteActionState> actionState = new AtomicReference<>(VoteActionState.NO_CHANGE);
         AtomicReference<RecipeVote.VoteType> oldVoteTypeRef = new AtomicReference<>(null);
+        List<RecipeEngagementEvent> engagementEvents = new ArrayList<>();
 
         Optional<RecipeVote> existingVoteOpt = voteRepository.findByUserIdAndRecipeId(userId, recipeId);
 
@@ -80,6 +86,10 @@ public class VoteService {
             oldVoteTypeRef.set(oldVoteType);
             log.debug("Existing vote found: type={}, newVoteType={}", oldVoteType, voteType);
 
+            // Whether toggled off or changed, the old vote no longer counts towards trending
+            engagementEvents.add(RecipeEngagementEvent.retracted(recipeId, engagementType(oldVoteType),
+                    existingVote.getCreatedAt()));
+
             if (oldVoteType == voteType) { // Unvoting (toggling off)
                 voteRepository.delete(existingVote);
                 actionState.set(VoteActionState.REMOVED);
@@ -97,6 +107,8 @@ public class VoteService {
                         .voteType(voteType)
                         .build();
                 voteRepository.save(newVote); // This will perform an INSERT
+                engagementEvents.add(RecipeEngagementEvent.engaged(recipeId, engagementType(voteType),
+                        newVote.getCreatedAt()));
                 actionState.set(VoteActionState.CHANGED);
                 log.debug("Saved new vote: id={}, newType={}", newVote.getId(), voteType);
             }
@@ -109,10 +121,14 @@ public class VoteService {
                     // @PrePersist handles createdAt/updatedAt on creation
                     .build();
             voteRepository.save(newVote);
+            engagementEvents.add(RecipeEngagementEvent.engaged(recipeId, engagementType(voteType),
+                    newVote.getCreatedAt()));
             actionState.set(VoteActionState.NEW);
             log.debug("New vote saved: id={}", newVote.getId());
         }
 
+        engagementEvents.forEach(eventPublisher::publishEvent);
+
         // 5. Calculate new vote counts based on action state
         int currentUpvotes = existingRecipe.getUpvotes() != null ? existingRecipe.getUpvotes() : 0;
         int currentDownvotes = existingRecipe.getDownvotes() != null ? existingRecipe.getDownvotes() : 0;
@@ -182,6 +198,17 @@ public class VoteService {
                 .orElse(null);
     }
 
+    /**
+     * Delete all votes on a recipe with a single statement. Used when the recipe is deleted;
+     * the denormalized counters go with the recipe row.
+     *
+     * @return number of votes deleted
+     */
+    @Transactional
+    public int deleteAllForRecipe(UUID recipeId) {
+        return voteRepository.deleteByRecipeId(recipeId);
+    }
+
     /**
      * Fetches user votes for multiple recipes efficiently.
      *
@@ -200,6 +227,11 @@ public class VoteService {
                 .collect(Collectors.toMap(RecipeVote::getRecipeId, RecipeVote::getVoteType));
     }
 
+    private static RecipeEngagementEvent.Type engagementType(RecipeVote.VoteType voteType) {
+        return voteType == RecipeVote.VoteType.UPVOTE
+                ? RecipeEngagementEvent.Type.UPVOTE : RecipeEngagementEvent.Type.DOWNVOTE;
+    }
+
     // Removed getUpvoteCount and getDownvoteCount as counts are maintained on Recipe entity
     // Ensure RecipeService.enhanceWithUserInteractions uses counts from the RecipeResponse/Recipe entity
 
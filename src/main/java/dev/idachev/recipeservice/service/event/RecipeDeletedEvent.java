@@ -0,0 +1,11 @@
+package dev.idachev.recipeservice.service.event;
+
+import java.util.UUID;
+
+/**
+ * Published by RecipeService when a recipe is deleted.
+ *
+ * @param recipeId Deleted recipe
+ */
+public record RecipeDeletedEvent(UUID recipeId) {
+}
@@ -0,0 +1,44 @@
+package dev.idachev.recipeservice.service.event;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Published when a user interacts with a recipe or takes an interaction back: a vote cast,
+ * changed or removed, a favorite added or removed, a comment posted or deleted.
+ * <p>
+ * A retraction carries the time of the interaction it undoes, so a time-decayed score can
+ * subtract exactly what that interaction added; toggling a vote or favorite then nets to nothing.
+ *
+ * @param recipeId   Recipe interacted with
+ * @param type       Kind of interaction
+ * @param occurredAt When the interaction happened, also for a retraction
+ * @param retracted  Whether the interaction is being taken back
+ */
+public record RecipeEngagementEvent(UUID recipeId, Type type, Instant occurredAt, boolean retracted) {
+
+    public enum Type {
+        UPVOTE, DOWNVOTE, FAVORITE, COMMENT
+    }
+
+    /**
+     * A new interaction, at the creation time of the row that records it.
+     */
+    public static RecipeEngagementEvent engaged(UUID recipeId, Type type, LocalDateTime occurredAt) {
+        return new RecipeEngagementEvent(recipeId, type, toInstant(occurredAt), false);
+    }
+
+    /**
+     * Taking back the interaction recorded by a row created at {@code occurredAt}.
+     */
+    public static RecipeEngagementEvent retracted(UUID recipeId, Type type, LocalDateTime occurredAt) {
+        return new RecipeEngagementEvent(recipeId, type, toInstant(occurredAt), true);
+    }
+
+    // Entity timestamps are LocalDateTime.now() in the JVM's zone
+    private static Instant toInstant(LocalDateTime occurredAt) {
+        return occurredAt != null ? occurredAt.atZone(ZoneId.systemDefault()).toInstant() : Instant.now();
+    }
+}
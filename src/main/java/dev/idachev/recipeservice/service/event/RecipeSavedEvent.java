@@ -0,0 +1,26 @@
+package dev.idachev.recipeservice.service.event;
+
+import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.model.RecipeIngredient;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published by RecipeService when a recipe is created or updated. Carries the fields the
+ * in-memory indexes need, copied out of the entity so listeners running after commit never
+ * touch lazy collections.
+ *
+ * @param recipeId        Saved recipe
+ * @param ingredientNames Normalized ingredient names, in recipe order
+ * @param tags            Recipe tags
+ */
+public record RecipeSavedEvent(UUID recipeId, List<String> ingredientNames, List<String> tags) {
+
+    public static RecipeSavedEvent of(Recipe recipe) {
+        List<String> ingredientNames = recipe.getIngredients() == null ? List.of()
+                : recipe.getIngredients().stream().map(RecipeIngredient::getName).toList();
+        List<String> tags = recipe.getTags() == null ? List.of() : List.copyOf(recipe.getTags());
+        return new RecipeSavedEvent(recipe.getId(), ingredientNames, tags);
+    }
+}
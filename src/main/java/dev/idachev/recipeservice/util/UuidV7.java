@@ -0,0 +1,38 @@
+package dev.idachev.recipeservice.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUIDs (RFC 9562 version 7).
+ * <p>
+ * Layout: 48-bit Unix epoch milliseconds, version, 12-bit sub-millisecond counter, variant and
+ * 62 random bits. The timestamp and counter come from one monotonic state, so IDs generated by
+ * this JVM sort in creation order even when several share a millisecond. When the counter
+ * overflows the timestamp runs slightly ahead of the wall clock until real time catches up.
+ */
+public final class UuidV7 {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+    private static final long VARIANT_RFC = 0x8000_0000_0000_0000L;
+
+    // (epoch millis << 12) | counter of the last issued id
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID randomUuid() {
+        long floor = System.currentTimeMillis() << COUNTER_BITS;
+        long state = LAST.updateAndGet(previous -> Math.max(previous + 1, floor));
+
+        long millis = state >>> COUNTER_BITS;
+        long counter = state & ((1L << COUNTER_BITS) - 1);
+        long mostSignificant = (millis << 16) | VERSION_7 | counter;
+        long leastSignificant = (ThreadLocalRandom.current().nextLong() & VARIANT_MASK) | VARIANT_RFC;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+}
@@ -1,6 +1,7 @@
 package dev.idachev.recipeservice.web;
 
 import dev.idachev.recipeservice.service.FavoriteRecipeService;
+import dev.idachev.recipeservice.service.RecipeExportService;
 import dev.idachev.recipeservice.web.dto.BatchFavoriteCountResponse;
 import dev.idachev.recipeservice.web.dto.BatchFavoriteRequest;
 import dev.idachev.recipeservice.web.dto.BatchFavoriteStatusResponse;
@@ -18,9 +19,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashSet;
 import java.util.List;
@@ -40,10 +44,13 @@ import java.util.UUID;
 public class FavoriteRecipeController {
 
     private final FavoriteRecipeService favoriteRecipeService;
+    private final RecipeExportService recipeExportService;
 
     @Autowired
-    public FavoriteRecipeController(FavoriteRecipeService favoriteRecipeService) {
+    public FavoriteRecipeController(FavoriteRecipeService favoriteRecipeService,
+                                    RecipeExportService recipeExportService) {
         this.favoriteRecipeService = favoriteRecipeService;
+        this.recipeExportService = recipeExportService;
     }
 
     @Operation(summary = "Add recipe to favorites", description = "Adds a recipe to the current user's favorites")
@@ -113,6 +120,28 @@ public class FavoriteRecipeController {
         return ResponseEntity.ok(favorites);
     }
 
+    @Operation(summary = "Export user's favorites as NDJSON",
+            description = "Streams one favorite per line, like /all, without building the whole list in memory")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Favorites streamed",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = FavoriteRecipeDto.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUserFavorites(
+            @Parameter(hidden = true) @AuthenticationPrincipal UUID userId) {
+        log.debug("Entering exportUserFavorites: userId={}", userId);
+        StreamingResponseBody body = out -> {
+            long count = recipeExportService.exportFavorites(userId, out);
+            log.debug("Exiting exportUserFavorites: userId={}, count={}", userId, count);
+        };
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @Operation(summary = "Check if recipe is in favorites", description = "Checks if a recipe is in the current user's favorites")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Returns status indicating if recipe is in favorites",
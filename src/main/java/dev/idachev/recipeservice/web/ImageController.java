@@ -0,0 +1,167 @@
+package dev.idachev.recipeservice.web;
+
+import dev.idachev.recipeservice.config.StorageProperties;
+import dev.idachev.recipeservice.exception.ResourceNotFoundException;
+import dev.idachev.recipeservice.infrastructure.storage.LocalImageStorage;
+import dev.idachev.recipeservice.infrastructure.storage.LocalImageStorage.StoredImage;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Serves images held by {@link LocalImageStorage}.
+ * <p>
+ * Names are content hashes, so the hash doubles as a strong ETag and responses are cacheable
+ * as immutable. Single byte ranges are honoured; multi-range requests get the whole file.
+ * The body is handed to Tomcat's sendfile when the connector supports it and otherwise copied
+ * with {@link FileChannel#transferTo}, so the image is never read onto the heap.
+ */
+@RestController
+@RequestMapping("/api/v1/images")
+@Slf4j
+@ConditionalOnProperty(prefix = "storage", name = "provider", havingValue = "local")
+@Tag(name = "Images", description = "Serve locally stored recipe images")
+public class ImageController {
+
+    // Request attributes understood by Tomcat's NIO/NIO2 connectors
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private final LocalImageStorage localImageStorage;
+    private final String cacheControl;
+
+    @Autowired
+    public ImageController(LocalImageStorage localImageStorage, StorageProperties storageProperties) {
+        this.localImageStorage = localImageStorage;
+        this.cacheControl = CacheControl.maxAge(storageProperties.cacheMaxAge())
+                .cachePublic()
+                .immutable()
+                .getHeaderValue();
+    }
+
+    @Operation(summary = "Get image", description = "Streams a stored image; supports conditional and single range requests")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Image returned"),
+            @ApiResponse(responseCode = "206", description = "Requested byte range returned"),
+            @ApiResponse(responseCode = "304", description = "Cached copy is still current"),
+            @ApiResponse(responseCode = "404", description = "Image not found"),
+            @ApiResponse(responseCode = "416", description = "Requested range not satisfiable")
+    })
+    @GetMapping("/{name}")
+    public void getImage(
+            @Parameter(description = "Image name, as returned in the image URL") @PathVariable String name,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        StoredImage image = localImageStorage.find(name)
+                .orElseThrow(() -> new ResourceNotFoundException("Image not found: " + name));
+
+        String etag = "\"" + image.hash() + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long length = image.size();
+        long start = 0;
+        long end = length - 1;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && rangeApplies(request.getHeader(HttpHeaders.IF_RANGE), etag)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                try {
+                    start = range.getRangeStart(length);
+                    end = range.getRangeEnd(length);
+                } catch (IllegalArgumentException e) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(image.contentType());
+        response.setContentLengthLong(count);
+        if (HttpMethod.HEAD.matches(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            // Tomcat writes the file after the servlet returns, straight from the page cache
+            request.setAttribute(SENDFILE_FILENAME_ATTR, image.path().toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(image.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    private boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .anyMatch(candidate -> candidate.equals("*") || candidate.equals(etag)
+                        || candidate.equals("W/" + etag));
+    }
+
+    /**
+     * If-Range only allows the partial response while the client's copy is still current.
+     * Dates are never compared since the ETag is always sent.
+     */
+    private boolean rangeApplies(String ifRange, String etag) {
+        return ifRange == null || ifRange.trim().equals(etag);
+    }
+}
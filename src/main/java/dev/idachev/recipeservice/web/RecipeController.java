@@ -1,12 +1,23 @@
 package dev.idachev.recipeservice.web;
 
 import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.service.PantryMatchService;
+import dev.idachev.recipeservice.service.RecipeExportService;
 import dev.idachev.recipeservice.service.RecipeSearchService;
 import dev.idachev.recipeservice.service.RecipeService;
+import dev.idachev.recipeservice.service.SimilarRecipeService;
+import dev.idachev.recipeservice.service.TrendingService;
 import dev.idachev.recipeservice.service.VoteService;
 import dev.idachev.recipeservice.user.service.UserService;
+import dev.idachev.recipeservice.web.dto.BatchRecipeRequest;
+import dev.idachev.recipeservice.web.dto.BatchRecipeResponse;
+import dev.idachev.recipeservice.web.dto.PantryMatchResponse;
+import dev.idachev.recipeservice.web.dto.PantryRequest;
+import dev.idachev.recipeservice.web.dto.RecipeFilterRequest;
 import dev.idachev.recipeservice.web.dto.RecipeRequest;
 import dev.idachev.recipeservice.web.dto.RecipeResponse;
+import dev.idachev.recipeservice.web.dto.RecipeSummaryResponse;
+import dev.idachev.recipeservice.web.dto.SimilarRecipeResponse;
 import dev.idachev.recipeservice.web.dto.SimplifiedRecipeResponse;
 import dev.idachev.recipeservice.web.dto.VoteRequest;
 import dev.idachev.recipeservice.web.mapper.RecipeMapper;
@@ -18,11 +29,17 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -30,8 +47,13 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
@@ -48,16 +70,36 @@ import java.util.UUID;
 @Tag(name = "Recipes", description = "API for creating, updating, retrieving, and deleting recipes")
 public class RecipeController {
 
+    // Responses carry the caller's own votes and favorites: only the client may keep them, and it
+    // revalidates each time. The details and the main list set their own ETags; other lists get
+    // theirs from WebConfig#recipeEtagFilter.
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    // The trending ranking is a periodic snapshot, so a short-lived copy is good enough
+    private static final CacheControl TRENDING = CacheControl.maxAge(Duration.ofSeconds(30)).cachePrivate();
+
+    // Binary JSON for service-to-service callers; list endpoints negotiate it through the Smile
+    // converter registered in WebConfig
+    static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
     private final RecipeService recipeService;
     private final VoteService voteService;
     private final RecipeMapper recipeMapper;
     private final RecipeSearchService recipeSearchService;
+    private final PantryMatchService pantryMatchService;
+    private final SimilarRecipeService similarRecipeService;
+    private final TrendingService trendingService;
+    private final RecipeExportService recipeExportService;
 
-    public RecipeController(RecipeService recipeService, UserService userService, VoteService voteService, RecipeMapper recipeMapper, RecipeSearchService recipeSearchService) {
+    public RecipeController(RecipeService recipeService, UserService userService, VoteService voteService, RecipeMapper recipeMapper, RecipeSearchService recipeSearchService, PantryMatchService pantryMatchService, SimilarRecipeService similarRecipeService, TrendingService trendingService, RecipeExportService recipeExportService) {
         this.recipeService = recipeService;
         this.voteService = voteService;
         this.recipeMapper = recipeMapper;
         this.recipeSearchService = recipeSearchService;
+        this.pantryMatchService = pantryMatchService;
+        this.similarRecipeService = similarRecipeService;
+        this.trendingService = trendingService;
+        this.recipeExportService = recipeExportService;
     }
 
     @Operation(summary = "Create recipe with image")
@@ -102,50 +144,134 @@ public class RecipeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdRecipe);
     }
 
-    @Operation(summary = "Get recipe by ID")
+    @Operation(summary = "Get recipe by ID",
+            description = "Returns a strong ETag; send it back in If-None-Match to get a 304 while the recipe " +
+                    "and your interactions with it are unchanged. Send Accept: application/x-jackson-smile " +
+                    "for the same document as Smile.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Recipe found",
-                    content = @Content(schema = @Schema(implementation = RecipeResponse.class))),
+                    content = {
+                            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = RecipeResponse.class)),
+                            @Content(mediaType = APPLICATION_SMILE_VALUE,
+                                    schema = @Schema(implementation = RecipeResponse.class))
+                    }),
+            @ApiResponse(responseCode = "304", description = "Recipe not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Recipe not found"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    @GetMapping("/{id}")
-    public ResponseEntity<RecipeResponse> getRecipeById(
+    @GetMapping(value = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<byte[]> getRecipeById(
             @PathVariable UUID id,
-            @Parameter(hidden = true) @AuthenticationPrincipal UUID userId) {
+            @Parameter(hidden = true) @AuthenticationPrincipal UUID userId,
+            WebRequest webRequest) {
         log.debug("Entering getRecipeById: id={}, userId={}", id, userId);
-        RecipeResponse recipe = recipeService.getRecipeById(id, userId);
-        log.debug("Exiting getRecipeById: id={}, userId={}", id, userId);
-        return ResponseEntity.ok(recipe);
+        // Served as pre-serialized JSON, see RecipeJsonWriter. checkNotModified sets the ETag header.
+        boolean smile = prefersSmile(webRequest);
+        byte[] recipe = smile
+                ? recipeService.getRecipeSmile(id, userId, webRequest::checkNotModified)
+                : recipeService.getRecipeJson(id, userId, webRequest::checkNotModified);
+        if (recipe == null) {
+            log.debug("Exiting getRecipeById: id={}, userId={}, not modified", id, userId);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE)
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
+        log.debug("Exiting getRecipeById: id={}, userId={}, bytes={}, smile={}", id, userId, recipe.length, smile);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT)
+                .contentType(smile ? APPLICATION_SMILE : MediaType.APPLICATION_JSON).body(recipe);
+    }
+
+    /**
+     * Smile only when the caller rates it above JSON; equal ratings, such as a wildcard, get JSON.
+     */
+    private static boolean prefersSmile(WebRequest webRequest) {
+        String accept = webRequest.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return false;
+        }
+        List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+        return quality(accepted, APPLICATION_SMILE) > quality(accepted, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Quality the caller gives a type: that of the most specific accepted range including it, 0 if none does.
+     */
+    private static double quality(List<MediaType> accepted, MediaType type) {
+        return accepted.stream()
+                .filter(range -> range.includes(type))
+                .max(Comparator.comparing(MediaType::isWildcardType, Comparator.reverseOrder())
+                        .thenComparing(MediaType::isWildcardSubtype, Comparator.reverseOrder()))
+                .map(MediaType::getQualityValue)
+                .orElse(0.0);
+    }
+
+    @Operation(summary = "Get several recipes by ID",
+            description = "Looks up to " + BatchRecipeRequest.MAX_IDS + " recipes in one request. Results come back " +
+                    "in request order, with a not-found entry for each ID that has no recipe.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lookup results returned",
+                    content = @Content(schema = @Schema(implementation = BatchRecipeResponse.class))),
+            @ApiResponse(responseCode = "400", description = "No IDs, or too many"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<BatchRecipeResponse> getRecipesByIds(
+            @Valid @RequestBody BatchRecipeRequest request,
+            @Parameter(hidden = true) @AuthenticationPrincipal UUID userId) {
+        log.debug("Entering getRecipesByIds: userId={}, recipeCount={}", userId, request.recipeIds().size());
+        BatchRecipeResponse recipes = recipeSearchService.getRecipesByIds(request.recipeIds(), userId);
+        log.debug("Exiting getRecipesByIds: userId={}, entries={}", userId, recipes.recipes().size());
+        return ResponseEntity.ok(recipes);
+    }
+
+    @Operation(summary = "Get recipes similar to a recipe",
+            description = "Recipes sharing the most ingredients and tags, most similar first.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Similar recipes returned"),
+            @ApiResponse(responseCode = "404", description = "Recipe not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<SimilarRecipeResponse>> getSimilarRecipes(
+            @PathVariable UUID id,
+            @Parameter(description = "Maximum number of recipes (default 10)")
+            @RequestParam(required = false) @Min(1) @Max(50) Integer limit,
+            @Parameter(hidden = true) @AuthenticationPrincipal UUID userId) {
+        log.debug("Entering getSimilarRecipes: id={}, limit={}, userId={}", id, limit, userId);
+        List<SimilarRecipeResponse> similar = similarRecipeService.findSimilar(id, limit, userId);
+        log.debug("Exiting getSimilarRecipes: id={}, results={}", id, similar.size());
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(similar);
     }
 
     @Operation(summary = "Get all recipes")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Recipes returned successfully",
                     content = @Content(schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "304", description = "Page not modified since the given ETag"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping
     public ResponseEntity<Page<RecipeResponse>> getAllRecipes(
             Pageable pageable,
             @RequestParam(required = false, defaultValue = "false") boolean showPersonal,
-            @Parameter(hidden = true) @AuthenticationPrincipal UUID userId) {
+            @Parameter(hidden = true) @AuthenticationPrincipal UUID userId,
+            WebRequest webRequest) {
         log.debug("Entering getAllRecipes: pageable={}, showPersonal={}, userId={}", pageable, showPersonal, userId);
         
-        Page<RecipeResponse> recipes = showPersonal
-                ? recipeSearchService.getAllRecipes(pageable, userId)
-                : recipeSearchService.getAllRecipesExcludingUser(pageable, userId);
-        
-        // Ensure we never return null to avoid NPE
+        // The ETag is a fingerprint of the page, checked before it is loaded; checkNotModified sets the header
+        Page<RecipeResponse> recipes = recipeSearchService.getRecipePage(pageable, userId, showPersonal,
+                webRequest::checkNotModified);
         if (recipes == null) {
-            log.warn("Recipe search service returned null result");
-            recipes = Page.empty(pageable);
+            log.debug("Exiting getAllRecipes: userId={}, not modified", userId);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE)
+                    .varyBy(HttpHeaders.ACCEPT).build();
         }
         
         log.debug("Exiting getAllRecipes: userId={}, pageNumber={}, pageSize={}, results={}",
                 userId, pageable.getPageNumber(), pageable.getPageSize(), recipes.getNumberOfElements());
         
-        return ResponseEntity.ok(recipes);
+        // The weak page ETag is shared by the JSON and Smile representations
+        return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(recipes);
     }
 
     @Operation(summary = "Get user's recipes")
@@ -160,7 +286,57 @@ public class RecipeController {
         log.debug("Entering getMyRecipes: userId={}", userId);
         List<RecipeResponse> recipes = recipeService.getRecipesByUserId(userId);
         log.debug("Exiting getMyRecipes: userId={}, count={}", userId, recipes.size());
-        return ResponseEntity.ok(recipes);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(recipes);
+    }
+
+    @Operation(summary = "Export user's recipes as NDJSON",
+            description = "Streams one recipe per line, newest first, without building the whole list in memory.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Recipes streamed",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = RecipeResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(value = "/my-recipes/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportMyRecipes(
+            @Parameter(hidden = true) @AuthenticationPrincipal UUID userId,
+            HttpServletRequest request) {
+        log.debug("Entering exportMyRecipes: userId={}", userId);
+        return ndjson(request, out -> {
+            long count = recipeExportService.exportUserRecipes(userId, out);
+            log.debug("Exiting exportMyRecipes: userId={}, count={}", userId, count);
+        });
+    }
+
+    @Operation(summary = "Export all recipes as NDJSON",
+            description = "Streams every recipe in ID order, one per line, with aggregate counts and no " +
+                    "user-specific fields. For the analytics pipeline.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Recipes streamed",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = RecipeResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportAllRecipes(HttpServletRequest request) {
+        log.debug("Entering exportAllRecipes");
+        return ndjson(request, out -> {
+            long count = recipeExportService.exportAllRecipes(out);
+            log.info("Exported {} recipes", count);
+        });
+    }
+
+    /**
+     * Streams the body as it is written; the ETag filter would otherwise buffer all of it.
+     */
+    private static ResponseEntity<StreamingResponseBody> ndjson(HttpServletRequest request, StreamingResponseBody body) {
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @Operation(summary = "Get recipe feed sorted by newest first")
@@ -177,7 +353,42 @@ public class RecipeController {
         Page<RecipeResponse> feed = recipeService.getRecipeFeed(userId, pageable);
         log.debug("Exiting getRecipeFeed: userId={}, pageNumber={}, pageSize={}, results={}",
                 userId, pageable.getPageNumber(), pageable.getPageSize(), feed.getNumberOfElements());
-        return ResponseEntity.ok(feed);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(feed);
+    }
+
+    @Operation(summary = "Get recipe feed as list cards",
+            description = "Same order as the feed, without instructions, ingredients or macros.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Recipe cards retrieved",
+                    content = @Content(schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/feed/summary")
+    public ResponseEntity<Page<RecipeSummaryResponse>> getRecipeFeedSummaries(
+            @Parameter(hidden = true) @AuthenticationPrincipal UUID userId,
+            Pageable pageable) {
+        log.debug("Entering getRecipeFeedSummaries: pageable={}, userId={}", pageable, userId);
+        Page<RecipeSummaryResponse> feed = recipeSearchService.getRecipeFeedSummaries(pageable, userId);
+        log.debug("Exiting getRecipeFeedSummaries: userId={}, pageNumber={}, results={}",
+                userId, pageable.getPageNumber(), feed.getNumberOfElements());
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(feed);
+    }
+
+    @Operation(summary = "Get trending recipes ranked by recent votes, favorites and comments")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Trending recipes retrieved",
+                    content = @Content(schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/trending")
+    public ResponseEntity<Page<RecipeResponse>> getTrendingRecipes(
+            @Parameter(hidden = true) @AuthenticationPrincipal UUID userId,
+            Pageable pageable) {
+        log.debug("Entering getTrendingRecipes: pageable={}, userId={}", pageable, userId);
+        Page<RecipeResponse> trending = trendingService.getTrendingRecipes(pageable, userId);
+        log.debug("Exiting getTrendingRecipes: userId={}, pageNumber={}, results={}",
+                userId, pageable.getPageNumber(), trending.getNumberOfElements());
+        return ResponseEntity.ok().cacheControl(TRENDING).body(trending);
     }
 
     @Operation(summary = "Update recipe")
@@ -253,7 +464,45 @@ public class RecipeController {
         Page<RecipeResponse> results = recipeSearchService.searchRecipes(keyword, pageable, userId);
         log.debug("Exiting searchRecipes: keyword={}, userId={}, pageNumber={}, pageSize={}, results={}",
                 keyword, userId, pageable.getPageNumber(), pageable.getPageSize(), results.getNumberOfElements());
-        return ResponseEntity.ok(results);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(results);
+    }
+
+    @Operation(summary = "Search recipes, returning list cards",
+            description = "Same matches as search, without instructions, ingredients or macros.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Search results returned",
+                    content = @Content(schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/search/summary")
+    public ResponseEntity<Page<RecipeSummaryResponse>> searchRecipeSummaries(
+            @RequestParam String keyword,
+            Pageable pageable,
+            @Parameter(hidden = true) @AuthenticationPrincipal UUID userId) {
+        log.debug("Entering searchRecipeSummaries: keyword={}, pageable={}, userId={}", keyword, pageable, userId);
+        Page<RecipeSummaryResponse> results = recipeSearchService.searchRecipeSummaries(keyword, pageable, userId);
+        log.debug("Exiting searchRecipeSummaries: keyword={}, userId={}, pageNumber={}, results={}",
+                keyword, userId, pageable.getPageNumber(), results.getNumberOfElements());
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(results);
+    }
+
+    @Operation(summary = "Filter recipes by total time, difficulty and macros per serving")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Matching recipes returned, newest first",
+                    content = @Content(schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid filter"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/filter")
+    public ResponseEntity<Page<RecipeResponse>> filterRecipes(
+            @Valid @ParameterObject RecipeFilterRequest filter,
+            Pageable pageable,
+            @Parameter(hidden = true) @AuthenticationPrincipal UUID userId) {
+        log.debug("Entering filterRecipes: filter={}, pageable={}, userId={}", filter, pageable, userId);
+        Page<RecipeResponse> results = recipeSearchService.filterRecipes(filter, pageable, userId);
+        log.debug("Exiting filterRecipes: userId={}, pageNumber={}, pageSize={}, results={}",
+                userId, pageable.getPageNumber(), pageable.getPageSize(), results.getNumberOfElements());
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(results);
     }
 
     @Operation(summary = "Vote on a recipe")
@@ -303,6 +552,26 @@ public class RecipeController {
         return ResponseEntity.ok(generatedRecipe);
     }
 
+    @Operation(summary = "Find recipes for the ingredients at hand",
+            description = "Ranks existing recipes by the share of their ingredients found in the pantry. "
+                    + "A recipe is generated only when no existing recipe matches.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Matching recipes or a generated recipe returned",
+                    content = @Content(schema = @Schema(implementation = PantryMatchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input - empty ingredients list"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "503", description = "AI service unavailable")
+    })
+    @PostMapping("/what-can-i-cook")
+    public ResponseEntity<PantryMatchResponse> whatCanICook(
+            @Valid @RequestBody PantryRequest request,
+            @Parameter(hidden = true) @AuthenticationPrincipal UUID userId) {
+        log.debug("Entering whatCanICook: ingredientsCount={}, limit={}", request.ingredients().size(), request.limit());
+        PantryMatchResponse response = pantryMatchService.findMatches(request.ingredients(), request.limit(), userId);
+        log.debug("Exiting whatCanICook: matches={}", response.matches().size());
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Save generated recipe")
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "Recipe saved",
@@ -0,0 +1,89 @@
+package dev.idachev.recipeservice.web;
+
+import dev.idachev.recipeservice.infrastructure.ai.GeneratedRecipePool;
+import dev.idachev.recipeservice.web.dto.RecipePoolSettingsRequest;
+import dev.idachev.recipeservice.web.dto.RecipePoolStatusResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Admin endpoints to inspect and tune the pre-generated AI recipe pool.
+ * All exceptions are handled by the GlobalExceptionHandler.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/recipe-pool")
+@PreAuthorize("hasRole('ADMIN')")
+@Slf4j
+@Tag(name = "Recipe Pool Admin", description = "Inspect and tune the pre-generated AI recipe pool")
+public class RecipePoolAdminController {
+
+    private final GeneratedRecipePool generatedRecipePool;
+
+    @Autowired
+    public RecipePoolAdminController(GeneratedRecipePool generatedRecipePool) {
+        this.generatedRecipePool = generatedRecipePool;
+    }
+
+    @Operation(summary = "Get pool status", description = "Returns pool settings and the tracked ingredient sets, most requested first")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Pool status retrieved",
+                    content = @Content(schema = @Schema(implementation = RecipePoolStatusResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping
+    public ResponseEntity<RecipePoolStatusResponse> getStatus() {
+        return ResponseEntity.ok(generatedRecipePool.status());
+    }
+
+    @Operation(summary = "Update pool settings", description = "Changes pool settings at runtime; omitted fields keep their current value")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Settings updated",
+                    content = @Content(schema = @Schema(implementation = RecipePoolStatusResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid settings"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @PutMapping("/settings")
+    public ResponseEntity<RecipePoolStatusResponse> updateSettings(@Valid @RequestBody RecipePoolSettingsRequest request) {
+        log.debug("Updating recipe pool settings: {}", request);
+        generatedRecipePool.updateSettings(request.enabled(), request.poolSize(), request.maxTrackedSets());
+        return ResponseEntity.ok(generatedRecipePool.status());
+    }
+
+    @Operation(summary = "Refill pool now", description = "Ranks ingredient sets and queues refills immediately; "
+            + "returns the ranking and the generations queued per set, which complete in the background")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Ingredient sets ranked and refills queued",
+                    content = @Content(schema = @Schema(implementation = RecipePoolStatusResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @PostMapping("/refill")
+    public ResponseEntity<RecipePoolStatusResponse> refill() {
+        generatedRecipePool.refillNow();
+        return ResponseEntity.ok(generatedRecipePool.status());
+    }
+
+    @Operation(summary = "Clear pool", description = "Drops all pooled recipes and request statistics")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Pool cleared"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @DeleteMapping
+    public ResponseEntity<Void> clear() {
+        generatedRecipePool.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,23 @@
+package dev.idachev.recipeservice.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Recipe IDs to look up in one request.
+ */
+@Schema(description = "Recipe IDs to look up; results come back in the same order")
+public record BatchRecipeRequest(
+    @Schema(description = "Recipe IDs, at most " + BatchRecipeRequest.MAX_IDS,
+            example = "[\"a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11\", \"b5eebc99-9c0b-4ef8-bb6d-6bb9bd380a22\"]")
+    @NotEmpty(message = "Recipe IDs cannot be empty")
+    @Size(max = BatchRecipeRequest.MAX_IDS, message = "At most " + BatchRecipeRequest.MAX_IDS + " recipe IDs per request")
+    List<@NotNull UUID> recipeIds
+) {
+    // Matches the ingredient @BatchSize on Recipe, so one page of ingredients covers the batch
+    public static final int MAX_IDS = 100;
+}
@@ -0,0 +1,41 @@
+package dev.idachev.recipeservice.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Result of a batch recipe lookup, one entry per requested ID in request order.
+ */
+@Schema(description = "One entry per requested recipe ID, in request order")
+public record BatchRecipeResponse(
+    @Schema(description = "Lookup result for each requested ID")
+    List<Entry> recipes
+) {
+
+    /**
+     * Lookup result for one ID: the recipe, or {@code found = false} if there is none.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Lookup result for one recipe ID")
+    public record Entry(
+        @Schema(description = "Requested recipe ID")
+        UUID id,
+
+        @Schema(description = "Whether a recipe with this ID exists")
+        boolean found,
+
+        @Schema(description = "The recipe; absent if not found")
+        RecipeResponse recipe
+    ) {
+
+        public static Entry found(RecipeResponse recipe) {
+            return new Entry(recipe.id(), true, recipe);
+        }
+
+        public static Entry notFound(UUID id) {
+            return new Entry(id, false, null);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package dev.idachev.recipeservice.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Immutable Data Transfer Object for the resized variants of a recipe image.
+ */
+@Schema(description = "Resized copies of the recipe image; pick the smallest that fits the layout")
+public record ImageVariantsDto(
+    @Schema(description = "Thumbnail, at most 200px wide", example = "https://example.com/images/carbonara-200.jpg")
+    String thumbnail,
+
+    @Schema(description = "Card / list view image, at most 600px wide", example = "https://example.com/images/carbonara-600.jpg")
+    String card,
+
+    @Schema(description = "Detail view image, at most 1600px wide", example = "https://example.com/images/carbonara-1600.jpg")
+    String full
+) {}
@@ -0,0 +1,35 @@
+package dev.idachev.recipeservice.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Existing recipes matching a pantry, or an AI generated recipe when none does.
+ */
+@Schema(description = "Recipes that can be cooked from a pantry")
+public record PantryMatchResponse(
+    @Schema(description = "Matching recipes, best coverage first")
+    List<PantryMatch> matches,
+
+    @Schema(description = "Generated recipe, only present when no existing recipe matches")
+    SimplifiedRecipeResponse generated
+) {
+
+    @Schema(description = "An existing recipe and how much of it the pantry covers")
+    public record PantryMatch(
+        @Schema(description = "The recipe")
+        RecipeResponse recipe,
+
+        @Schema(description = "Recipe ingredients found in the pantry", example = "3")
+        int matchedIngredients,
+
+        @Schema(description = "Distinct ingredients of the recipe", example = "4")
+        int totalIngredients,
+
+        @Schema(description = "Share of the recipe's ingredients found in the pantry", example = "0.75")
+        double coverage,
+
+        @Schema(description = "Recipe ingredients missing from the pantry", example = "[\"200g guanciale\"]")
+        List<String> missingIngredients
+    ) {}
+}
@@ -0,0 +1,21 @@
+package dev.idachev.recipeservice.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+/**
+ * Ingredients a user has at hand, for the "what can I cook" search.
+ */
+@Schema(description = "Pantry contents to match against existing recipes")
+public record PantryRequest(
+    @Schema(description = "Ingredients at hand, free text", example = "[\"eggs\", \"spaghetti\", \"parmesan\", \"black pepper\"]")
+    @NotEmpty(message = "Ingredients list cannot be empty")
+    List<String> ingredients,
+
+    @Schema(description = "Maximum number of recipes to return (default 10)", example = "10")
+    @Min(1) @Max(50)
+    Integer limit
+) {}
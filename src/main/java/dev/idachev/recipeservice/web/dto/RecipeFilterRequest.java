@@ -0,0 +1,63 @@
+package dev.idachev.recipeservice.web.dto;
+
+import dev.idachev.recipeservice.model.DifficultyLevel;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.math.BigDecimal;
+
+/**
+ * Criteria of the multi-criteria recipe filter. Every criterion is optional and all given
+ * ones must match; nutrition ranges are per serving and inclusive.
+ */
+@Schema(description = "Recipe filter on preparation time, difficulty and macros")
+public record RecipeFilterRequest(
+    @Schema(description = "Maximum total time in minutes", example = "30")
+    @Min(1)
+    Integer maxTotalTimeMinutes,
+
+    @Schema(description = "Difficulty level", example = "EASY")
+    DifficultyLevel difficulty,
+
+    @Schema(description = "Minimum calories per serving in kcal", example = "200")
+    @PositiveOrZero
+    BigDecimal minCalories,
+
+    @Schema(description = "Maximum calories per serving in kcal", example = "600")
+    @PositiveOrZero
+    BigDecimal maxCalories,
+
+    @Schema(description = "Minimum protein per serving in grams", example = "30")
+    @PositiveOrZero
+    BigDecimal minProteinGrams,
+
+    @Schema(description = "Maximum protein per serving in grams")
+    @PositiveOrZero
+    BigDecimal maxProteinGrams,
+
+    @Schema(description = "Minimum carbohydrates per serving in grams")
+    @PositiveOrZero
+    BigDecimal minCarbsGrams,
+
+    @Schema(description = "Maximum carbohydrates per serving in grams", example = "40")
+    @PositiveOrZero
+    BigDecimal maxCarbsGrams,
+
+    @Schema(description = "Minimum fat per serving in grams")
+    @PositiveOrZero
+    BigDecimal minFatGrams,
+
+    @Schema(description = "Maximum fat per serving in grams")
+    @PositiveOrZero
+    BigDecimal maxFatGrams
+) {
+
+    public boolean hasCalorieRange() {
+        return minCalories != null || maxCalories != null;
+    }
+
+    public boolean hasProteinRange() {
+        return minProteinGrams != null || maxProteinGrams != null;
+    }
+}
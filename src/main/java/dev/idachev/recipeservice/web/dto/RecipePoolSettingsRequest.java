@@ -0,0 +1,24 @@
+package dev.idachev.recipeservice.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Runtime tuning of the pre-generated AI recipe pool. Null fields are left unchanged.
+ */
+@Schema(description = "Runtime settings for the pre-generated AI recipe pool; omitted fields keep their current value")
+public record RecipePoolSettingsRequest(
+    @Schema(description = "Enable or disable serving and refilling the pool", example = "true")
+    Boolean enabled,
+
+    @Schema(description = "Target number of ready recipes per popular ingredient set", example = "3")
+    @Min(value = 1, message = "Pool size must be at least 1")
+    @Max(value = 20, message = "Pool size must be at most 20")
+    Integer poolSize,
+
+    @Schema(description = "Maximum number of ingredient sets that get a pool", example = "30")
+    @Min(value = 1, message = "At least one ingredient set must be tracked")
+    @Max(value = 500, message = "At most 500 ingredient sets can be tracked")
+    Integer maxTrackedSets
+) {}
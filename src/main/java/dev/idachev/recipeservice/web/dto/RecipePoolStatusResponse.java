@@ -0,0 +1,47 @@
+package dev.idachev.recipeservice.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Snapshot of the pre-generated AI recipe pool for the admin API.
+ */
+@Schema(description = "State of the pre-generated AI recipe pool")
+public record RecipePoolStatusResponse(
+    @Schema(description = "Whether pooled recipes are served and refilled", example = "true")
+    boolean enabled,
+
+    @Schema(description = "Target number of ready recipes per popular ingredient set", example = "3")
+    int poolSize,
+
+    @Schema(description = "Maximum number of ingredient sets that get a pool", example = "30")
+    int maxTrackedSets,
+
+    @Schema(description = "Generate requests served from the pool since startup", example = "120")
+    long hits,
+
+    @Schema(description = "Generate requests that fell through to the AI provider since startup", example = "45")
+    long misses,
+
+    @Schema(description = "Tracked ingredient sets, most requested first")
+    List<PooledIngredientSet> ingredientSets
+) {
+
+    @Schema(description = "A tracked, canonicalized ingredient set")
+    public record PooledIngredientSet(
+        @Schema(description = "Canonicalized ingredients (lowercase, sorted, distinct)", example = "[\"chicken\", \"garlic\", \"rice\"]")
+        List<String> ingredients,
+
+        @Schema(description = "Decayed request count used for ranking", example = "17")
+        long requestCount,
+
+        @Schema(description = "Ready recipes currently pooled for this set", example = "2")
+        int available,
+
+        @Schema(description = "Recipe generations queued or running for this set", example = "1")
+        int pending,
+
+        @Schema(description = "Whether the set is currently among the pooled (popular) sets", example = "true")
+        boolean popular
+    ) {}
+}
@@ -2,6 +2,7 @@ package dev.idachev.recipeservice.web.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import dev.idachev.recipeservice.model.DifficultyLevel;
+import dev.idachev.recipeservice.model.ImageStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -87,7 +88,13 @@ public record RecipeResponse(
     
     @Schema(description = "Additional fields for frontend compatibility", hidden = true)
     // Note: Ensure an unmodifiable map is passed during record creation for true immutability
-    Map<String, Object> additionalFields
+    Map<String, Object> additionalFields,
+
+    @Schema(description = "State of the recipe image; PENDING while an uploaded image is still being stored")
+    ImageStatus imageStatus,
+
+    @Schema(description = "Resized copies of an uploaded image; null until processed or when the image was given as a URL")
+    ImageVariantsDto imageVariants
 ) {
     // Optional: Define a compact constructor if you need custom logic/validation during creation
     // public RecipeResponse { ... }
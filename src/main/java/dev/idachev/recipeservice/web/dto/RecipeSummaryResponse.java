@@ -0,0 +1,65 @@
+package dev.idachev.recipeservice.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import dev.idachev.recipeservice.model.DifficultyLevel;
+import dev.idachev.recipeservice.model.ImageStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Immutable Data Transfer Object for the card view of a recipe in a list: no instructions,
+ * ingredients or macros. Fetch {@link RecipeResponse} by ID for those.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Recipe fields shown on a list card")
+public record RecipeSummaryResponse(
+    @Schema(description = "Unique identifier of the recipe")
+    UUID id,
+
+    @Schema(description = "ID of the user who created this recipe")
+    UUID createdById,
+
+    @Schema(description = "Recipe title")
+    String title,
+
+    @Schema(description = "URL to recipe image")
+    String imageUrl,
+
+    @Schema(description = "Thumbnail and card sizes of the recipe image; null until they are produced")
+    ImageVariantsDto imageVariants,
+
+    @Schema(description = "Processing status of the recipe image")
+    ImageStatus imageStatus,
+
+    @Schema(description = "Total preparation and cooking time in minutes")
+    Integer totalTimeMinutes,
+
+    @Schema(description = "Recipe difficulty level")
+    DifficultyLevel difficulty,
+
+    @Schema(description = "Name of recipe author")
+    String authorName,
+
+    @Schema(description = "Whether current user has favorited this recipe")
+    Boolean isFavorite,
+
+    @Schema(description = "Number of users who favorited this recipe")
+    Long favoriteCount,
+
+    @Schema(description = "Number of comments")
+    Long commentCount,
+
+    @Schema(description = "Number of upvotes")
+    Integer upvotes,
+
+    @Schema(description = "Number of downvotes")
+    Integer downvotes,
+
+    @Schema(description = "Current user's vote ('UPVOTE', 'DOWNVOTE', or null)")
+    String userVote,
+
+    @Schema(description = "Creation timestamp")
+    LocalDateTime createdAt
+) {}
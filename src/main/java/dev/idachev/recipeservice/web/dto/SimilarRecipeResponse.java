@@ -0,0 +1,15 @@
+package dev.idachev.recipeservice.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * A recipe similar to another one by ingredients and tags.
+ */
+@Schema(description = "Recipe similar to the requested one")
+public record SimilarRecipeResponse(
+    @Schema(description = "The similar recipe")
+    RecipeResponse recipe,
+
+    @Schema(description = "Estimated Jaccard similarity of ingredients and tags, 0 to 1", example = "0.625")
+    double similarity
+) {}
@@ -39,5 +39,8 @@ public record SimplifiedRecipeResponse(
     String servingSuggestions,
     
     @Schema(description = "Recipe ID", example = "12345")
-    String recipeId
+    String recipeId,
+
+    @Schema(description = "Resized copies of the recipe image; null when only the original is available")
+    ImageVariantsDto imageVariants
 ) {}
\ No newline at end of file
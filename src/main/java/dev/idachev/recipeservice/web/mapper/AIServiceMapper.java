@@ -18,6 +18,9 @@ public class AIServiceMapper {
 
     /**
      * Maps a RecipeRequest to a SimplifiedRecipeResponse.
+     * <p>
+     * Image variants are left null: they are made after generation and patched onto the
+     * recipe once it is saved.
      *
      * @param recipe   the RecipeRequest from AI generation
      * @param imageUrl the generated image URL
@@ -36,6 +39,7 @@ public class AIServiceMapper {
             extractMacros(recipe),
             recipe.difficulty(),
             recipe.servingSuggestions(),
+            null,
             null
         );
     }
@@ -0,0 +1,26 @@
+package dev.idachev.recipeservice.web.mapper;
+
+import dev.idachev.recipeservice.model.ImageVariants;
+import dev.idachev.recipeservice.web.dto.ImageVariantsDto;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Mapper for image variant transformations.
+ */
+@UtilityClass
+public class ImageVariantsMapper {
+
+    /**
+     * Converts ImageVariants to an ImageVariantsDto, or null if no variants were produced.
+     */
+    public static ImageVariantsDto toDto(ImageVariants variants) {
+        if (variants == null) {
+            return null;
+        }
+        return new ImageVariantsDto(
+                variants.getThumbnailUrl(),
+                variants.getCardUrl(),
+                variants.getFullUrl()
+        );
+    }
+}
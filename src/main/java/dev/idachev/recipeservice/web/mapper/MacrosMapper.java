@@ -1,6 +1,7 @@
 package dev.idachev.recipeservice.web.mapper;
 
 import dev.idachev.recipeservice.model.Macros;
+import dev.idachev.recipeservice.model.NutritionSummary;
 import dev.idachev.recipeservice.web.dto.MacrosDto;
 import lombok.experimental.UtilityClass;
 
@@ -28,6 +29,21 @@ public class MacrosMapper {
         );
     }
 
+    /**
+     * Converts the nutrition copy on a recipe row to a MacrosDto.
+     */
+    public static MacrosDto toDto(NutritionSummary nutrition) {
+        if (nutrition == null) {
+            return null;
+        }
+        return new MacrosDto(
+                nutrition.getCalories(),
+                nutrition.getProteinGrams(),
+                nutrition.getCarbsGrams(),
+                nutrition.getFatGrams()
+        );
+    }
+
     /**
      * Converts a MacrosDto to a Macros entity using the entity builder.
      */
@@ -0,0 +1,216 @@
+package dev.idachev.recipeservice.web.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import dev.idachev.recipeservice.config.RecipeJsonCacheProperties;
+import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.service.event.RecipeDeletedEvent;
+import dev.idachev.recipeservice.web.dto.RecipeResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes recipe responses as JSON, reusing the serialized body of each recipe version.
+ * <p>
+ * Everything {@link RecipeMapper#toResponse} maps comes from the recipe row, and every change to
+ * the row bumps {@link Recipe#getVersion()}, so a body is mapped and serialized once per
+ * (id, version). The fields that depend on the reader or on other tables (author, favorites,
+ * comments, the reader's vote) are serialized per request and spliced into the cached bytes.
+ * The result is the JSON object Jackson would write for the merged {@link RecipeResponse},
+ * with those fields last.
+ * <p>
+ * The same split gives the strong ETag of that JSON: the version stands for the body and a digest
+ * stands for the interaction fields, so it is known before the recipe itself is loaded. The
+ * author's display name is left out of the digest: it comes from the user service, and a
+ * conditional request should be answered from local rows only. The author id is in it, so a
+ * renamed author shows up with the next change to the recipe or its interactions.
+ * <p>
+ * Smile responses are transcoded from the same JSON token by token, which costs far less than
+ * mapping and serializing the recipe again.
+ */
+@Component
+@Slf4j
+public class RecipeJsonWriter {
+
+    private final ObjectMapper objectMapper;
+    private final SmileFactory smileFactory = new SmileFactory();
+    private final RecipeMapper recipeMapper;
+    private final int maxEntries;
+    // One entry per recipe; a newer version replaces the older one
+    private final Map<UUID, Body> bodies = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    private record Body(long version, byte[] json) {
+    }
+
+    @Autowired
+    public RecipeJsonWriter(ObjectMapper objectMapper, RecipeMapper recipeMapper,
+                            RecipeJsonCacheProperties properties, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.recipeMapper = recipeMapper;
+        this.maxEntries = properties.maxEntries();
+        this.hits = lookups(meterRegistry, "hit");
+        this.misses = lookups(meterRegistry, "miss");
+    }
+
+    /**
+     * JSON of a recipe together with its interaction fields.
+     *
+     * @param recipe       Recipe to write
+     * @param interactions Author, favorite, comment and vote fields to add; other fields are ignored
+     * @return UTF-8 encoded JSON object
+     */
+    public byte[] write(Recipe recipe, RecipeResponse interactions) {
+        byte[] body = body(recipe);
+        byte[] extra = serialize(interactionsOnly(interactions));
+        if (extra.length <= 2) {
+            return body.clone();
+        }
+        if (body.length <= 2) {
+            return extra;
+        }
+        // {"id":...} + {"authorName":...} -> {"id":...,"authorName":...}
+        byte[] json = new byte[body.length + extra.length - 1];
+        System.arraycopy(body, 0, json, 0, body.length - 1);
+        json[body.length - 1] = ',';
+        System.arraycopy(extra, 1, json, body.length, extra.length - 1);
+        return json;
+    }
+
+    /**
+     * Strong ETag of the JSON {@link #write} produces for a recipe version and these interactions.
+     *
+     * @param version      Recipe version, e.g. from {@code RecipeRepository.findVersionById}
+     * @param interactions Author id, favorite, comment and vote fields; other fields, including
+     *                     the author's name, are ignored
+     * @return quoted ETag, or null if the recipe has no version
+     */
+    public String eTag(Long version, RecipeResponse interactions) {
+        if (version == null) {
+            return null;
+        }
+        return "\"" + version + "-" + DigestUtils.md5DigestAsHex(serialize(eTagInputs(interactions))) + "\"";
+    }
+
+    /**
+     * Strong ETag of the Smile transcoding of the JSON with the given ETag. The two are different
+     * representations, so they may not share a strong ETag.
+     *
+     * @param eTag quoted ETag from {@link #eTag}
+     * @return quoted ETag for the Smile representation
+     */
+    public static String smileETag(String eTag) {
+        return eTag.substring(0, eTag.length() - 1) + "-smile\"";
+    }
+
+    /**
+     * The same document as Smile, as the Smile message converter would write it.
+     *
+     * @param json JSON from {@link #write}
+     * @return Smile encoded object
+     */
+    public byte[] toSmile(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        try (JsonParser parser = objectMapper.getFactory().createParser(json);
+             JsonGenerator generator = smileFactory.createGenerator(out)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not transcode recipe JSON to Smile", e);
+        }
+        return out.toByteArray();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeDeleted(RecipeDeletedEvent event) {
+        bodies.remove(event.recipeId());
+    }
+
+    private byte[] body(Recipe recipe) {
+        UUID id = recipe.getId();
+        Long version = recipe.getVersion();
+        if (maxEntries == 0 || id == null || version == null) {
+            return serialize(recipeMapper.toResponse(recipe));
+        }
+
+        Body cached = bodies.get(id);
+        if (cached != null && cached.version() == version) {
+            hits.increment();
+            return cached.json();
+        }
+        misses.increment();
+        byte[] json = serialize(recipeMapper.toResponse(recipe));
+        if (cached == null && bodies.size() >= maxEntries) {
+            evictOne();
+        }
+        // A lagging read replica may hand out an older version than the one cached
+        bodies.merge(id, new Body(version, json), (old, fresh) -> fresh.version() > old.version() ? fresh : old);
+        return json;
+    }
+
+    /**
+     * Makes room by dropping an arbitrary entry; a hot recipe is cached again on its next read.
+     */
+    private void evictOne() {
+        Iterator<UUID> ids = bodies.keySet().iterator();
+        if (ids.hasNext()) {
+            bodies.remove(ids.next());
+        }
+    }
+
+    private byte[] serialize(RecipeResponse response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize recipe " + response.id(), e);
+        }
+    }
+
+    private static RecipeResponse interactionsOnly(RecipeResponse response) {
+        return new RecipeResponse(
+                null, null, null, null, null, null, null, null,
+                response.authorName(), response.username(), response.authorId(),
+                null, null,
+                response.isFavorite(), response.favoriteCount(), response.commentCount(),
+                null, null,
+                response.userVote(),
+                null, null, null, null, null, null
+        );
+    }
+
+    private static RecipeResponse eTagInputs(RecipeResponse response) {
+        return new RecipeResponse(
+                null, null, null, null, null, null, null, null,
+                null, null, response.authorId(),
+                null, null,
+                response.isFavorite(), response.favoriteCount(), response.commentCount(),
+                null, null,
+                response.userVote(),
+                null, null, null, null, null, null
+        );
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("recipe.json.cache")
+                .description("Lookups of serialized recipe bodies")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
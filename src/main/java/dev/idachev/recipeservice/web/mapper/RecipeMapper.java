@@ -1,21 +1,26 @@
 package dev.idachev.recipeservice.web.mapper;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import dev.idachev.recipeservice.exception.ValidationException;
 import dev.idachev.recipeservice.model.DifficultyLevel;
+import dev.idachev.recipeservice.model.ImageStatus;
 import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.model.RecipeIngredient;
 import dev.idachev.recipeservice.web.dto.MacrosDto;
 import dev.idachev.recipeservice.web.dto.RecipeRequest;
 import dev.idachev.recipeservice.web.dto.RecipeResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Arrays;
+import java.util.stream.Collectors;
 
 /**
  * Mapper utility for recipe transformations.
@@ -47,8 +52,10 @@ public class RecipeMapper {
             throw new IllegalArgumentException("Cannot convert null recipe to RecipeResponse");
         }
 
-        List<String> ingredientsList = parseIngredients(recipe.getIngredients());
-        MacrosDto macrosDto = (recipe.getMacros() != null) ? MacrosMapper.toDto(recipe.getMacros()) : null;
+        List<String> ingredientsList = ingredientTexts(recipe);
+        // The nutrition copy on the recipe row spares loading the lazy macros of every listed recipe
+        MacrosDto macrosDto = (recipe.getNutrition() != null) ? MacrosMapper.toDto(recipe.getNutrition())
+                : (recipe.getMacros() != null) ? MacrosMapper.toDto(recipe.getMacros()) : null;
         DifficultyLevel difficulty = recipe.getDifficulty();
 
         return new RecipeResponse(
@@ -74,7 +81,9 @@ public class RecipeMapper {
                 recipe.getCreatedAt(),
                 recipe.getUpdatedAt(),
                 macrosDto,
-                null
+                null,
+                recipe.getImageStatus(),
+                ImageVariantsMapper.toDto(recipe.getImageVariants())
         );
     }
 
@@ -84,7 +93,6 @@ public class RecipeMapper {
      * @param request The RecipeRequest DTO to convert
      * @return The corresponding Recipe entity
      * @throws IllegalArgumentException if request is null
-     * @throws ValidationException      if JSON serialization fails
      */
     public Recipe toEntity(RecipeRequest request) {
         if (request == null) {
@@ -96,7 +104,8 @@ public class RecipeMapper {
                 .servingSuggestions(request.servingSuggestions())
                 .instructions(request.instructions())
                 .imageUrl(request.imageUrl())
-                .ingredients(serializeIngredients(request.ingredients()))
+                .imageStatus(StringUtils.hasText(request.imageUrl()) ? ImageStatus.READY : ImageStatus.NONE)
+                .ingredients(toIngredients(request.ingredients()))
                 .totalTimeMinutes(request.totalTimeMinutes())
                 .difficulty(request.difficulty())
                 .isAiGenerated(Optional.ofNullable(request.isAiGenerated()).orElse(false))
@@ -105,35 +114,46 @@ public class RecipeMapper {
     }
 
     /**
-     * Serializes the list of ingredients into a JSON array string.
-     * @param ingredients List of ingredients
-     * @return JSON string representation, or null if input is null/empty.
+     * Ingredient lines of a recipe in order. Rows not yet moved out of the legacy JSON column
+     * are parsed from it until the backfill reaches them.
      */
-    private String serializeIngredients(List<String> ingredients) {
-        if (ingredients == null || ingredients.isEmpty()) {
-            return null; // Store null or empty string based on DB preference, null seems better
+    private List<String> ingredientTexts(Recipe recipe) {
+        List<RecipeIngredient> ingredients = recipe.getIngredients();
+        if ((ingredients == null || ingredients.isEmpty()) && recipe.getLegacyIngredients() != null) {
+            return parseLegacyIngredients(recipe.getLegacyIngredients());
         }
-        try {
-            return objectMapper.writeValueAsString(ingredients);
-        } catch (Exception e) {
-            log.error("Failed to serialize ingredients list to JSON: {}", ingredients, e);
-            // Decide on fallback: null, empty string, or throw exception? Throwing seems safest here.
-            throw new ValidationException("Failed to serialize ingredients list", e);
+        if (ingredients == null) {
+            return Collections.emptyList();
         }
+        return ingredients.stream().map(RecipeIngredient::getText).toList();
     }
 
     /**
-     * Parses the JSON array string representation of ingredients into a List.
+     * Converts request ingredient lines into ingredient rows, skipping blank lines.
+     * @param ingredients List of ingredients
+     * @return Ingredient rows in request order (mutable, as Hibernate replaces the collection on merge)
+     */
+    private List<RecipeIngredient> toIngredients(List<String> ingredients) {
+        if (ingredients == null) {
+            return new ArrayList<>();
+        }
+        return ingredients.stream()
+                .filter(StringUtils::hasText)
+                .map(RecipeIngredient::of)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Parses the legacy JSON array string representation of ingredients into a List.
      * @param ingredientsJson JSON string from the database.
      * @return List of ingredients, or empty list if input is null/blank or parsing fails.
      */
-    private List<String> parseIngredients(String ingredientsJson) {
+    public List<String> parseLegacyIngredients(String ingredientsJson) {
         if (ingredientsJson == null || ingredientsJson.isBlank()) {
             return Collections.emptyList();
         }
         try {
-            // Directly parse assuming it's a JSON array
-            return objectMapper.readValue(ingredientsJson, INGREDIENTS_TYPE);
+            return readLegacyIngredients(ingredientsJson);
         } catch (Exception e) {
             log.warn("Failed to parse ingredients JSON string: '{}'. Returning empty list. Error: {}", 
                      ingredientsJson, e.getMessage());
@@ -142,4 +162,14 @@ public class RecipeMapper {
         }
         // Removed fallback comma split logic - we now expect JSON.
     }
+
+    /**
+     * Parses the legacy JSON array string representation of ingredients, failing on bad input.
+     * @param ingredientsJson JSON array string from the database.
+     * @return List of ingredients
+     * @throws JsonProcessingException if the input is not a JSON array of strings
+     */
+    public List<String> readLegacyIngredients(String ingredientsJson) throws JsonProcessingException {
+        return objectMapper.readValue(ingredientsJson, INGREDIENTS_TYPE);
+    }
 }
\ No newline at end of file
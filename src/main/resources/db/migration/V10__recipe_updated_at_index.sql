@@ -0,0 +1,2 @@
+-- RecipeRepository.findIdsUpdatedSince: the periodic catch-up of the in-memory recipe indexes
+CREATE INDEX idx_recipe_updated_at ON recipe (updated_at);
@@ -0,0 +1,3 @@
+-- Upload whose result may still be patched onto the recipe image. The asynchronous patches only
+-- apply while the row carries their token, so a slow earlier upload cannot overwrite a newer one.
+ALTER TABLE recipe ADD COLUMN image_upload_token BINARY(16);
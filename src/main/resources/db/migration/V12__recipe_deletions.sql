@@ -0,0 +1,9 @@
+-- Recipes deleted recently, so the index catch-up of other instances can drop them without
+-- checking every indexed id. RecipeIndexUpdater prunes rows past recipe.index.deletion-retention.
+CREATE TABLE recipe_deletions (
+    recipe_id  BINARY(16)  NOT NULL,
+    deleted_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (recipe_id)
+);
+
+CREATE INDEX idx_recipe_deletions_deleted_at ON recipe_deletions (deleted_at);
@@ -0,0 +1,74 @@
+-- Schema as Hibernate's ddl-auto created it for the last release before Flyway. Databases it
+-- already created are baselined at this version (spring.flyway.baseline-on-migrate) and start at
+-- V2, so everything added since goes into a later script, never into this one.
+-- Kept to SQL that both MySQL 8 and H2 accept, so the query plan test can run the same scripts.
+
+CREATE TABLE macros (
+    id            BINARY(16) NOT NULL,
+    calories      DECIMAL(10, 2),
+    protein_grams DECIMAL(10, 2),
+    carbs_grams   DECIMAL(10, 2),
+    fat_grams     DECIMAL(10, 2),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE recipe (
+    id                  BINARY(16) NOT NULL,
+    version             BIGINT,
+    title               VARCHAR(255),
+    instructions        TEXT,
+    image_url           VARCHAR(255),
+    ingredients         TEXT,
+    serving_suggestions TEXT,
+    user_id             BINARY(16),
+    created_at          DATETIME(6),
+    updated_at          DATETIME(6),
+    total_time_minutes  INT,
+    macros_id           BINARY(16),
+    difficulty          ENUM ('EASY', 'MEDIUM', 'HARD'),
+    is_ai_generated     BIT,
+    upvotes             INT,
+    downvotes           INT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_recipe_macros UNIQUE (macros_id),
+    CONSTRAINT fk_recipe_macros FOREIGN KEY (macros_id) REFERENCES macros (id)
+);
+
+CREATE TABLE recipe_tags (
+    recipe_id BINARY(16) NOT NULL,
+    tag       VARCHAR(255),
+    CONSTRAINT fk_recipe_tags_recipe FOREIGN KEY (recipe_id) REFERENCES recipe (id)
+);
+
+CREATE INDEX idx_tag ON recipe_tags (tag);
+
+CREATE TABLE comment (
+    id         BINARY(16)   NOT NULL,
+    content    TEXT         NOT NULL,
+    user_id    BINARY(16)   NOT NULL,
+    username   VARCHAR(255) NOT NULL,
+    recipe_id  BINARY(16)   NOT NULL,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE favorite_recipes (
+    id         BINARY(16) NOT NULL,
+    user_id    BINARY(16) NOT NULL,
+    recipe_id  BINARY(16) NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_favorite_recipes_user_recipe UNIQUE (user_id, recipe_id)
+);
+
+CREATE TABLE recipe_votes (
+    id         BINARY(16)                  NOT NULL,
+    user_id    BINARY(16)                  NOT NULL,
+    recipe_id  BINARY(16)                  NOT NULL,
+    vote_type  ENUM ('UPVOTE', 'DOWNVOTE') NOT NULL,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_recipe_votes_user_recipe UNIQUE (user_id, recipe_id)
+);
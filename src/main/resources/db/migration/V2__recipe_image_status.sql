@@ -0,0 +1,6 @@
+-- Status of the asynchronous image upload. Recipes saved before it existed already have their
+-- image in place, if they have one.
+ALTER TABLE recipe ADD COLUMN image_status ENUM ('NONE', 'PENDING', 'READY', 'FAILED');
+
+UPDATE recipe
+SET image_status = CASE WHEN image_url IS NULL THEN 'NONE' ELSE 'READY' END;
@@ -0,0 +1,10 @@
+-- Uploaded images by content hash, so the same bytes are stored only once.
+CREATE TABLE image_assets (
+    content_hash VARCHAR(64)  NOT NULL,
+    url          VARCHAR(512) NOT NULL,
+    size_bytes   BIGINT,
+    created_at   DATETIME(6),
+    PRIMARY KEY (content_hash)
+);
+
+CREATE INDEX idx_image_asset_url ON image_assets (url);
@@ -0,0 +1,4 @@
+-- Resized variants of the recipe image; empty for images uploaded before they were produced.
+ALTER TABLE recipe ADD COLUMN image_thumbnail_url VARCHAR(255);
+ALTER TABLE recipe ADD COLUMN image_card_url VARCHAR(255);
+ALTER TABLE recipe ADD COLUMN image_full_url VARCHAR(255);
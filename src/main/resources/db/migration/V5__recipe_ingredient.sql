@@ -0,0 +1,12 @@
+-- One row per ingredient line. Recipes that still have only the legacy recipe.ingredients text
+-- are moved over by RecipeIngredientBackfill on startup.
+CREATE TABLE recipe_ingredient (
+    recipe_id     BINARY(16)   NOT NULL,
+    position      INT          NOT NULL,
+    original_text VARCHAR(500) NOT NULL,
+    name          VARCHAR(255) NOT NULL,
+    PRIMARY KEY (recipe_id, position),
+    CONSTRAINT fk_recipe_ingredient_recipe FOREIGN KEY (recipe_id) REFERENCES recipe (id)
+);
+
+CREATE INDEX idx_recipe_ingredient_name ON recipe_ingredient (name);
@@ -0,0 +1,7 @@
+-- Periodic snapshot of the trending ranking, restored on startup.
+CREATE TABLE trending_scores (
+    recipe_id   BINARY(16)  NOT NULL,
+    score       DOUBLE      NOT NULL,
+    snapshot_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (recipe_id)
+);
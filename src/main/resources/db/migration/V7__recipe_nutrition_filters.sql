@@ -0,0 +1,11 @@
+-- Nutrition copied onto the recipe row so the time, difficulty and nutrition filters can use
+-- indexes; V9 fills it in for recipes saved before these columns existed.
+ALTER TABLE recipe ADD COLUMN calories DECIMAL(10, 2);
+ALTER TABLE recipe ADD COLUMN protein_grams DECIMAL(10, 2);
+ALTER TABLE recipe ADD COLUMN carbs_grams DECIMAL(10, 2);
+ALTER TABLE recipe ADD COLUMN fat_grams DECIMAL(10, 2);
+
+CREATE INDEX idx_recipe_total_time ON recipe (total_time_minutes);
+CREATE INDEX idx_recipe_difficulty_time ON recipe (difficulty, total_time_minutes);
+CREATE INDEX idx_recipe_calories ON recipe (calories);
+CREATE INDEX idx_recipe_protein ON recipe (protein_grams);
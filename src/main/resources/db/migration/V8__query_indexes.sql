@@ -0,0 +1,18 @@
+-- Indexes behind the repository queries that used to scan their table.
+-- Lookups of favorites and votes by user_id are covered by their (user_id, recipe_id) unique constraints.
+
+-- RecipeRepository.findByUserId
+CREATE INDEX idx_recipe_user ON recipe (user_id);
+-- Newest-first feed and recipes of other users, read in index order and cut off at the page size
+CREATE INDEX idx_recipe_created_at ON recipe (created_at DESC);
+
+-- CommentRepository.findByRecipeId (sorted by created_at), countByRecipeId, countByRecipeIdIn, deleteByRecipeId
+CREATE INDEX idx_comment_recipe_created ON comment (recipe_id, created_at);
+-- CommentRepository.findByUserId (sorted by created_at)
+CREATE INDEX idx_comment_user_created ON comment (user_id, created_at);
+
+-- FavoriteRecipeRepository.findByRecipeId, countByRecipeId, countFavoritesByRecipeIds, deleteByRecipeId
+CREATE INDEX idx_favorite_recipes_recipe ON favorite_recipes (recipe_id);
+
+-- RecipeVoteRepository.findByRecipeId, deleteByRecipeId
+CREATE INDEX idx_recipe_votes_recipe ON recipe_votes (recipe_id);
@@ -0,0 +1,8 @@
+-- Nutrition columns of recipes saved before they existed, previously copied on every startup.
+UPDATE recipe
+SET calories      = (SELECT m.calories FROM macros m WHERE m.id = recipe.macros_id),
+    protein_grams = (SELECT m.protein_grams FROM macros m WHERE m.id = recipe.macros_id),
+    carbs_grams   = (SELECT m.carbs_grams FROM macros m WHERE m.id = recipe.macros_id),
+    fat_grams     = (SELECT m.fat_grams FROM macros m WHERE m.id = recipe.macros_id)
+WHERE macros_id IS NOT NULL
+  AND calories IS NULL;
@@ -0,0 +1,125 @@
+package dev.idachev.recipeservice.benchmark;
+
+import dev.idachev.recipeservice.Application;
+import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.repository.FavoriteRecipeRepository;
+import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.service.RecipeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deleting a recipe with a large number of favorites against the in-memory H2 database of the
+ * {@code test} profile: the former load-then-delete-each-entity path versus
+ * {@link RecipeService#deleteRecipe}, which removes child rows with one DELETE per table.
+ * <p>
+ * Every invocation deletes a freshly seeded recipe, so the mode is single-shot.
+ * Run with {@code ./gradlew jmh -PjmhArgs="RecipeDeleteBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RecipeDeleteBenchmark {
+
+    private static final String INSERT_FAVORITE =
+            "INSERT INTO favorite_recipes (id, user_id, recipe_id, created_at) VALUES (?, ?, ?, ?)";
+    private static final int SEED_BATCH_SIZE = 5_000;
+
+    @Param({"100000"})
+    public int favorites;
+
+    private ConfigurableApplicationContext context;
+    private RecipeService recipeService;
+    private RecipeRepository recipeRepository;
+    private FavoriteRecipeRepository favoriteRecipeRepository;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    private final UUID ownerId = UUID.randomUUID();
+    private UUID recipeId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(Application.class)
+                .profiles("test")
+                .run();
+        recipeService = context.getBean(RecipeService.class);
+        recipeRepository = context.getBean(RecipeRepository.class);
+        favoriteRecipeRepository = context.getBean(FavoriteRecipeRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void seedRecipe() {
+        recipeId = recipeRepository.save(Recipe.builder()
+                .title("Benchmark Recipe")
+                .userId(ownerId)
+                .tags(List.of("benchmark"))
+                .build()).getId();
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < favorites; i++) {
+            rows.add(new Object[]{UUID.randomUUID(), UUID.randomUUID(), recipeId, now});
+            if (rows.size() == SEED_BATCH_SIZE || i == favorites - 1) {
+                jdbcTemplate.batchUpdate(INSERT_FAVORITE, rows);
+                rows.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    /**
+     * Previous behaviour: favorites loaded to count them, then a derived delete that loads and
+     * removes each entity.
+     */
+    @Benchmark
+    public void entityByEntityDelete() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Recipe recipe = recipeRepository.findById(recipeId).orElseThrow();
+            favoriteRecipeRepository.findByRecipeId(recipeId).size();
+            favoriteRecipeRepository.deleteAll(favoriteRecipeRepository.findByRecipeId(recipeId));
+            recipeRepository.delete(recipe);
+        });
+    }
+
+    /**
+     * Current behaviour of {@link RecipeService#deleteRecipe}.
+     */
+    @Benchmark
+    public void bulkDelete() {
+        recipeService.deleteRecipe(recipeId, ownerId);
+    }
+}
@@ -0,0 +1,142 @@
+package dev.idachev.recipeservice.benchmark;
+
+import dev.idachev.recipeservice.Application;
+import dev.idachev.recipeservice.infrastructure.search.RecipeFilterPlanner;
+import dev.idachev.recipeservice.model.DifficultyLevel;
+import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.service.RecipeIndexUpdater;
+import dev.idachev.recipeservice.web.dto.RecipeFilterRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of the recipe filter over a million synthetic recipes in the in-memory H2 database of
+ * the {@code test} profile, with the index chosen by {@link RecipeFilterPlanner} versus leaving
+ * the choice to the database.
+ * <p>
+ * Seeding takes a while and needs a few GB of heap:
+ * {@code ./gradlew jmh -PjmhArgs="RecipeFilterBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RecipeFilterBenchmark {
+
+    private static final String INSERT_RECIPE = "INSERT INTO recipe (id, version, title, user_id, image_status, " +
+            "total_time_minutes, difficulty, calories, protein_grams, carbs_grams, fat_grams, is_ai_generated, " +
+            "upvotes, downvotes, created_at, updated_at) VALUES (?, 0, ?, ?, 'NONE', ?, ?, ?, ?, ?, ?, FALSE, 0, 0, ?, ?)";
+    private static final int SEED_BATCH_SIZE = 10_000;
+    private static final DifficultyLevel[] LEVELS = DifficultyLevel.values();
+
+    @Param({"1000000"})
+    public int recipes;
+
+    /**
+     * quick-easy: under 30 minutes, EASY, under 600 kcal, at least 30 g protein.
+     * high-protein: at least 60 g protein.
+     * light: under 250 kcal.
+     */
+    @Param({"quick-easy", "high-protein", "light"})
+    public String filter;
+
+    private ConfigurableApplicationContext context;
+    private RecipeRepository recipeRepository;
+    private RecipeFilterPlanner recipeFilterPlanner;
+    private TransactionTemplate readOnlyTransaction;
+
+    private RecipeFilterRequest request;
+    private final Pageable page = PageRequest.of(0, 20);
+
+    @Setup(Level.Trial)
+    public void seed() {
+        context = new SpringApplicationBuilder(Application.class)
+                .profiles("test")
+                .run();
+        recipeRepository = context.getBean(RecipeRepository.class);
+        recipeFilterPlanner = context.getBean(RecipeFilterPlanner.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(TransactionTemplate.class).getTransactionManager());
+        readOnlyTransaction.setReadOnly(true);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime start = LocalDateTime.now().minusYears(2);
+        UUID ownerId = UUID.randomUUID();
+        List<Object[]> rows = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < recipes; i++) {
+            Timestamp createdAt = Timestamp.valueOf(start.plusMinutes(i));
+            rows.add(new Object[]{UUID.randomUUID(), "Recipe " + i, ownerId,
+                    5 + random.nextInt(175), LEVELS[random.nextInt(LEVELS.length)].name(),
+                    grams(random, 80, 1200), grams(random, 0, 80), grams(random, 0, 150), grams(random, 0, 70),
+                    createdAt, createdAt});
+            if (rows.size() == SEED_BATCH_SIZE || i == recipes - 1) {
+                jdbcTemplate.batchUpdate(INSERT_RECIPE, rows);
+                rows.clear();
+            }
+        }
+        context.getBean(RecipeIndexUpdater.class).refreshFilterStatistics();
+
+        request = switch (filter) {
+            case "quick-easy" -> new RecipeFilterRequest(30, DifficultyLevel.EASY, null, BigDecimal.valueOf(600),
+                    BigDecimal.valueOf(30), null, null, null, null, null);
+            case "high-protein" -> new RecipeFilterRequest(null, null, null, null,
+                    BigDecimal.valueOf(60), null, null, null, null, null);
+            case "light" -> new RecipeFilterRequest(null, null, null, BigDecimal.valueOf(250),
+                    null, null, null, null, null, null);
+            default -> throw new IllegalArgumentException("Unknown filter " + filter);
+        };
+        System.out.printf("%nFilter %s: plan %s%n", filter, recipeFilterPlanner.plan(request));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Page<Recipe> planned() {
+        return readOnlyTransaction.execute(status ->
+                recipeRepository.findByFilter(request, recipeFilterPlanner.plan(request).index(), page));
+    }
+
+    @Benchmark
+    public Page<Recipe> databaseChoice() {
+        return readOnlyTransaction.execute(status -> recipeRepository.findByFilter(request, null, page));
+    }
+
+    private static BigDecimal grams(SplittableRandom random, int min, int max) {
+        return BigDecimal.valueOf(min * 100L + random.nextInt((max - min) * 100), 2);
+    }
+}
@@ -0,0 +1,125 @@
+package dev.idachev.recipeservice.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.idachev.recipeservice.config.RecipeJsonCacheProperties;
+import dev.idachev.recipeservice.model.DifficultyLevel;
+import dev.idachev.recipeservice.model.ImageVariants;
+import dev.idachev.recipeservice.model.Macros;
+import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.model.RecipeIngredient;
+import dev.idachev.recipeservice.web.dto.RecipeResponse;
+import dev.idachev.recipeservice.web.mapper.RecipeJsonWriter;
+import dev.idachev.recipeservice.web.mapper.RecipeMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing the JSON of one recipe for a reader: mapping and serializing the whole enhanced
+ * response, as before, versus {@link RecipeJsonWriter} splicing the reader's fields into the
+ * cached body. Only the CPU side is measured; the interaction lookups cost the same either way.
+ * <p>
+ * {@code ./gradlew jmh -PjmhArgs="RecipeJsonBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeJsonBenchmark {
+
+    @Param({"8", "30"})
+    public int ingredients;
+
+    private ObjectMapper objectMapper;
+    private RecipeMapper recipeMapper;
+    private RecipeJsonWriter writer;
+    private Recipe recipe;
+    private RecipeResponse interactions;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        recipeMapper = new RecipeMapper(objectMapper);
+        writer = new RecipeJsonWriter(objectMapper, recipeMapper, new RecipeJsonCacheProperties(10_000),
+                new SimpleMeterRegistry());
+
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < ingredients; i++) {
+            lines.add((i + 1) * 25 + "g ingredient number " + i + ", finely chopped");
+        }
+        recipe = Recipe.builder()
+                .id(UUID.randomUUID())
+                .version(3L)
+                .userId(UUID.randomUUID())
+                .title("Slow-cooked beef ragù with pappardelle")
+                .instructions("1. Brown the beef in batches.\n".repeat(12))
+                .servingSuggestions("Serve with grated parmesan and a glass of red wine")
+                .imageUrl("https://res.cloudinary.com/demo/image/upload/v1/recipes/ragu.jpg")
+                .imageVariants(ImageVariants.builder()
+                        .thumbnailUrl("https://res.cloudinary.com/demo/image/upload/w_160/recipes/ragu.jpg")
+                        .cardUrl("https://res.cloudinary.com/demo/image/upload/w_480/recipes/ragu.jpg")
+                        .fullUrl("https://res.cloudinary.com/demo/image/upload/w_1280/recipes/ragu.jpg")
+                        .build())
+                .ingredients(RecipeIngredient.listOf(lines.toArray(String[]::new)))
+                .totalTimeMinutes(180)
+                .difficulty(DifficultyLevel.MEDIUM)
+                .macros(Macros.builder()
+                        .calories(BigDecimal.valueOf(780.5)).proteinGrams(BigDecimal.valueOf(42.25))
+                        .carbsGrams(BigDecimal.valueOf(65)).fatGrams(BigDecimal.valueOf(31.75))
+                        .build())
+                .upvotes(128)
+                .downvotes(3)
+                .createdAt(LocalDateTime.now().minusDays(30))
+                .updatedAt(LocalDateTime.now().minusDays(2))
+                .build();
+        interactions = new RecipeResponse(
+                null, null, null, null, null, null, null, null,
+                "chef", "chef", recipe.getUserId().toString(),
+                null, null,
+                true, 57L, 12L,
+                null, null,
+                "UPVOTE",
+                null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        RecipeResponse body = recipeMapper.toResponse(recipe);
+        return objectMapper.writeValueAsBytes(new RecipeResponse(
+                body.id(), body.createdById(), body.title(), body.servingSuggestions(),
+                body.instructions(), body.imageUrl(), body.ingredients(), body.totalTimeMinutes(),
+                interactions.authorName(), interactions.username(), interactions.authorId(),
+                body.difficulty(), body.isAiGenerated(),
+                interactions.isFavorite(), interactions.favoriteCount(), interactions.commentCount(),
+                body.upvotes(), body.downvotes(),
+                interactions.userVote(),
+                body.createdAt(), body.updatedAt(), body.macros(), body.additionalFields(), body.imageStatus(),
+                body.imageVariants()));
+    }
+
+    @Benchmark
+    public byte[] cachedBody() {
+        return writer.write(recipe, interactions);
+    }
+}
@@ -0,0 +1,121 @@
+package dev.idachev.recipeservice.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import dev.idachev.recipeservice.model.DifficultyLevel;
+import dev.idachev.recipeservice.model.ImageStatus;
+import dev.idachev.recipeservice.web.dto.ImageVariantsDto;
+import dev.idachev.recipeservice.web.dto.MacrosDto;
+import dev.idachev.recipeservice.web.dto.RecipeResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A page of {@link RecipeResponse}s as JSON versus Smile, the binary format service-to-service
+ * callers can ask for: time to write it on our side and to read it back into records on the
+ * caller's. Payload sizes, raw and gzipped as server.compression would send them, are printed
+ * once per trial.
+ * <p>
+ * {@code ./gradlew jmh -PjmhArgs="RecipePageFormatBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipePageFormatBenchmark {
+
+    private static final TypeReference<List<RecipeResponse>> PAGE = new TypeReference<>() {
+    };
+
+    @Param({"json", "smile"})
+    public String format;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private List<RecipeResponse> page;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        objectMapper = "smile".equals(format) ? json.copyWith(new SmileFactory()) : json;
+
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            page.add(recipe(i));
+        }
+        payload = objectMapper.writeValueAsBytes(page);
+        System.out.printf("%n%s page of %d: %d bytes, %d gzipped%n", format, pageSize, payload.length,
+                gzipped(payload));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<RecipeResponse> deserialize() throws IOException {
+        return objectMapper.readValue(payload, PAGE);
+    }
+
+    private static RecipeResponse recipe(int i) {
+        UUID id = UUID.randomUUID();
+        List<String> ingredients = new ArrayList<>();
+        for (int j = 0; j < 10; j++) {
+            ingredients.add((j + 1) * 25 + "g ingredient number " + j + ", finely chopped");
+        }
+        String image = "https://res.cloudinary.com/demo/image/upload/recipes/" + id + ".jpg";
+        LocalDateTime createdAt = LocalDateTime.now().minusDays(i);
+        return new RecipeResponse(
+                id, UUID.randomUUID(), "Slow-cooked beef ragù no. " + i,
+                "Serve with grated parmesan and a glass of red wine",
+                "1. Brown the beef in batches.\n".repeat(12), image, ingredients, 180,
+                "chef" + i, "chef" + i, UUID.randomUUID().toString(),
+                DifficultyLevel.MEDIUM, false,
+                i % 3 == 0, 57L + i, 12L,
+                128 + i, 3,
+                i % 2 == 0 ? "UPVOTE" : null,
+                createdAt, createdAt.plusHours(2),
+                new MacrosDto(BigDecimal.valueOf(780.5), BigDecimal.valueOf(42.25), BigDecimal.valueOf(65),
+                        BigDecimal.valueOf(31.75)),
+                Map.of(), ImageStatus.READY,
+                new ImageVariantsDto(image.replace("upload/", "upload/w_160/"),
+                        image.replace("upload/", "upload/w_480/"), image.replace("upload/", "upload/w_1280/")));
+    }
+
+    private static int gzipped(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,87 @@
+package dev.idachev.recipeservice.benchmark;
+
+import dev.idachev.recipeservice.infrastructure.search.MinHashIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a similar-recipe lookup in {@link MinHashIndex} holding a million synthetic recipes.
+ * Ingredients are drawn with a skewed popularity so common ones ("salt", "onion") land in many
+ * recipes and buckets, as in real data. Setup also reports how long the parallel bulk build took.
+ * <p>
+ * Needs a few GB of heap: {@code ./gradlew jmh -PjmhArgs="SimilarRecipeBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SimilarRecipeBenchmark {
+
+    private static final int VOCABULARY = 2_000;
+    private static final int TAGS = 40;
+
+    @Param({"1000000"})
+    public int recipes;
+
+    private MinHashIndex index;
+    private UUID[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        Map<UUID, Set<String>> features = new HashMap<>(recipes * 2);
+        ids = new UUID[recipes];
+        for (int i = 0; i < recipes; i++) {
+            ids[i] = new UUID(random.nextLong(), random.nextLong());
+            features.put(ids[i], MinHashIndex.features(ingredients(random), tags(random)));
+        }
+
+        index = new MinHashIndex();
+        long start = System.nanoTime();
+        index.putAll(features);
+        System.out.printf("%nIndexed %d recipes in %d ms%n", index.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @Benchmark
+    public List<MinHashIndex.Similar> similarTop10() {
+        return index.similar(ids[ThreadLocalRandom.current().nextInt(ids.length)], 10);
+    }
+
+    private static List<String> ingredients(SplittableRandom random) {
+        int count = 5 + random.nextInt(10);
+        List<String> ingredients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // Squaring a uniform draw skews towards low (popular) ingredient numbers
+            double u = random.nextDouble();
+            ingredients.add("ingredient " + (int) (u * u * VOCABULARY));
+        }
+        return ingredients;
+    }
+
+    private static List<String> tags(SplittableRandom random) {
+        return List.of("tag " + random.nextInt(TAGS), "tag " + random.nextInt(TAGS));
+    }
+}
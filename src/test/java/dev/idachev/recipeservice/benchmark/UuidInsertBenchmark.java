@@ -0,0 +1,111 @@
+package dev.idachev.recipeservice.benchmark;
+
+import dev.idachev.recipeservice.util.UuidV7;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput into a table keyed by a {@code BINARY(16)} primary key, random UUIDv4 keys
+ * versus time-ordered UUIDv7 keys from {@link UuidV7}. The table is pre-filled so inserts land
+ * in an index that no longer fits in a handful of pages.
+ * <p>
+ * Defaults to an in-memory H2 database. The page-split effect is strongest on InnoDB, so point
+ * it at MySQL to reproduce production behaviour:
+ * {@code ./gradlew jmh -PjmhArgs="UuidInsertBenchmark -jvmArgs -Dbenchmark.jdbc.url=jdbc:mysql://localhost:3306/bench?user=root&password=root&rewriteBatchedStatements=true"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UuidInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final String DEFAULT_URL = "jdbc:h2:mem:uuid_bench;DB_CLOSE_DELAY=-1";
+
+    @Param({"random", "timeOrdered"})
+    public String keyType;
+
+    @Param({"200000"})
+    public int prefilledRows;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private Supplier<UUID> keys;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        keys = "random".equals(keyType) ? UUID::randomUUID : UuidV7::randomUuid;
+        connection = DriverManager.getConnection(System.getProperty("benchmark.jdbc.url", DEFAULT_URL));
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS uuid_insert_benchmark");
+            statement.execute("CREATE TABLE uuid_insert_benchmark ("
+                    + "id BINARY(16) NOT NULL PRIMARY KEY, "
+                    + "user_id BINARY(16) NOT NULL, "
+                    + "payload VARCHAR(64) NOT NULL)");
+        }
+        insert = connection.prepareStatement(
+                "INSERT INTO uuid_insert_benchmark (id, user_id, payload) VALUES (?, ?, ?)");
+        for (int i = 0; i < prefilledRows; i += BATCH_SIZE) {
+            insertBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE uuid_insert_benchmark");
+        }
+        connection.commit();
+        insert.close();
+        connection.close();
+    }
+
+    /**
+     * One committed batch of inserts; the score is rows per second.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setBytes(1, toBytes(keys.get()));
+            insert.setBytes(2, toBytes(UUID.randomUUID()));
+            insert.setString(3, "favorite");
+            insert.addBatch();
+        }
+        int[] counts = insert.executeBatch();
+        connection.commit();
+        return counts;
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,190 @@
+package dev.idachev.recipeservice.infrastructure.ai;
+
+import dev.idachev.recipeservice.config.RecipePoolProperties;
+import dev.idachev.recipeservice.model.DifficultyLevel;
+import dev.idachev.recipeservice.web.dto.RecipePoolStatusResponse;
+import dev.idachev.recipeservice.web.dto.SimplifiedRecipeResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class GeneratedRecipePoolUTest {
+
+    private AIService aiService;
+    private GeneratedRecipePool pool;
+
+    @BeforeEach
+    void setUp() {
+        aiService = mock(AIService.class);
+        AtomicInteger generated = new AtomicInteger();
+        when(aiService.generateRecipeFromIngredients(anyList())).thenAnswer(invocation ->
+                recipe("Recipe " + generated.incrementAndGet()));
+
+        RecipePoolProperties properties = new RecipePoolProperties(true, 2, 10, 2, Duration.ofHours(1), 2);
+        pool = new GeneratedRecipePool(aiService, properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Nested
+    @DisplayName("Canonicalization Tests")
+    class CanonicalizationTests {
+
+        @Test
+        @DisplayName("Should treat case, whitespace, order and duplicates as the same set")
+        void canonicalKey_EquivalentLists_SameKey() {
+            String first = GeneratedRecipePool.canonicalKey(List.of("Rice", " chicken  breast ", "rice"));
+            String second = GeneratedRecipePool.canonicalKey(List.of("chicken breast", "RICE"));
+
+            assertThat(first).isEqualTo("chicken breast,rice").isEqualTo(second);
+        }
+    }
+
+    @Nested
+    @DisplayName("Serving Tests")
+    class ServingTests {
+
+        @Test
+        @DisplayName("Should miss for unpopular sets without generating anything")
+        void take_UnpopularSet_Misses() {
+            Optional<SimplifiedRecipeResponse> result = pool.take(List.of("tofu"));
+            pool.warm();
+
+            assertThat(result).isEmpty();
+            assertThat(pool.status().ingredientSets())
+                    .noneMatch(RecipePoolStatusResponse.PooledIngredientSet::popular);
+            verifyNoInteractions(aiService);
+        }
+
+        @Test
+        @DisplayName("Should refill popular sets and serve every pooled recipe only once")
+        void take_PopularSet_ServesDistinctPooledRecipes() throws InterruptedException {
+            List<String> ingredients = List.of("chicken", "rice");
+            pool.take(ingredients);
+            pool.take(List.of("Rice", "Chicken"));
+
+            pool.warm();
+            awaitAvailable(2);
+
+            SimplifiedRecipeResponse first = pool.take(ingredients).orElseThrow();
+            SimplifiedRecipeResponse second = pool.take(ingredients).orElseThrow();
+
+            assertThat(first.title()).isNotEqualTo(second.title());
+        }
+
+        @Test
+        @DisplayName("Should not serve pooled recipes while disabled")
+        void take_Disabled_Misses() throws InterruptedException {
+            List<String> ingredients = List.of("chicken", "rice");
+            pool.take(ingredients);
+            pool.take(ingredients);
+            pool.warm();
+            awaitAvailable(2);
+
+            pool.updateSettings(false, null, null);
+
+            assertThat(pool.take(ingredients)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should not track ingredient sets while disabled")
+        void take_Disabled_DoesNotTrack() {
+            pool.updateSettings(false, null, null);
+
+            pool.take(List.of("chicken", "rice"));
+
+            assertThat(pool.status().ingredientSets()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should stop tracking new sets once the cap is reached but keep counting tracked ones")
+        void take_TrackingCapReached_IgnoresNewSets() {
+            pool.updateSettings(null, null, 1);
+            for (int i = 0; i < 10; i++) {
+                pool.take(List.of("ingredient " + i));
+            }
+            pool.take(List.of("ingredient 0"));
+
+            assertThat(pool.status().ingredientSets())
+                    .hasSize(4)
+                    .extracting(RecipePoolStatusResponse.PooledIngredientSet::ingredients)
+                    .doesNotContain(List.of("ingredient 9"));
+        }
+
+        @Test
+        @DisplayName("Should refill up to a larger pool size after the settings change")
+        void updateSettings_LargerPool_RefillsWithNewExecutor() throws InterruptedException {
+            List<String> ingredients = List.of("chicken", "rice");
+            pool.take(ingredients);
+            pool.take(ingredients);
+
+            pool.updateSettings(null, 4, null);
+            pool.warm();
+
+            awaitAvailable(4);
+        }
+
+        @Test
+        @DisplayName("Should report the generations a manual refill queued as pending")
+        void refillNow_PopularSet_ReportsPendingGenerations() throws InterruptedException {
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger generated = new AtomicInteger();
+            when(aiService.generateRecipeFromIngredients(anyList())).thenAnswer(invocation -> {
+                release.await();
+                return recipe("Slow recipe " + generated.incrementAndGet());
+            });
+            List<String> ingredients = List.of("chicken", "rice");
+            pool.take(ingredients);
+            pool.take(ingredients);
+
+            pool.refillNow();
+
+            assertThat(pool.status().ingredientSets())
+                    .singleElement()
+                    .satisfies(set -> {
+                        assertThat(set.pending()).isEqualTo(2);
+                        assertThat(set.available()).isZero();
+                    });
+            release.countDown();
+            awaitAvailable(2);
+        }
+    }
+
+    private void awaitAvailable(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (System.nanoTime() < deadline) {
+            int available = pool.status().ingredientSets().stream()
+                    .mapToInt(RecipePoolStatusResponse.PooledIngredientSet::available)
+                    .sum();
+            if (available >= expected) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Pool was not refilled in time");
+    }
+
+    private static SimplifiedRecipeResponse recipe(String title) {
+        return new SimplifiedRecipeResponse(title, "Description", "Instructions",
+                List.of("chicken", "rice"), "http://example.com/image.jpg", 30,
+                null, DifficultyLevel.EASY, "Serve hot", null, null);
+    }
+}
@@ -0,0 +1,183 @@
+package dev.idachev.recipeservice.infrastructure.ai;
+
+import dev.idachev.recipeservice.config.AIResilienceProperties;
+import dev.idachev.recipeservice.exception.AIServiceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResilientAICallerUTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ResilientAICaller caller;
+
+    private ResilientAICaller newCaller(Duration timeout, boolean hedging) {
+        AIResilienceProperties properties = new AIResilienceProperties(
+                timeout, timeout, 3,
+                Duration.ofMillis(1), 2.0, Duration.ofMillis(5), 8,
+                new AIResilienceProperties.Hedging(hedging, 0.95, Duration.ofMillis(20), 5, 50));
+        meterRegistry = new SimpleMeterRegistry();
+        caller = new ResilientAICaller(properties, meterRegistry);
+        return caller;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (caller != null) {
+            caller.shutdown();
+        }
+    }
+
+    @Nested
+    @DisplayName("Retry Tests")
+    class RetryTests {
+
+        @Test
+        @DisplayName("Should retry transient server errors and return the eventual result")
+        void callChat_TransientFailure_Retries() {
+            ResilientAICaller caller = newCaller(Duration.ofSeconds(2), false);
+            AtomicInteger attempts = new AtomicInteger();
+
+            String result = caller.callChat(() -> {
+                if (attempts.incrementAndGet() < 3) {
+                    throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+                }
+                return "ok";
+            });
+
+            assertThat(result).isEqualTo("ok");
+            assertThat(attempts.get()).isEqualTo(3);
+            assertThat(meterRegistry.counter("ai.client.retries", "operation", "chat", "outcome", "retrying").count())
+                    .isEqualTo(2.0);
+        }
+
+        @Test
+        @DisplayName("Should not retry client errors")
+        void callChat_ClientError_DoesNotRetry() {
+            ResilientAICaller caller = newCaller(Duration.ofSeconds(2), false);
+            AtomicInteger attempts = new AtomicInteger();
+
+            assertThatThrownBy(() -> caller.callChat(() -> {
+                attempts.incrementAndGet();
+                throw new HttpClientErrorException(HttpStatus.UNAUTHORIZED);
+            })).isInstanceOf(HttpClientErrorException.class);
+
+            assertThat(attempts.get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should time out slow calls and give up after max attempts")
+        void callImage_Slow_TimesOut() {
+            ResilientAICaller caller = newCaller(Duration.ofMillis(50), false);
+            AtomicInteger attempts = new AtomicInteger();
+
+            assertThatThrownBy(() -> caller.callImage(() -> {
+                attempts.incrementAndGet();
+                sleep(1_000);
+                return "late";
+            })).isInstanceOf(AIServiceException.class)
+                    .hasMessageContaining("did not respond");
+
+            assertThat(attempts.get()).isEqualTo(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("OpenAI Error Tests")
+    class OpenAiErrorTests {
+
+        // As the OpenAI client's error handler builds them: "<status> - <response body>"
+        private static String body(int status, String type) {
+            return status + " - {\"error\":{\"message\":\"" + type + "\",\"type\":\"" + type + "\"}}";
+        }
+
+        @Test
+        @DisplayName("Should retry 500 and 503 responses from the OpenAI client")
+        void isRetryable_OpenAiServerErrors() {
+            assertThat(ResilientAICaller.isRetryable(new OpenAiApi.OpenAiApiException(body(500, "server_error"))))
+                    .isTrue();
+            assertThat(ResilientAICaller.isRetryable(new OpenAiApi.OpenAiApiException(body(503, "overloaded"))))
+                    .isTrue();
+        }
+
+        @Test
+        @DisplayName("Should retry 429 but no other 4xx from the OpenAI client")
+        void isRetryable_OpenAiClientErrors() {
+            assertThat(ResilientAICaller.isRetryable(
+                    new OpenAiApi.OpenAiApiClientErrorException(body(429, "rate_limit_exceeded")))).isTrue();
+            assertThat(ResilientAICaller.isRetryable(
+                    new OpenAiApi.OpenAiApiClientErrorException(body(400, "invalid_request_error")))).isFalse();
+            assertThat(ResilientAICaller.isRetryable(
+                    new OpenAiApi.OpenAiApiClientErrorException(body(401, "invalid_api_key")))).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should retry a 503 thrown by the OpenAI client through callChat")
+        void callChat_OpenAiServiceUnavailable_Retries() {
+            ResilientAICaller caller = newCaller(Duration.ofSeconds(2), false);
+            AtomicInteger attempts = new AtomicInteger();
+
+            String result = caller.callChat(() -> {
+                if (attempts.incrementAndGet() < 2) {
+                    throw new OpenAiApi.OpenAiApiException(body(503, "overloaded"));
+                }
+                return "ok";
+            });
+
+            assertThat(result).isEqualTo("ok");
+            assertThat(attempts.get()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Hedging Tests")
+    class HedgingTests {
+
+        @Test
+        @DisplayName("Should fire a hedged request when the primary is slower than the percentile")
+        void callChat_SlowPrimary_HedgeWins() {
+            ResilientAICaller caller = newCaller(Duration.ofSeconds(5), true);
+            // Warm up the latency window with fast calls
+            for (int i = 0; i < 5; i++) {
+                caller.callChat(() -> "warm");
+            }
+
+            AtomicInteger calls = new AtomicInteger();
+            long start = System.nanoTime();
+            String result = caller.callChat(() -> {
+                if (calls.incrementAndGet() == 1) {
+                    sleep(3_000);
+                    return "primary";
+                }
+                return "hedge";
+            });
+            long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+            assertThat(result).isEqualTo("hedge");
+            assertThat(elapsedMillis).isLessThan(2_000);
+            assertThat(meterRegistry.counter("ai.client.hedges", "operation", "chat", "outcome", "won").count())
+                    .isEqualTo(1.0);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
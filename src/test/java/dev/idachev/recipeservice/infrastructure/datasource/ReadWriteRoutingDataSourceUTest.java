@@ -0,0 +1,164 @@
+package dev.idachev.recipeservice.infrastructure.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class ReadWriteRoutingDataSourceUTest {
+
+    private static final Duration LAG_WINDOW = Duration.ofSeconds(2);
+
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource replica;
+    @Mock
+    private Connection primaryConnection;
+    @Mock
+    private Connection replicaConnection;
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReadWriteRoutingDataSource router;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        lenient().when(primary.getConnection()).thenReturn(primaryConnection);
+        lenient().when(replica.getConnection()).thenReturn(replicaConnection);
+        router = new ReadWriteRoutingDataSource(primary, replica, LAG_WINDOW, meterRegistry, nanoTime::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        TransactionSynchronizationManager.clear();
+    }
+
+    /**
+     * Take a connection inside a simulated transaction that then commits or rolls back.
+     */
+    private Connection transaction(boolean readOnly, boolean commit) throws SQLException {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+        try {
+            Connection connection = router.getConnection();
+            if (commit) {
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            }
+            return connection;
+        } finally {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    private void authenticate(UUID userId) {
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+    }
+
+    private double routed(String pool, String reason) {
+        return meterRegistry.get("recipe.datasource.routed").tag("pool", pool).tag("reason", reason).counter().count();
+    }
+
+    @Nested
+    @DisplayName("Routing Tests")
+    class RoutingTests {
+
+        @Test
+        @DisplayName("Should send read-only transactions to the replica")
+        void readOnlyTransaction_UsesReplica() throws SQLException {
+            assertThat(transaction(true, true)).isSameAs(replicaConnection);
+            assertThat(routed("replica", "read")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should send read-write transactions to the primary")
+        void readWriteTransaction_UsesPrimary() throws SQLException {
+            assertThat(transaction(false, true)).isSameAs(primaryConnection);
+            assertThat(routed("primary", "write")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should use the primary outside transactions")
+        void noTransaction_UsesPrimary() throws SQLException {
+            assertThat(router.getConnection()).isSameAs(primaryConnection);
+            assertThat(routed("primary", "no-transaction")).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Read Your Writes Tests")
+    class ReadYourWritesTests {
+
+        private final UUID userId = UUID.randomUUID();
+
+        @Test
+        @DisplayName("Should keep a user's reads on the primary during the lag window after their write")
+        void readAfterOwnWrite_UsesPrimaryUntilWindowEnds() throws SQLException {
+            authenticate(userId);
+            transaction(false, true);
+
+            nanoTime.addAndGet(LAG_WINDOW.toNanos() - 1);
+            assertThat(transaction(true, true)).isSameAs(primaryConnection);
+            assertThat(routed("primary", "read-your-writes")).isEqualTo(1);
+
+            nanoTime.addAndGet(1);
+            assertThat(transaction(true, true)).isSameAs(replicaConnection);
+        }
+
+        @Test
+        @DisplayName("Should not affect other users or anonymous reads")
+        void readAfterOtherUsersWrite_UsesReplica() throws SQLException {
+            authenticate(userId);
+            transaction(false, true);
+
+            authenticate(UUID.randomUUID());
+            assertThat(transaction(true, true)).isSameAs(replicaConnection);
+
+            SecurityContextHolder.clearContext();
+            assertThat(transaction(true, true)).isSameAs(replicaConnection);
+        }
+
+        @Test
+        @DisplayName("Should ignore writes that rolled back")
+        void readAfterRolledBackWrite_UsesReplica() throws SQLException {
+            authenticate(userId);
+            transaction(false, false);
+
+            assertThat(transaction(true, true)).isSameAs(replicaConnection);
+        }
+
+        @Test
+        @DisplayName("Should always read from the replica when the window is zero")
+        void zeroLagWindow_UsesReplica() throws SQLException {
+            router = new ReadWriteRoutingDataSource(primary, replica, Duration.ZERO, meterRegistry, nanoTime::get);
+            authenticate(userId);
+            transaction(false, true);
+
+            assertThat(transaction(true, true)).isSameAs(replicaConnection);
+        }
+    }
+}
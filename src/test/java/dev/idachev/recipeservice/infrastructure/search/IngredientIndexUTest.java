@@ -0,0 +1,130 @@
+package dev.idachev.recipeservice.infrastructure.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngredientIndexUTest {
+
+    private IngredientIndex index;
+
+    private final UUID carbonara = UUID.randomUUID();
+    private final UUID omelette = UUID.randomUUID();
+    private final UUID tomatoSoup = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        index = new IngredientIndex();
+        index.put(carbonara, List.of("spaghetti", "eggs", "guanciale", "parmesan"));
+        index.put(omelette, List.of("eggs", "butter"));
+        index.put(tomatoSoup, List.of("tomatoes", "onion", "garlic"));
+    }
+
+    @ParameterizedTest(name = "{0} -> {1}")
+    @DisplayName("Should reduce ingredients to a comparable token")
+    @CsvSource(delimiter = '|', value = {
+            "2 Large Eggs|egg",
+            "egg|egg",
+            "3 ripe tomatoes|tomato",
+            "cherries|cherry",
+            "potatoes|potato",
+            "fresh basil|basil",
+            "grass|grass"
+    })
+    void token_Normalizes(String ingredient, String expected) {
+        assertThat(IngredientIndex.token(ingredient)).isEqualTo(expected);
+    }
+
+    @Nested
+    @DisplayName("topMatches Tests")
+    class TopMatchesTests {
+
+        @Test
+        @DisplayName("Should rank recipes by the share of ingredients the pantry covers")
+        void topMatches_RanksByCoverage() {
+            List<IngredientIndex.Match> matches = index.topMatches(List.of("Eggs", "butter", "spaghetti"), 10);
+
+            assertThat(matches).extracting(IngredientIndex.Match::recipeId).containsExactly(omelette, carbonara);
+            assertThat(matches.get(0).coverage()).isEqualTo(1.0);
+            assertThat(matches.get(1).matchedTokens()).isEqualTo(2);
+            assertThat(matches.get(1).totalTokens()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Should keep only the best k matches")
+        void topMatches_LimitsToK() {
+            List<IngredientIndex.Match> matches = index.topMatches(List.of("eggs", "butter", "garlic"), 1);
+
+            assertThat(matches).extracting(IngredientIndex.Match::recipeId).containsExactly(omelette);
+        }
+
+        @Test
+        @DisplayName("Should return nothing when no ingredient is known")
+        void topMatches_NoOverlap_ReturnsEmpty() {
+            assertThat(index.topMatches(List.of("saffron"), 10)).isEmpty();
+            assertThat(index.topMatches(List.of(), 10)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should give the same answer on repeated queries")
+        void topMatches_Repeated_SameResult() {
+            List<IngredientIndex.Match> first = index.topMatches(List.of("eggs", "onion"), 10);
+            List<IngredientIndex.Match> second = index.topMatches(List.of("eggs", "onion"), 10);
+
+            assertThat(second).isEqualTo(first);
+        }
+    }
+
+    @Nested
+    @DisplayName("Update Tests")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should replace the ingredients of a recipe indexed again")
+        void put_ExistingRecipe_ReplacesIngredients() {
+            index.put(omelette, List.of("eggs", "cheese"));
+
+            assertThat(index.topMatches(List.of("butter"), 10)).isEmpty();
+            assertThat(index.topMatches(List.of("cheese"), 10))
+                    .extracting(IngredientIndex.Match::recipeId).containsExactly(omelette);
+            assertThat(index.size()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should not return removed recipes")
+        void remove_ExcludesRecipe() {
+            index.remove(omelette);
+
+            assertThat(index.topMatches(List.of("eggs", "butter"), 10))
+                    .extracting(IngredientIndex.Match::recipeId).containsExactly(carbonara);
+            assertThat(index.size()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should ignore removal of an unknown recipe")
+        void remove_Unknown_NoOp() {
+            index.remove(UUID.randomUUID());
+
+            assertThat(index.size()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should grow beyond the initial capacity")
+        void put_ManyRecipes_AllSearchable() {
+            for (int i = 0; i < 5000; i++) {
+                index.put(UUID.randomUUID(), List.of("flour", "ingredient " + i));
+            }
+
+            assertThat(index.size()).isEqualTo(5003);
+            assertThat(index.topMatches(List.of("flour"), 3)).hasSize(3);
+        }
+    }
+}
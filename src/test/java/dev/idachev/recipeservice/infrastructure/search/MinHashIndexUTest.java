@@ -0,0 +1,160 @@
+package dev.idachev.recipeservice.infrastructure.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MinHashIndexUTest {
+
+    private MinHashIndex index;
+
+    private final UUID carbonara = UUID.randomUUID();
+    private final UUID pancettaCarbonara = UUID.randomUUID();
+    private final UUID tomatoSoup = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        index = new MinHashIndex();
+        index.put(carbonara, MinHashIndex.features(
+                List.of("spaghetti", "eggs", "guanciale", "parmesan", "black pepper"), List.of("Italian", "pasta")));
+        index.put(pancettaCarbonara, MinHashIndex.features(
+                List.of("spaghetti", "2 large eggs", "pancetta", "parmesan", "black pepper"), List.of("italian", "pasta")));
+        index.put(tomatoSoup, MinHashIndex.features(List.of("tomatoes", "onion", "garlic"), List.of("soup")));
+    }
+
+    @Test
+    @DisplayName("Should estimate Jaccard similarity from signatures")
+    void signature_EstimatesJaccard() {
+        Set<String> a = MinHashIndex.features(List.of("a", "b", "c", "d", "e", "f", "g", "h"), List.of());
+        Set<String> b = MinHashIndex.features(List.of("a", "b", "c", "d", "e", "f", "x", "y"), List.of());
+        int[] first = MinHashIndex.signature(a);
+        int[] second = MinHashIndex.signature(b);
+
+        int equal = 0;
+        for (int i = 0; i < MinHashIndex.NUM_HASHES; i++) {
+            if (first[i] == second[i]) {
+                equal++;
+            }
+        }
+
+        // Exact Jaccard is 6 / 10
+        assertThat((double) equal / MinHashIndex.NUM_HASHES).isCloseTo(0.6, within(0.25));
+    }
+
+    @Nested
+    @DisplayName("similar Tests")
+    class SimilarTests {
+
+        @Test
+        @DisplayName("Should find recipes sharing most ingredients and tags")
+        void similar_FindsNearNeighbour() {
+            List<MinHashIndex.Similar> similar = index.similar(carbonara, 5);
+
+            assertThat(similar).extracting(MinHashIndex.Similar::recipeId).containsExactly(pancettaCarbonara);
+            assertThat(similar.get(0).similarity()).isBetween(0.4, 1.0);
+        }
+
+        @Test
+        @DisplayName("Should return nothing for unknown recipes or dissimilar ones")
+        void similar_NoNeighbours_ReturnsEmpty() {
+            assertThat(index.similar(UUID.randomUUID(), 5)).isEmpty();
+            assertThat(index.similar(tomatoSoup, 5)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should give identical recipes similarity 1 and keep only the best k")
+        void similar_IdenticalRecipes_LimitsToK() {
+            for (int i = 0; i < 5; i++) {
+                index.put(UUID.randomUUID(), MinHashIndex.features(List.of("tomatoes", "onion", "garlic"), List.of("soup")));
+            }
+
+            List<MinHashIndex.Similar> similar = index.similar(tomatoSoup, 3);
+
+            assertThat(similar).hasSize(3).allSatisfy(s -> assertThat(s.similarity()).isEqualTo(1.0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Update Tests")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should move a recipe when its features change")
+        void put_ExistingRecipe_ReplacesSignature() {
+            index.put(pancettaCarbonara, MinHashIndex.features(List.of("tomatoes", "onion", "garlic"), List.of("soup")));
+
+            assertThat(index.similar(carbonara, 5)).isEmpty();
+            assertThat(index.similar(tomatoSoup, 5))
+                    .extracting(MinHashIndex.Similar::recipeId).containsExactly(pancettaCarbonara);
+            assertThat(index.size()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should not return removed recipes")
+        void remove_ExcludesRecipe() {
+            index.remove(pancettaCarbonara);
+
+            assertThat(index.similar(carbonara, 5)).isEmpty();
+            assertThat(index.size()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should remove a recipe that no longer has features")
+        void put_NoFeatures_Removes() {
+            index.put(carbonara, Set.of());
+
+            assertThat(index.similar(pancettaCarbonara, 5)).isEmpty();
+            assertThat(index.size()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should reuse the slots of removed recipes instead of growing")
+        void putAndRemove_ManyRecipes_CapacityStaysBounded() {
+            int capacity = index.capacity();
+
+            for (int round = 0; round < 20; round++) {
+                List<UUID> batch = new ArrayList<>();
+                for (int i = 0; i < 500; i++) {
+                    UUID recipeId = UUID.randomUUID();
+                    index.put(recipeId, MinHashIndex.features(
+                            List.of("ingredient " + i, "ingredient " + (i + 1), "round " + round), List.of()));
+                    batch.add(recipeId);
+                }
+                batch.forEach(index::remove);
+            }
+
+            assertThat(index.size()).isEqualTo(3);
+            assertThat(index.capacity()).isEqualTo(capacity);
+            assertThat(index.similar(carbonara, 5))
+                    .extracting(MinHashIndex.Similar::recipeId).containsExactly(pancettaCarbonara);
+        }
+
+        @Test
+        @DisplayName("Should index recipes in bulk like one by one")
+        void putAll_IndexesEveryRecipe() {
+            Map<UUID, Set<String>> recipes = new HashMap<>();
+            for (int i = 0; i < 10_000; i++) {
+                recipes.put(UUID.randomUUID(), MinHashIndex.features(
+                        List.of("ingredient " + i, "ingredient " + (i + 1), "ingredient " + (i + 2)), List.of()));
+            }
+            UUID twin = UUID.randomUUID();
+            recipes.put(twin, MinHashIndex.features(List.of("tomatoes", "onion", "garlic"), List.of("soup")));
+
+            index.putAll(recipes);
+
+            assertThat(index.size()).isEqualTo(10_004);
+            assertThat(index.similar(tomatoSoup, 5)).extracting(MinHashIndex.Similar::recipeId).contains(twin);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package dev.idachev.recipeservice.infrastructure.search;
+
+import dev.idachev.recipeservice.model.DifficultyLevel;
+import dev.idachev.recipeservice.repository.RecipeFilterRepository.Index;
+import dev.idachev.recipeservice.repository.dto.RecipeFilterStatsDto;
+import dev.idachev.recipeservice.web.dto.RecipeFilterRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RecipeFilterPlannerUTest {
+
+    private RecipeFilterPlanner planner;
+
+    /**
+     * 50 000 recipes: total time 1..100 minutes, calories 100..1099, protein 0..49 grams, and a
+     * third each EASY, MEDIUM and HARD.
+     */
+    @BeforeEach
+    void setUp() {
+        List<RecipeFilterStatsDto> rows = new ArrayList<>();
+        DifficultyLevel[] levels = {DifficultyLevel.EASY, DifficultyLevel.MEDIUM, DifficultyLevel.HARD};
+        for (int i = 0; i < 50_000; i++) {
+            rows.add(new RecipeFilterStatsDto(1 + i % 100, levels[i % 3],
+                    BigDecimal.valueOf(100 + i % 1000), BigDecimal.valueOf(i % 50)));
+        }
+        planner = new RecipeFilterPlanner();
+        assertThat(planner.analyze(rows.iterator())).isEqualTo(50_000);
+    }
+
+    private static RecipeFilterRequest filter(Integer maxTime, DifficultyLevel difficulty,
+                                              Integer maxCalories, Integer minProtein) {
+        return new RecipeFilterRequest(maxTime, difficulty, null,
+                maxCalories != null ? BigDecimal.valueOf(maxCalories) : null,
+                minProtein != null ? BigDecimal.valueOf(minProtein) : null, null, null, null, null, null);
+    }
+
+    @Nested
+    @DisplayName("plan Tests")
+    class PlanTests {
+
+        @Test
+        @DisplayName("Should estimate range selectivity from the sample")
+        void plan_EstimatesSelectivity() {
+            RecipeFilterPlanner.Plan plan = planner.plan(filter(10, null, null, null));
+
+            assertThat(plan.index()).isEqualTo(Index.TOTAL_TIME);
+            assertThat(plan.selectivity()).isCloseTo(0.10, within(0.02));
+        }
+
+        @Test
+        @DisplayName("Should pick the index of the most selective criterion")
+        void plan_PicksMostSelectiveIndex() {
+            // Time <= 20: ~20 %, calories <= 600: ~50 %, protein >= 45: ~10 %
+            assertThat(planner.plan(filter(20, null, 600, 45)).index()).isEqualTo(Index.PROTEIN);
+            // Time <= 5: ~5 %
+            assertThat(planner.plan(filter(5, null, 600, 45)).index()).isEqualTo(Index.TOTAL_TIME);
+            // Calories <= 130: ~3 %
+            assertThat(planner.plan(filter(20, null, 130, 45)).index()).isEqualTo(Index.CALORIES);
+        }
+
+        @Test
+        @DisplayName("Should combine difficulty and time on the composite index")
+        void plan_DifficultyAndTime_UsesCompositeIndex() {
+            RecipeFilterPlanner.Plan plan = planner.plan(filter(30, DifficultyLevel.EASY, 600, null));
+
+            assertThat(plan.index()).isEqualTo(Index.DIFFICULTY_TIME);
+            assertThat(plan.selectivity()).isCloseTo(0.10, within(0.02));
+        }
+
+        @Test
+        @DisplayName("Should leave unselective filters to the database")
+        void plan_Unselective_NoIndex() {
+            RecipeFilterPlanner.Plan plan = planner.plan(filter(90, DifficultyLevel.HARD, 1000, null));
+
+            assertThat(plan.index()).isNull();
+            assertThat(plan.selectivity()).isGreaterThan(RecipeFilterPlanner.MAX_INDEX_SELECTIVITY);
+        }
+
+        @Test
+        @DisplayName("Should not choose an index before statistics exist or without criteria")
+        void plan_NoStatisticsOrCriteria_NoIndex() {
+            assertThat(new RecipeFilterPlanner().plan(filter(5, null, null, null)).index()).isNull();
+            assertThat(planner.plan(filter(null, null, null, null)).index()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should count recipes without a value as non-matching")
+        void plan_NullValues_NeverMatch() {
+            RecipeFilterPlanner sparse = new RecipeFilterPlanner();
+            sparse.analyze(List.of(new RecipeFilterStatsDto(null, null, null, null),
+                    new RecipeFilterStatsDto(10, DifficultyLevel.EASY, null, null)).iterator());
+
+            assertThat(sparse.plan(filter(20, null, null, null)).selectivity()).isEqualTo(0.5);
+            assertThat(sparse.rowCount()).isEqualTo(2);
+        }
+    }
+}
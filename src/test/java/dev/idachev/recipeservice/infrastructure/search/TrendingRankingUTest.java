@@ -0,0 +1,217 @@
+package dev.idachev.recipeservice.infrastructure.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TrendingRankingUTest {
+
+    private static final Duration HALF_LIFE = Duration.ofHours(24);
+
+    private TrendingRanking ranking;
+    private Instant now;
+
+    private final UUID first = UUID.randomUUID();
+    private final UUID second = UUID.randomUUID();
+    private final UUID third = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ranking = new TrendingRanking(HALF_LIFE, 3);
+        now = ranking.epoch();
+    }
+
+    @Nested
+    @DisplayName("record Tests")
+    class RecordTests {
+
+        @Test
+        @DisplayName("Should rank a recent interaction above an older one of equal weight")
+        void record_NewerInteraction_RanksHigher() {
+            ranking.record(first, 3.0, now);
+            ranking.record(second, 3.0, now.plus(Duration.ofHours(1)));
+
+            assertThat(ranking.page(0, 10)).containsExactly(second, first);
+        }
+
+        @Test
+        @DisplayName("Should let a day-old interaction count half as much")
+        void record_OneHalfLifeOld_CountsHalf() {
+            ranking.record(first, 4.0, now);
+            ranking.record(second, 3.0, now.plus(HALF_LIFE));
+
+            // first: 4 / 2 = 2 at now + 1 day, below second's 3
+            assertThat(ranking.page(0, 10)).containsExactly(second, first);
+        }
+
+        @Test
+        @DisplayName("Should add up interactions on the same recipe")
+        void record_SameRecipe_Accumulates() {
+            ranking.record(first, 3.0, now);
+            ranking.record(second, 2.0, now);
+            ranking.record(second, 2.0, now);
+
+            assertThat(ranking.page(0, 10)).containsExactly(second, first);
+            assertThat(ranking.size()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should leave out recipes whose score is not positive")
+        void record_NegativeScore_NotRanked() {
+            ranking.record(first, -2.0, now);
+            ranking.record(second, 3.0, now);
+            ranking.record(second, -2.0, now);
+            ranking.record(second, -2.0, now);
+
+            assertThat(ranking.page(0, 10)).isEmpty();
+            assertThat(ranking.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should keep only the best recipes up to the capacity")
+        void record_OverCapacity_EvictsWeakest() {
+            UUID fourth = UUID.randomUUID();
+            ranking.record(first, 4.0, now);
+            ranking.record(second, 3.0, now);
+            ranking.record(third, 2.0, now);
+            ranking.record(fourth, 1.0, now);
+
+            assertThat(ranking.page(0, 10)).containsExactly(first, second, third);
+
+            // An evicted recipe re-enters once it scores high enough
+            ranking.record(fourth, 4.0, now);
+
+            assertThat(ranking.page(0, 10)).containsExactly(fourth, first, second);
+            assertThat(ranking.size()).isEqualTo(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("page Tests")
+    class PageTests {
+
+        @Test
+        @DisplayName("Should return the requested slice of the ranking")
+        void page_OffsetAndLimit_ReturnsSlice() {
+            ranking.record(first, 3.0, now);
+            ranking.record(second, 2.0, now);
+            ranking.record(third, 1.0, now);
+
+            assertThat(ranking.page(0, 2)).containsExactly(first, second);
+            assertThat(ranking.page(2, 2)).containsExactly(third);
+            assertThat(ranking.page(4, 2)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should not return removed recipes")
+        void remove_ExcludesRecipe() {
+            ranking.record(first, 3.0, now);
+            ranking.record(second, 2.0, now);
+
+            ranking.remove(first);
+
+            assertThat(ranking.page(0, 10)).containsExactly(second);
+            assertThat(ranking.size()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Rebase and Snapshot Tests")
+    class RebaseTests {
+
+        @Test
+        @DisplayName("Should decay scores to the new epoch without changing the order")
+        void rebase_KeepsOrder_DecaysScores() {
+            ranking.record(first, 4.0, now);
+            ranking.record(second, 3.0, now);
+
+            ranking.rebase(now.plus(HALF_LIFE));
+
+            assertThat(ranking.page(0, 10)).containsExactly(first, second);
+            assertThat(ranking.snapshot()).extracting(TrendingRanking.Entry::score)
+                    .satisfiesExactly(
+                            score -> assertThat(score).isCloseTo(2.0, within(1e-9)),
+                            score -> assertThat(score).isCloseTo(1.5, within(1e-9)));
+        }
+
+        @Test
+        @DisplayName("Should forget recipes whose score decayed to nothing")
+        void rebase_DecayedScore_Forgotten() {
+            ranking.record(first, 4.0, now);
+
+            ranking.rebase(now.plus(HALF_LIFE.multipliedBy(20)));
+
+            assertThat(ranking.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should restore the same ranking from a snapshot")
+        void restore_FromSnapshot_SameRanking() {
+            ranking.record(first, 2.0, now);
+            ranking.record(second, 3.0, now);
+            List<TrendingRanking.Entry> snapshot = ranking.snapshot();
+
+            TrendingRanking restored = new TrendingRanking(HALF_LIFE, 3);
+            restored.restore(snapshot, ranking.epoch());
+            restored.record(first, 2.0, now);
+
+            assertThat(restored.page(0, 10)).containsExactly(first, second);
+            assertThat(restored.epoch()).isEqualTo(ranking.epoch());
+        }
+    }
+
+    @Nested
+    @DisplayName("Changes Tests")
+    class ChangesTests {
+
+        @Test
+        @DisplayName("Should hand out interactions and removals once")
+        void drainChanges_ReturnsChangesSinceLastDrain() {
+            ranking.record(first, 3.0, now);
+            ranking.record(first, 1.0, now);
+            ranking.record(second, 2.0, now);
+            ranking.remove(second);
+
+            TrendingRanking.Changes changes = ranking.drainChanges();
+
+            assertThat(changes.contributions()).containsOnlyKeys(first);
+            assertThat(changes.contributions().get(first)).isCloseTo(4.0, within(1e-9));
+            assertThat(changes.removed()).containsExactly(second);
+            assertThat(ranking.drainChanges().contributions()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should include requeued changes in the next drain")
+        void requeue_ChangesDrainedAgain() {
+            ranking.record(first, 3.0, now);
+            TrendingRanking.Changes changes = ranking.drainChanges();
+            ranking.record(first, 1.0, now);
+
+            ranking.requeue(changes);
+
+            assertThat(ranking.drainChanges().contributions().get(first)).isCloseTo(4.0, within(1e-9));
+        }
+
+        @Test
+        @DisplayName("Should keep undrained interactions when restoring a merged snapshot")
+        void restore_UndrainedChanges_AppliedOnTop() {
+            ranking.record(first, 5.0, now);
+            ranking.drainChanges();
+            ranking.record(second, 2.0, now);
+
+            ranking.restore(List.of(new TrendingRanking.Entry(first, 1.0), new TrendingRanking.Entry(third, 3.0)),
+                    now);
+
+            assertThat(ranking.page(0, 10)).containsExactly(third, second, first);
+        }
+    }
+}
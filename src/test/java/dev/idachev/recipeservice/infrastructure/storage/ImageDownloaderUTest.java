@@ -0,0 +1,20 @@
+package dev.idachev.recipeservice.infrastructure.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImageDownloaderUTest {
+
+    private final ImageDownloader imageDownloader = new ImageDownloader();
+
+    @Test
+    @DisplayName("Should fail the download of an unreachable remote image")
+    void download_UnreachableUrl_Throws() {
+        assertThatThrownBy(() -> imageDownloader.download("http://127.0.0.1:1/image.png"))
+                .isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,79 @@
+package dev.idachev.recipeservice.infrastructure.storage;
+
+import dev.idachev.recipeservice.infrastructure.storage.ImageResizer.Variant;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImageResizerUTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ImageResizer imageResizer = new ImageResizer();
+
+    @Test
+    @DisplayName("Should produce width-bounded JPEG variants keeping the aspect ratio")
+    void resize_LargeImage_BoundsEveryVariant() throws Exception {
+        Path source = writeImage(4000, 2000, BufferedImage.TYPE_INT_RGB, "png");
+
+        Map<Variant, Path> files = imageResizer.resize(source);
+        try {
+            assertThat(files).containsOnlyKeys(Variant.values());
+            for (Variant variant : Variant.values()) {
+                BufferedImage resized = ImageIO.read(files.get(variant).toFile());
+                assertThat(resized.getWidth()).isEqualTo(variant.maxWidth());
+                assertThat(resized.getHeight()).isEqualTo(variant.maxWidth() / 2);
+            }
+        } finally {
+            deleteAll(files);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not upscale images narrower than a variant")
+    void resize_SmallImage_NotUpscaled() throws Exception {
+        Path source = writeImage(400, 300, BufferedImage.TYPE_INT_ARGB, "png");
+
+        Map<Variant, Path> files = imageResizer.resize(source);
+        try {
+            assertThat(ImageIO.read(files.get(Variant.FULL).toFile()).getWidth()).isEqualTo(400);
+            assertThat(ImageIO.read(files.get(Variant.CARD).toFile()).getWidth()).isEqualTo(400);
+            assertThat(ImageIO.read(files.get(Variant.THUMBNAIL).toFile()).getWidth()).isEqualTo(200);
+        } finally {
+            deleteAll(files);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject files that are not images")
+    void resize_NotAnImage_Throws() throws Exception {
+        Path source = Files.write(tempDir.resolve("notes.txt"), "not an image".getBytes());
+
+        assertThatThrownBy(() -> imageResizer.resize(source))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Unsupported image format");
+    }
+
+    private Path writeImage(int width, int height, int type, String format) throws IOException {
+        Path file = tempDir.resolve("source." + format);
+        ImageIO.write(new BufferedImage(width, height, type), format, file.toFile());
+        return file;
+    }
+
+    private static void deleteAll(Map<Variant, Path> files) throws IOException {
+        for (Path file : files.values()) {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package dev.idachev.recipeservice.infrastructure.storage;
+
+import dev.idachev.recipeservice.model.ImageVariants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImageVariantProcessorUTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private ImageService imageService;
+
+    private ImageVariantProcessor imageVariantProcessor;
+
+    @BeforeEach
+    void setUp() {
+        imageVariantProcessor = new ImageVariantProcessor(new ImageResizer(), imageService, 1, 4, 16);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        imageVariantProcessor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should store one resized copy per variant under the given name")
+    void process_Image_StoresVariants() throws Exception {
+        Path source = tempDir.resolve("dish.png");
+        ImageIO.write(new BufferedImage(2400, 1200, BufferedImage.TYPE_INT_RGB), "png", source.toFile());
+        when(imageService.uploadImage(any(Path.class), anyString()))
+                .thenAnswer(invocation -> "https://cdn.example.com/" + invocation.getArgument(1));
+
+        Optional<ImageVariants> variants = imageVariantProcessor.process(source, "dish");
+
+        assertThat(variants).contains(ImageVariants.builder()
+                .thumbnailUrl("https://cdn.example.com/dish-thumbnail.jpg")
+                .cardUrl("https://cdn.example.com/dish-card.jpg")
+                .fullUrl("https://cdn.example.com/dish-full.jpg")
+                .build());
+        assertThat(source).exists();
+    }
+
+    @Test
+    @DisplayName("Should give no variants for a file that is not an image")
+    void process_NotAnImage_Empty() throws Exception {
+        Path source = Files.writeString(tempDir.resolve("notes.txt"), "not an image");
+
+        assertThat(imageVariantProcessor.process(source, "notes")).isEmpty();
+        verifyNoInteractions(imageService);
+    }
+
+    @Test
+    @DisplayName("Should make the variants of a generated image in the background and remember them by its URL")
+    void processGenerated_Image_RemembersVariants() throws Exception {
+        Path source = tempDir.resolve("generated.png");
+        ImageIO.write(new BufferedImage(2400, 1200, BufferedImage.TYPE_INT_RGB), "png", source.toFile());
+        when(imageService.uploadImage(any(Path.class), anyString()))
+                .thenAnswer(invocation -> "https://cdn.example.com/" + invocation.getArgument(1));
+
+        imageVariantProcessor.processGenerated(source, "dish", "https://cdn.example.com/generated.png");
+
+        Optional<CompletableFuture<ImageVariants>> variants =
+                imageVariantProcessor.generatedVariants("https://cdn.example.com/generated.png");
+        assertThat(variants).isPresent();
+        assertThat(variants.get().get(10, TimeUnit.SECONDS)).isEqualTo(ImageVariants.builder()
+                .thumbnailUrl("https://cdn.example.com/dish-thumbnail.jpg")
+                .cardUrl("https://cdn.example.com/dish-card.jpg")
+                .fullUrl("https://cdn.example.com/dish-full.jpg")
+                .build());
+        assertThat(source).doesNotExist();
+        assertThat(imageVariantProcessor.generatedVariants("https://cdn.example.com/other.png")).isEmpty();
+    }
+}
@@ -0,0 +1,136 @@
+package dev.idachev.recipeservice.infrastructure.storage;
+
+import dev.idachev.recipeservice.config.StorageProperties;
+import dev.idachev.recipeservice.exception.ImageProcessingException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalImageStorageUTest {
+
+    private static final byte[] PNG_HEADER = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+
+    @TempDir
+    Path storageRoot;
+
+    private LocalImageStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalImageStorage(new StorageProperties("local", storageRoot.toString(),
+                List.of("image/jpeg", "image/png"), DataSize.ofBytes(1024), "/api/v1/images/", Duration.ofDays(365)));
+    }
+
+    @Nested
+    @DisplayName("store Tests")
+    class StoreTests {
+
+        @Test
+        @DisplayName("Should store image under its SHA-256 and return the public URL")
+        void store_ValidPng_ContentAddressed() throws Exception {
+            byte[] content = png(100);
+            String hash = sha256(content);
+
+            String url = storage.store(new MockMultipartFile("image", "dish.png", "image/png", content));
+
+            assertThat(url).isEqualTo("/api/v1/images/" + hash + ".png");
+            Path stored = storageRoot.resolve(hash.substring(0, 2)).resolve(hash + ".png");
+            assertThat(stored).exists().hasBinaryContent(content);
+        }
+
+        @Test
+        @DisplayName("Should keep a single file for identical uploads and leave no temp files")
+        void store_SameContentTwice_StoredOnce() throws Exception {
+            byte[] content = png(200);
+
+            String first = storage.store(new MockMultipartFile("image", "a.png", "image/png", content));
+            String second = storage.store(new MockMultipartFile("image", "b.png", "image/png", content));
+
+            assertThat(second).isEqualTo(first);
+            try (Stream<Path> files = Files.walk(storageRoot)) {
+                assertThat(files.filter(Files::isRegularFile)).hasSize(1);
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject content that is not an allowed image type, whatever the client claims")
+        void store_NotAnImage_Throws() {
+            MockMultipartFile file = new MockMultipartFile("image", "dish.png", "image/png", "<html>".getBytes());
+
+            assertThatThrownBy(() -> storage.store(file))
+                    .isInstanceOf(ImageProcessingException.class)
+                    .hasMessageContaining("Unsupported image type");
+            assertThat(storageRoot).isEmptyDirectory();
+        }
+
+        @Test
+        @DisplayName("Should reject images over the size limit without keeping them")
+        void store_TooLarge_Throws() {
+            MockMultipartFile file = new MockMultipartFile("image", "dish.png", "image/png", png(2048));
+
+            assertThatThrownBy(() -> storage.store(file))
+                    .isInstanceOf(ImageProcessingException.class)
+                    .hasMessageContaining("maximum size");
+            assertThat(storageRoot).isEmptyDirectory();
+        }
+    }
+
+    @Nested
+    @DisplayName("find Tests")
+    class FindTests {
+
+        @Test
+        @DisplayName("Should resolve a stored image by the name in its URL")
+        void find_StoredName_ReturnsImage() throws Exception {
+            byte[] content = png(50);
+            String url = storage.store(new MockMultipartFile("image", "dish.png", "image/png", content));
+            String name = url.substring(url.lastIndexOf('/') + 1);
+
+            assertThat(storage.find(name)).hasValueSatisfying(image -> {
+                assertThat(image.hash()).isEqualTo(sha256(content));
+                assertThat(image.contentType()).isEqualTo("image/png");
+                assertThat(image.size()).isEqualTo(content.length);
+            });
+        }
+
+        @Test
+        @DisplayName("Should not resolve malformed or traversing names")
+        void find_MalformedName_ReturnsEmpty() {
+            assertThat(storage.find("../../etc/passwd")).isEmpty();
+            assertThat(storage.find("a".repeat(64) + ".exe")).isEmpty();
+            assertThat(storage.find("b".repeat(64) + ".png")).isEmpty();
+        }
+    }
+
+    private static byte[] png(int size) {
+        byte[] content = new byte[size];
+        System.arraycopy(PNG_HEADER, 0, content, 0, PNG_HEADER.length);
+        for (int i = PNG_HEADER.length; i < size; i++) {
+            content[i] = (byte) i;
+        }
+        return content;
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.idachev.recipeservice.model.DifficultyLevel;
 import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.model.RecipeIngredient;
 import dev.idachev.recipeservice.repository.CommentRepository;
 import dev.idachev.recipeservice.repository.RecipeRepository;
 import dev.idachev.recipeservice.user.service.UserService;
@@ -86,7 +87,7 @@ public class CommentRecipeITest {
         testRecipe = Recipe.builder()
                 .title("Test Recipe for Comments")
                 .instructions("Step 1, Step 2")
-                .ingredients("Ingredient 1, Ingredient 2")
+                .ingredients(RecipeIngredient.listOf("Ingredient 1", "Ingredient 2"))
                 .userId(recipeCreatorId)
                 .difficulty(DifficultyLevel.EASY)
                 .totalTimeMinutes(30)
@@ -0,0 +1,103 @@
+package dev.idachev.recipeservice.integration;
+
+import dev.idachev.recipeservice.model.Comment;
+import dev.idachev.recipeservice.model.DifficultyLevel;
+import dev.idachev.recipeservice.model.FavoriteRecipe;
+import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.model.RecipeIngredient;
+import dev.idachev.recipeservice.model.RecipeVote;
+import dev.idachev.recipeservice.repository.CommentRepository;
+import dev.idachev.recipeservice.repository.FavoriteRecipeRepository;
+import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.repository.RecipeVoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class DeleteRecipeITest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private FavoriteRecipeRepository favoriteRecipeRepository;
+
+    @Autowired
+    private RecipeVoteRepository recipeVoteRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private UUID recipeId;
+    private final UUID ownerId = UUID.randomUUID();
+
+    private final Authentication ownerAuthentication = new UsernamePasswordAuthenticationToken(ownerId, null, Collections.emptyList());
+
+    @BeforeEach
+    void setUp() {
+        Recipe recipe = Recipe.builder()
+                .title("Recipe To Delete")
+                .instructions("1. Step one")
+                .ingredients(RecipeIngredient.listOf("Ingredient 1"))
+                .totalTimeMinutes(10)
+                .difficulty(DifficultyLevel.EASY)
+                .userId(ownerId)
+                .tags(List.of("Test"))
+                .build();
+        recipeId = recipeRepository.save(recipe).getId();
+    }
+
+    @Test
+    public void testDeleteRecipe_RemovesFavoritesVotesAndComments() throws Exception {
+        // Given: child rows from other users
+        UUID otherUserId = UUID.randomUUID();
+        favoriteRecipeRepository.save(FavoriteRecipe.builder().userId(otherUserId).recipeId(recipeId).build());
+        recipeVoteRepository.save(RecipeVote.builder()
+                .userId(otherUserId)
+                .recipeId(recipeId)
+                .voteType(RecipeVote.VoteType.UPVOTE)
+                .build());
+        commentRepository.save(Comment.builder()
+                .userId(otherUserId)
+                .username("other")
+                .recipeId(recipeId)
+                .content("Tasty")
+                .build());
+
+        // When
+        mockMvc.perform(delete("/api/v1/recipes/" + recipeId)
+                        .with(authentication(ownerAuthentication))
+                        .with(csrf()))
+                .andExpect(status().isNoContent());
+
+        // Then: nothing is left behind
+        assertFalse(recipeRepository.existsById(recipeId));
+        assertEquals(0, favoriteRecipeRepository.countByRecipeId(recipeId));
+        assertTrue(recipeVoteRepository.findByRecipeId(recipeId).isEmpty());
+        assertEquals(0, commentRepository.countByRecipeId(recipeId));
+    }
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.idachev.recipeservice.model.DifficultyLevel;
 import dev.idachev.recipeservice.model.FavoriteRecipe;
 import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.model.RecipeIngredient;
 import dev.idachev.recipeservice.repository.FavoriteRecipeRepository;
 import dev.idachev.recipeservice.repository.RecipeRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.test.context.ActiveProfiles;
@@ -59,7 +61,7 @@ public class FavoriteRecipeITest {
         Recipe recipe = Recipe.builder()
                 .title("Test Recipe")
                 .instructions("1. Step one\n2. Step two") // Use instructions
-                .ingredients("[\"Ingredient 1\", \"Ingredient 2\"]")
+                .ingredients(RecipeIngredient.listOf("Ingredient 1", "Ingredient 2"))
                 .totalTimeMinutes(30)
                 .difficulty(DifficultyLevel.EASY)
                 .userId(UUID.randomUUID()) // Different from test user
@@ -196,4 +198,28 @@ public class FavoriteRecipeITest {
         // Assert that only one favorite exists for this user and recipe combo
         assertEquals(1, favoriteRecipeRepository.findByUserIdAndRecipeId(testUserId, recipeId).stream().count());
     }
-} 
\ No newline at end of file
+
+    @Test
+    public void testBatchRemoveFromFavorites_ReturnsRowsActuallyDeleted() throws Exception {
+        // Given: one favorited recipe, plus an ID that was never favorited
+        favoriteRecipeRepository.save(FavoriteRecipe.builder()
+                .userId(testUserId)
+                .recipeId(recipeId)
+                .build());
+        UUID notFavoritedId = UUID.randomUUID();
+        String body = objectMapper.writeValueAsString(Map.of("recipeIds", List.of(recipeId, notFavoritedId)));
+
+        // When
+        MvcResult result = mockMvc.perform(delete("/api/v1/favorites/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body)
+                        .with(authentication(testAuthentication))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        assertEquals("1", result.getResponse().getContentAsString());
+        assertFalse(favoriteRecipeRepository.existsByUserIdAndRecipeId(testUserId, recipeId));
+    }
+}
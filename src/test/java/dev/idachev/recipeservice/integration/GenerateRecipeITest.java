@@ -57,7 +57,7 @@ public class GenerateRecipeITest {
                 "1. Season chicken\n2. Cook rice",
                 List.of("1 lb chicken", "2 cups rice"),
                 "http://example.com/image.jpg", 30, macros,
-                DifficultyLevel.MEDIUM, "Serve hot with vegetables", null);
+                DifficultyLevel.MEDIUM, "Serve hot with vegetables", null, null);
 
         when(aiService.generateRecipeFromIngredients(anyList())).thenReturn(mockResponse);
 
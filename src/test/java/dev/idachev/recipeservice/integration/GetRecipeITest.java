@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.idachev.recipeservice.model.DifficultyLevel;
 import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.model.RecipeIngredient;
 import dev.idachev.recipeservice.repository.RecipeRepository;
 import dev.idachev.recipeservice.user.client.UserClient;
 import org.junit.jupiter.api.AfterEach;
@@ -59,7 +60,7 @@ public class GetRecipeITest {
         recipeRepository.deleteAll();
         Recipe recipe = Recipe.builder()
                 .title("Test Recipe for Retrieval")
-                .ingredients("[\"Ingredient A\", \"Ingredient B\"]")
+                .ingredients(RecipeIngredient.listOf("Ingredient A", "Ingredient B"))
                 .instructions("Test Instructions")
                 .difficulty(DifficultyLevel.MEDIUM)
                 .totalTimeMinutes(45)
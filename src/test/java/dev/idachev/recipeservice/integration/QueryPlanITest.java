@@ -0,0 +1,398 @@
+package dev.idachev.recipeservice.integration;
+
+import dev.idachev.recipeservice.model.Comment;
+import dev.idachev.recipeservice.model.DifficultyLevel;
+import dev.idachev.recipeservice.model.FavoriteRecipe;
+import dev.idachev.recipeservice.model.ImageAsset;
+import dev.idachev.recipeservice.model.ImageStatus;
+import dev.idachev.recipeservice.model.Macros;
+import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.model.RecipeDeletion;
+import dev.idachev.recipeservice.model.RecipeIngredient;
+import dev.idachev.recipeservice.model.RecipeVote;
+import dev.idachev.recipeservice.repository.CommentRepository;
+import dev.idachev.recipeservice.repository.FavoriteRecipeRepository;
+import dev.idachev.recipeservice.repository.ImageAssetRepository;
+import dev.idachev.recipeservice.repository.RecipeDeletionRepository;
+import dev.idachev.recipeservice.repository.RecipeFilterRepository;
+import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.repository.RecipeVoteRepository;
+import dev.idachev.recipeservice.repository.TrendingScoreRepository;
+import dev.idachev.recipeservice.web.dto.RecipeFilterRequest;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@code EXPLAIN} on the SQL of every repository query against a seeded H2 database whose
+ * schema comes from the Flyway migrations, and fails if a query reads a whole table without being
+ * listed in {@link #FULL_SCANS_BY_DESIGN}. A repository method missing from {@link #queries()}
+ * fails the test too, so a new query ships with its index or a reason why it needs none.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplans;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "dev.idachev.recipeservice.integration.QueryPlanITest$CapturingStatementInspector"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class QueryPlanITest {
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            RecipeRepository.class, RecipeFilterRepository.class, CommentRepository.class,
+            FavoriteRecipeRepository.class, RecipeVoteRepository.class, ImageAssetRepository.class,
+            TrendingScoreRepository.class, RecipeDeletionRepository.class);
+
+    private static final Map<String, String> FULL_SCANS_BY_DESIGN = Map.ofEntries(
+            Map.entry("RecipeRepository#findByUserIdNot/2",
+                    "counts the recipes of every other user"),
+            Map.entry("RecipeRepository#findVersionsByUserIdNot/2",
+                    "counts the recipes of every other user, same as findByUserIdNot"),
+            Map.entry("RecipeRepository#findByTitleContainingIgnoreCaseOrServingSuggestionsContainingIgnoreCase/3",
+                    "substring search, which a B-tree index cannot serve"),
+            Map.entry("RecipeRepository#searchSummaries/2",
+                    "substring search, same as the full-recipe search"),
+            Map.entry("RecipeRepository#findIdsWithLegacyIngredients/1",
+                    "one-off backfill until the legacy column is empty"),
+            Map.entry("RecipeRepository#streamIngredientNames/0",
+                    "loads every recipe into the in-memory indexes"),
+            Map.entry("RecipeRepository#streamTags/0",
+                    "loads every recipe into the in-memory indexes"),
+            Map.entry("RecipeRepository#streamFilterStats/0",
+                    "samples every recipe for the filter planner"),
+            Map.entry("RecipeRepository#streamAll/0",
+                    "exports the whole catalogue"),
+            Map.entry("TrendingScoreRepository#findAllForUpdate/0",
+                    "merges into the whole trending snapshot"),
+            Map.entry("TrendingScoreRepository#deleteSnapshot/0",
+                    "replaces the whole trending snapshot"));
+
+    private static final int RECIPES = 60;
+    private static final int USERS = 6;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private FavoriteRecipeRepository favoriteRecipeRepository;
+    @Autowired
+    private RecipeVoteRepository recipeVoteRepository;
+    @Autowired
+    private ImageAssetRepository imageAssetRepository;
+    @Autowired
+    private TrendingScoreRepository trendingScoreRepository;
+    @Autowired
+    private RecipeDeletionRepository recipeDeletionRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSource dataSource;
+
+    private final List<UUID> userIds = new ArrayList<>();
+    private final List<UUID> recipeIds = new ArrayList<>();
+
+    /**
+     * Records the SQL Hibernate sends while a query of this test runs on the current thread.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String sql) {
+            List<String> captured = CAPTURED.get();
+            if (captured != null) {
+                captured.add(sql);
+            }
+            return sql;
+        }
+
+        static List<String> capture(Runnable query) {
+            List<String> captured = new ArrayList<>();
+            CAPTURED.set(captured);
+            try {
+                query.run();
+            } finally {
+                CAPTURED.remove();
+            }
+            return captured;
+        }
+    }
+
+    @BeforeAll
+    void seed() {
+        for (int i = 0; i < USERS; i++) {
+            userIds.add(UUID.randomUUID());
+        }
+        DifficultyLevel[] levels = DifficultyLevel.values();
+        List<Recipe> recipes = new ArrayList<>();
+        for (int i = 0; i < RECIPES; i++) {
+            recipes.add(Recipe.builder()
+                    .title("Recipe " + i)
+                    .instructions("Cook it")
+                    .servingSuggestions("Serve warm")
+                    .ingredients(RecipeIngredient.listOf("200g ingredient " + i, "1 onion", "salt"))
+                    .tags(new ArrayList<>(List.of("tag" + i % 10, i % 2 == 0 ? "quick" : "slow")))
+                    .userId(userIds.get(i % USERS))
+                    .totalTimeMinutes(10 + i % 90)
+                    .difficulty(levels[i % levels.length])
+                    .macros(Macros.builder()
+                            .calories(BigDecimal.valueOf(200 + i * 10))
+                            .proteinGrams(BigDecimal.valueOf(i % 50))
+                            .carbsGrams(BigDecimal.valueOf(40))
+                            .fatGrams(BigDecimal.valueOf(10))
+                            .build())
+                    .build());
+        }
+        recipeRepository.saveAll(recipes).forEach(recipe -> recipeIds.add(recipe.getId()));
+
+        for (int i = 0; i < RECIPES; i++) {
+            UUID recipeId = recipeIds.get(i);
+            for (int j = 1; j <= 3; j++) {
+                UUID userId = userIds.get((i + j) % USERS);
+                commentRepository.save(Comment.builder().content("Nice").userId(userId).username("user")
+                        .recipeId(recipeId).build());
+                favoriteRecipeRepository.save(FavoriteRecipe.builder().userId(userId).recipeId(recipeId).build());
+                recipeVoteRepository.save(RecipeVote.builder().userId(userId).recipeId(recipeId)
+                        .voteType(RecipeVote.VoteType.UPVOTE).build());
+            }
+        }
+        imageAssetRepository.save(ImageAsset.builder().contentHash("a".repeat(64))
+                .url("http://example.com/image.jpg").sizeBytes(1024L).build());
+        for (int i = 0; i < RECIPES; i++) {
+            recipeDeletionRepository.save(RecipeDeletion.builder().recipeId(UUID.randomUUID())
+                    .deletedAt(LocalDateTime.now().minusHours(i)).build());
+        }
+
+        // Give the optimizer real selectivities instead of its defaults
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    /**
+     * One call per repository query, keyed like {@link #key(Method)}.
+     */
+    private Map<String, Runnable> queries() {
+        UUID userId = userIds.get(0);
+        UUID recipeId = recipeIds.get(0);
+        Set<UUID> someRecipeIds = Set.copyOf(recipeIds.subList(0, 5));
+        Pageable newestFirst = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+        Pageable oldestFirst = PageRequest.of(0, 2, Sort.by("createdAt"));
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("RecipeRepository#findAll/1", () -> recipeRepository.findAll(newestFirst));
+        queries.put("RecipeRepository#findByUserId/1", () -> recipeRepository.findByUserId(userId));
+        queries.put("RecipeRepository#findByUserIdNot/2", () -> recipeRepository.findByUserIdNot(userId, newestFirst));
+        queries.put("RecipeRepository#findByTitleContainingIgnoreCaseOrServingSuggestionsContainingIgnoreCase/3",
+                () -> recipeRepository.findByTitleContainingIgnoreCaseOrServingSuggestionsContainingIgnoreCase(
+                        "recipe", "recipe", newestFirst));
+        queries.put("RecipeRepository#findSummaries/1", () -> recipeRepository.findSummaries(newestFirst));
+        queries.put("RecipeRepository#searchSummaries/2",
+                () -> recipeRepository.searchSummaries("recipe", newestFirst));
+        queries.put("RecipeRepository#findByTagsContainingAll/3",
+                () -> recipeRepository.findByTagsContainingAll(List.of("tag2", "quick"), 2, PageRequest.of(0, 2)));
+        queries.put("RecipeRepository#findVersionById/1", () -> recipeRepository.findVersionById(recipeId));
+        queries.put("RecipeRepository#findVersions/1", () -> recipeRepository.findVersions(newestFirst));
+        queries.put("RecipeRepository#findVersionsByUserIdNot/2",
+                () -> recipeRepository.findVersionsByUserIdNot(userId, newestFirst));
+        queries.put("RecipeRepository#findAllWithMacrosByIdIn/1",
+                () -> recipeRepository.findAllWithMacrosByIdIn(someRecipeIds));
+        queries.put("RecipeRepository#findExistingIds/1", () -> recipeRepository.findExistingIds(someRecipeIds));
+        queries.put("RecipeRepository#findIdsUpdatedSince/1",
+                () -> recipeRepository.findIdsUpdatedSince(LocalDateTime.now().minusMinutes(1)));
+        queries.put("RecipeRepository#findIngredientNames/1", () -> recipeRepository.findIngredientNames(someRecipeIds));
+        queries.put("RecipeRepository#findTags/1", () -> recipeRepository.findTags(someRecipeIds));
+        queries.put("RecipeRepository#findIdsWithLegacyIngredients/1",
+                () -> recipeRepository.findIdsWithLegacyIngredients(PageRequest.of(0, 10)));
+        queries.put("RecipeRepository#clearLegacyIngredients/1",
+                () -> recipeRepository.clearLegacyIngredients(someRecipeIds));
+        queries.put("RecipeRepository#streamIngredientNames/0", () -> consume(recipeRepository.streamIngredientNames()));
+        queries.put("RecipeRepository#streamTags/0", () -> consume(recipeRepository.streamTags()));
+        queries.put("RecipeRepository#streamFilterStats/0", () -> consume(recipeRepository.streamFilterStats()));
+        queries.put("RecipeRepository#streamByUserId/1", () -> consume(recipeRepository.streamByUserId(userId)));
+        queries.put("RecipeRepository#streamAll/0", () -> consume(recipeRepository.streamAll()));
+        UUID uploadToken = UUID.randomUUID();
+        queries.put("RecipeRepository#updateImage/4", () -> recipeRepository.updateImage(
+                recipeId, uploadToken, "http://example.com/new.jpg", ImageStatus.READY));
+        queries.put("RecipeRepository#updateImageVariants/5",
+                () -> recipeRepository.updateImageVariants(recipeId, uploadToken, "thumb", "card", "full"));
+        queries.put("RecipeRepository#updateImageStatus/3",
+                () -> recipeRepository.updateImageStatus(recipeId, uploadToken, ImageStatus.FAILED));
+        queries.put("RecipeFilterRepository#findByFilter/3", () -> {
+            recipeRepository.findByFilter(new RecipeFilterRequest(30, null, null, null, null, null, null, null,
+                    null, null), RecipeFilterRepository.Index.TOTAL_TIME, PageRequest.of(0, 2));
+            recipeRepository.findByFilter(new RecipeFilterRequest(30, DifficultyLevel.EASY, null, null, null, null,
+                    null, null, null, null), RecipeFilterRepository.Index.DIFFICULTY_TIME, PageRequest.of(0, 2));
+            recipeRepository.findByFilter(new RecipeFilterRequest(null, null, null, BigDecimal.valueOf(500), null,
+                    null, null, null, null, null), RecipeFilterRepository.Index.CALORIES, PageRequest.of(0, 2));
+            recipeRepository.findByFilter(new RecipeFilterRequest(null, null, null, null, BigDecimal.valueOf(40),
+                    null, null, null, null, null), RecipeFilterRepository.Index.PROTEIN, PageRequest.of(0, 2));
+        });
+
+        queries.put("CommentRepository#findByRecipeId/2", () -> commentRepository.findByRecipeId(recipeId, oldestFirst));
+        queries.put("CommentRepository#findByUserId/2", () -> commentRepository.findByUserId(userId, newestFirst));
+        queries.put("CommentRepository#countByRecipeId/1", () -> commentRepository.countByRecipeId(recipeId));
+        queries.put("CommentRepository#countByRecipeIdIn/1", () -> commentRepository.countByRecipeIdIn(someRecipeIds));
+        queries.put("CommentRepository#deleteByRecipeId/1", () -> commentRepository.deleteByRecipeId(recipeId));
+
+        queries.put("FavoriteRecipeRepository#findByUserId/2",
+                () -> favoriteRecipeRepository.findByUserId(userId, PageRequest.of(0, 2)));
+        queries.put("FavoriteRecipeRepository#findByUserId/1", () -> favoriteRecipeRepository.findByUserId(userId));
+        queries.put("FavoriteRecipeRepository#streamByUserId/1",
+                () -> consume(favoriteRecipeRepository.streamByUserId(userId)));
+        queries.put("FavoriteRecipeRepository#findByRecipeId/1", () -> favoriteRecipeRepository.findByRecipeId(recipeId));
+        queries.put("FavoriteRecipeRepository#existsByUserIdAndRecipeId/2",
+                () -> favoriteRecipeRepository.existsByUserIdAndRecipeId(userId, recipeId));
+        queries.put("FavoriteRecipeRepository#countByRecipeId/1",
+                () -> favoriteRecipeRepository.countByRecipeId(recipeId));
+        queries.put("FavoriteRecipeRepository#findByUserIdAndRecipeId/2",
+                () -> favoriteRecipeRepository.findByUserIdAndRecipeId(userId, recipeId));
+        queries.put("FavoriteRecipeRepository#deleteByUserIdAndRecipeId/2",
+                () -> favoriteRecipeRepository.deleteByUserIdAndRecipeId(userId, recipeIds.get(1)));
+        queries.put("FavoriteRecipeRepository#findFavoriteTimes/2",
+                () -> favoriteRecipeRepository.findFavoriteTimes(userId, someRecipeIds));
+        queries.put("FavoriteRecipeRepository#deleteByUserIdAndRecipeIdIn/2",
+                () -> favoriteRecipeRepository.deleteByUserIdAndRecipeIdIn(userId, someRecipeIds));
+        queries.put("FavoriteRecipeRepository#deleteByRecipeId/1",
+                () -> favoriteRecipeRepository.deleteByRecipeId(recipeId));
+        queries.put("FavoriteRecipeRepository#countFavoritesByRecipeIds/1",
+                () -> favoriteRecipeRepository.countFavoritesByRecipeIds(someRecipeIds));
+        queries.put("FavoriteRecipeRepository#findUserFavoriteRecipeIds/2",
+                () -> favoriteRecipeRepository.findUserFavoriteRecipeIds(userId, someRecipeIds));
+
+        queries.put("RecipeVoteRepository#findByUserIdAndRecipeId/2",
+                () -> recipeVoteRepository.findByUserIdAndRecipeId(userId, recipeId));
+        queries.put("RecipeVoteRepository#findByRecipeId/1", () -> recipeVoteRepository.findByRecipeId(recipeId));
+        queries.put("RecipeVoteRepository#findByUserId/1", () -> recipeVoteRepository.findByUserId(userId));
+        queries.put("RecipeVoteRepository#findByUserIdAndRecipeIdIn/2",
+                () -> recipeVoteRepository.findByUserIdAndRecipeIdIn(userId, someRecipeIds));
+        queries.put("RecipeVoteRepository#deleteByRecipeId/1", () -> recipeVoteRepository.deleteByRecipeId(recipeId));
+
+        queries.put("ImageAssetRepository#existsByUrl/1",
+                () -> imageAssetRepository.existsByUrl("http://example.com/image.jpg"));
+
+        queries.put("TrendingScoreRepository#findAllForUpdate/0", () -> trendingScoreRepository.findAllForUpdate());
+        queries.put("TrendingScoreRepository#deleteSnapshot/0", () -> trendingScoreRepository.deleteSnapshot());
+
+        queries.put("RecipeDeletionRepository#findRecipeIdsDeletedSince/1",
+                () -> recipeDeletionRepository.findRecipeIdsDeletedSince(LocalDateTime.now().minusMinutes(3)));
+        queries.put("RecipeDeletionRepository#deleteDeletedBefore/1",
+                () -> recipeDeletionRepository.deleteDeletedBefore(LocalDateTime.now().minusDays(1)));
+        return queries;
+    }
+
+    @Test
+    public void repositoryQueries_AreAllExplained() {
+        Set<String> declared = new TreeSet<>();
+        for (Class<?> repository : REPOSITORIES) {
+            Arrays.stream(repository.getDeclaredMethods())
+                    .filter(method -> !method.isDefault() && !method.isSynthetic()
+                            && !Modifier.isStatic(method.getModifiers()))
+                    .map(QueryPlanITest::key)
+                    .forEach(declared::add);
+        }
+
+        assertThat(queries().keySet()).containsAll(declared);
+    }
+
+    @Test
+    public void repositoryQueries_DoNotScanWholeTables() throws SQLException {
+        List<String> fullScans = new ArrayList<>();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        for (Map.Entry<String, Runnable> query : queries().entrySet()) {
+            List<String> statements = transaction.execute(status -> {
+                // Roll back, so writing queries leave the seed data as it is for the next one
+                status.setRollbackOnly();
+                return CapturingStatementInspector.capture(query.getValue());
+            });
+            assertThat(statements).as("SQL of %s", query.getKey()).isNotEmpty();
+
+            for (String sql : statements) {
+                String plan = explain(sql);
+                if (scansWholeTable(plan) && !FULL_SCANS_BY_DESIGN.containsKey(query.getKey())) {
+                    fullScans.add(query.getKey() + ":\n" + plan);
+                }
+            }
+        }
+
+        assertThat(fullScans).as("Queries reading a whole table").isEmpty();
+    }
+
+    private String explain(String sql) throws SQLException {
+        String statement = sql.strip().toLowerCase(Locale.ROOT);
+        if (!statement.startsWith("select") && !statement.startsWith("update") && !statement.startsWith("delete")) {
+            return "";
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            // The plan does not depend on the values, only on which columns are compared
+            int parameters = explain.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                explain.setNull(i, Types.NULL);
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = explain.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    /**
+     * H2 marks a full read with "tableScan"; an unfiltered count is answered from the row count
+     * ("direct lookup") without reading rows.
+     */
+    private static boolean scansWholeTable(String plan) {
+        return plan.contains(".tableScan") && !plan.contains("direct lookup");
+    }
+
+    private static String key(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "#" + method.getName() + "/" + method.getParameterCount();
+    }
+
+    private static void consume(Stream<?> stream) {
+        try (stream) {
+            stream.findFirst();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package dev.idachev.recipeservice.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing against two H2 databases standing in for the primary ("testdb") and the replica.
+ */
+@SpringBootTest(properties = {
+        "recipe.datasource.replica.enabled=true",
+        "recipe.datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "recipe.datasource.replica.username=sa",
+        "recipe.datasource.replica.password=",
+        "recipe.datasource.replica.driver-class-name=org.h2.Driver",
+        "recipe.datasource.replica.lag-window=1h"
+})
+@ActiveProfiles("test")
+public class ReadWriteRoutingITest {
+
+    private static final String CURRENT_DATABASE = "SELECT DATABASE()";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private String database(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbcTemplate.queryForObject(CURRENT_DATABASE, String.class));
+    }
+
+    @Test
+    public void readOnlyTransaction_UsesReplica() {
+        assertThat(database(true)).isEqualToIgnoringCase("replica");
+    }
+
+    @Test
+    public void readWriteTransaction_UsesPrimary() {
+        assertThat(database(false)).isEqualToIgnoringCase("testdb");
+    }
+
+    @Test
+    public void noTransaction_UsesPrimary() {
+        assertThat(jdbcTemplate.queryForObject(CURRENT_DATABASE, String.class)).isEqualToIgnoringCase("testdb");
+    }
+
+    @Test
+    public void readAfterOwnWrite_UsesPrimary() {
+        UUID userId = UUID.randomUUID();
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+
+        database(false);
+
+        assertThat(database(true)).isEqualToIgnoringCase("testdb");
+
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(UUID.randomUUID(), null, List.of()));
+        assertThat(database(true)).isEqualToIgnoringCase("replica");
+    }
+}
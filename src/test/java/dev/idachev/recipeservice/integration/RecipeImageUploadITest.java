@@ -0,0 +1,127 @@
+package dev.idachev.recipeservice.integration;
+
+import dev.idachev.recipeservice.infrastructure.storage.ImageService;
+import dev.idachev.recipeservice.model.DifficultyLevel;
+import dev.idachev.recipeservice.model.ImageStatus;
+import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.model.RecipeIngredient;
+import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.service.RecipeImageService;
+import dev.idachev.recipeservice.service.RecipeImageService.StagedImage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Uploads handed to the executor after the request transaction commits, with one upload thread
+ * and room for one more upload in the queue.
+ */
+@SpringBootTest(properties = {
+        "recipe.image-upload.threads=1",
+        "recipe.image-upload.queue-capacity=1"
+})
+@ActiveProfiles("test")
+public class RecipeImageUploadITest {
+
+    private static final long TIMEOUT_MS = 5000;
+
+    @Autowired
+    private RecipeImageService recipeImageService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private ImageService imageService;
+
+    private final CountDownLatch uploadsReleased = new CountDownLatch(1);
+    private final List<UUID> createdRecipeIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanup() {
+        uploadsReleased.countDown();
+        recipeRepository.deleteAllById(createdRecipeIds);
+    }
+
+    private UUID savePendingRecipe(String title, UUID uploadToken) {
+        Recipe recipe = recipeRepository.save(Recipe.builder()
+                .title(title)
+                .ingredients(RecipeIngredient.listOf("Flour", "Water"))
+                .instructions("Mix and bake")
+                .difficulty(DifficultyLevel.EASY)
+                .totalTimeMinutes(20)
+                .userId(UUID.randomUUID())
+                .imageStatus(ImageStatus.PENDING)
+                .imageUploadToken(uploadToken)
+                .build());
+        createdRecipeIds.add(recipe.getId());
+        return recipe.getId();
+    }
+
+    private StagedImage stage(String name) {
+        return recipeImageService.stageImage(new MockMultipartFile("image", name, "image/jpeg", new byte[]{1, 2, 3}));
+    }
+
+    private ImageStatus imageStatus(UUID recipeId) {
+        return recipeRepository.findById(recipeId).orElseThrow().getImageStatus();
+    }
+
+    private void awaitImageStatus(UUID recipeId, ImageStatus expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (imageStatus(recipeId) != expected && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        assertThat(imageStatus(recipeId)).isEqualTo(expected);
+    }
+
+    @Test
+    public void uploadAfterCommit_QueueFull_PersistsFailedStatus() throws Exception {
+        when(imageService.uploadImage(any(Path.class), anyString())).thenAnswer(invocation -> {
+            uploadsReleased.await(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            return "https://cdn.example.com/" + invocation.getArgument(1);
+        });
+        UUID runningToken = UUID.randomUUID();
+        UUID queuedToken = UUID.randomUUID();
+        UUID rejectedToken = UUID.randomUUID();
+        UUID running = savePendingRecipe("Running upload", runningToken);
+        UUID queued = savePendingRecipe("Queued upload", queuedToken);
+        UUID rejected = savePendingRecipe("Rejected upload", rejectedToken);
+        StagedImage rejectedImage = stage("rejected.jpg");
+
+        // One transaction, so all three are handed to the executor from afterCommit
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            recipeImageService.uploadAfterCommit(running, runningToken, stage("running.jpg"));
+            recipeImageService.uploadAfterCommit(queued, queuedToken, stage("queued.jpg"));
+            recipeImageService.uploadAfterCommit(rejected, rejectedToken, rejectedImage);
+        });
+
+        assertThat(imageStatus(rejected)).isEqualTo(ImageStatus.FAILED);
+        assertThat(rejectedImage.file()).doesNotExist();
+        assertThat(imageStatus(queued)).isEqualTo(ImageStatus.PENDING);
+
+        uploadsReleased.countDown();
+        awaitImageStatus(running, ImageStatus.READY);
+        awaitImageStatus(queued, ImageStatus.READY);
+    }
+}
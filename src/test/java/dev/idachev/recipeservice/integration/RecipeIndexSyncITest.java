@@ -0,0 +1,120 @@
+package dev.idachev.recipeservice.integration;
+
+import dev.idachev.recipeservice.infrastructure.search.IngredientIndex;
+import dev.idachev.recipeservice.infrastructure.search.MinHashIndex;
+import dev.idachev.recipeservice.model.DifficultyLevel;
+import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.model.RecipeDeletion;
+import dev.idachev.recipeservice.model.RecipeIngredient;
+import dev.idachev.recipeservice.repository.RecipeDeletionRepository;
+import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.service.RecipeIndexUpdater;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Recipes written straight through the repository publish no commit events, like recipes
+ * written by another instance; only the periodic catch-up brings them into the indexes. Deletions
+ * are recorded in recipe_deletions, as {@code RecipeService.deleteRecipe} does on that instance.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class RecipeIndexSyncITest {
+
+    private static final List<String> PANTRY = List.of("Sumac", "Freekeh");
+
+    @Autowired
+    private RecipeIndexUpdater recipeIndexUpdater;
+
+    @Autowired
+    private IngredientIndex ingredientIndex;
+
+    @Autowired
+    private MinHashIndex minHashIndex;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private RecipeDeletionRepository recipeDeletionRepository;
+
+    private final List<UUID> createdRecipeIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanup() {
+        recipeRepository.deleteAllById(recipeRepository.findExistingIds(createdRecipeIds));
+    }
+
+    private UUID saveWithoutEvents(String title, List<String> ingredients) {
+        Recipe recipe = recipeRepository.save(Recipe.builder()
+                .title(title)
+                .ingredients(RecipeIngredient.listOf(ingredients.toArray(String[]::new)))
+                .instructions("Toast and simmer")
+                .difficulty(DifficultyLevel.EASY)
+                .totalTimeMinutes(25)
+                .userId(UUID.randomUUID())
+                .tags(new ArrayList<>(List.of("levant", "grain")))
+                .build());
+        createdRecipeIds.add(recipe.getId());
+        return recipe.getId();
+    }
+
+    private void deleteWithoutEvents(UUID recipeId) {
+        recipeRepository.deleteById(recipeId);
+        recipeDeletionRepository.save(RecipeDeletion.of(recipeId));
+    }
+
+    private List<UUID> pantryMatches() {
+        return ingredientIndex.topMatches(PANTRY, 10).stream()
+                .map(IngredientIndex.Match::recipeId)
+                .toList();
+    }
+
+    private List<UUID> similarTo(UUID recipeId) {
+        return minHashIndex.similar(recipeId, 10).stream()
+                .map(MinHashIndex.Similar::recipeId)
+                .toList();
+    }
+
+    @Test
+    public void syncIndexes_RecipeWrittenElsewhere_IndexedThenRemoved() {
+        UUID recipeId = saveWithoutEvents("Freekeh pilaf", PANTRY);
+        assertThat(pantryMatches()).doesNotContain(recipeId);
+
+        recipeIndexUpdater.syncIndexes();
+
+        assertThat(pantryMatches()).contains(recipeId);
+
+        deleteWithoutEvents(recipeId);
+        recipeIndexUpdater.syncIndexes();
+
+        assertThat(pantryMatches()).doesNotContain(recipeId);
+    }
+
+    @Test
+    public void syncIndexes_SimilarRecipesWrittenElsewhere_LinkedThenUnlinked() {
+        UUID pilaf = saveWithoutEvents("Freekeh pilaf", PANTRY);
+        UUID salad = saveWithoutEvents("Freekeh salad", PANTRY);
+        assertThat(similarTo(pilaf)).isEmpty();
+
+        recipeIndexUpdater.syncIndexes();
+
+        // Same ingredients and tags, so the signatures are identical
+        assertThat(similarTo(pilaf)).contains(salad);
+
+        deleteWithoutEvents(salad);
+        recipeIndexUpdater.syncIndexes();
+
+        assertThat(similarTo(pilaf)).doesNotContain(salad);
+        assertThat(minHashIndex.similar(salad, 10)).isEmpty();
+    }
+}
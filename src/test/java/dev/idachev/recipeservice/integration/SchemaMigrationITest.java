@@ -0,0 +1,79 @@
+package dev.idachev.recipeservice.integration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Connection;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Upgrades a database in the state the last pre-Flyway release left it, the way production
+ * databases are upgraded: baselined at V1 on first start, then migrated. The result must have
+ * every column the entities map, as Hibernate creates them for the test profile.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class SchemaMigrationITest {
+
+    private static final String COLUMNS = "SELECT TABLE_NAME, COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS "
+            + "WHERE TABLE_SCHEMA = 'PUBLIC'";
+
+    private static final String RECIPE_WITH_IMAGE = "X'00000000000000000000000000000001'";
+    private static final String RECIPE_WITHOUT_IMAGE = "X'00000000000000000000000000000002'";
+
+    // Schema created by Hibernate from the current entities
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static Set<String> columns(JdbcTemplate jdbc) {
+        return new HashSet<>(jdbc.query(COLUMNS,
+                (rs, row) -> (rs.getString(1) + "." + rs.getString(2)).toLowerCase()));
+    }
+
+    @Test
+    public void releaseDatabase_MigratesToEntitySchema() throws Exception {
+        DriverManagerDataSource release =
+                new DriverManagerDataSource("jdbc:h2:mem:release;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate releaseJdbc = new JdbcTemplate(release);
+        try (Connection connection = release.getConnection()) {
+            // V1 is the release schema; applied here without Flyway, as ddl-auto did
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__baseline_schema.sql"));
+        }
+        releaseJdbc.execute("INSERT INTO macros (id, calories, protein_grams) VALUES "
+                + "(X'000000000000000000000000000000AA', 520.00, 21.00)");
+        releaseJdbc.execute("INSERT INTO recipe (id, version, title, image_url, macros_id) VALUES ("
+                + RECIPE_WITH_IMAGE + ", 0, 'Carbonara', 'https://cdn.example.com/carbonara.jpg', "
+                + "X'000000000000000000000000000000AA')");
+        releaseJdbc.execute("INSERT INTO recipe (id, version, title) VALUES (" + RECIPE_WITHOUT_IMAGE + ", 0, 'Soup')");
+
+        MigrateResult result = Flyway.configure()
+                .dataSource(release)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        // Baselined, so V1 itself is skipped
+        assertThat(result.migrations).extracting(migration -> migration.version)
+                .doesNotContain("1")
+                .contains("2", "9");
+        assertThat(columns(releaseJdbc)).containsAll(columns(jdbcTemplate));
+        assertThat(releaseJdbc.queryForObject(
+                "SELECT image_status FROM recipe WHERE id = " + RECIPE_WITH_IMAGE, String.class)).isEqualTo("READY");
+        assertThat(releaseJdbc.queryForObject(
+                "SELECT image_status FROM recipe WHERE id = " + RECIPE_WITHOUT_IMAGE, String.class)).isEqualTo("NONE");
+        assertThat(releaseJdbc.queryForObject(
+                "SELECT calories FROM recipe WHERE id = " + RECIPE_WITH_IMAGE, Double.class)).isEqualTo(520.0);
+    }
+}
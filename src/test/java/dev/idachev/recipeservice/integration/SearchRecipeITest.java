@@ -4,13 +4,18 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.idachev.recipeservice.model.DifficultyLevel;
 import dev.idachev.recipeservice.model.Macros;
 import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.model.RecipeIngredient;
+import dev.idachev.recipeservice.repository.RecipeFilterRepository;
 import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.web.dto.RecipeFilterRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -21,6 +26,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -50,7 +56,7 @@ public class SearchRecipeITest {
         // Create test recipes
         Recipe recipe1 = Recipe.builder()
                 .title("Pasta Carbonara")
-                .ingredients("[\"Pasta\", \"Eggs\", \"Parmesan\", \"Bacon\"]")
+                .ingredients(RecipeIngredient.listOf("Pasta", "Eggs", "Parmesan", "Bacon"))
                 .instructions("1. Cook pasta\n2. Mix with eggs and cheese")
                 .servingSuggestions("Serve with garlic bread")
                 .imageUrl("http://example.com/image.jpg")
@@ -70,7 +76,7 @@ public class SearchRecipeITest {
 
         Recipe recipe2 = Recipe.builder()
                 .title("Chicken Curry")
-                .ingredients("[\"Chicken\", \"Curry Powder\", \"Coconut Milk\"]")
+                .ingredients(RecipeIngredient.listOf("Chicken", "Curry Powder", "Coconut Milk"))
                 .instructions("1. Cook chicken\n2. Add curry sauce")
                 .servingSuggestions("Serve with rice and naan bread")
                 .imageUrl("http://example.com/image.jpg")
@@ -90,7 +96,7 @@ public class SearchRecipeITest {
 
         Recipe recipe3 = Recipe.builder()
                 .title("Beef Stir Fry")
-                .ingredients("[\"Beef\", \"Bell Peppers\", \"Soy Sauce\"]")
+                .ingredients(RecipeIngredient.listOf("Beef", "Bell Peppers", "Soy Sauce"))
                 .instructions("1. Stir fry beef\n2. Add vegetables")
                 .servingSuggestions("Serve with steamed rice")
                 .imageUrl("http://example.com/image.jpg")
@@ -165,4 +171,40 @@ public class SearchRecipeITest {
                 .andExpect(jsonPath("$.content", hasSize(1)))
                 .andExpect(jsonPath("$.content[0].title", is("Chicken Curry")));
     }
-} 
\ No newline at end of file
+
+    @Test
+    @WithMockUser
+    public void testFilterRecipes_ByDifficultyAndTime() throws Exception {
+        mockMvc.perform(get("/api/v1/recipes/filter")
+                        .param("difficulty", "EASY")
+                        .param("maxTotalTimeMinutes", "30")
+                        .param("maxCalories", "600"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(1)))
+                .andExpect(jsonPath("$.content[0].title", is("Beef Stir Fry")))
+                .andExpect(jsonPath("$.content[0].macros.calories", is(450.0)));
+    }
+
+    @Test
+    @WithMockUser
+    public void testFilterRecipes_NoResults() throws Exception {
+        mockMvc.perform(get("/api/v1/recipes/filter")
+                        .param("minProteinGrams", "40"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(0)))
+                .andExpect(jsonPath("$.content", hasSize(0)));
+    }
+
+    @Test
+    public void testFindByFilter_WithIndexHint() {
+        RecipeFilterRequest filter = new RecipeFilterRequest(null, null, BigDecimal.valueOf(400),
+                BigDecimal.valueOf(500), null, null, null, null, null, null);
+
+        Page<Recipe> page = recipeRepository.findByFilter(filter, RecipeFilterRepository.Index.CALORIES,
+                PageRequest.of(0, 2));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getContent().get(0).getNutrition().getProteinGrams()).isEqualByComparingTo("30");
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.idachev.recipeservice.model.DifficultyLevel;
 import dev.idachev.recipeservice.model.Macros;
 import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.model.RecipeIngredient;
 import dev.idachev.recipeservice.repository.RecipeRepository;
 import dev.idachev.recipeservice.user.client.UserClient;
 import dev.idachev.recipeservice.web.dto.RecipeResponse;
@@ -81,7 +82,7 @@ public class VoteRecipeITest {
 
         Recipe recipe = Recipe.builder()
                 .title("Test Recipe for Voting")
-                .ingredients("[\"Ingredient 1\", \"Ingredient 2\"]")
+                .ingredients(RecipeIngredient.listOf("Ingredient 1", "Ingredient 2"))
                 .instructions("1. Step one\\n2. Step two")
                 .servingSuggestions("Serve with wine")
                 .imageUrl("http://example.com/image.jpg")
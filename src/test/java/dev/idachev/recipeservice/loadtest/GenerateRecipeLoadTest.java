@@ -0,0 +1,216 @@
+package dev.idachev.recipeservice.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.idachev.recipeservice.infrastructure.storage.ImageStorage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Drives /api/v1/recipes/generate against the in-process OpenAI stub and reports throughput
+ * and latency percentiles. Excluded from the regular test run; use {@code ./gradlew loadTest}
+ * and override the "loadtest" profile values with -Dloadtest.*=... to change the scenario.
+ */
+@Tag("load")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "loadtest"})
+class GenerateRecipeLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(GenerateRecipeLoadTest.class);
+
+    private static final OpenAiStubServer STUB = OpenAiStubServer.start(OpenAiStubServer.Settings.defaults());
+
+    private static final List<List<String>> INGREDIENT_SETS = List.of(
+            List.of("chicken", "rice", "garlic"),
+            List.of("chickpeas", "spinach", "tomato"),
+            List.of("salmon", "miso", "ginger"),
+            List.of("mushrooms", "arborio rice", "parmesan"),
+            List.of("eggs", "potatoes", "onion"));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private ImageStorage imageStorage;
+
+    @Value("${loadtest.concurrency}")
+    private int concurrency;
+
+    @Value("${loadtest.requests}")
+    private int requests;
+
+    @Value("${loadtest.warmup-requests}")
+    private int warmupRequests;
+
+    @Value("${loadtest.stub.chat-median-ms}")
+    private long chatMedianMillis;
+
+    @Value("${loadtest.stub.chat-p99-ms}")
+    private long chatP99Millis;
+
+    @Value("${loadtest.stub.image-median-ms}")
+    private long imageMedianMillis;
+
+    @Value("${loadtest.stub.image-p99-ms}")
+    private long imageP99Millis;
+
+    @Value("${loadtest.stub.error-rate}")
+    private double errorRate;
+
+    @Value("${loadtest.stub.rate-limit-rate}")
+    private double rateLimitRate;
+
+    @DynamicPropertySource
+    static void openAiStubProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.ai.openai.base-url", STUB::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        STUB.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Skip the upload hop; keep the stub's image URL as the stored one
+        when(imageStorage.storeDownloaded(any(Path.class), anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+    }
+
+    @Test
+    @DisplayName("Generate under load with healthy provider")
+    void generate_HealthyProvider() throws Exception {
+        STUB.configure(settings(0.0, 0.0));
+
+        LoadTestReport report = run("generate - healthy provider");
+
+        assertThat(report.count(200)).isEqualTo(report.requests());
+    }
+
+    @Test
+    @DisplayName("Generate under load with provider errors and rate limits")
+    void generate_FlakyProvider() throws Exception {
+        STUB.configure(settings(errorRate, rateLimitRate));
+
+        LoadTestReport report = run("generate - flaky provider");
+
+        assertThat(report.count(200)).isPositive();
+    }
+
+    private OpenAiStubServer.Settings settings(double errors, double rateLimits) {
+        return new OpenAiStubServer.Settings(
+                OpenAiStubServer.Latency.of(chatMedianMillis, chatP99Millis),
+                OpenAiStubServer.Latency.of(imageMedianMillis, imageP99Millis),
+                errors, rateLimits);
+    }
+
+    private LoadTestReport run(String scenario) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        try {
+            execute(clients, warmupRequests, new long[warmupRequests], new ConcurrentHashMap<>());
+
+            long chatBefore = STUB.chatRequests();
+            long imageBefore = STUB.imageRequests();
+            double retriesBefore = sumCounters("ai.client.retries");
+            double hedgesBefore = sumCounters("ai.client.hedges");
+
+            long[] latencies = new long[requests];
+            Map<Integer, Long> statuses = new ConcurrentHashMap<>();
+            long start = System.nanoTime();
+            execute(clients, requests, latencies, statuses);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            LoadTestReport report = LoadTestReport.of(scenario, latencies, elapsed, statuses);
+            log.info("{}{}concurrency: {}, stub chat calls: {}, stub image calls: {}, retries: {}, hedges: {}",
+                    report, System.lineSeparator(), concurrency,
+                    STUB.chatRequests() - chatBefore, STUB.imageRequests() - imageBefore,
+                    (long) (sumCounters("ai.client.retries") - retriesBefore),
+                    (long) (sumCounters("ai.client.hedges") - hedgesBefore));
+            return report;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private void execute(ExecutorService clients, int count, long[] latencies, Map<Integer, Long> statuses)
+            throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(clients.submit(() -> {
+                int index;
+                while ((index = next.getAndIncrement()) < count) {
+                    long begin = System.nanoTime();
+                    int status = generate();
+                    latencies[index] = System.nanoTime() - begin;
+                    statuses.merge(status, 1L, Long::sum);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get(30, TimeUnit.MINUTES);
+        }
+    }
+
+    private int generate() throws Exception {
+        List<String> ingredients = INGREDIENT_SETS.get(ThreadLocalRandom.current().nextInt(INGREDIENT_SETS.size()));
+        return mockMvc.perform(post("/api/v1/recipes/generate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ingredients))
+                        .with(user(UUID.randomUUID().toString()).roles("USER"))
+                        .with(csrf()))
+                .andReturn()
+                .getResponse()
+                .getStatus();
+    }
+
+    private double sumCounters(String name) {
+        return meterRegistry.find(name).counters().stream().mapToDouble(Counter::count).sum();
+    }
+}
@@ -0,0 +1,47 @@
+package dev.idachev.recipeservice.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Throughput and latency percentiles of a finished load-test run.
+ */
+public record LoadTestReport(String scenario, int requests, Duration elapsed, double throughputPerSecond,
+                             long p50Millis, long p90Millis, long p99Millis, long maxMillis,
+                             Map<Integer, Long> statusCounts) {
+
+    public static LoadTestReport of(String scenario, long[] latencyNanos, Duration elapsed,
+                                    Map<Integer, Long> statusCounts) {
+        long[] sorted = latencyNanos.clone();
+        Arrays.sort(sorted);
+        double seconds = Math.max(elapsed.toNanos(), 1) / 1_000_000_000.0;
+        return new LoadTestReport(scenario, sorted.length, elapsed, sorted.length / seconds,
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.90), percentileMillis(sorted, 0.99),
+                sorted.length == 0 ? 0 : Duration.ofNanos(sorted[sorted.length - 1]).toMillis(),
+                new TreeMap<>(statusCounts));
+    }
+
+    public long count(int status) {
+        return statusCounts.getOrDefault(status, 0L);
+    }
+
+    private static long percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return Duration.ofNanos(sorted[Math.max(index, 0)]).toMillis();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%n=== %s ===%n" +
+                        "requests: %d in %.1fs -> %.1f req/s%n" +
+                        "latency ms: p50=%d p90=%d p99=%d max=%d%n" +
+                        "status codes: %s",
+                scenario, requests, elapsed.toMillis() / 1000.0, throughputPerSecond,
+                p50Millis, p90Millis, p99Millis, maxMillis, statusCounts);
+    }
+}
@@ -0,0 +1,286 @@
+package dev.idachev.recipeservice.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the OpenAI chat completions and image generations APIs.
+ * Point {@code spring.ai.openai.base-url} at {@link #baseUrl()} to exercise the AI path
+ * without calling OpenAI. Latency is drawn from a log-normal distribution defined by its
+ * median and p99, and a configurable share of calls fails with 5xx or 429 responses.
+ * Settings can be swapped at runtime with {@link #configure(Settings)}.
+ * <p>
+ * Can also be started standalone: {@code ./gradlew openAiStub -PstubArgs="8089 800 3000 0.02 0.01"}
+ * (port, chat median ms, chat p99 ms, error rate, rate-limit rate).
+ */
+public class OpenAiStubServer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenAiStubServer.class);
+
+    private static final String CANNED_RECIPES = "/loadtest/canned-recipes.json";
+    private static final double Z_99 = 2.326;
+    private static final byte[] PIXEL_PNG = Base64.getDecoder().decode(
+            "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mP8z8BQDwAEhQGAhKmMIQAAAABJRU5ErkJggg==");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> cannedRecipes;
+    private final AtomicInteger recipeCursor = new AtomicInteger();
+    private final AtomicLong chatRequests = new AtomicLong();
+    private final AtomicLong imageRequests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private final AtomicLong injectedRateLimits = new AtomicLong();
+
+    private volatile Settings settings;
+
+    /**
+     * Latency, failure and rate-limit behaviour of the stub.
+     *
+     * @param chatLatency     latency of chat completion calls
+     * @param imageLatency    latency of image generation calls
+     * @param errorRate       share of calls answered with 500 (0..1)
+     * @param rateLimitRate   share of calls answered with 429 (0..1)
+     */
+    public record Settings(Latency chatLatency, Latency imageLatency, double errorRate, double rateLimitRate) {
+
+        public static Settings defaults() {
+            return new Settings(Latency.of(800, 3_000), Latency.of(2_000, 6_000), 0.0, 0.0);
+        }
+    }
+
+    /**
+     * Log-normal latency given by its median and 99th percentile, in milliseconds.
+     */
+    public record Latency(long medianMillis, long p99Millis) {
+
+        public static Latency of(long medianMillis, long p99Millis) {
+            return new Latency(medianMillis, Math.max(medianMillis, p99Millis));
+        }
+
+        public static Latency none() {
+            return new Latency(0, 0);
+        }
+
+        long sampleMillis() {
+            if (medianMillis <= 0) {
+                return 0;
+            }
+            double sigma = Math.log((double) p99Millis / medianMillis) / Z_99;
+            double gaussian = ThreadLocalRandom.current().nextGaussian();
+            return Math.round(medianMillis * Math.exp(sigma * gaussian));
+        }
+    }
+
+    public OpenAiStubServer(int port, Settings settings) {
+        this.settings = settings;
+        this.cannedRecipes = loadCannedRecipes();
+        try {
+            this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 512);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start OpenAI stub server", e);
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "openai-stub-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/v1/chat/completions", exchange -> handle(exchange, this::chatCompletion));
+        server.createContext("/v1/images/generations", exchange -> handle(exchange, this::imageGeneration));
+        server.createContext("/images/", this::servePixel);
+        server.start();
+        log.info("OpenAI stub listening on {}", baseUrl());
+    }
+
+    public static OpenAiStubServer start(Settings settings) {
+        return new OpenAiStubServer(0, settings);
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void configure(Settings settings) {
+        this.settings = settings;
+    }
+
+    public long chatRequests() {
+        return chatRequests.get();
+    }
+
+    public long imageRequests() {
+        return imageRequests.get();
+    }
+
+    public long injectedErrors() {
+        return injectedErrors.get();
+    }
+
+    public long injectedRateLimits() {
+        return injectedRateLimits.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private interface Responder {
+        Object respond(JsonNode request);
+    }
+
+    private void handle(HttpExchange exchange, Responder responder) throws IOException {
+        try {
+            JsonNode request;
+            try (InputStream body = exchange.getRequestBody()) {
+                request = objectMapper.readTree(body);
+            }
+            Settings current = settings;
+            boolean chat = exchange.getRequestURI().getPath().contains("chat");
+            (chat ? chatRequests : imageRequests).incrementAndGet();
+
+            sleep(chat ? current.chatLatency().sampleMillis() : current.imageLatency().sampleMillis());
+
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < current.errorRate()) {
+                injectedErrors.incrementAndGet();
+                writeJson(exchange, 500, error("The server had an error while processing your request.", "server_error"));
+                return;
+            }
+            if (roll < current.errorRate() + current.rateLimitRate()) {
+                injectedRateLimits.incrementAndGet();
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                writeJson(exchange, 429, error("Rate limit reached for requests", "requests"));
+                return;
+            }
+
+            writeJson(exchange, 200, responder.respond(request));
+        } catch (RuntimeException e) {
+            log.warn("OpenAI stub failed to answer {}: {}", exchange.getRequestURI(), e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Object chatCompletion(JsonNode request) {
+        String content = cannedRecipes.get(Math.floorMod(recipeCursor.getAndIncrement(), cannedRecipes.size()));
+
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("role", "assistant");
+        message.put("content", content);
+
+        Map<String, Object> choice = new LinkedHashMap<>();
+        choice.put("index", 0);
+        choice.put("message", message);
+        choice.put("finish_reason", "stop");
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("id", "chatcmpl-" + UUID.randomUUID());
+        response.put("object", "chat.completion");
+        response.put("created", System.currentTimeMillis() / 1000);
+        response.put("model", request.path("model").asText("gpt-3.5-turbo"));
+        response.put("choices", List.of(choice));
+        response.put("usage", Map.of("prompt_tokens", 250, "completion_tokens", 400, "total_tokens", 650));
+        return response;
+    }
+
+    private Object imageGeneration(JsonNode request) {
+        Map<String, Object> image = new LinkedHashMap<>();
+        image.put("url", baseUrl() + "/images/" + UUID.randomUUID() + ".png");
+        image.put("revised_prompt", request.path("prompt").asText(""));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("created", System.currentTimeMillis() / 1000);
+        response.put("data", List.of(image));
+        return response;
+    }
+
+    private void servePixel(HttpExchange exchange) throws IOException {
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().add("Content-Type", "image/png");
+            exchange.sendResponseHeaders(200, PIXEL_PNG.length);
+            out.write(PIXEL_PNG);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static Map<String, Object> error(String message, String type) {
+        return Map.of("error", Map.of("message", message, "type", type));
+    }
+
+    private void writeJson(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private List<String> loadCannedRecipes() {
+        try (InputStream in = OpenAiStubServer.class.getResourceAsStream(CANNED_RECIPES)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing " + CANNED_RECIPES);
+            }
+            List<String> recipes = new ArrayList<>();
+            for (JsonNode recipe : objectMapper.readTree(in)) {
+                recipes.add(objectMapper.writeValueAsString(recipe));
+            }
+            return List.copyOf(recipes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + CANNED_RECIPES, e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+        long chatMedian = args.length > 1 ? Long.parseLong(args[1]) : 800;
+        long chatP99 = args.length > 2 ? Long.parseLong(args[2]) : 3_000;
+        double errorRate = args.length > 3 ? Double.parseDouble(args[3]) : 0.0;
+        double rateLimitRate = args.length > 4 ? Double.parseDouble(args[4]) : 0.0;
+
+        Settings settings = new Settings(Latency.of(chatMedian, chatP99),
+                Latency.of(chatMedian * 2, chatP99 * 2), errorRate, rateLimitRate);
+        OpenAiStubServer stub = new OpenAiStubServer(port, settings);
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::close));
+        log.info("Set spring.ai.openai.base-url={} to use the stub; Ctrl+C to stop", stub.baseUrl());
+        Thread.sleep(Duration.ofDays(365).toMillis());
+    }
+}
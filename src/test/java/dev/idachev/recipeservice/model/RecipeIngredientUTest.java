@@ -0,0 +1,29 @@
+package dev.idachev.recipeservice.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecipeIngredientUTest {
+
+    @ParameterizedTest(name = "{0} -> {1}")
+    @DisplayName("Should strip quantities, units and notes from the indexed name")
+    @CsvSource(delimiter = '|', value = {
+            "200g spaghetti|spaghetti",
+            "2 cups of Flour|flour",
+            "1/2 tsp salt|salt",
+            "3 cloves garlic, minced|garlic",
+            "2 large eggs|large eggs",
+            "Parmesan (grated)|parmesan",
+            "Salt and pepper to taste|salt and pepper to taste",
+            "2 tbsp|2 tbsp"
+    })
+    void of_NormalizesName(String text, String expectedName) {
+        RecipeIngredient ingredient = RecipeIngredient.of("  " + text + " ");
+
+        assertThat(ingredient.getText()).isEqualTo(text);
+        assertThat(ingredient.getName()).isEqualTo(expectedName);
+    }
+}
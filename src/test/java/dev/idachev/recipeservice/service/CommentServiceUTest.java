@@ -7,6 +7,7 @@ import dev.idachev.recipeservice.model.Recipe;
 import dev.idachev.recipeservice.repository.CommentRepository;
 import dev.idachev.recipeservice.repository.RecipeRepository;
 import dev.idachev.recipeservice.repository.dto.RecipeCommentCountDto;
+import dev.idachev.recipeservice.service.event.RecipeEngagementEvent;
 import dev.idachev.recipeservice.user.dto.UserResponse;
 import dev.idachev.recipeservice.user.service.UserService;
 import dev.idachev.recipeservice.web.dto.CommentRequest;
@@ -22,6 +23,7 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -48,6 +50,8 @@ class CommentServiceUTest {
     private CommentMapper commentMapper;
     @Mock
     private UserService userService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private CommentService commentService;
@@ -171,6 +175,8 @@ class CommentServiceUTest {
             verify(commentMapper).toEntity(testCommentRequest, testUserResponse.getId(), testUserResponse.getUsername(), testRecipeId);
             verify(commentRepository).save(any(Comment.class));
             verify(commentMapper).toResponse(savedComment, true, false);
+            verify(eventPublisher).publishEvent(RecipeEngagementEvent.engaged(testRecipeId,
+                    RecipeEngagementEvent.Type.COMMENT, savedComment.getCreatedAt()));
             
             // Verify captured comment details before save
             Comment captured = commentCaptor.getValue();
@@ -5,6 +5,8 @@ import dev.idachev.recipeservice.model.FavoriteRecipe;
 import dev.idachev.recipeservice.model.Recipe;
 import dev.idachev.recipeservice.repository.FavoriteRecipeRepository;
 import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.repository.dto.RecipeFavoriteTimeDto;
+import dev.idachev.recipeservice.service.event.RecipeEngagementEvent;
 import dev.idachev.recipeservice.web.dto.FavoriteRecipeDto;
 import dev.idachev.recipeservice.web.dto.RecipeResponse;
 import dev.idachev.recipeservice.web.mapper.RecipeMapper;
@@ -19,13 +21,18 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -44,12 +51,18 @@ class FavoriteRecipeServiceUTest {
     private RecipeMapper recipeMapper;
     @Mock
     private UserService userService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     @InjectMocks
     private FavoriteRecipeService favoriteRecipeService;
 
     @Captor
     private ArgumentCaptor<FavoriteRecipe> favoriteRecipeCaptor;
+    @Captor
+    private ArgumentCaptor<List<FavoriteRecipe>> favoriteListCaptor;
 
     private UUID testUserId;
     private UUID testRecipeId;
@@ -74,7 +87,7 @@ class FavoriteRecipeServiceUTest {
         testRecipeResponse = new RecipeResponse(
             testRecipeId, testRecipe.getUserId(), testRecipe.getTitle(), null, null, null,
             null, 0, null, null, null, null, false, null, null, null, 0, 0, null,
-            testRecipe.getCreatedAt(), testRecipe.getUpdatedAt(), null, null
+            testRecipe.getCreatedAt(), testRecipe.getUpdatedAt(), null, null, null, null
         );
 
         testFavorite = FavoriteRecipe.builder()
@@ -123,6 +136,8 @@ class FavoriteRecipeServiceUTest {
             verify(recipeRepository).findById(testRecipeId);
             verify(favoriteRecipeRepository).save(any(FavoriteRecipe.class));
             verify(recipeMapper).toResponse(testRecipe);
+            verify(eventPublisher).publishEvent(RecipeEngagementEvent.engaged(testRecipeId,
+                    RecipeEngagementEvent.Type.FAVORITE, testFavorite.getCreatedAt()));
 
             FavoriteRecipe captured = favoriteRecipeCaptor.getValue();
             assertThat(captured.getId()).isNull();
@@ -150,6 +165,7 @@ class FavoriteRecipeServiceUTest {
             verify(recipeRepository).findById(testRecipeId);
             verify(recipeMapper).toResponse(testRecipe);
             verify(favoriteRecipeRepository, never()).save(any(FavoriteRecipe.class));
+            verifyNoInteractions(eventPublisher);
         }
 
         @Test
@@ -184,6 +200,8 @@ class FavoriteRecipeServiceUTest {
 
             verify(favoriteRecipeRepository).findByUserIdAndRecipeId(testUserId, testRecipeId);
             verify(favoriteRecipeRepository).delete(testFavorite);
+            verify(eventPublisher).publishEvent(RecipeEngagementEvent.retracted(testRecipeId,
+                    RecipeEngagementEvent.Type.FAVORITE, testFavorite.getCreatedAt()));
             verifyNoInteractions(recipeRepository, recipeMapper);
         }
 
@@ -222,7 +240,7 @@ class FavoriteRecipeServiceUTest {
 
             RecipeResponse recipeResponse1 = testRecipeResponse;
             RecipeResponse recipeResponse2 = new RecipeResponse(
-                 recipe2.getId(), recipe2.getUserId(), recipe2.getTitle(), null, null, null, null, 0, null, null, null, null, false, null, null, null, 0, 0, null, null, null, null, null
+                 recipe2.getId(), recipe2.getUserId(), recipe2.getTitle(), null, null, null, null, 0, null, null, null, null, false, null, null, null, 0, 0, null, null, null, null, null, null, null
             );
 
             FavoriteRecipeDto expectedDto1 = testFavoriteDto;
@@ -285,7 +303,7 @@ class FavoriteRecipeServiceUTest {
 
             RecipeResponse recipeResponse1 = testRecipeResponse;
             RecipeResponse recipeResponse2 = new RecipeResponse(
-                 recipe2.getId(), recipe2.getUserId(), recipe2.getTitle(), null, null, null, null, 0, null, null, null, null, false, null, null, null, 0, 0, null, null, null, null, null
+                 recipe2.getId(), recipe2.getUserId(), recipe2.getTitle(), null, null, null, null, 0, null, null, null, null, false, null, null, null, 0, 0, null, null, null, null, null, null, null
             );
 
             FavoriteRecipeDto expectedDto1 = testFavoriteDto;
@@ -369,4 +387,125 @@ class FavoriteRecipeServiceUTest {
             verifyNoInteractions(recipeRepository, recipeMapper);
         }
     }
-} 
\ No newline at end of file
+
+    @Nested
+    @DisplayName("addBatchToFavorites Tests")
+    class AddBatchToFavoritesTests {
+        @Test
+        @DisplayName("Should insert only existing, not yet favorited recipes in one batch")
+        void addBatchToFavorites_SkipsMissingAndExisting() {
+            UUID favoritedId = UUID.randomUUID();
+            UUID missingId = UUID.randomUUID();
+            List<UUID> requested = List.of(testRecipeId, favoritedId, missingId, testRecipeId);
+            when(recipeRepository.findExistingIds(any())).thenReturn(Set.of(testRecipeId, favoritedId));
+            when(favoriteRecipeRepository.findUserFavoriteRecipeIds(eq(testUserId), any())).thenReturn(Set.of(favoritedId));
+
+            int added = favoriteRecipeService.addBatchToFavorites(testUserId, requested);
+
+            assertThat(added).isEqualTo(1);
+            verify(favoriteRecipeRepository).saveAllAndFlush(favoriteListCaptor.capture());
+            assertThat(favoriteListCaptor.getValue())
+                    .singleElement()
+                    .satisfies(favorite -> {
+                        assertThat(favorite.getUserId()).isEqualTo(testUserId);
+                        assertThat(favorite.getRecipeId()).isEqualTo(testRecipeId);
+                    });
+            verify(recipeRepository, never()).existsById(any());
+            verify(favoriteRecipeRepository, never()).existsByUserIdAndRecipeId(any(), any());
+            verify(favoriteRecipeRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should retry the batch without the favorite a concurrent add inserted first")
+        void addBatchToFavorites_ConcurrentAdd_RetriesWithoutCollidingFavorite() {
+            UUID otherId = UUID.randomUUID();
+            when(recipeRepository.findExistingIds(any())).thenReturn(Set.of(testRecipeId, otherId));
+            // The concurrent add of testRecipeId commits between the first read and insert
+            when(favoriteRecipeRepository.findUserFavoriteRecipeIds(eq(testUserId), any()))
+                    .thenReturn(Set.of(), Set.of(testRecipeId));
+            when(favoriteRecipeRepository.saveAllAndFlush(anyList()))
+                    .thenThrow(new DataIntegrityViolationException("uk_favorite_recipes_user_recipe"))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+
+            int added = favoriteRecipeService.addBatchToFavorites(testUserId, List.of(testRecipeId, otherId));
+
+            assertThat(added).isEqualTo(1);
+            verify(favoriteRecipeRepository, times(2)).saveAllAndFlush(favoriteListCaptor.capture());
+            assertThat(favoriteListCaptor.getAllValues().get(1))
+                    .singleElement()
+                    .extracting(FavoriteRecipe::getRecipeId)
+                    .isEqualTo(otherId);
+            verify(transactionManager).rollback(any());
+            verify(eventPublisher, times(1)).publishEvent(any(RecipeEngagementEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should give up after repeated collisions and propagate the violation")
+        void addBatchToFavorites_KeepsColliding_Throws() {
+            when(recipeRepository.findExistingIds(any())).thenReturn(Set.of(testRecipeId));
+            when(favoriteRecipeRepository.saveAllAndFlush(anyList()))
+                    .thenThrow(new DataIntegrityViolationException("uk_favorite_recipes_user_recipe"));
+
+            assertThatThrownBy(() -> favoriteRecipeService.addBatchToFavorites(testUserId, List.of(testRecipeId)))
+                    .isInstanceOf(DataIntegrityViolationException.class);
+            verify(favoriteRecipeRepository, times(3)).saveAllAndFlush(anyList());
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should return zero without querying for an empty batch")
+        void addBatchToFavorites_Empty() {
+            int added = favoriteRecipeService.addBatchToFavorites(testUserId, List.of());
+
+            assertThat(added).isZero();
+            verifyNoInteractions(favoriteRecipeRepository, recipeRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("removeBatchFromFavorites Tests")
+    class RemoveBatchFromFavoritesTests {
+        @Test
+        @DisplayName("Should delete with one statement and return the affected row count")
+        void removeBatchFromFavorites_ReturnsAffectedRows() {
+            UUID otherId = UUID.randomUUID();
+            when(favoriteRecipeRepository.deleteByUserIdAndRecipeIdIn(testUserId, Set.of(testRecipeId, otherId)))
+                    .thenReturn(1);
+
+            int removed = favoriteRecipeService.removeBatchFromFavorites(testUserId,
+                    List.of(testRecipeId, otherId, testRecipeId));
+
+            assertThat(removed).isEqualTo(1);
+            verify(favoriteRecipeRepository).deleteByUserIdAndRecipeIdIn(testUserId, Set.of(testRecipeId, otherId));
+            verify(favoriteRecipeRepository, never()).deleteByUserIdAndRecipeId(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should retract each removed favorite from trending at the time it was added")
+        void removeBatchFromFavorites_PublishesRetractions() {
+            UUID otherId = UUID.randomUUID();
+            when(favoriteRecipeRepository.findFavoriteTimes(testUserId, Set.of(testRecipeId, otherId)))
+                    .thenReturn(List.of(new RecipeFavoriteTimeDto(testRecipeId, testFavorite.getCreatedAt())));
+            when(favoriteRecipeRepository.deleteByUserIdAndRecipeIdIn(testUserId, Set.of(testRecipeId, otherId)))
+                    .thenReturn(1);
+
+            favoriteRecipeService.removeBatchFromFavorites(testUserId, List.of(testRecipeId, otherId));
+
+            verify(eventPublisher).publishEvent(RecipeEngagementEvent.retracted(testRecipeId,
+                    RecipeEngagementEvent.Type.FAVORITE, testFavorite.getCreatedAt()));
+            verifyNoMoreInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should split very large batches into bounded chunks")
+        void removeBatchFromFavorites_Chunks() {
+            List<UUID> recipeIds = Stream.generate(UUID::randomUUID).limit(1200).toList();
+            when(favoriteRecipeRepository.deleteByUserIdAndRecipeIdIn(eq(testUserId), any())).thenReturn(400);
+
+            int removed = favoriteRecipeService.removeBatchFromFavorites(testUserId, recipeIds);
+
+            assertThat(removed).isEqualTo(1200);
+            verify(favoriteRecipeRepository, times(3)).deleteByUserIdAndRecipeIdIn(eq(testUserId), any());
+        }
+    }
+}
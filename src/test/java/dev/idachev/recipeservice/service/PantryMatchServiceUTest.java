@@ -0,0 +1,175 @@
+package dev.idachev.recipeservice.service;
+
+import dev.idachev.recipeservice.infrastructure.search.IngredientIndex;
+import dev.idachev.recipeservice.model.DifficultyLevel;
+import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.web.dto.PantryMatchResponse;
+import dev.idachev.recipeservice.web.dto.PantryMatchResponse.PantryMatch;
+import dev.idachev.recipeservice.web.dto.RecipeResponse;
+import dev.idachev.recipeservice.web.dto.SimplifiedRecipeResponse;
+import dev.idachev.recipeservice.web.mapper.RecipeMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PantryMatchServiceUTest {
+
+    @Mock
+    private IngredientIndex ingredientIndex;
+    @Mock
+    private RecipeRepository recipeRepository;
+    @Mock
+    private RecipeMapper recipeMapper;
+    @Mock
+    private RecipeResponseEnhancer recipeResponseEnhancer;
+    @Mock
+    private RecipeService recipeService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private PantryMatchService pantryMatchService;
+
+    private final List<String> pantry = List.of("spaghetti", "eggs", "parmesan");
+    private UUID userId;
+    private UUID carbonaraId;
+    private UUID omeletteId;
+    private Recipe carbonara;
+    private Recipe omelette;
+    private RecipeResponse carbonaraResponse;
+    private RecipeResponse omeletteResponse;
+    private SimplifiedRecipeResponse generated;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        carbonaraId = UUID.randomUUID();
+        omeletteId = UUID.randomUUID();
+        carbonara = Recipe.builder().id(carbonaraId).title("Carbonara").build();
+        omelette = Recipe.builder().id(omeletteId).title("Omelette").build();
+        carbonaraResponse = response(carbonaraId, "Carbonara",
+                List.of("200g spaghetti", "2 eggs", "50g parmesan", "100g guanciale"));
+        omeletteResponse = response(omeletteId, "Omelette", List.of("3 eggs", "1 onion"));
+        generated = new SimplifiedRecipeResponse("Pantry Pasta", null, "1. Cook.", pantry,
+                null, 20, null, DifficultyLevel.EASY, "Serve hot", null, null);
+    }
+
+    private static RecipeResponse response(UUID id, String title, List<String> ingredients) {
+        return new RecipeResponse(id, UUID.randomUUID(), title, null, "Instructions", null, ingredients, 30,
+                null, null, null, DifficultyLevel.EASY, false, false, 0L, 0L, 0, 0, null,
+                LocalDateTime.now(), LocalDateTime.now(), null, Collections.emptyMap(), null, null);
+    }
+
+    @Nested
+    @DisplayName("findMatches Tests")
+    class FindMatchesTests {
+
+        @Test
+        @DisplayName("Should return indexed recipes best first with the ingredients the pantry lacks")
+        void findMatches_IndexedRecipes_ReturnsMatchesWithMissing() {
+            // Given
+            when(ingredientIndex.topMatches(pantry, 5)).thenReturn(List.of(
+                    new IngredientIndex.Match(carbonaraId, 3, 4),
+                    new IngredientIndex.Match(omeletteId, 1, 2)));
+            when(recipeRepository.findAllById(List.of(carbonaraId, omeletteId))).thenReturn(List.of(omelette, carbonara));
+            when(recipeMapper.toResponse(carbonara)).thenReturn(carbonaraResponse);
+            when(recipeMapper.toResponse(omelette)).thenReturn(omeletteResponse);
+            when(recipeResponseEnhancer.enhanceRecipeListWithUserInteractions(
+                    List.of(carbonaraResponse, omeletteResponse), userId))
+                    .thenReturn(List.of(carbonaraResponse, omeletteResponse));
+
+            // When
+            PantryMatchResponse result = pantryMatchService.findMatches(pantry, 5, userId);
+
+            // Then
+            assertThat(result.generated()).isNull();
+            assertThat(result.matches()).extracting(match -> match.recipe().id()).containsExactly(carbonaraId, omeletteId);
+            PantryMatch best = result.matches().get(0);
+            assertThat(best.matchedIngredients()).isEqualTo(3);
+            assertThat(best.totalIngredients()).isEqualTo(4);
+            assertThat(best.coverage()).isEqualTo(0.75);
+            assertThat(best.missingIngredients()).containsExactly("100g guanciale");
+            assertThat(result.matches().get(1).missingIngredients()).containsExactly("1 onion");
+            verify(recipeService, never()).generateMeal(anyList());
+        }
+
+        @Test
+        @DisplayName("Should skip recipes deleted after they were indexed")
+        void findMatches_DeletedRecipe_SkipsIt() {
+            // Given
+            when(ingredientIndex.topMatches(pantry, PantryMatchService.DEFAULT_LIMIT)).thenReturn(List.of(
+                    new IngredientIndex.Match(carbonaraId, 3, 4),
+                    new IngredientIndex.Match(omeletteId, 1, 2)));
+            when(recipeRepository.findAllById(List.of(carbonaraId, omeletteId))).thenReturn(List.of(omelette));
+            when(recipeMapper.toResponse(omelette)).thenReturn(omeletteResponse);
+            when(recipeResponseEnhancer.enhanceRecipeListWithUserInteractions(List.of(omeletteResponse), userId))
+                    .thenReturn(List.of(omeletteResponse));
+
+            // When
+            PantryMatchResponse result = pantryMatchService.findMatches(pantry, null, userId);
+
+            // Then
+            assertThat(result.matches()).singleElement().satisfies(match -> {
+                assertThat(match.recipe().id()).isEqualTo(omeletteId);
+                assertThat(match.matchedIngredients()).isEqualTo(1);
+                assertThat(match.totalIngredients()).isEqualTo(2);
+            });
+            verify(recipeService, never()).generateMeal(anyList());
+        }
+
+        @Test
+        @DisplayName("Should generate a recipe when no indexed recipe matches")
+        void findMatches_NoMatches_GeneratesRecipe() {
+            // Given
+            when(ingredientIndex.topMatches(pantry, PantryMatchService.DEFAULT_LIMIT)).thenReturn(List.of());
+            when(recipeService.generateMeal(pantry)).thenReturn(generated);
+
+            // When
+            PantryMatchResponse result = pantryMatchService.findMatches(pantry, null, userId);
+
+            // Then
+            assertThat(result.matches()).isEmpty();
+            assertThat(result.generated()).isEqualTo(generated);
+            verifyNoInteractions(recipeRepository, recipeResponseEnhancer, transactionManager);
+        }
+
+        @Test
+        @DisplayName("Should generate a recipe when every match was deleted since indexing")
+        void findMatches_OnlyStaleMatches_GeneratesRecipe() {
+            // Given
+            when(ingredientIndex.topMatches(pantry, PantryMatchService.DEFAULT_LIMIT))
+                    .thenReturn(List.of(new IngredientIndex.Match(carbonaraId, 3, 4)));
+            when(recipeRepository.findAllById(List.of(carbonaraId))).thenReturn(List.of());
+            when(recipeService.generateMeal(pantry)).thenReturn(generated);
+
+            // When
+            PantryMatchResponse result = pantryMatchService.findMatches(pantry, null, userId);
+
+            // Then
+            assertThat(result.matches()).isEmpty();
+            assertThat(result.generated()).isEqualTo(generated);
+            verify(recipeResponseEnhancer, never()).enhanceRecipeListWithUserInteractions(anyList(), eq(userId));
+        }
+    }
+}
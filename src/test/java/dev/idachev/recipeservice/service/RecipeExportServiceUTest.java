@@ -0,0 +1,162 @@
+package dev.idachev.recipeservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.idachev.recipeservice.model.FavoriteRecipe;
+import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.repository.FavoriteRecipeRepository;
+import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.web.dto.RecipeResponse;
+import dev.idachev.recipeservice.web.mapper.RecipeMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeExportServiceUTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+    @Mock
+    private FavoriteRecipeRepository favoriteRecipeRepository;
+    @Mock
+    private RecipeMapper recipeMapper;
+    @Mock
+    private RecipeResponseEnhancer recipeResponseEnhancer;
+    @Mock
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private RecipeExportService recipeExportService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    @BeforeEach
+    void setUp() {
+        recipeExportService = new RecipeExportService(recipeRepository, favoriteRecipeRepository, recipeMapper,
+                recipeResponseEnhancer, objectMapper, entityManager);
+    }
+
+    private static RecipeResponse response(UUID id, String title) {
+        return new RecipeResponse(id, null, title, null, null, null, null, null, null, null, null, null, null,
+                null, null, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    private List<JsonNode> lines() throws IOException {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    @Nested
+    @DisplayName("Recipe Export Tests")
+    class RecipeExportTests {
+
+        @Test
+        @DisplayName("Should write one line per recipe, enhancing and clearing per chunk")
+        void exportUserRecipes_WritesChunks() throws IOException {
+            // Given
+            int total = RecipeExportService.CHUNK_SIZE + 50;
+            List<Recipe> recipes = IntStream.range(0, total)
+                    .mapToObj(i -> Recipe.builder().id(UUID.randomUUID()).title("Recipe " + i).build())
+                    .toList();
+            when(recipeRepository.streamByUserId(userId)).thenReturn(recipes.stream());
+            when(recipeMapper.toResponse(any(Recipe.class)))
+                    .thenAnswer(invocation -> {
+                        Recipe recipe = invocation.getArgument(0);
+                        return response(recipe.getId(), recipe.getTitle());
+                    });
+            when(recipeResponseEnhancer.enhanceRecipeListWithUserInteractions(anyList(), eq(userId)))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            long written = recipeExportService.exportUserRecipes(userId, out);
+
+            // Then
+            assertThat(written).isEqualTo(total);
+            List<JsonNode> lines = lines();
+            assertThat(lines).hasSize(total);
+            assertThat(lines.get(0).get("title").asText()).isEqualTo("Recipe 0");
+            assertThat(lines.get(total - 1).get("title").asText()).isEqualTo("Recipe " + (total - 1));
+            verify(recipeResponseEnhancer, times(2)).enhanceRecipeListWithUserInteractions(anyList(), eq(userId));
+            verify(entityManager, times(2)).clear();
+        }
+
+        @Test
+        @DisplayName("Should write nothing for no recipes")
+        void exportAllRecipes_Empty_WritesNothing() throws IOException {
+            // Given
+            when(recipeRepository.streamAll()).thenReturn(Stream.empty());
+
+            // When
+            long written = recipeExportService.exportAllRecipes(out);
+
+            // Then
+            assertThat(written).isZero();
+            assertThat(out.size()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Favorite Export Tests")
+    class FavoriteExportTests {
+
+        @Test
+        @DisplayName("Should write favorites with their recipes, marking missing ones")
+        void exportFavorites_WritesFavoriteLines() throws IOException {
+            // Given
+            Recipe recipe = Recipe.builder().id(UUID.randomUUID()).title("Carbonara").build();
+            UUID deletedId = UUID.randomUUID();
+            FavoriteRecipe favorite = FavoriteRecipe.builder()
+                    .userId(userId).recipeId(recipe.getId()).createdAt(LocalDateTime.now()).build();
+            FavoriteRecipe orphan = FavoriteRecipe.builder()
+                    .userId(userId).recipeId(deletedId).createdAt(LocalDateTime.now()).build();
+            when(favoriteRecipeRepository.streamByUserId(userId)).thenReturn(Stream.of(favorite, orphan));
+            when(recipeRepository.findAllWithMacrosByIdIn(List.of(recipe.getId(), deletedId)))
+                    .thenReturn(List.of(recipe));
+            when(recipeMapper.toResponse(any(Recipe.class)))
+                    .thenAnswer(invocation -> {
+                        Recipe mapped = invocation.getArgument(0);
+                        return response(mapped.getId(), mapped.getTitle());
+                    });
+
+            // When
+            long written = recipeExportService.exportFavorites(userId, out);
+
+            // Then
+            assertThat(written).isEqualTo(2);
+            List<JsonNode> lines = lines();
+            assertThat(lines.get(0).get("recipeId").asText()).isEqualTo(recipe.getId().toString());
+            assertThat(lines.get(0).get("recipe").get("title").asText()).isEqualTo("Carbonara");
+            assertThat(lines.get(1).get("recipe").get("title").asText()).isEqualTo("Unknown Recipe");
+            verify(entityManager).clear();
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package dev.idachev.recipeservice.service;
+
+import dev.idachev.recipeservice.infrastructure.ai.AIService;
+import dev.idachev.recipeservice.infrastructure.storage.ImageResizer;
+import dev.idachev.recipeservice.infrastructure.storage.ImageService;
+import dev.idachev.recipeservice.infrastructure.storage.ImageVariantProcessor;
+import dev.idachev.recipeservice.model.ImageStatus;
+import dev.idachev.recipeservice.repository.RecipeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeImageServiceUTest {
+
+    private static final long ASYNC_TIMEOUT_MS = 2000;
+
+    @Mock
+    private AIService aiService;
+
+    @Mock
+    private ImageService imageService;
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ImageVariantProcessor imageVariantProcessor;
+    private RecipeImageService recipeImageService;
+    private final UUID recipeId = UUID.randomUUID();
+    private final UUID uploadToken = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        imageVariantProcessor = new ImageVariantProcessor(new ImageResizer(), imageService, 1, 4, 16);
+        recipeImageService = new RecipeImageService(aiService, imageService, imageVariantProcessor,
+                recipeRepository, transactionManager, 1, 10);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        recipeImageService.shutdown();
+        imageVariantProcessor.shutdown();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Nested
+    @DisplayName("uploadAfterCommit Tests")
+    class UploadAfterCommitTests {
+
+        @Test
+        @DisplayName("Should upload staged image, mark recipe READY and delete the temp file")
+        void uploadAfterCommit_NoTransaction_UploadsAndPatches() throws Exception {
+            // Given
+            RecipeImageService.StagedImage staged = recipeImageService.stageImage(
+                    new MockMultipartFile("image", "dish.jpg", "image/jpeg", new byte[]{1, 2, 3}));
+            when(imageService.uploadImage(staged.file(), "dish.jpg")).thenReturn("https://cdn.example.com/dish.jpg");
+            when(recipeRepository.updateImage(recipeId, uploadToken, "https://cdn.example.com/dish.jpg",
+                    ImageStatus.READY)).thenReturn(1);
+
+            // When
+            recipeImageService.uploadAfterCommit(recipeId, uploadToken, staged);
+
+            // Then
+            verify(recipeRepository, timeout(ASYNC_TIMEOUT_MS))
+                    .updateImage(recipeId, uploadToken, "https://cdn.example.com/dish.jpg", ImageStatus.READY);
+            recipeImageService.shutdown();
+            assertThat(staged.file()).doesNotExist();
+        }
+
+        @Test
+        @DisplayName("Should store resized variants after the original, patch them onto the recipe and forget the upload")
+        void uploadAfterCommit_RealImage_AttachesVariants() throws Exception {
+            // Given
+            ByteArrayOutputStream png = new ByteArrayOutputStream();
+            ImageIO.write(new BufferedImage(2400, 1200, BufferedImage.TYPE_INT_RGB), "png", png);
+            RecipeImageService.StagedImage staged = recipeImageService.stageImage(
+                    new MockMultipartFile("image", "dish.png", "image/png", png.toByteArray()));
+            when(imageService.uploadImage(any(Path.class), anyString()))
+                    .thenAnswer(invocation -> "https://cdn.example.com/" + invocation.getArgument(1));
+            when(recipeRepository.updateImage(recipeId, uploadToken, "https://cdn.example.com/dish.png",
+                    ImageStatus.READY)).thenReturn(1);
+            when(recipeRepository.updateImageVariants(recipeId, uploadToken,
+                    "https://cdn.example.com/dish-thumbnail.jpg",
+                    "https://cdn.example.com/dish-card.jpg",
+                    "https://cdn.example.com/dish-full.jpg")).thenReturn(1);
+
+            // When
+            recipeImageService.uploadAfterCommit(recipeId, uploadToken, staged);
+
+            // Then
+            verify(recipeRepository, timeout(ASYNC_TIMEOUT_MS * 5)).updateImageVariants(recipeId, uploadToken,
+                    "https://cdn.example.com/dish-thumbnail.jpg",
+                    "https://cdn.example.com/dish-card.jpg",
+                    "https://cdn.example.com/dish-full.jpg");
+            recipeImageService.shutdown();
+            assertThat(recipeImageService.pendingUploads()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should mark recipe FAILED when the upload throws")
+        void uploadAfterCommit_UploadFails_MarksFailed() throws Exception {
+            // Given
+            RecipeImageService.StagedImage staged = recipeImageService.stageImage(
+                    new MockMultipartFile("image", "dish.jpg", "image/jpeg", new byte[]{1, 2, 3}));
+            when(imageService.uploadImage(staged.file(), "dish.jpg")).thenThrow(new RuntimeException("storage down"));
+
+            // When
+            recipeImageService.uploadAfterCommit(recipeId, uploadToken, staged);
+
+            // Then
+            verify(recipeRepository, timeout(ASYNC_TIMEOUT_MS))
+                    .updateImageStatus(recipeId, uploadToken, ImageStatus.FAILED);
+            verify(recipeRepository, never()).updateImage(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should mark recipe FAILED without variants when the storage backend stores nothing")
+        void uploadAfterCommit_StorageFails_MarksFailed() throws Exception {
+            // Given
+            RecipeImageService.StagedImage staged = recipeImageService.stageImage(
+                    new MockMultipartFile("image", "dish.jpg", "image/jpeg", new byte[]{1, 2, 3}));
+            when(imageService.uploadImage(staged.file(), "dish.jpg")).thenReturn(null);
+            when(recipeRepository.updateImageStatus(recipeId, uploadToken, ImageStatus.FAILED)).thenReturn(1);
+
+            // When
+            recipeImageService.uploadAfterCommit(recipeId, uploadToken, staged);
+
+            // Then
+            verify(recipeRepository, timeout(ASYNC_TIMEOUT_MS))
+                    .updateImageStatus(recipeId, uploadToken, ImageStatus.FAILED);
+            recipeImageService.shutdown();
+            verify(recipeRepository, never()).updateImage(any(), any(), any(), any());
+            verify(recipeRepository, never()).updateImageVariants(any(), any(), any(), any(), any());
+            assertThat(staged.file()).doesNotExist();
+            assertThat(recipeImageService.pendingUploads()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should discard the staged image without uploading when the transaction rolls back")
+        void uploadAfterCommit_RolledBack_DeletesStagedFile() throws Exception {
+            // Given
+            RecipeImageService.StagedImage staged = recipeImageService.stageImage(
+                    new MockMultipartFile("image", "dish.jpg", "image/jpeg", new byte[]{1, 2, 3}));
+            TransactionSynchronizationManager.initSynchronization();
+
+            // When
+            recipeImageService.uploadAfterCommit(recipeId, uploadToken, staged);
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+
+            // Then
+            assertThat(Files.exists(staged.file())).isFalse();
+            verifyNoInteractions(imageService);
+            verify(recipeRepository, never()).updateImageStatus(eq(recipeId), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should discard an older upload that finishes after a newer one for the same recipe")
+        void uploadAfterCommit_NewerUploadFinishesFirst_KeepsNewerImage() throws Exception {
+            // Given
+            UUID olderToken = UUID.randomUUID();
+            UUID newerToken = UUID.randomUUID();
+            RecipeImageService.StagedImage older = recipeImageService.stageImage(
+                    new MockMultipartFile("image", "old.jpg", "image/jpeg", new byte[]{1, 2, 3}));
+            RecipeImageService.StagedImage newer = recipeImageService.stageImage(
+                    new MockMultipartFile("image", "new.jpg", "image/jpeg", new byte[]{4, 5, 6}));
+            when(imageService.uploadImage(any(Path.class), anyString()))
+                    .thenAnswer(invocation -> "https://cdn.example.com/" + invocation.getArgument(1));
+            when(recipeRepository.updateImage(recipeId, newerToken, "https://cdn.example.com/new.jpg",
+                    ImageStatus.READY)).thenReturn(1);
+
+            // The older upload's transaction has not committed yet when the newer one is submitted
+            TransactionSynchronizationManager.initSynchronization();
+            recipeImageService.uploadAfterCommit(recipeId, olderToken, older);
+            List<TransactionSynchronization> olderTransaction = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+
+            // When
+            recipeImageService.uploadAfterCommit(recipeId, newerToken, newer);
+            verify(recipeRepository, timeout(ASYNC_TIMEOUT_MS))
+                    .updateImage(recipeId, newerToken, "https://cdn.example.com/new.jpg", ImageStatus.READY);
+            olderTransaction.forEach(TransactionSynchronization::afterCommit);
+            recipeImageService.shutdown();
+
+            // Then
+            verify(imageService).uploadImage(older.file(), "old.jpg");
+            verify(recipeRepository, never()).updateImage(eq(recipeId), eq(olderToken), any(), any());
+            verify(recipeRepository, never()).updateImageStatus(eq(recipeId), eq(olderToken), any());
+            verify(recipeRepository, never()).updateImageVariants(eq(recipeId), eq(olderToken), any(), any(), any());
+            assertThat(older.file()).doesNotExist();
+        }
+    }
+
+    @Nested
+    @DisplayName("attachGeneratedVariantsAfterCommit Tests")
+    class AttachGeneratedVariantsAfterCommitTests {
+
+        private static final String GENERATED_URL = "https://cdn.example.com/generated.png";
+
+        @Test
+        @DisplayName("Should patch the variants made at generation onto the recipe saved with the image")
+        void attachGeneratedVariantsAfterCommit_GeneratedImage_PatchesVariants() throws Exception {
+            // Given
+            Path generated = Files.createTempFile("generated-", ".png");
+            ImageIO.write(new BufferedImage(2400, 1200, BufferedImage.TYPE_INT_RGB), "png", generated.toFile());
+            when(imageService.uploadImage(any(Path.class), anyString()))
+                    .thenAnswer(invocation -> "https://cdn.example.com/" + invocation.getArgument(1));
+            imageVariantProcessor.processGenerated(generated, "dish", GENERATED_URL);
+
+            // When
+            recipeImageService.attachGeneratedVariantsAfterCommit(recipeId, uploadToken, GENERATED_URL);
+
+            // Then
+            verify(recipeRepository, timeout(ASYNC_TIMEOUT_MS * 5)).updateImageVariants(recipeId, uploadToken,
+                    "https://cdn.example.com/dish-thumbnail.jpg",
+                    "https://cdn.example.com/dish-card.jpg",
+                    "https://cdn.example.com/dish-full.jpg");
+            assertThat(recipeImageService.hasGeneratedVariants(GENERATED_URL)).isTrue();
+            assertThat(generated).doesNotExist();
+            recipeImageService.shutdown();
+            assertThat(recipeImageService.pendingUploads()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should patch nothing when the transaction rolls back")
+        void attachGeneratedVariantsAfterCommit_RolledBack_PatchesNothing() throws Exception {
+            // Given
+            Path generated = Files.createTempFile("generated-", ".png");
+            ImageIO.write(new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB), "png", generated.toFile());
+            when(imageService.uploadImage(any(Path.class), anyString()))
+                    .thenAnswer(invocation -> "https://cdn.example.com/" + invocation.getArgument(1));
+            imageVariantProcessor.processGenerated(generated, "dish", GENERATED_URL);
+            TransactionSynchronizationManager.initSynchronization();
+
+            // When
+            recipeImageService.attachGeneratedVariantsAfterCommit(recipeId, uploadToken, GENERATED_URL);
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+            imageVariantProcessor.shutdown();
+            recipeImageService.shutdown();
+
+            // Then
+            verify(recipeRepository, never()).updateImageVariants(any(), any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should report no variants for an image this instance did not generate")
+        void hasGeneratedVariants_UnknownImage_False() {
+            assertThat(recipeImageService.hasGeneratedVariants("https://cdn.example.com/other.png")).isFalse();
+        }
+    }
+}
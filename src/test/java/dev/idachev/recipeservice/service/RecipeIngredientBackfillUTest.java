@@ -0,0 +1,100 @@
+package dev.idachev.recipeservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.model.RecipeIngredient;
+import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.web.mapper.RecipeMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeIngredientBackfillUTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RecipeIngredientBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        backfill = new RecipeIngredientBackfill(recipeRepository, new RecipeMapper(new ObjectMapper()),
+                new TransactionTemplate(transactionManager));
+    }
+
+    private static Recipe legacy(String ingredients) {
+        return Recipe.builder().id(UUID.randomUUID()).legacyIngredients(ingredients).build();
+    }
+
+    private static List<String> texts(Recipe recipe) {
+        return recipe.getIngredients().stream().map(RecipeIngredient::getText).toList();
+    }
+
+    @Test
+    @DisplayName("Should move a JSON array, plain text and malformed JSON into ingredient rows")
+    void backfill_LegacyColumns_MigratesWithoutLosingText() {
+        // Given
+        Recipe array = legacy("[\"200g spaghetti\", \"2 eggs\"]");
+        Recipe plainText = legacy("Salt and pepper");
+        Recipe malformed = legacy("[\"flour\", \"sugar\"");
+        List<UUID> ids = List.of(array.getId(), plainText.getId(), malformed.getId());
+        when(recipeRepository.findIdsWithLegacyIngredients(any(Pageable.class))).thenReturn(ids, List.of());
+        when(recipeRepository.findAllById(ids)).thenReturn(List.of(array, plainText, malformed));
+
+        // When
+        backfill.backfill();
+
+        // Then
+        assertThat(texts(array)).containsExactly("200g spaghetti", "2 eggs");
+        assertThat(texts(plainText)).containsExactly("Salt and pepper");
+        assertThat(texts(malformed)).containsExactly("[\"flour\", \"sugar\"");
+        verify(recipeRepository).flush();
+        verify(recipeRepository).clearLegacyIngredients(ids);
+    }
+
+    @Test
+    @DisplayName("Should keep ingredient rows a recipe already has")
+    void migrateBatch_ExistingRows_KeepsThem() {
+        // Given
+        Recipe recipe = legacy("[\"old line\"]");
+        recipe.getIngredients().add(RecipeIngredient.of("new line"));
+        when(recipeRepository.findIdsWithLegacyIngredients(any(Pageable.class))).thenReturn(List.of(recipe.getId()));
+        when(recipeRepository.findAllById(List.of(recipe.getId()))).thenReturn(List.of(recipe));
+
+        // When
+        int migrated = backfill.migrateBatch();
+
+        // Then
+        assertThat(migrated).isEqualTo(1);
+        assertThat(texts(recipe)).containsExactly("new line");
+    }
+
+    @Test
+    @DisplayName("Should do nothing when no recipe has legacy ingredients")
+    void migrateBatch_NothingLeft_ReturnsZero() {
+        // Given
+        when(recipeRepository.findIdsWithLegacyIngredients(any(Pageable.class))).thenReturn(List.of());
+
+        // When / Then
+        assertThat(backfill.migrateBatch()).isZero();
+        verify(recipeRepository, never()).clearLegacyIngredients(any());
+    }
+}
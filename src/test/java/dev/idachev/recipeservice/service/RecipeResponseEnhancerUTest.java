@@ -1,11 +1,15 @@
 package dev.idachev.recipeservice.service;
 
 import dev.idachev.recipeservice.model.DifficultyLevel;
+import dev.idachev.recipeservice.model.ImageStatus;
 import dev.idachev.recipeservice.model.RecipeVote;
 import dev.idachev.recipeservice.repository.FavoriteRecipeRepository;
+import dev.idachev.recipeservice.repository.dto.RecipeSummaryDto;
 import dev.idachev.recipeservice.user.service.UserService;
+import dev.idachev.recipeservice.web.dto.ImageVariantsDto;
 import dev.idachev.recipeservice.web.dto.MacrosDto;
 import dev.idachev.recipeservice.web.dto.RecipeResponse;
+import dev.idachev.recipeservice.web.dto.RecipeSummaryResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -67,14 +71,14 @@ class RecipeResponseEnhancerUTest {
             recipeId1, authorId1, "Recipe 1 Title", "Serving 1", "Instructions 1",
             "img1.jpg", List.of("Ing1"), 30, null, null, null,
             DifficultyLevel.EASY, false, null, null, null, 5, 1, null,
-            LocalDateTime.now().minusDays(1), LocalDateTime.now(), testMacrosDto, null
+            LocalDateTime.now().minusDays(1), LocalDateTime.now(), testMacrosDto, null, null, null
         );
 
         baseResponse2 = new RecipeResponse(
             recipeId2, authorId2, "Recipe 2 Title", "Serving 2", "Instructions 2",
             "img2.jpg", List.of("Ing2"), 60, null, null, null,
             DifficultyLevel.HARD, true, null, null, null, 10, 0, null,
-            LocalDateTime.now().minusDays(2), LocalDateTime.now().minusHours(5), testMacrosDto, null
+            LocalDateTime.now().minusDays(2), LocalDateTime.now().minusHours(5), testMacrosDto, null, null, null
         );
         
         baseResponses = List.of(baseResponse1, baseResponse2);
@@ -115,7 +119,7 @@ class RecipeResponseEnhancerUTest {
                 true, 5L, 3L, // isFavorite, favoriteCount, commentCount
                 baseResponse1.upvotes(), baseResponse1.downvotes(),
                 "UPVOTE", // userVote
-                baseResponse1.createdAt(), baseResponse1.updatedAt(), baseResponse1.macros(), baseResponse1.additionalFields()
+                baseResponse1.createdAt(), baseResponse1.updatedAt(), baseResponse1.macros(), baseResponse1.additionalFields(), baseResponse1.imageStatus(), baseResponse1.imageVariants()
             );
             RecipeResponse expectedResponse2 = new RecipeResponse(
                 baseResponse2.id(), baseResponse2.createdById(), baseResponse2.title(), baseResponse2.servingSuggestions(),
@@ -125,7 +129,7 @@ class RecipeResponseEnhancerUTest {
                 false, 10L, 0L, // isFavorite, favoriteCount, commentCount
                 baseResponse2.upvotes(), baseResponse2.downvotes(),
                 null, // userVote (null because not in userVotes map)
-                baseResponse2.createdAt(), baseResponse2.updatedAt(), baseResponse2.macros(), baseResponse2.additionalFields()
+                baseResponse2.createdAt(), baseResponse2.updatedAt(), baseResponse2.macros(), baseResponse2.additionalFields(), baseResponse2.imageStatus(), baseResponse2.imageVariants()
             );
             List<RecipeResponse> expectedEnhancedResponses = List.of(expectedResponse1, expectedResponse2);
 
@@ -173,7 +177,7 @@ class RecipeResponseEnhancerUTest {
                 false, 5L, 3L, // isFavorite = false
                 baseResponse1.upvotes(), baseResponse1.downvotes(),
                 null, // userVote = null
-                baseResponse1.createdAt(), baseResponse1.updatedAt(), baseResponse1.macros(), baseResponse1.additionalFields()
+                baseResponse1.createdAt(), baseResponse1.updatedAt(), baseResponse1.macros(), baseResponse1.additionalFields(), baseResponse1.imageStatus(), baseResponse1.imageVariants()
             );
             RecipeResponse expectedResponse2 = new RecipeResponse(
                 baseResponse2.id(), baseResponse2.createdById(), baseResponse2.title(), baseResponse2.servingSuggestions(),
@@ -183,7 +187,7 @@ class RecipeResponseEnhancerUTest {
                 false, 10L, 0L, // isFavorite = false
                 baseResponse2.upvotes(), baseResponse2.downvotes(),
                 null, // userVote = null
-                baseResponse2.createdAt(), baseResponse2.updatedAt(), baseResponse2.macros(), baseResponse2.additionalFields()
+                baseResponse2.createdAt(), baseResponse2.updatedAt(), baseResponse2.macros(), baseResponse2.additionalFields(), baseResponse2.imageStatus(), baseResponse2.imageVariants()
             );
             List<RecipeResponse> expectedEnhancedResponses = List.of(expectedResponse1, expectedResponse2);
 
@@ -257,7 +261,7 @@ class RecipeResponseEnhancerUTest {
                 false, 2L, 0L, // isFavorite=false (default), favCount=2, commentCount=0 (default)
                 baseResponse1.upvotes(), baseResponse1.downvotes(),
                 null, // userVote=null (default)
-                baseResponse1.createdAt(), baseResponse1.updatedAt(), baseResponse1.macros(), baseResponse1.additionalFields()
+                baseResponse1.createdAt(), baseResponse1.updatedAt(), baseResponse1.macros(), baseResponse1.additionalFields(), baseResponse1.imageStatus(), baseResponse1.imageVariants()
             );
             RecipeResponse expectedResponse2 = new RecipeResponse(
                 baseResponse2.id(), baseResponse2.createdById(), baseResponse2.title(), baseResponse2.servingSuggestions(),
@@ -267,7 +271,7 @@ class RecipeResponseEnhancerUTest {
                 false, 0L, 0L, // isFavorite=false (default), favCount=0 (default), commentCount=0 (default)
                 baseResponse2.upvotes(), baseResponse2.downvotes(),
                 "DOWNVOTE", // userVote=DOWNVOTE
-                baseResponse2.createdAt(), baseResponse2.updatedAt(), baseResponse2.macros(), baseResponse2.additionalFields()
+                baseResponse2.createdAt(), baseResponse2.updatedAt(), baseResponse2.macros(), baseResponse2.additionalFields(), baseResponse2.imageStatus(), baseResponse2.imageVariants()
             );
             List<RecipeResponse> expectedEnhancedResponses = List.of(expectedResponse1, expectedResponse2);
 
@@ -287,4 +291,48 @@ class RecipeResponseEnhancerUTest {
             verify(userService).getUsernamesByIds(authorIds);
         }
     }
-} 
\ No newline at end of file
+
+    @Nested
+    @DisplayName("toSummaryResponses Tests")
+    class ToSummaryResponsesTests {
+
+        @Test
+        @DisplayName("Should build cards with the bulk-fetched interactions, keeping order")
+        void toSummaryResponses_WithUserId_Success() {
+            // Given
+            LocalDateTime createdAt = LocalDateTime.now();
+            RecipeSummaryDto summary1 = new RecipeSummaryDto(recipeId1, authorId1, "Recipe 1 Title", "img1.jpg",
+                    "img1-200.jpg", "img1-600.jpg", ImageStatus.READY, 30, DifficultyLevel.EASY, 5, 1, createdAt);
+            RecipeSummaryDto summary2 = new RecipeSummaryDto(recipeId2, authorId2, "Recipe 2 Title", null,
+                    null, null, ImageStatus.NONE, 60, DifficultyLevel.HARD, 10, 0, createdAt);
+            Set<UUID> recipeIds = Set.of(recipeId1, recipeId2);
+
+            when(favoriteRecipeRepository.getFavoriteCountsMap(recipeIds)).thenReturn(Map.of(recipeId1, 5L));
+            when(favoriteRecipeRepository.getUserFavoritesMap(currentUserId, recipeIds)).thenReturn(Map.of(recipeId1, true));
+            when(voteService.getUserVotesForRecipes(currentUserId, recipeIds))
+                    .thenReturn(Map.of(recipeId2, RecipeVote.VoteType.DOWNVOTE));
+            when(commentService.getCommentCountsForRecipes(recipeIds)).thenReturn(Map.of(recipeId2, 4L));
+            when(userService.getUsernamesByIds(Set.of(authorId1, authorId2))).thenReturn(Map.of(authorId1, "author1"));
+
+            // When
+            List<RecipeSummaryResponse> cards = recipeResponseEnhancer.toSummaryResponses(
+                    List.of(summary1, summary2), currentUserId);
+
+            // Then
+            assertThat(cards).containsExactly(
+                    new RecipeSummaryResponse(recipeId1, authorId1, "Recipe 1 Title", "img1.jpg",
+                            new ImageVariantsDto("img1-200.jpg", "img1-600.jpg", null), ImageStatus.READY,
+                            30, DifficultyLevel.EASY, "author1", true, 5L, 0L, 5, 1, null, createdAt),
+                    new RecipeSummaryResponse(recipeId2, authorId2, "Recipe 2 Title", null,
+                            null, ImageStatus.NONE,
+                            60, DifficultyLevel.HARD, "Unknown User", false, 0L, 4L, 10, 0, "DOWNVOTE", createdAt));
+        }
+
+        @Test
+        @DisplayName("Should return an empty list without lookups for no summaries")
+        void toSummaryResponses_Empty_NoLookups() {
+            assertThat(recipeResponseEnhancer.toSummaryResponses(List.of(), currentUserId)).isEmpty();
+            verifyNoInteractions(favoriteRecipeRepository, voteService, commentService, userService);
+        }
+    }
+}
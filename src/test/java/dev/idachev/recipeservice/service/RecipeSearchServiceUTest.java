@@ -1,11 +1,20 @@
 package dev.idachev.recipeservice.service;
 
+import dev.idachev.recipeservice.infrastructure.search.RecipeFilterPlanner;
 import dev.idachev.recipeservice.model.DifficultyLevel;
+import dev.idachev.recipeservice.model.ImageStatus;
 import dev.idachev.recipeservice.model.Macros;
 import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.model.RecipeIngredient;
+import dev.idachev.recipeservice.repository.RecipeFilterRepository;
 import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.repository.dto.RecipeSummaryDto;
+import dev.idachev.recipeservice.repository.dto.RecipeVersionDto;
+import dev.idachev.recipeservice.web.dto.BatchRecipeResponse;
 import dev.idachev.recipeservice.web.dto.MacrosDto;
+import dev.idachev.recipeservice.web.dto.RecipeFilterRequest;
 import dev.idachev.recipeservice.web.dto.RecipeResponse;
+import dev.idachev.recipeservice.web.dto.RecipeSummaryResponse;
 import dev.idachev.recipeservice.web.mapper.RecipeMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -37,6 +46,8 @@ class RecipeSearchServiceUTest {
     private RecipeMapper recipeMapper;
     @Mock
     private RecipeResponseEnhancer recipeResponseEnhancer;
+    @Mock
+    private RecipeFilterPlanner recipeFilterPlanner;
 
     @InjectMocks
     private RecipeSearchService recipeSearchService;
@@ -62,7 +73,7 @@ class RecipeSearchServiceUTest {
                 .id(testRecipeId)
                 .userId(UUID.randomUUID()) // Belongs to someone else
                 .title("Searchable Test Recipe")
-                .ingredients("Ingredient A;Ingredient B")
+                .ingredients(RecipeIngredient.listOf("Ingredient A", "Ingredient B"))
                 .instructions("Some instructions")
                 .imageUrl("http://example.com/search.jpg")
                 .servingSuggestions("Serve hot with garnish")
@@ -86,7 +97,7 @@ class RecipeSearchServiceUTest {
                 true, 10L, 5L, // isFavorite, favoriteCount, commentCount - from enhancer
                 testRecipe.getUpvotes(), testRecipe.getDownvotes(), "up", // userVote - from enhancer
                 testRecipe.getCreatedAt(), testRecipe.getUpdatedAt(),
-                testMacrosDto, Collections.emptyMap()
+                testMacrosDto, Collections.emptyMap(), null, null
         );
     }
 
@@ -99,7 +110,7 @@ class RecipeSearchServiceUTest {
                 recipe.getTotalTimeMinutes(), null, null, null,
                 recipe.getDifficulty(), recipe.getIsAiGenerated(),
                 null, null, null, recipe.getUpvotes(), recipe.getDownvotes(), null,
-                recipe.getCreatedAt(), recipe.getUpdatedAt(), testMacrosDto, null
+                recipe.getCreatedAt(), recipe.getUpdatedAt(), testMacrosDto, null, null, null
         );
     }
 
@@ -325,6 +336,33 @@ class RecipeSearchServiceUTest {
         }
     }
 
+    @Nested
+    @DisplayName("filterRecipes Tests")
+    class FilterRecipesTests {
+
+        @Test
+        @DisplayName("Should query with the index chosen by the planner")
+        void filterRecipes_UsesPlannedIndex() {
+            // Given
+            RecipeFilterRequest filter = new RecipeFilterRequest(30, DifficultyLevel.EASY, null,
+                    BigDecimal.valueOf(600), BigDecimal.valueOf(30), null, null, null, null, null);
+            when(recipeFilterPlanner.plan(filter))
+                    .thenReturn(new RecipeFilterPlanner.Plan(RecipeFilterRepository.Index.PROTEIN, 0.05));
+            when(recipeRepository.findByFilter(filter, RecipeFilterRepository.Index.PROTEIN, defaultPageable))
+                    .thenReturn(new PageImpl<>(List.of(testRecipe), defaultPageable, 1));
+            RecipeResponse baseResponse = createBaseResponse(testRecipe);
+            when(recipeMapper.toResponse(testRecipe)).thenReturn(baseResponse);
+
+            // When
+            Page<RecipeResponse> result = recipeSearchService.filterRecipes(filter, defaultPageable, testUserId);
+
+            // Then
+            assertThat(result.getContent()).containsExactly(baseResponse);
+            assertThat(result.getTotalElements()).isEqualTo(1);
+            verify(recipeRepository).findByFilter(filter, RecipeFilterRepository.Index.PROTEIN, defaultPageable);
+        }
+    }
+
     @Nested
     @DisplayName("getAllRecipesExcludingUser Tests")
     class GetAllRecipesExcludingUserTests {
@@ -366,4 +404,179 @@ class RecipeSearchServiceUTest {
              verify(recipeRepository, never()).findAll(any(Pageable.class)); 
         }
     }
-} 
\ No newline at end of file
+
+    @Nested
+    @DisplayName("getRecipePage Tests")
+    class GetRecipePageTests {
+
+        private Page<RecipeVersionDto> versions(Recipe... recipes) {
+            return new PageImpl<>(Arrays.stream(recipes)
+                    .map(recipe -> new RecipeVersionDto(recipe.getId(), recipe.getVersion(), recipe.getUserId()))
+                    .toList(), defaultPageable, recipes.length);
+        }
+
+        @Test
+        @DisplayName("Should not load the recipes when the caller's ETag matches")
+        void getRecipePage_NotModified_ReturnsNull() {
+            // Given
+            when(recipeRepository.findVersionsByUserIdNot(testUserId, defaultPageable)).thenReturn(versions(testRecipe));
+
+            // When
+            Page<RecipeResponse> result = recipeSearchService.getRecipePage(defaultPageable, testUserId, false,
+                    eTag -> true);
+
+            // Then
+            assertThat(result).isNull();
+            verify(recipeRepository, never()).findAllWithMacrosByIdIn(any());
+            verifyNoInteractions(recipeMapper);
+        }
+
+        @Test
+        @DisplayName("Should load the listed recipes in page order when the caller's copy is stale")
+        void getRecipePage_Modified_LoadsInPageOrder() {
+            // Given
+            Recipe older = Recipe.builder().id(UUID.randomUUID()).userId(testUserId).title("Older").version(2L).build();
+            when(recipeRepository.findVersions(defaultPageable)).thenReturn(versions(testRecipe, older));
+            when(recipeRepository.findAllWithMacrosByIdIn(List.of(testRecipeId, older.getId())))
+                    .thenReturn(List.of(older, testRecipe));
+            RecipeResponse olderResponse = createBaseResponse(older);
+            RecipeResponse testResponse = createBaseResponse(testRecipe);
+            when(recipeMapper.toResponse(older)).thenReturn(olderResponse);
+            when(recipeMapper.toResponse(testRecipe)).thenReturn(testResponse);
+
+            // When
+            Page<RecipeResponse> result = recipeSearchService.getRecipePage(defaultPageable, testUserId, true,
+                    eTag -> false);
+
+            // Then
+            assertThat(result.getContent()).containsExactly(testResponse, olderResponse);
+            assertThat(result.getTotalElements()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should change the page's weak ETag when a listed recipe changes")
+        void getRecipePage_VersionChanges_ETagChanges() {
+            // Given
+            List<String> eTags = new ArrayList<>();
+            when(recipeRepository.findVersions(defaultPageable))
+                    .thenReturn(versions(testRecipe), versions(testRecipe.toBuilder().version(2L).build()));
+            recipeSearchService.getRecipePage(defaultPageable, testUserId, true, eTag -> eTags.add(eTag));
+
+            // When
+            recipeSearchService.getRecipePage(defaultPageable, testUserId, true, eTag -> eTags.add(eTag));
+
+            // Then
+            assertThat(eTags).hasSize(2).allMatch(eTag -> eTag.startsWith("W/\""));
+            assertThat(eTags.get(1)).isNotEqualTo(eTags.get(0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Summary Tests")
+    class SummaryTests {
+
+        private final RecipeSummaryDto summary = new RecipeSummaryDto(
+                UUID.randomUUID(), UUID.randomUUID(), "Card", null, null, null, ImageStatus.NONE,
+                20, DifficultyLevel.EASY, 1, 0, LocalDateTime.now());
+        private final RecipeSummaryResponse card = new RecipeSummaryResponse(
+                summary.getRecipeId(), summary.getUserId(), "Card", null, null, ImageStatus.NONE,
+                20, DifficultyLevel.EASY, "author", false, 0L, 0L, 1, 0, null, summary.getCreatedAt());
+
+        @Test
+        @DisplayName("Should search recipe cards with the trimmed keyword")
+        void searchRecipeSummaries_WithKeyword_UsesProjection() {
+            // Given
+            when(recipeRepository.searchSummaries("pasta", defaultPageable))
+                    .thenReturn(new PageImpl<>(List.of(summary), defaultPageable, 7));
+            when(recipeResponseEnhancer.toSummaryResponses(List.of(summary), testUserId)).thenReturn(List.of(card));
+
+            // When
+            Page<RecipeSummaryResponse> result = recipeSearchService.searchRecipeSummaries(" pasta ", defaultPageable, testUserId);
+
+            // Then
+            assertThat(result.getContent()).containsExactly(card);
+            assertThat(result.getTotalElements()).isEqualTo(7);
+            verify(recipeRepository, never()).findByTitleContainingIgnoreCaseOrServingSuggestionsContainingIgnoreCase(
+                    anyString(), anyString(), any(Pageable.class));
+            verifyNoInteractions(recipeMapper);
+        }
+
+        @Test
+        @DisplayName("Should return all recipe cards if keyword is blank")
+        void searchRecipeSummaries_BlankKeyword_ReturnsAll() {
+            // Given
+            when(recipeRepository.findSummaries(defaultPageable))
+                    .thenReturn(new PageImpl<>(List.of(summary), defaultPageable, 1));
+            when(recipeResponseEnhancer.toSummaryResponses(List.of(summary), testUserId)).thenReturn(List.of(card));
+
+            // When
+            Page<RecipeSummaryResponse> result = recipeSearchService.searchRecipeSummaries("  ", defaultPageable, testUserId);
+
+            // Then
+            assertThat(result.getContent()).containsExactly(card);
+            verify(recipeRepository, never()).searchSummaries(anyString(), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should page the feed cards newest first")
+        void getRecipeFeedSummaries_SortsNewestFirst() {
+            // Given
+            Pageable requested = PageRequest.of(2, 5, Sort.by("title"));
+            Pageable newestFirst = PageRequest.of(2, 5, Sort.Direction.DESC, "createdAt");
+            when(recipeRepository.findSummaries(newestFirst))
+                    .thenReturn(new PageImpl<>(List.of(summary), newestFirst, 11));
+            when(recipeResponseEnhancer.toSummaryResponses(List.of(summary), testUserId)).thenReturn(List.of(card));
+
+            // When
+            Page<RecipeSummaryResponse> result = recipeSearchService.getRecipeFeedSummaries(requested, testUserId);
+
+            // Then
+            assertThat(result.getContent()).containsExactly(card);
+            assertThat(result.getTotalElements()).isEqualTo(11);
+            verify(recipeRepository).findSummaries(newestFirst);
+        }
+    }
+
+    @Nested
+    @DisplayName("getRecipesByIds Tests")
+    class GetRecipesByIdsTests {
+
+        @Test
+        @DisplayName("Should load each ID once and answer in request order with not-found entries")
+        void getRecipesByIds_PreservesOrder() {
+            // Given
+            UUID missingId = UUID.randomUUID();
+            List<UUID> requested = List.of(missingId, testRecipeId, testRecipeId);
+            RecipeResponse baseResponse = createBaseResponse(testRecipe);
+            when(recipeRepository.findAllWithMacrosByIdIn(Set.of(missingId, testRecipeId))).thenReturn(List.of(testRecipe));
+            when(recipeMapper.toResponse(testRecipe)).thenReturn(baseResponse);
+            when(recipeResponseEnhancer.enhanceRecipeListWithUserInteractions(List.of(baseResponse), testUserId))
+                    .thenReturn(List.of(testRecipeResponse));
+
+            // When
+            BatchRecipeResponse result = recipeSearchService.getRecipesByIds(requested, testUserId);
+
+            // Then
+            assertThat(result.recipes()).containsExactly(
+                    BatchRecipeResponse.Entry.notFound(missingId),
+                    BatchRecipeResponse.Entry.found(testRecipeResponse),
+                    BatchRecipeResponse.Entry.found(testRecipeResponse));
+            verify(recipeRepository, never()).findAllById(any());
+        }
+
+        @Test
+        @DisplayName("Should return only not-found entries when no recipe exists")
+        void getRecipesByIds_NoneFound() {
+            // Given
+            UUID missingId = UUID.randomUUID();
+            when(recipeRepository.findAllWithMacrosByIdIn(Set.of(missingId))).thenReturn(List.of());
+            when(recipeResponseEnhancer.enhanceRecipeListWithUserInteractions(List.of(), testUserId)).thenReturn(List.of());
+
+            // When
+            BatchRecipeResponse result = recipeSearchService.getRecipesByIds(List.of(missingId), testUserId);
+
+            // Then
+            assertThat(result.recipes()).containsExactly(BatchRecipeResponse.Entry.notFound(missingId));
+        }
+    }
+}
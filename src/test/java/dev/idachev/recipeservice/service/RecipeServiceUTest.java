@@ -10,9 +10,11 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -29,24 +31,36 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.web.multipart.MultipartFile;
 
 import dev.idachev.recipeservice.exception.AIServiceException;
+import dev.idachev.recipeservice.exception.ImageProcessingException;
 import dev.idachev.recipeservice.exception.ResourceNotFoundException;
 import dev.idachev.recipeservice.exception.UnauthorizedAccessException;
 import dev.idachev.recipeservice.infrastructure.ai.AIService;
+import dev.idachev.recipeservice.infrastructure.ai.GeneratedRecipePool;
 import dev.idachev.recipeservice.model.DifficultyLevel;
+import dev.idachev.recipeservice.model.ImageStatus;
 import dev.idachev.recipeservice.model.Macros;
 import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.model.RecipeDeletion;
+import dev.idachev.recipeservice.model.RecipeIngredient;
+import dev.idachev.recipeservice.repository.FavoriteRecipeRepository;
+import dev.idachev.recipeservice.repository.RecipeDeletionRepository;
 import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.repository.dto.RecipeVersionDto;
+import dev.idachev.recipeservice.service.event.RecipeDeletedEvent;
+import dev.idachev.recipeservice.service.event.RecipeSavedEvent;
 import dev.idachev.recipeservice.user.service.UserService;
 import dev.idachev.recipeservice.web.dto.MacrosDto;
 import dev.idachev.recipeservice.web.dto.RecipeRequest;
 import dev.idachev.recipeservice.web.dto.RecipeResponse;
 import dev.idachev.recipeservice.web.dto.SimplifiedRecipeResponse;
+import dev.idachev.recipeservice.web.mapper.RecipeJsonWriter;
 import dev.idachev.recipeservice.web.mapper.RecipeMapper;
 
 @ExtendWith(MockitoExtension.class)
@@ -55,10 +69,16 @@ class RecipeServiceUTest {
     @Mock
     private RecipeRepository recipeRepository;
     @Mock
+    private FavoriteRecipeRepository favoriteRecipeRepository;
+    @Mock
+    private RecipeDeletionRepository recipeDeletionRepository;
+    @Mock
     private RecipeImageService recipeImageService;
     @Mock
     private AIService aiService;
     @Mock
+    private GeneratedRecipePool generatedRecipePool;
+    @Mock
     private RecipeMapper recipeMapper;
     @Mock
     private CommentService commentService;
@@ -68,12 +88,18 @@ class RecipeServiceUTest {
     private UserService userService;
     @Mock
     private RecipeResponseEnhancer recipeResponseEnhancer;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private RecipeJsonWriter recipeJsonWriter;
 
     @InjectMocks
     private RecipeService recipeService;
 
     @Captor
     private ArgumentCaptor<Recipe> recipeCaptor;
+    @Captor
+    private ArgumentCaptor<RecipeDeletion> deletionCaptor;
 
     private UUID testUserId;
     private UUID testRecipeId;
@@ -118,7 +144,7 @@ class RecipeServiceUTest {
                 .id(testRecipeId)
                 .userId(testUserId)
                 .title("Test Title")
-                .ingredients(String.join(";", testRecipeRequest.ingredients())) // Assuming mapper joins list
+                .ingredients(RecipeIngredient.listOf(testRecipeRequest.ingredients().toArray(String[]::new)))
                 .instructions("Test Instructions")
                 .imageUrl("http://example.com/request-image.jpg") // Expecting this URL for no-image case
                 .servingSuggestions("Test Suggestions")
@@ -160,7 +186,7 @@ class RecipeServiceUTest {
                 testRecipe.getCreatedAt(),
                 testRecipe.getUpdatedAt(),
                 testMacrosDto,
-                Collections.emptyMap());
+                Collections.emptyMap(), null, null);
     }
 
     // --- Test Structure ---
@@ -190,83 +216,81 @@ class RecipeServiceUTest {
             verify(recipeRepository).save(any(Recipe.class));
             verify(recipeMapper).toResponse(testRecipe);
             verify(recipeResponseEnhancer).enhanceRecipeListWithUserInteractions(any(), eq(testUserId));
+            verify(eventPublisher).publishEvent(RecipeSavedEvent.of(testRecipe));
         }
 
         @Test
-        @DisplayName("Should create recipe successfully with image")
-        void createRecipe_Success_WithImage() {
+        @DisplayName("Should save recipe with pending image and upload it after commit")
+        void createRecipe_WithImage_SchedulesUploadAfterCommit() {
             // Given
             MultipartFile mockImage = mock(MultipartFile.class);
-            String processedImageUrl = "http://example.com/processed-image.jpg";
+            RecipeImageService.StagedImage stagedImage =
+                    new RecipeImageService.StagedImage(Path.of("staged.jpg"), "dish.jpg");
+
+            UUID uploadToken = UUID.randomUUID();
 
             Recipe unsavedRecipe = testRecipe.toBuilder().id(null).build();
-            Recipe savedRecipeWithProcessedImage = testRecipe.toBuilder()
-                    .imageUrl(processedImageUrl)
-                    .build();
-
-            RecipeResponse responseWithProcessedImage = new RecipeResponse(
-                    testRecipeResponse.id(), testRecipeResponse.createdById(), testRecipeResponse.title(),
-                    testRecipeResponse.servingSuggestions(), testRecipeResponse.instructions(), processedImageUrl,
-                    testRecipeResponse.ingredients(), testRecipeResponse.totalTimeMinutes(),
-                    testRecipeResponse.authorName(),
-                    testRecipeResponse.username(), testRecipeResponse.authorId(), testRecipeResponse.difficulty(),
-                    testRecipeResponse.isAiGenerated(), testRecipeResponse.isFavorite(),
-                    testRecipeResponse.favoriteCount(),
-                    testRecipeResponse.commentCount(), testRecipeResponse.upvotes(), testRecipeResponse.downvotes(),
-                    testRecipeResponse.userVote(), testRecipeResponse.createdAt(), testRecipeResponse.updatedAt(),
-                    testRecipeResponse.macros(), testRecipeResponse.additionalFields());
+            Recipe savedRecipe = testRecipe.toBuilder().imageStatus(ImageStatus.PENDING).build();
 
+            when(recipeImageService.newUploadToken()).thenReturn(uploadToken);
             when(recipeMapper.toEntity(testRecipeRequest)).thenReturn(unsavedRecipe);
-            when(recipeImageService.processRecipeImage(testRecipeRequest.title(),
-                    testRecipeRequest.servingSuggestions(), mockImage)).thenReturn(processedImageUrl);
-            when(recipeRepository.save(any(Recipe.class))).thenReturn(savedRecipeWithProcessedImage);
-            when(recipeMapper.toResponse(savedRecipeWithProcessedImage)).thenReturn(responseWithProcessedImage);
-            when(recipeResponseEnhancer.enhanceRecipeListWithUserInteractions(List.of(responseWithProcessedImage),
-                    testUserId))
-                    .thenReturn(List.of(responseWithProcessedImage));
+            when(recipeRepository.save(any(Recipe.class))).thenReturn(savedRecipe);
+            when(recipeImageService.stageImage(mockImage)).thenReturn(stagedImage);
+            when(recipeMapper.toResponse(savedRecipe)).thenReturn(testRecipeResponse);
 
             // When
-            RecipeResponse result = recipeService.createRecipe(testRecipeRequest, mockImage, testUserId);
+            recipeService.createRecipe(testRecipeRequest, mockImage, testUserId);
 
             // Then
-            assertThat(result).isEqualTo(responseWithProcessedImage);
-            verify(recipeMapper).toEntity(testRecipeRequest);
-            verify(recipeImageService).processRecipeImage(testRecipeRequest.title(),
-                    testRecipeRequest.servingSuggestions(), mockImage);
-            verify(recipeRepository).save(any(Recipe.class));
-            verify(recipeMapper).toResponse(savedRecipeWithProcessedImage);
-            verify(recipeResponseEnhancer).enhanceRecipeListWithUserInteractions(any(), eq(testUserId));
+            verify(recipeRepository).save(recipeCaptor.capture());
+            assertThat(recipeCaptor.getValue().getImageStatus()).isEqualTo(ImageStatus.PENDING);
+            assertThat(recipeCaptor.getValue().getImageUrl()).isEqualTo(testRecipeRequest.imageUrl());
+            assertThat(recipeCaptor.getValue().getImageUploadToken()).isEqualTo(uploadToken);
+            verify(recipeImageService).uploadAfterCommit(testRecipeId, uploadToken, stagedImage);
+            verify(recipeImageService, never()).processRecipeImage(any(), any(), any());
         }
 
         @Test
-        @DisplayName("Should create recipe using request image URL when image processing fails")
-        void createRecipe_ImageProcessingFails_UsesRequestUrl() {
+        @DisplayName("Should save recipe with a generated image and attach its variants after commit")
+        void createRecipe_GeneratedImage_AttachesVariantsAfterCommit() {
             // Given
-            MultipartFile mockImage = mock(MultipartFile.class);
-
+            UUID uploadToken = UUID.randomUUID();
             Recipe unsavedRecipe = testRecipe.toBuilder().id(null).build();
 
+            when(recipeImageService.hasGeneratedVariants(testRecipeRequest.imageUrl())).thenReturn(true);
+            when(recipeImageService.newUploadToken()).thenReturn(uploadToken);
             when(recipeMapper.toEntity(testRecipeRequest)).thenReturn(unsavedRecipe);
-            when(recipeImageService.processRecipeImage(testRecipeRequest.title(),
-                    testRecipeRequest.servingSuggestions(), mockImage)).thenReturn(null); // Processing failed
             when(recipeRepository.save(any(Recipe.class))).thenReturn(testRecipe);
             when(recipeMapper.toResponse(testRecipe)).thenReturn(testRecipeResponse);
-            when(recipeResponseEnhancer.enhanceRecipeListWithUserInteractions(List.of(testRecipeResponse), testUserId))
-                    .thenReturn(List.of(testRecipeResponse));
 
             // When
-            RecipeResponse result = recipeService.createRecipe(testRecipeRequest, mockImage, testUserId);
+            recipeService.createRecipe(testRecipeRequest, testUserId);
 
             // Then
-            assertThat(result).isEqualTo(testRecipeResponse);
-            assertThat(result.imageUrl()).isEqualTo(testRecipeRequest.imageUrl()); // Should use image URL from request
+            verify(recipeRepository).save(recipeCaptor.capture());
+            assertThat(recipeCaptor.getValue().getImageUploadToken()).isEqualTo(uploadToken);
+            assertThat(recipeCaptor.getValue().getImageVariants()).isNull();
+            verify(recipeImageService).attachGeneratedVariantsAfterCommit(testRecipeId, uploadToken,
+                    testRecipeRequest.imageUrl());
+            verify(recipeImageService, never()).uploadAfterCommit(any(), any(), any());
+        }
 
-            verify(recipeMapper).toEntity(testRecipeRequest);
-            verify(recipeImageService).processRecipeImage(testRecipeRequest.title(),
-                    testRecipeRequest.servingSuggestions(), mockImage);
-            verify(recipeRepository).save(any(Recipe.class));
-            verify(recipeMapper).toResponse(testRecipe);
-            verify(recipeResponseEnhancer).enhanceRecipeListWithUserInteractions(any(), eq(testUserId));
+        @Test
+        @DisplayName("Should fail creation without scheduling an upload when the image cannot be staged")
+        void createRecipe_StagingFails_ThrowsException() {
+            // Given
+            MultipartFile mockImage = mock(MultipartFile.class);
+            Recipe unsavedRecipe = testRecipe.toBuilder().id(null).build();
+
+            when(recipeMapper.toEntity(testRecipeRequest)).thenReturn(unsavedRecipe);
+            when(recipeRepository.save(any(Recipe.class))).thenReturn(testRecipe);
+            when(recipeImageService.stageImage(mockImage))
+                    .thenThrow(new ImageProcessingException("Failed to stage image upload"));
+
+            // When / Then
+            assertThatThrownBy(() -> recipeService.createRecipe(testRecipeRequest, mockImage, testUserId))
+                    .isInstanceOf(ImageProcessingException.class);
+            verify(recipeImageService, never()).uploadAfterCommit(any(), any(), any());
         }
     }
 
@@ -298,6 +322,108 @@ class RecipeServiceUTest {
         }
     }
 
+    @Nested
+    @DisplayName("getRecipeJson Tests")
+    class GetRecipeJsonTests {
+
+        private void givenVersion(long version) {
+            when(recipeRepository.findVersionById(testRecipeId))
+                    .thenReturn(Optional.of(new RecipeVersionDto(testRecipeId, version, testRecipe.getUserId())));
+        }
+
+        @Test
+        @DisplayName("Should write the recipe with the user's interactions")
+        void getRecipeJson_Found_WritesRecipeWithInteractions() {
+            // Given
+            UUID authorId = testRecipe.getUserId();
+            byte[] json = "{}".getBytes();
+            givenVersion(3L);
+            when(recipeRepository.findById(testRecipeId)).thenReturn(Optional.of(testRecipe));
+            when(favoriteRecipeRepository.countByRecipeId(testRecipeId)).thenReturn(3L);
+            when(commentService.getCommentCount(testRecipeId)).thenReturn(2L);
+            when(favoriteRecipeRepository.existsByUserIdAndRecipeId(testUserId, testRecipeId)).thenReturn(true);
+            when(userService.getUsernameById(authorId)).thenReturn("author");
+            when(recipeJsonWriter.eTag(eq(3L), any())).thenReturn("\"3-abc\"");
+            ArgumentCaptor<RecipeResponse> interactions = ArgumentCaptor.forClass(RecipeResponse.class);
+            when(recipeJsonWriter.write(eq(testRecipe), interactions.capture())).thenReturn(json);
+
+            // When
+            byte[] result = recipeService.getRecipeJson(testRecipeId, testUserId, eTag -> false);
+
+            // Then
+            assertThat(result).isSameAs(json);
+            assertThat(interactions.getValue().favoriteCount()).isEqualTo(3L);
+            assertThat(interactions.getValue().commentCount()).isEqualTo(2L);
+            assertThat(interactions.getValue().isFavorite()).isTrue();
+            assertThat(interactions.getValue().username()).isEqualTo("author");
+            assertThat(interactions.getValue().title()).isNull();
+            verifyNoInteractions(recipeMapper);
+        }
+
+        @Test
+        @DisplayName("Should not load the recipe or resolve its author when the caller's ETag matches")
+        void getRecipeJson_NotModified_ReturnsNull() {
+            // Given
+            givenVersion(3L);
+            when(recipeJsonWriter.eTag(eq(3L), any())).thenReturn("\"3-abc\"");
+
+            // When
+            byte[] result = recipeService.getRecipeJson(testRecipeId, testUserId, "\"3-abc\""::equals);
+
+            // Then
+            assertThat(result).isNull();
+            verify(recipeRepository, never()).findById(any());
+            verify(recipeJsonWriter, never()).write(any(), any());
+            verifyNoInteractions(userService);
+        }
+
+        @Test
+        @DisplayName("Should transcode the JSON to Smile")
+        void getRecipeSmile_Found_TranscodesJson() {
+            // Given
+            byte[] json = "{}".getBytes();
+            byte[] smile = {':', ')', '\n', 0x00};
+            givenVersion(3L);
+            when(recipeRepository.findById(testRecipeId)).thenReturn(Optional.of(testRecipe));
+            when(recipeJsonWriter.eTag(eq(3L), any())).thenReturn("\"3-abc\"");
+            when(recipeJsonWriter.write(eq(testRecipe), any())).thenReturn(json);
+            when(recipeJsonWriter.toSmile(json)).thenReturn(smile);
+
+            // When
+            byte[] result = recipeService.getRecipeSmile(testRecipeId, testUserId, "\"3-abc\""::equals);
+
+            // Then
+            assertThat(result).isSameAs(smile);
+        }
+
+        @Test
+        @DisplayName("Should answer not modified for the ETag of the Smile representation")
+        void getRecipeSmile_NotModified_ReturnsNull() {
+            // Given
+            givenVersion(3L);
+            when(recipeJsonWriter.eTag(eq(3L), any())).thenReturn("\"3-abc\"");
+
+            // When
+            byte[] result = recipeService.getRecipeSmile(testRecipeId, testUserId, "\"3-abc-smile\""::equals);
+
+            // Then
+            assertThat(result).isNull();
+            verify(recipeJsonWriter, never()).toSmile(any());
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException when not found")
+        void getRecipeJson_NotFound_ThrowsResourceNotFoundException() {
+            // Given
+            when(recipeRepository.findVersionById(testRecipeId)).thenReturn(Optional.empty());
+
+            // When / Then
+            assertThatThrownBy(() -> recipeService.getRecipeJson(testRecipeId, testUserId, eTag -> false))
+                    .isInstanceOf(ResourceNotFoundException.class);
+            verifyNoInteractions(recipeJsonWriter);
+        }
+    }
+
     @Nested
     @DisplayName("getRecipesByUserId Tests")
     class GetRecipesByUserIdTests {
@@ -483,13 +609,16 @@ class RecipeServiceUTest {
         }
 
         @Test
-        @DisplayName("Should delete recipe successfully")
+        @DisplayName("Should delete recipe and bulk delete its favorites, votes and comments")
         void deleteRecipe_Success() {
             // Given
             // 1. Permission Check: repo finds the recipe owned by the user
             when(recipeRepository.findById(testRecipeId)).thenReturn(Optional.of(existingRecipe));
 
-            // 2. Mocks for deletion (void methods)
+            // 2. Child rows are removed with one statement per table
+            when(favoriteRecipeRepository.deleteByRecipeId(testRecipeId)).thenReturn(3);
+            when(voteService.deleteAllForRecipe(testRecipeId)).thenReturn(2);
+            when(commentService.deleteAllForRecipe(testRecipeId)).thenReturn(1);
             doNothing().when(recipeRepository).delete(existingRecipe);
 
             // When
@@ -498,9 +627,16 @@ class RecipeServiceUTest {
             // Then
             // Verify mocks
             verify(recipeRepository).findById(testRecipeId); // Permission check
+            verify(favoriteRecipeRepository).deleteByRecipeId(testRecipeId);
+            verify(voteService).deleteAllForRecipe(testRecipeId);
+            verify(commentService).deleteAllForRecipe(testRecipeId);
             verify(recipeRepository).delete(existingRecipe); // Delete recipe
+            verify(recipeDeletionRepository).save(deletionCaptor.capture()); // Recorded for other instances
+            assertThat(deletionCaptor.getValue().getRecipeId()).isEqualTo(testRecipeId);
+            verify(eventPublisher).publishEvent(new RecipeDeletedEvent(testRecipeId));
+            verifyNoMoreInteractions(favoriteRecipeRepository, voteService, commentService);
             verifyNoInteractions(recipeImageService); // No interaction expected
-            verifyNoInteractions(recipeMapper, voteService, commentService, userService, recipeResponseEnhancer);
+            verifyNoInteractions(recipeMapper, userService, recipeResponseEnhancer);
         }
 
         @Test
@@ -519,7 +655,7 @@ class RecipeServiceUTest {
             // Verify mocks
             verify(recipeRepository).findById(nonExistentId);
             verify(recipeRepository, never()).delete(any(Recipe.class));
-            verifyNoInteractions(recipeImageService);
+            verifyNoInteractions(recipeImageService, recipeDeletionRepository);
             verifyNoInteractions(recipeMapper, voteService, commentService, userService, recipeResponseEnhancer);
         }
 
@@ -568,7 +704,7 @@ class RecipeServiceUTest {
                             BigDecimal.valueOf(25)), // macros
                     DifficultyLevel.EASY, // difficulty
                     "Serve hot", // servingSuggestions
-                    null // recipeId
+                    null, null // recipeId
             );
 
             // Mock AI service to return the expected response
@@ -586,6 +722,25 @@ class RecipeServiceUTest {
                     userService, recipeResponseEnhancer);
         }
 
+        @Test
+        @DisplayName("Should serve a pooled recipe without calling the AI service")
+        void generateMeal_PooledRecipe_SkipsAiService() {
+            // Given
+            List<String> ingredients = List.of("Chicken", "broccoli ");
+            SimplifiedRecipeResponse pooledResponse = new SimplifiedRecipeResponse(
+                    "Pooled Chicken Broccoli", "Ready-made meal", "1. Serve.",
+                    List.of("chicken", "broccoli"), "http://example.com/pooled.jpg", 20,
+                    null, DifficultyLevel.EASY, "Serve warm", null, null);
+            when(generatedRecipePool.take(ingredients)).thenReturn(Optional.of(pooledResponse));
+
+            // When
+            SimplifiedRecipeResponse actualResponse = recipeService.generateMeal(ingredients);
+
+            // Then
+            assertThat(actualResponse).isEqualTo(pooledResponse);
+            verifyNoInteractions(aiService);
+        }
+
         @Test
         @DisplayName("Should handle AI service exception")
         void generateMeal_AiServiceError_ThrowsException() {
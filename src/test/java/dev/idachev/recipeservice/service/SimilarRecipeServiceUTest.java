@@ -0,0 +1,129 @@
+package dev.idachev.recipeservice.service;
+
+import dev.idachev.recipeservice.exception.ResourceNotFoundException;
+import dev.idachev.recipeservice.infrastructure.search.MinHashIndex;
+import dev.idachev.recipeservice.model.DifficultyLevel;
+import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.web.dto.RecipeResponse;
+import dev.idachev.recipeservice.web.dto.SimilarRecipeResponse;
+import dev.idachev.recipeservice.web.mapper.RecipeMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SimilarRecipeServiceUTest {
+
+    @Mock
+    private MinHashIndex minHashIndex;
+    @Mock
+    private RecipeRepository recipeRepository;
+    @Mock
+    private RecipeMapper recipeMapper;
+    @Mock
+    private RecipeResponseEnhancer recipeResponseEnhancer;
+
+    @InjectMocks
+    private SimilarRecipeService similarRecipeService;
+
+    private UUID userId;
+    private UUID recipeId;
+    private UUID closeId;
+    private UUID deletedId;
+    private UUID farId;
+    private Recipe close;
+    private Recipe far;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        recipeId = UUID.randomUUID();
+        closeId = UUID.randomUUID();
+        deletedId = UUID.randomUUID();
+        farId = UUID.randomUUID();
+        close = Recipe.builder().id(closeId).title("Close").build();
+        far = Recipe.builder().id(farId).title("Far").build();
+    }
+
+    private static RecipeResponse response(UUID id, boolean isFavorite) {
+        return new RecipeResponse(id, UUID.randomUUID(), "Recipe " + id, null, "Instructions", null, List.of(), 30,
+                null, null, null, DifficultyLevel.EASY, false, isFavorite, 0L, 0L, 0, 0, null,
+                LocalDateTime.now(), LocalDateTime.now(), null, Collections.emptyMap(), null, null);
+    }
+
+    @Nested
+    @DisplayName("findSimilar Tests")
+    class FindSimilarTests {
+
+        @Test
+        @DisplayName("Should throw when the recipe does not exist")
+        void findSimilar_UnknownRecipe_ThrowsNotFound() {
+            // Given
+            when(recipeRepository.existsById(recipeId)).thenReturn(false);
+
+            // When / Then
+            assertThatThrownBy(() -> similarRecipeService.findSimilar(recipeId, null, userId))
+                    .isInstanceOf(ResourceNotFoundException.class);
+            verifyNoInteractions(minHashIndex, recipeResponseEnhancer);
+        }
+
+        @Test
+        @DisplayName("Should drop neighbours deleted since indexing and keep similarities with their recipes")
+        void findSimilar_DeletedNeighbour_KeepsRemainingAligned() {
+            // Given
+            RecipeResponse closeResponse = response(closeId, false);
+            RecipeResponse farResponse = response(farId, false);
+            RecipeResponse closeEnhanced = response(closeId, true);
+            RecipeResponse farEnhanced = response(farId, true);
+            when(recipeRepository.existsById(recipeId)).thenReturn(true);
+            when(minHashIndex.similar(recipeId, 3)).thenReturn(List.of(
+                    new MinHashIndex.Similar(closeId, 0.9),
+                    new MinHashIndex.Similar(deletedId, 0.7),
+                    new MinHashIndex.Similar(farId, 0.4)));
+            when(recipeRepository.findAllById(List.of(closeId, deletedId, farId))).thenReturn(List.of(far, close));
+            when(recipeMapper.toResponse(close)).thenReturn(closeResponse);
+            when(recipeMapper.toResponse(far)).thenReturn(farResponse);
+            when(recipeResponseEnhancer.enhanceRecipeListWithUserInteractions(List.of(closeResponse, farResponse), userId))
+                    .thenReturn(List.of(closeEnhanced, farEnhanced));
+
+            // When
+            List<SimilarRecipeResponse> result = similarRecipeService.findSimilar(recipeId, 3, userId);
+
+            // Then
+            assertThat(result).containsExactly(
+                    new SimilarRecipeResponse(closeEnhanced, 0.9),
+                    new SimilarRecipeResponse(farEnhanced, 0.4));
+        }
+
+        @Test
+        @DisplayName("Should return nothing without loading recipes when the index has no neighbours")
+        void findSimilar_NoNeighbours_ReturnsEmpty() {
+            // Given
+            when(recipeRepository.existsById(recipeId)).thenReturn(true);
+            when(minHashIndex.similar(recipeId, SimilarRecipeService.DEFAULT_LIMIT)).thenReturn(List.of());
+
+            // When
+            List<SimilarRecipeResponse> result = similarRecipeService.findSimilar(recipeId, null, userId);
+
+            // Then
+            assertThat(result).isEmpty();
+            verifyNoInteractions(recipeMapper, recipeResponseEnhancer);
+        }
+    }
+}
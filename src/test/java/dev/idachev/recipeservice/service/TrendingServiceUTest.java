@@ -0,0 +1,191 @@
+package dev.idachev.recipeservice.service;
+
+import dev.idachev.recipeservice.config.TrendingProperties;
+import dev.idachev.recipeservice.infrastructure.search.TrendingRanking;
+import dev.idachev.recipeservice.model.TrendingScore;
+import dev.idachev.recipeservice.repository.RecipeRepository;
+import dev.idachev.recipeservice.repository.TrendingScoreRepository;
+import dev.idachev.recipeservice.service.event.RecipeEngagementEvent;
+import dev.idachev.recipeservice.web.mapper.RecipeMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TrendingServiceUTest {
+
+    private static final Duration HALF_LIFE = Duration.ofHours(24);
+
+    @Mock
+    private TrendingScoreRepository trendingScoreRepository;
+    @Mock
+    private RecipeRepository recipeRepository;
+    @Mock
+    private RecipeMapper recipeMapper;
+    @Mock
+    private RecipeResponseEnhancer recipeResponseEnhancer;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<List<TrendingScore>> savedCaptor;
+
+    private TrendingRanking trendingRanking;
+    private TrendingService trendingService;
+
+    private final UUID first = UUID.randomUUID();
+    private final UUID second = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        TrendingProperties properties = new TrendingProperties(HALF_LIFE, 10, Duration.ofMinutes(5),
+                3.0, -2.0, 4.0, 2.0);
+        trendingRanking = new TrendingRanking(HALF_LIFE, 10);
+        trendingService = new TrendingService(trendingRanking, properties, trendingScoreRepository,
+                recipeRepository, recipeMapper, recipeResponseEnhancer, new TransactionTemplate(transactionManager));
+    }
+
+    private static TrendingScore stored(UUID recipeId, double score, Instant snapshotAt) {
+        return TrendingScore.builder()
+                .recipeId(recipeId)
+                .score(score)
+                .snapshotAt(LocalDateTime.ofInstant(snapshotAt, ZoneOffset.UTC))
+                .build();
+    }
+
+    private Map<UUID, Double> savedScores() {
+        verify(trendingScoreRepository).saveAll(savedCaptor.capture());
+        return savedCaptor.getValue().stream()
+                .collect(Collectors.toMap(TrendingScore::getRecipeId, TrendingScore::getScore));
+    }
+
+    @Nested
+    @DisplayName("onEngagement Tests")
+    class OnEngagementTests {
+
+        private double score(UUID recipeId) {
+            return trendingRanking.snapshot().stream()
+                    .filter(entry -> entry.recipeId().equals(recipeId))
+                    .mapToDouble(TrendingRanking.Entry::score)
+                    .findFirst()
+                    .orElse(0);
+        }
+
+        @Test
+        @DisplayName("Should leave toggling an upvote 10 times worth a single upvote")
+        void onEngagement_UpvoteToggled_CountsOnce() {
+            LocalDateTime castAt = LocalDateTime.now();
+            trendingService.onEngagement(RecipeEngagementEvent.engaged(first, RecipeEngagementEvent.Type.UPVOTE,
+                    castAt));
+            for (int i = 0; i < 10; i++) {
+                // Each toggle retracts the current vote at the time it was cast, then casts a new one
+                trendingService.onEngagement(RecipeEngagementEvent.retracted(first,
+                        RecipeEngagementEvent.Type.UPVOTE, castAt));
+                castAt = castAt.plusSeconds(30);
+                trendingService.onEngagement(RecipeEngagementEvent.engaged(first,
+                        RecipeEngagementEvent.Type.UPVOTE, castAt));
+            }
+            trendingService.onEngagement(RecipeEngagementEvent.engaged(second, RecipeEngagementEvent.Type.UPVOTE,
+                    castAt));
+
+            assertThat(score(first)).isCloseTo(score(second), within(1e-9));
+        }
+
+        @Test
+        @DisplayName("Should drop a recipe whose only favorite was removed")
+        void onEngagement_FavoriteRetracted_NotRanked() {
+            LocalDateTime addedAt = LocalDateTime.now();
+            trendingService.onEngagement(RecipeEngagementEvent.engaged(first, RecipeEngagementEvent.Type.FAVORITE,
+                    addedAt));
+            trendingService.onEngagement(RecipeEngagementEvent.retracted(first,
+                    RecipeEngagementEvent.Type.FAVORITE, addedAt));
+
+            assertThat(trendingRanking.page(0, 10)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("snapshot Tests")
+    class SnapshotTests {
+
+        @Test
+        @DisplayName("Should add local interactions to the decayed scores another instance stored")
+        void snapshot_StoredScores_MergedWithLocalChanges() {
+            Instant now = Instant.now();
+            trendingRanking.record(first, 1.0, now);
+            trendingRanking.record(second, 2.0, now);
+            when(trendingScoreRepository.findAllForUpdate())
+                    .thenReturn(List.of(stored(first, 4.0, now.minus(HALF_LIFE))));
+
+            trendingService.snapshot();
+
+            Map<UUID, Double> saved = savedScores();
+            // first: 4 decayed over one half-life plus the local 1
+            assertThat(saved.get(first)).isCloseTo(3.0, within(0.01));
+            assertThat(saved.get(second)).isCloseTo(2.0, within(0.01));
+            verify(trendingScoreRepository).deleteSnapshot();
+            assertThat(trendingRanking.page(0, 10)).containsExactly(first, second);
+        }
+
+        @Test
+        @DisplayName("Should not write back interactions that an earlier run already merged")
+        void snapshot_SecondRun_OnlyAddsNewChanges() {
+            Instant now = Instant.now();
+            trendingRanking.record(first, 3.0, now);
+            when(trendingScoreRepository.findAllForUpdate()).thenReturn(List.of());
+            trendingService.snapshot();
+
+            assertThat(trendingRanking.drainChanges().contributions()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should drop stored scores of recipes removed on this instance")
+        void snapshot_RemovedRecipe_DroppedFromStoredSnapshot() {
+            Instant now = Instant.now();
+            trendingRanking.record(first, 3.0, now);
+            trendingRanking.remove(first);
+            when(trendingScoreRepository.findAllForUpdate())
+                    .thenReturn(List.of(stored(first, 4.0, now), stored(second, 2.0, now)));
+
+            trendingService.snapshot();
+
+            assertThat(savedScores()).containsOnlyKeys(second);
+        }
+
+        @Test
+        @DisplayName("Should keep local changes for the next run when storing fails")
+        void snapshot_StoringFails_RequeuesChanges() {
+            trendingRanking.record(first, 3.0, Instant.now());
+            when(trendingScoreRepository.findAllForUpdate())
+                    .thenThrow(new PessimisticLockingFailureException("Lock wait timeout"));
+
+            trendingService.snapshot();
+
+            assertThat(trendingRanking.drainChanges().contributions()).containsOnlyKeys(first);
+            assertThat(trendingRanking.page(0, 10)).containsExactly(first);
+        }
+    }
+}
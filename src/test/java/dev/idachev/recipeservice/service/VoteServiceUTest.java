@@ -7,6 +7,7 @@ import dev.idachev.recipeservice.model.Recipe;
 import dev.idachev.recipeservice.model.RecipeVote;
 import dev.idachev.recipeservice.repository.RecipeRepository;
 import dev.idachev.recipeservice.repository.RecipeVoteRepository;
+import dev.idachev.recipeservice.service.event.RecipeEngagementEvent;
 import dev.idachev.recipeservice.web.dto.VoteRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,6 +19,7 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -35,6 +37,8 @@ class VoteServiceUTest {
     private RecipeVoteRepository voteRepository;
     @Mock
     private RecipeRepository recipeRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private VoteService voteService;
@@ -101,6 +105,9 @@ class VoteServiceUTest {
             verify(voteRepository).findByUserIdAndRecipeId(eq(testUserId), eq(testRecipeId));
             verify(voteRepository).save(any(RecipeVote.class));
             verify(voteRepository, never()).delete(any(RecipeVote.class)); // No vote deleted
+            verify(eventPublisher).publishEvent(argThat((RecipeEngagementEvent event) ->
+                    event.recipeId().equals(testRecipeId) && event.type() == RecipeEngagementEvent.Type.UPVOTE
+                            && !event.retracted()));
             
             RecipeVote savedVote = voteCaptor.getValue();
             assertThat(savedVote.getId()).isNull(); // ID is null before save
@@ -145,6 +152,10 @@ class VoteServiceUTest {
             
             RecipeVote savedVote = voteCaptor.getValue();
             assertThat(savedVote.getVoteType()).isEqualTo(RecipeVote.VoteType.DOWNVOTE);
+            verify(eventPublisher).publishEvent(argThat((RecipeEngagementEvent event) ->
+                    event.type() == RecipeEngagementEvent.Type.UPVOTE && event.retracted()));
+            verify(eventPublisher).publishEvent(argThat((RecipeEngagementEvent event) ->
+                    event.type() == RecipeEngagementEvent.Type.DOWNVOTE && !event.retracted()));
             assertThat(savedVote.getUserId()).isEqualTo(testUserId);
             assertThat(savedVote.getRecipeId()).isEqualTo(testRecipeId);
 
@@ -258,6 +269,7 @@ class VoteServiceUTest {
             RecipeVote existingUpvote = RecipeVote.builder()
                     .id(UUID.randomUUID()).userId(testUserId).recipeId(testRecipeId)
                     .voteType(RecipeVote.VoteType.UPVOTE)
+                    .createdAt(LocalDateTime.now().minusHours(3))
                     .build();
             
             when(recipeRepository.findById(eq(testRecipeId))).thenReturn(Optional.of(testRecipe));
@@ -275,6 +287,10 @@ class VoteServiceUTest {
             verify(voteRepository).findByUserIdAndRecipeId(eq(testUserId), eq(testRecipeId));
             verify(voteRepository).delete(existingUpvote);
             verify(voteRepository, never()).save(any(RecipeVote.class)); // No new vote saved
+            // The upvote is taken back at the time it was cast, so trending subtracts exactly what it added
+            verify(eventPublisher).publishEvent(RecipeEngagementEvent.retracted(testRecipeId,
+                    RecipeEngagementEvent.Type.UPVOTE, existingUpvote.getCreatedAt()));
+            verifyNoMoreInteractions(eventPublisher);
             
             verify(recipeRepository).findById(eq(testRecipeId));
             verify(recipeRepository).save(any(Recipe.class));
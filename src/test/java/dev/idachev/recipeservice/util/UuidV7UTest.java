@@ -0,0 +1,39 @@
+package dev.idachev.recipeservice.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7UTest {
+
+    @Test
+    @DisplayName("Should produce RFC 9562 version 7 UUIDs carrying the current time")
+    void randomUuid_VersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+
+        UUID uuid = UuidV7.randomUuid();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        long millis = uuid.getMostSignificantBits() >>> 16;
+        assertThat(millis).isBetween(before, System.currentTimeMillis() + 1000);
+    }
+
+    @Test
+    @DisplayName("Should issue unique, strictly increasing ids within the same millisecond")
+    void randomUuid_MonotonicAndUnique() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(UuidV7.randomUuid());
+        }
+
+        assertThat(ids).isSorted();
+        assertThat(new HashSet<>(ids)).hasSize(ids.size());
+    }
+}
@@ -6,6 +6,7 @@ import dev.idachev.recipeservice.exception.ResourceNotFoundException;
 import dev.idachev.recipeservice.exception.UnauthorizedAccessException;
 import dev.idachev.recipeservice.model.DifficultyLevel;
 import dev.idachev.recipeservice.service.FavoriteRecipeService;
+import dev.idachev.recipeservice.service.RecipeExportService;
 import dev.idachev.recipeservice.web.dto.BatchFavoriteRequest;
 import dev.idachev.recipeservice.web.dto.FavoriteRecipeDto;
 import dev.idachev.recipeservice.web.dto.RecipeResponse;
@@ -32,10 +33,12 @@ import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.ResultMatcher;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -60,6 +63,9 @@ public class FavoriteRecipeControllerApiTest {
     @Mock
     private FavoriteRecipeService favoriteRecipeService;
 
+    @Mock
+    private RecipeExportService recipeExportService;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -145,7 +151,9 @@ public class FavoriteRecipeControllerApiTest {
                 testDateTime,  // createdAt
                 testDateTime,  // updatedAt
                 null,          // macros
-                Map.of("key", "value") // additionalFields
+                Map.of("key", "value"), // additionalFields
+                null,          // imageStatus
+                null           // imageVariants
         );
 
         // Create the FavoriteRecipeDto
@@ -557,6 +565,34 @@ public class FavoriteRecipeControllerApiTest {
         }
     }
 
+    @Nested
+    @DisplayName("Export Favorites Tests")
+    class ExportFavoritesTests {
+        @Test
+        @DisplayName("Should stream favorites as NDJSON")
+        void exportUserFavorites_StreamsNdjson() throws Exception {
+            // Given
+            doAnswer(invocation -> {
+                OutputStream out = invocation.getArgument(1);
+                out.write("{\"recipeId\":\"a\"}\n{\"recipeId\":\"b\"}\n".getBytes(StandardCharsets.UTF_8));
+                return 2L;
+            }).when(recipeExportService).exportFavorites(eq(testUserId), any(OutputStream.class));
+
+            // When
+            MvcResult result = mockMvc.perform(get("/api/v1/favorites/export"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andExpect(header().string("Cache-Control", "no-store"))
+                    .andExpect(content().string("{\"recipeId\":\"a\"}\n{\"recipeId\":\"b\"}\n"));
+            verify(recipeExportService).exportFavorites(eq(testUserId), any(OutputStream.class));
+        }
+    }
+
     @Nested
     @DisplayName("Check Favorite Status Tests")
     class CheckFavoriteStatusTests {
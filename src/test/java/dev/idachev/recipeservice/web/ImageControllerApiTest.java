@@ -0,0 +1,130 @@
+package dev.idachev.recipeservice.web;
+
+import dev.idachev.recipeservice.config.StorageProperties;
+import dev.idachev.recipeservice.infrastructure.storage.LocalImageStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ImageControllerApiTest {
+
+    private static final byte[] JPEG_HEADER = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0};
+
+    @TempDir
+    Path storageRoot;
+
+    private MockMvc mockMvc;
+    private byte[] content;
+    private String imagePath;
+    private String etag;
+
+    @BeforeEach
+    void setUp() {
+        StorageProperties properties = new StorageProperties("local", storageRoot.toString(),
+                List.of("image/jpeg", "image/png"), DataSize.ofMegabytes(1), "/api/v1/images", Duration.ofDays(365));
+        LocalImageStorage storage = new LocalImageStorage(properties);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new ImageController(storage, properties))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        content = new byte[1000];
+        System.arraycopy(JPEG_HEADER, 0, content, 0, JPEG_HEADER.length);
+        for (int i = JPEG_HEADER.length; i < content.length; i++) {
+            content[i] = (byte) (i % 251);
+        }
+        imagePath = storage.store(new MockMultipartFile("image", "dish.jpg", "image/jpeg", content));
+        String name = imagePath.substring(imagePath.lastIndexOf('/') + 1);
+        etag = "\"" + name.substring(0, name.indexOf('.')) + "\"";
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/images/{name} Tests")
+    class GetImageTests {
+
+        @Test
+        @DisplayName("Should stream the whole image with strong ETag and immutable caching")
+        void getImage_Full() throws Exception {
+            mockMvc.perform(get(imagePath))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType("image/jpeg"))
+                    .andExpect(content().bytes(content))
+                    .andExpect(header().string(HttpHeaders.ETAG, etag))
+                    .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                    .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, "1000"))
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=31536000")));
+        }
+
+        @Test
+        @DisplayName("Should answer 304 when the client's ETag matches")
+        void getImage_IfNoneMatch_NotModified() throws Exception {
+            mockMvc.perform(get(imagePath).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, etag))
+                    .andExpect(content().bytes(new byte[0]));
+        }
+
+        @Test
+        @DisplayName("Should serve a single byte range as 206")
+        void getImage_Range_PartialContent() throws Exception {
+            mockMvc.perform(get(imagePath).header(HttpHeaders.RANGE, "bytes=100-199"))
+                    .andExpect(status().isPartialContent())
+                    .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 100-199/1000"))
+                    .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, "100"))
+                    .andExpect(content().bytes(Arrays.copyOfRange(content, 100, 200)));
+        }
+
+        @Test
+        @DisplayName("Should serve the suffix range requested with bytes=-N")
+        void getImage_SuffixRange_PartialContent() throws Exception {
+            mockMvc.perform(get(imagePath).header(HttpHeaders.RANGE, "bytes=-10"))
+                    .andExpect(status().isPartialContent())
+                    .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 990-999/1000"))
+                    .andExpect(content().bytes(Arrays.copyOfRange(content, 990, 1000)));
+        }
+
+        @Test
+        @DisplayName("Should answer 416 for a range past the end of the image")
+        void getImage_UnsatisfiableRange() throws Exception {
+            mockMvc.perform(get(imagePath).header(HttpHeaders.RANGE, "bytes=5000-"))
+                    .andExpect(status().isRequestedRangeNotSatisfiable())
+                    .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */1000"));
+        }
+
+        @Test
+        @DisplayName("Should ignore the range when If-Range does not match the current ETag")
+        void getImage_StaleIfRange_FullContent() throws Exception {
+            mockMvc.perform(get(imagePath)
+                            .header(HttpHeaders.RANGE, "bytes=0-9")
+                            .header(HttpHeaders.IF_RANGE, "\"stale\""))
+                    .andExpect(status().isOk())
+                    .andExpect(content().bytes(content));
+        }
+
+        @Test
+        @DisplayName("Should answer 404 for unknown images")
+        void getImage_Unknown_NotFound() throws Exception {
+            mockMvc.perform(get("/api/v1/images/" + "0".repeat(64) + ".jpg"))
+                    .andExpect(status().isNotFound());
+        }
+    }
+}
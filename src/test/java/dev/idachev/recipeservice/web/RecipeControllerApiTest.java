@@ -1,17 +1,31 @@
 package dev.idachev.recipeservice.web;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import dev.idachev.recipeservice.exception.BadRequestException;
 import dev.idachev.recipeservice.exception.ResourceNotFoundException;
 import dev.idachev.recipeservice.exception.UnauthorizedAccessException;
 import dev.idachev.recipeservice.model.DifficultyLevel;
 import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.model.RecipeIngredient;
+import dev.idachev.recipeservice.service.PantryMatchService;
+import dev.idachev.recipeservice.service.RecipeExportService;
 import dev.idachev.recipeservice.service.RecipeSearchService;
 import dev.idachev.recipeservice.service.RecipeService;
+import dev.idachev.recipeservice.service.SimilarRecipeService;
+import dev.idachev.recipeservice.service.TrendingService;
 import dev.idachev.recipeservice.service.VoteService;
+import dev.idachev.recipeservice.web.dto.BatchRecipeRequest;
+import dev.idachev.recipeservice.web.dto.BatchRecipeResponse;
+import dev.idachev.recipeservice.web.dto.PantryMatchResponse;
+import dev.idachev.recipeservice.web.dto.PantryRequest;
+import dev.idachev.recipeservice.web.dto.RecipeFilterRequest;
 import dev.idachev.recipeservice.web.dto.RecipeRequest;
 import dev.idachev.recipeservice.web.dto.RecipeResponse;
+import dev.idachev.recipeservice.web.dto.RecipeSummaryResponse;
+import dev.idachev.recipeservice.web.dto.SimilarRecipeResponse;
 import dev.idachev.recipeservice.web.dto.SimplifiedRecipeResponse;
 import dev.idachev.recipeservice.web.dto.VoteRequest;
 import dev.idachev.recipeservice.web.mapper.RecipeMapper;
@@ -30,8 +44,11 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.core.Authentication;
@@ -39,15 +56,21 @@ import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.ResultMatcher;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Predicate;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -74,12 +97,24 @@ public class RecipeControllerApiTest {
     @Mock
     private RecipeSearchService recipeSearchService;
 
+    @Mock
+    private PantryMatchService pantryMatchService;
+
+    @Mock
+    private SimilarRecipeService similarRecipeService;
+
+    @Mock
+    private TrendingService trendingService;
+
     @Mock
     private VoteService voteService;
 
     @Mock
     private RecipeMapper recipeMapper;
 
+    @Mock
+    private RecipeExportService recipeExportService;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -129,7 +164,8 @@ public class RecipeControllerApiTest {
                         new PageableHandlerMethodArgumentResolver(),
                         new AuthenticationPrincipalArgumentResolver()
                 )
-                .setMessageConverters(new MappingJackson2HttpMessageConverter())
+                .setMessageConverters(new ByteArrayHttpMessageConverter(), new MappingJackson2HttpMessageConverter(),
+                        new MappingJackson2SmileHttpMessageConverter(objectMapper.copyWith(new SmileFactory())))
                 .setControllerAdvice(new GlobalExceptionHandler())
                 .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
                 // Re-add the custom filter for basic auth check in standalone mode
@@ -201,7 +237,7 @@ public class RecipeControllerApiTest {
                 .id(testRecipeId)
                 .title("Test Recipe")
                 .instructions(instructionsString)
-                .ingredients(objectMapper.writeValueAsString(ingredients))
+                .ingredients(RecipeIngredient.listOf(ingredients.toArray(String[]::new)))
                 .servingSuggestions("Serving suggestions")
                 .totalTimeMinutes(30)
                 .difficulty(DifficultyLevel.MEDIUM)
@@ -316,8 +352,8 @@ public class RecipeControllerApiTest {
         @DisplayName("Should get a recipe by ID")
         void getRecipeById_Success() throws Exception {
             // Given
-            given(recipeService.getRecipeById(eq(testRecipeId), eq(testUserId)))
-                    .willReturn(testRecipeResponse);
+            given(recipeService.getRecipeJson(eq(testRecipeId), eq(testUserId), any()))
+                    .willReturn(objectMapper.writeValueAsBytes(testRecipeResponse));
 
             // When
             ResultActions response = mockMvc.perform(get("/api/v1/recipes/{id}", testRecipeId)
@@ -331,16 +367,61 @@ public class RecipeControllerApiTest {
                     .andExpect(jsonPath("$.id", is(testRecipeId.toString())))
                     .andExpect(jsonPath("$.title", is(testRecipeResponse.title())))
                     .andExpect(jsonPath("$.createdById", is(testUserId.toString())))
-                    .andExpect(jsonPath("$.username", is("testuser")));
+                    .andExpect(jsonPath("$.username", is("testuser")))
+                    .andExpect(header().string("Cache-Control", "no-cache, private"));
+
+            verify(recipeService).getRecipeJson(eq(testRecipeId), eq(testUserId), any());
+        }
+
+        @Test
+        @DisplayName("Should return 304 with the ETag when the client's copy is current")
+        void getRecipeById_NotModified() throws Exception {
+            // Given
+            String eTag = "\"3-0123456789abcdef\"";
+            given(recipeService.getRecipeJson(eq(testRecipeId), eq(testUserId), any()))
+                    .willAnswer(invocation -> invocation.<Predicate<String>>getArgument(2).test(eTag)
+                            ? null
+                            : objectMapper.writeValueAsBytes(testRecipeResponse));
 
-            verify(recipeService).getRecipeById(eq(testRecipeId), eq(testUserId));
+            // When
+            ResultActions response = mockMvc.perform(get("/api/v1/recipes/{id}", testRecipeId)
+                            .header("If-None-Match", eTag))
+                    .andDo(print());
+
+            // Then
+            response
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", eTag))
+                    .andExpect(content().bytes(new byte[0]));
+        }
+
+        @Test
+        @DisplayName("Should return the recipe and its current ETag when the client's copy is stale")
+        void getRecipeById_Modified() throws Exception {
+            // Given
+            String eTag = "\"4-0123456789abcdef\"";
+            given(recipeService.getRecipeJson(eq(testRecipeId), eq(testUserId), any()))
+                    .willAnswer(invocation -> invocation.<Predicate<String>>getArgument(2).test(eTag)
+                            ? null
+                            : objectMapper.writeValueAsBytes(testRecipeResponse));
+
+            // When
+            ResultActions response = mockMvc.perform(get("/api/v1/recipes/{id}", testRecipeId)
+                            .header("If-None-Match", "\"3-0123456789abcdef\""))
+                    .andDo(print());
+
+            // Then
+            response
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", eTag))
+                    .andExpect(jsonPath("$.id", is(testRecipeId.toString())));
         }
 
         @Test
         @DisplayName("Should return 404 when recipe not found")
         void getRecipeById_NotFound() throws Exception {
             // Given
-            given(recipeService.getRecipeById(eq(testRecipeId), eq(testUserId)))
+            given(recipeService.getRecipeJson(eq(testRecipeId), eq(testUserId), any()))
                     .willThrow(new ResourceNotFoundException("Recipe not found"));
 
             // When
@@ -350,7 +431,7 @@ public class RecipeControllerApiTest {
 
             // Then
             response.andExpect(status().isNotFound());
-            verify(recipeService).getRecipeById(eq(testRecipeId), eq(testUserId));
+            verify(recipeService).getRecipeJson(eq(testRecipeId), eq(testUserId), any());
         }
 
         @Test
@@ -379,8 +460,7 @@ public class RecipeControllerApiTest {
             List<RecipeResponse> recipeList = List.of(testRecipeResponse);
             Page<RecipeResponse> recipePage = new PageImpl<>(recipeList, pageable, 1);
 
-            // Mock the method actually called by the controller based on logs
-            given(recipeSearchService.getAllRecipesExcludingUser(any(Pageable.class), eq(testUserId)))
+            given(recipeSearchService.getRecipePage(any(Pageable.class), eq(testUserId), eq(false), any()))
                     .willReturn(recipePage);
 
             // When
@@ -396,10 +476,10 @@ public class RecipeControllerApiTest {
                     .andExpect(contentTypeJson())
                     .andExpect(jsonPath("$.content", hasSize(1)))
                     .andExpect(jsonPath("$.content[0].id", is(testRecipeResponse.id().toString())))
-                    .andExpect(jsonPath("$.content[0].title", is(testRecipeResponse.title())));
+                    .andExpect(jsonPath("$.content[0].title", is(testRecipeResponse.title())))
+                    .andExpect(header().string("Vary", containsString("Accept")));
 
-            // Verify the method actually called by the controller
-            verify(recipeSearchService).getAllRecipesExcludingUser(any(Pageable.class), eq(testUserId));
+            verify(recipeSearchService).getRecipePage(any(Pageable.class), eq(testUserId), eq(false), any());
         }
 
         @Test
@@ -409,8 +489,7 @@ public class RecipeControllerApiTest {
             Pageable pageable = PageRequest.of(0, 10);
             Page<RecipeResponse> emptyPage = new PageImpl<>(List.of(), pageable, 0);
 
-             // Mock the method actually called by the controller based on logs
-            given(recipeSearchService.getAllRecipesExcludingUser(any(Pageable.class), eq(testUserId)))
+            given(recipeSearchService.getRecipePage(any(Pageable.class), eq(testUserId), eq(false), any()))
                     .willReturn(emptyPage);
 
             // When
@@ -427,8 +506,31 @@ public class RecipeControllerApiTest {
                     .andExpect(jsonPath("$.content", hasSize(0)))
                     .andExpect(jsonPath("$.totalElements", is(0)));
 
-            // Verify the method actually called by the controller
-            verify(recipeSearchService).getAllRecipesExcludingUser(any(Pageable.class), eq(testUserId));
+            verify(recipeSearchService).getRecipePage(any(Pageable.class), eq(testUserId), eq(false), any());
+        }
+
+        @Test
+        @DisplayName("Should return 304 with the page's ETag when the client's copy is current")
+        void getAllRecipes_NotModified() throws Exception {
+            // Given
+            String eTag = "W/\"0123456789abcdef\"";
+            given(recipeSearchService.getRecipePage(any(Pageable.class), eq(testUserId), eq(true), any()))
+                    .willAnswer(invocation -> invocation.<Predicate<String>>getArgument(3).test(eTag)
+                            ? null
+                            : new PageImpl<>(List.of(testRecipeResponse), PageRequest.of(0, 10), 1));
+
+            // When
+            ResultActions response = mockMvc.perform(get("/api/v1/recipes")
+                            .param("showPersonal", "true")
+                            .header("If-None-Match", eTag))
+                    .andDo(print());
+
+            // Then
+            response
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", eTag))
+                    .andExpect(header().string("Vary", containsString("Accept")))
+                    .andExpect(content().bytes(new byte[0]));
         }
     }
 
@@ -776,6 +878,375 @@ public class RecipeControllerApiTest {
         }
     }
 
+    @Nested
+    @DisplayName("Similar Recipes Tests")
+    class SimilarRecipesTests {
+
+        @Test
+        @DisplayName("Should return recipes similar to a recipe")
+        void getSimilarRecipes_Success() throws Exception {
+            // Given
+            given(similarRecipeService.findSimilar(testRecipeId, 5, testUserId))
+                    .willReturn(List.of(new SimilarRecipeResponse(testRecipeResponse, 0.625)));
+
+            // When
+            ResultActions response = mockMvc.perform(get("/api/v1/recipes/" + testRecipeId + "/similar")
+                            .param("limit", "5"))
+                    .andDo(print());
+
+            // Then
+            response
+                    .andExpect(status().isOk())
+                    .andExpect(contentTypeJson())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].recipe.id", is(testRecipeResponse.id().toString())))
+                    .andExpect(jsonPath("$[0].similarity", is(0.625)));
+
+            verify(similarRecipeService).findSimilar(testRecipeId, 5, testUserId);
+        }
+    }
+
+    @Nested
+    @DisplayName("Filter Recipes Tests")
+    class FilterRecipesTests {
+
+        @Test
+        @DisplayName("Should bind filter criteria from query parameters")
+        void filterRecipes_Success() throws Exception {
+            // Given
+            RecipeFilterRequest expectedFilter = new RecipeFilterRequest(30, DifficultyLevel.EASY, null,
+                    new BigDecimal("600"), new BigDecimal("30"), null, null, null, null, null);
+            given(recipeSearchService.filterRecipes(eq(expectedFilter), any(Pageable.class), eq(testUserId)))
+                    .willReturn(new PageImpl<>(List.of(testRecipeResponse), PageRequest.of(0, 10), 1));
+
+            // When
+            ResultActions response = mockMvc.perform(get("/api/v1/recipes/filter")
+                            .param("maxTotalTimeMinutes", "30")
+                            .param("difficulty", "EASY")
+                            .param("maxCalories", "600")
+                            .param("minProteinGrams", "30"))
+                    .andDo(print());
+
+            // Then
+            response
+                    .andExpect(status().isOk())
+                    .andExpect(contentTypeJson())
+                    .andExpect(jsonPath("$.content", hasSize(1)))
+                    .andExpect(jsonPath("$.content[0].id", is(testRecipeResponse.id().toString())));
+
+            verify(recipeSearchService).filterRecipes(eq(expectedFilter), any(Pageable.class), eq(testUserId));
+        }
+    }
+
+    @Nested
+    @DisplayName("Trending Recipes Tests")
+    class TrendingRecipesTests {
+
+        @Test
+        @DisplayName("Should return a page of trending recipes")
+        void getTrendingRecipes_Success() throws Exception {
+            // Given
+            Pageable pageable = PageRequest.of(0, 10);
+            given(trendingService.getTrendingRecipes(any(Pageable.class), eq(testUserId)))
+                    .willReturn(new PageImpl<>(List.of(testRecipeResponse), pageable, 1));
+
+            // When
+            ResultActions response = mockMvc.perform(get("/api/v1/recipes/trending")
+                            .param("page", "0")
+                            .param("size", "10"))
+                    .andDo(print());
+
+            // Then
+            response
+                    .andExpect(status().isOk())
+                    .andExpect(contentTypeJson())
+                    .andExpect(jsonPath("$.content", hasSize(1)))
+                    .andExpect(jsonPath("$.content[0].id", is(testRecipeResponse.id().toString())))
+                    .andExpect(header().string("Cache-Control", "max-age=30, private"));
+
+            verify(trendingService).getTrendingRecipes(any(Pageable.class), eq(testUserId));
+        }
+    }
+
+    @Nested
+    @DisplayName("Recipe Summary Tests")
+    class RecipeSummaryTests {
+
+        private final RecipeSummaryResponse card = new RecipeSummaryResponse(
+                UUID.randomUUID(), testUserId, "Card title", "http://example.com/card.jpg", null, null,
+                15, DifficultyLevel.EASY, "testuser", true, 2L, 1L, 3, 0, null, LocalDateTime.now());
+
+        @Test
+        @DisplayName("Should return feed cards without the full recipe fields")
+        void getRecipeFeedSummaries_Success() throws Exception {
+            // Given
+            given(recipeSearchService.getRecipeFeedSummaries(any(Pageable.class), eq(testUserId)))
+                    .willReturn(new PageImpl<>(List.of(card), PageRequest.of(0, 10), 1));
+
+            // When
+            ResultActions response = mockMvc.perform(get("/api/v1/recipes/feed/summary")
+                            .param("page", "0")
+                            .param("size", "10"))
+                    .andDo(print());
+
+            // Then
+            response
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].title", is("Card title")))
+                    .andExpect(jsonPath("$.content[0].favoriteCount", is(2)))
+                    .andExpect(jsonPath("$.content[0].instructions").doesNotExist())
+                    .andExpect(jsonPath("$.content[0].ingredients").doesNotExist())
+                    .andExpect(header().string("Cache-Control", "no-cache, private"));
+        }
+
+        @Test
+        @DisplayName("Should return search results as cards")
+        void searchRecipeSummaries_Success() throws Exception {
+            // Given
+            given(recipeSearchService.searchRecipeSummaries(eq("card"), any(Pageable.class), eq(testUserId)))
+                    .willReturn(new PageImpl<>(List.of(card), PageRequest.of(0, 10), 1));
+
+            // When
+            ResultActions response = mockMvc.perform(get("/api/v1/recipes/search/summary")
+                            .param("keyword", "card"))
+                    .andDo(print());
+
+            // Then
+            response
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(1)))
+                    .andExpect(jsonPath("$.content[0].id", is(card.id().toString())));
+            verify(recipeSearchService).searchRecipeSummaries(eq("card"), any(Pageable.class), eq(testUserId));
+        }
+    }
+
+    @Nested
+    @DisplayName("Smile Tests")
+    class SmileTests {
+
+        private ObjectMapper smileMapper() {
+            return objectMapper.copyWith(new SmileFactory());
+        }
+
+        @Test
+        @DisplayName("Should serve a recipe as Smile when the client asks for it")
+        void getRecipeById_Smile() throws Exception {
+            // Given
+            byte[] smile = smileMapper().writeValueAsBytes(testRecipeResponse);
+            given(recipeService.getRecipeSmile(eq(testRecipeId), eq(testUserId), any())).willReturn(smile);
+
+            // When
+            ResultActions response = mockMvc.perform(get("/api/v1/recipes/{id}", testRecipeId)
+                            .accept(RecipeController.APPLICATION_SMILE))
+                    .andDo(print());
+
+            // Then
+            response
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(RecipeController.APPLICATION_SMILE))
+                    .andExpect(header().string("Vary", containsString("Accept")))
+                    .andExpect(content().bytes(smile));
+            verify(recipeService, never()).getRecipeJson(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should serve JSON to clients that accept anything")
+        void getRecipeById_Wildcard_Json() throws Exception {
+            // Given
+            given(recipeService.getRecipeJson(eq(testRecipeId), eq(testUserId), any()))
+                    .willReturn(objectMapper.writeValueAsBytes(testRecipeResponse));
+
+            // When
+            ResultActions response = mockMvc.perform(get("/api/v1/recipes/{id}", testRecipeId)
+                            .accept(MediaType.ALL))
+                    .andDo(print());
+
+            // Then
+            response
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.id", is(testRecipeId.toString())));
+            verify(recipeService, never()).getRecipeSmile(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should serve JSON when the client rates it above Smile")
+        void getRecipeById_JsonPreferredOverSmile_Json() throws Exception {
+            // Given
+            given(recipeService.getRecipeJson(eq(testRecipeId), eq(testUserId), any()))
+                    .willReturn(objectMapper.writeValueAsBytes(testRecipeResponse));
+
+            // When
+            ResultActions response = mockMvc.perform(get("/api/v1/recipes/{id}", testRecipeId)
+                            .header(HttpHeaders.ACCEPT, "application/json, application/x-jackson-smile;q=0.1"))
+                    .andDo(print());
+
+            // Then
+            response
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.id", is(testRecipeId.toString())));
+            verify(recipeService, never()).getRecipeSmile(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should serve Smile when the client rates it above JSON")
+        void getRecipeById_SmilePreferredOverJson_Smile() throws Exception {
+            // Given
+            byte[] smile = smileMapper().writeValueAsBytes(testRecipeResponse);
+            given(recipeService.getRecipeSmile(eq(testRecipeId), eq(testUserId), any())).willReturn(smile);
+
+            // When
+            ResultActions response = mockMvc.perform(get("/api/v1/recipes/{id}", testRecipeId)
+                            .header(HttpHeaders.ACCEPT, "application/json;q=0.5, application/x-jackson-smile"))
+                    .andDo(print());
+
+            // Then
+            response
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(RecipeController.APPLICATION_SMILE))
+                    .andExpect(content().bytes(smile));
+        }
+
+        @Test
+        @DisplayName("Should serve a recipe page as Smile when the client asks for it")
+        void getAllRecipes_Smile() throws Exception {
+            // Given
+            Pageable pageable = PageRequest.of(0, 10);
+            given(recipeSearchService.getRecipePage(any(Pageable.class), eq(testUserId), eq(false), any()))
+                    .willReturn(new PageImpl<>(List.of(testRecipeResponse), pageable, 1));
+
+            // When
+            byte[] body = mockMvc.perform(get("/api/v1/recipes")
+                            .accept(RecipeController.APPLICATION_SMILE))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(RecipeController.APPLICATION_SMILE))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            // Then
+            JsonNode page = smileMapper().readTree(body);
+            assertThat(page.get("content")).hasSize(1);
+            assertThat(page.get("content").get(0).get("title").asText()).isEqualTo(testRecipeResponse.title());
+        }
+    }
+
+    @Nested
+    @DisplayName("Export Tests")
+    class ExportTests {
+
+        @Test
+        @DisplayName("Should stream the user's recipes as NDJSON")
+        void exportMyRecipes_StreamsNdjson() throws Exception {
+            // Given
+            String lines = "{\"title\":\"One\"}\n{\"title\":\"Two\"}\n";
+            doAnswer(invocation -> {
+                OutputStream out = invocation.getArgument(1);
+                out.write(lines.getBytes(StandardCharsets.UTF_8));
+                return 2L;
+            }).when(recipeExportService).exportUserRecipes(eq(testUserId), any(OutputStream.class));
+
+            // When
+            MvcResult result = mockMvc.perform(get("/api/v1/recipes/my-recipes/export"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andExpect(header().string("Cache-Control", "no-store"))
+                    .andExpect(content().string(lines));
+            verify(recipeExportService).exportUserRecipes(eq(testUserId), any(OutputStream.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch Recipe Tests")
+    class BatchRecipeTests {
+
+        @Test
+        @DisplayName("Should return found and not-found entries in request order")
+        void getRecipesByIds_Success() throws Exception {
+            // Given
+            UUID missingId = UUID.randomUUID();
+            BatchRecipeRequest request = new BatchRecipeRequest(List.of(missingId, testRecipeId));
+            given(recipeSearchService.getRecipesByIds(request.recipeIds(), testUserId))
+                    .willReturn(new BatchRecipeResponse(List.of(
+                            BatchRecipeResponse.Entry.notFound(missingId),
+                            BatchRecipeResponse.Entry.found(testRecipeResponse))));
+
+            // When
+            ResultActions response = mockMvc.perform(post("/api/v1/recipes/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andDo(print());
+
+            // Then
+            response
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.recipes", hasSize(2)))
+                    .andExpect(jsonPath("$.recipes[0].id", is(missingId.toString())))
+                    .andExpect(jsonPath("$.recipes[0].found", is(false)))
+                    .andExpect(jsonPath("$.recipes[0].recipe").doesNotExist())
+                    .andExpect(jsonPath("$.recipes[1].found", is(true)))
+                    .andExpect(jsonPath("$.recipes[1].recipe.title", is(testRecipeResponse.title())));
+        }
+
+        @Test
+        @DisplayName("Should return 400 for more IDs than allowed")
+        void getRecipesByIds_TooMany() throws Exception {
+            // Given
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i <= BatchRecipeRequest.MAX_IDS; i++) {
+                ids.add(UUID.randomUUID());
+            }
+
+            // When
+            ResultActions response = mockMvc.perform(post("/api/v1/recipes/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new BatchRecipeRequest(ids))))
+                    .andDo(print());
+
+            // Then
+            response.andExpect(status().isBadRequest());
+            verifyNoInteractions(recipeSearchService);
+        }
+    }
+
+    @Nested
+    @DisplayName("What Can I Cook Tests")
+    class WhatCanICookTests {
+
+        @Test
+        @DisplayName("Should return existing recipes matching the pantry")
+        void whatCanICook_ReturnsMatches() throws Exception {
+            // Given
+            PantryRequest request = new PantryRequest(List.of("eggs", "spaghetti"), 5);
+            PantryMatchResponse matches = new PantryMatchResponse(
+                    List.of(new PantryMatchResponse.PantryMatch(testRecipeResponse, 2, 3, 2.0 / 3, List.of("Parmesan"))),
+                    null);
+            given(pantryMatchService.findMatches(request.ingredients(), 5, testUserId)).willReturn(matches);
+
+            // When
+            ResultActions response = mockMvc.perform(post("/api/v1/recipes/what-can-i-cook")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andDo(print());
+
+            // Then
+            response
+                    .andExpect(status().isOk())
+                    .andExpect(contentTypeJson())
+                    .andExpect(jsonPath("$.matches", hasSize(1)))
+                    .andExpect(jsonPath("$.matches[0].recipe.id", is(testRecipeResponse.id().toString())))
+                    .andExpect(jsonPath("$.matches[0].matchedIngredients", is(2)))
+                    .andExpect(jsonPath("$.matches[0].missingIngredients[0]", is("Parmesan")));
+
+            verify(pantryMatchService).findMatches(request.ingredients(), 5, testUserId);
+            verifyNoInteractions(recipeService);
+        }
+    }
+
     @Nested
     @DisplayName("Authorization Tests")
     class AuthorizationTests {
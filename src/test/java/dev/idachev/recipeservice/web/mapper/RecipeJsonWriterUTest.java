@@ -0,0 +1,264 @@
+package dev.idachev.recipeservice.web.mapper;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import dev.idachev.recipeservice.config.RecipeJsonCacheProperties;
+import dev.idachev.recipeservice.model.DifficultyLevel;
+import dev.idachev.recipeservice.model.Macros;
+import dev.idachev.recipeservice.model.Recipe;
+import dev.idachev.recipeservice.model.RecipeIngredient;
+import dev.idachev.recipeservice.service.event.RecipeDeletedEvent;
+import dev.idachev.recipeservice.web.dto.RecipeResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class RecipeJsonWriterUTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RecipeMapper recipeMapper;
+    private RecipeJsonWriter writer;
+
+    private final UUID recipeId = UUID.randomUUID();
+    private final UUID authorId = UUID.randomUUID();
+    private final RecipeResponse interactions = new RecipeResponse(
+            null, null, null, null, null, null, null, null,
+            "author", "author", null,
+            null, null,
+            true, 4L, 2L,
+            null, null,
+            "UPVOTE",
+            null, null, null, null, null, null);
+
+    @BeforeEach
+    void setUp() {
+        recipeMapper = spy(new RecipeMapper(objectMapper));
+        writer = new RecipeJsonWriter(objectMapper, recipeMapper, new RecipeJsonCacheProperties(100), meterRegistry);
+    }
+
+    private Recipe recipe(long version, String title) {
+        return Recipe.builder()
+                .id(recipeId)
+                .version(version)
+                .userId(authorId)
+                .title(title)
+                .instructions("Boil, then \"simmer\"")
+                .ingredients(RecipeIngredient.listOf("200g pasta", "2 eggs"))
+                .totalTimeMinutes(20)
+                .difficulty(DifficultyLevel.EASY)
+                .macros(Macros.builder().calories(BigDecimal.valueOf(520)).proteinGrams(BigDecimal.valueOf(21))
+                        .build())
+                .createdAt(LocalDateTime.of(2026, 1, 2, 3, 4, 5))
+                .updatedAt(LocalDateTime.of(2026, 1, 2, 3, 4, 5))
+                .build();
+    }
+
+    private JsonNode parse(byte[] json) throws IOException {
+        return objectMapper.reader().with(JsonParser.Feature.STRICT_DUPLICATE_DETECTION).readTree(json);
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("recipe.json.cache").tag("result", result).counter().count();
+    }
+
+    @Nested
+    @DisplayName("Output Tests")
+    class OutputTests {
+
+        @Test
+        @DisplayName("Should write the same fields as serializing the merged response")
+        void write_MatchesMergedResponse() throws IOException {
+            Recipe recipe = recipe(1, "Carbonara");
+
+            JsonNode written = parse(writer.write(recipe, interactions));
+
+            ObjectNode expected = (ObjectNode) objectMapper.valueToTree(recipeMapper.toResponse(recipe));
+            expected.setAll((ObjectNode) objectMapper.valueToTree(interactions));
+            assertThat(written).isEqualTo(expected);
+            assertThat(written.get("title").asText()).isEqualTo("Carbonara");
+            assertThat(written.get("userVote").asText()).isEqualTo("UPVOTE");
+        }
+
+        @Test
+        @DisplayName("Should ignore body fields passed with the interactions")
+        void write_IgnoresBodyFieldsOfInteractions() throws IOException {
+            RecipeResponse enhanced = new RecipeResponse(
+                    recipeId, authorId, "Other title", null, null, null, null, null,
+                    "author", "author", null,
+                    null, null,
+                    false, 0L, 0L,
+                    null, null,
+                    null,
+                    null, null, null, null, null, null);
+
+            JsonNode written = parse(writer.write(recipe(1, "Carbonara"), enhanced));
+
+            assertThat(written.get("title").asText()).isEqualTo("Carbonara");
+            assertThat(written.get("favoriteCount").asLong()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("ETag Tests")
+    class ETagTests {
+
+        @Test
+        @DisplayName("Should give the same strong ETag for the same version and interactions")
+        void eTag_SameInput_IsStable() {
+            String eTag = writer.eTag(3L, interactions);
+
+            assertThat(eTag).startsWith("\"3-").endsWith("\"");
+            assertThat(writer.eTag(3L, interactions)).isEqualTo(eTag);
+        }
+
+        @Test
+        @DisplayName("Should change the ETag when the version or an interaction changes")
+        void eTag_Changes() {
+            RecipeResponse unfavorited = new RecipeResponse(
+                    null, null, null, null, null, null, null, null,
+                    "author", "author", null,
+                    null, null,
+                    false, 3L, 2L,
+                    null, null,
+                    "UPVOTE",
+                    null, null, null, null, null, null);
+
+            assertThat(writer.eTag(4L, interactions)).isNotEqualTo(writer.eTag(3L, interactions));
+            assertThat(writer.eTag(3L, unfavorited)).isNotEqualTo(writer.eTag(3L, interactions));
+        }
+
+        @Test
+        @DisplayName("Should leave the author's name out of the ETag")
+        void eTag_IgnoresAuthorName() {
+            RecipeResponse unresolved = new RecipeResponse(
+                    null, null, null, null, null, null, null, null,
+                    "Unknown User", "Unknown User", interactions.authorId(),
+                    null, null,
+                    interactions.isFavorite(), interactions.favoriteCount(), interactions.commentCount(),
+                    null, null,
+                    interactions.userVote(),
+                    null, null, null, null, null, null);
+
+            assertThat(writer.eTag(3L, unresolved)).isEqualTo(writer.eTag(3L, interactions));
+        }
+
+        @Test
+        @DisplayName("Should not give an ETag without a version")
+        void eTag_NoVersion_IsNull() {
+            assertThat(writer.eTag(null, interactions)).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Smile Tests")
+    class SmileTests {
+
+        @Test
+        @DisplayName("Should transcode to the Smile document the Smile mapper would write")
+        void toSmile_MatchesSmileMapper() throws IOException {
+            Recipe recipe = recipe(1, "Carbonara");
+            ObjectMapper smileMapper = objectMapper.copyWith(new SmileFactory());
+
+            byte[] smile = writer.toSmile(writer.write(recipe, interactions));
+
+            assertThat(smileMapper.readTree(smile)).isEqualTo(parse(writer.write(recipe, interactions)));
+            RecipeResponse read = smileMapper.readValue(smile, RecipeResponse.class);
+            assertThat(read.title()).isEqualTo("Carbonara");
+            assertThat(read.macros().calories()).isEqualByComparingTo("520");
+            assertThat(read.createdAt()).isEqualTo(recipe.getCreatedAt());
+        }
+
+        @Test
+        @DisplayName("Should give the Smile representation its own strong ETag")
+        void smileETag_DiffersFromJson() {
+            String eTag = writer.eTag(3L, interactions);
+
+            assertThat(RecipeJsonWriter.smileETag(eTag))
+                    .isNotEqualTo(eTag)
+                    .startsWith(eTag.substring(0, eTag.length() - 1))
+                    .endsWith("-smile\"");
+        }
+    }
+
+    @Nested
+    @DisplayName("Cache Tests")
+    class CacheTests {
+
+        @Test
+        @DisplayName("Should map and serialize a recipe version only once")
+        void write_SameVersion_ReusesBody() throws IOException {
+            Recipe recipe = recipe(1, "Carbonara");
+
+            byte[] first = writer.write(recipe, interactions);
+            byte[] second = writer.write(recipe, interactions);
+
+            assertThat(parse(second)).isEqualTo(parse(first));
+            verify(recipeMapper, times(1)).toResponse(recipe);
+            assertThat(lookups("hit")).isEqualTo(1);
+            assertThat(lookups("miss")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should serialize again when the version changes")
+        void write_NewVersion_ReplacesBody() throws IOException {
+            writer.write(recipe(1, "Carbonara"), interactions);
+
+            JsonNode written = parse(writer.write(recipe(2, "Carbonara with peas"), interactions));
+
+            assertThat(written.get("title").asText()).isEqualTo("Carbonara with peas");
+            assertThat(lookups("miss")).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should keep the newer body when an older version is read")
+        void write_OlderVersion_KeepsNewerBody() {
+            writer.write(recipe(2, "Carbonara with peas"), interactions);
+            writer.write(recipe(1, "Carbonara"), interactions);
+
+            writer.write(recipe(2, "Carbonara with peas"), interactions);
+
+            assertThat(lookups("hit")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should drop the body of a deleted recipe")
+        void onRecipeDeleted_DropsBody() {
+            Recipe recipe = recipe(1, "Carbonara");
+            writer.write(recipe, interactions);
+
+            writer.onRecipeDeleted(new RecipeDeletedEvent(recipeId));
+            writer.write(recipe, interactions);
+
+            verify(recipeMapper, times(2)).toResponse(recipe);
+        }
+
+        @Test
+        @DisplayName("Should not cache when disabled")
+        void write_CacheDisabled_SerializesEveryTime() {
+            writer = new RecipeJsonWriter(objectMapper, recipeMapper, new RecipeJsonCacheProperties(0), meterRegistry);
+            Recipe recipe = recipe(1, "Carbonara");
+
+            writer.write(recipe, interactions);
+            writer.write(recipe, interactions);
+
+            verify(recipeMapper, times(2)).toResponse(recipe);
+        }
+    }
+}